@@ -1,7 +1,10 @@
 import api from './axios';
 
-export const getCommentsForPost = postId =>
-    api.get(`/posts/${postId}/comments`);
+export const getCommentsForPost = (postId, cursor) =>
+    api.get(`/posts/${postId}/comments`, { params: { cursor } });
+
+export const getReplies = (commentId, cursor) =>
+    api.get(`/comments/${commentId}/replies`, { params: { cursor } });
 
 export const addComment = (postId, data) =>
     api.post(`/posts/${postId}/comments`, data);
@@ -10,4 +13,4 @@ export const deleteComment = id =>
     api.delete(`/comments/${id}`);
 
 export const updateComment = (commentId, data) =>
-    api.put(`/comments/${commentId}`, data);
\ No newline at end of file
+    api.put(`/comments/${commentId}`, data);
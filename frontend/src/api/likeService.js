@@ -1,4 +1,6 @@
 import api from './axios';
 
 export const toggleLike = postId => api.post(`/posts/${postId}/likes`);
+export const likePost   = postId => api.put(`/posts/${postId}/likes`);
+export const unlikePost = postId => api.delete(`/posts/${postId}/likes`);
 export const getLikes   = postId => api.get(`/posts/${postId}/likes`);
@@ -0,0 +1,22 @@
+import api from './axios';
+
+/**
+ * Fetch the current user's like/reblog/follow flags for a page of posts in one request.
+ * @param {Array<{id: number, authorUsername: string}>} posts  the posts rendered on the page
+ * @returns {Promise<Map<number, {liked: boolean, reblogged: boolean}>>} flags keyed by post id
+ */
+export const getViewerState = posts => {
+    if (!posts.length) return Promise.resolve(new Map());
+    const postIds = posts.map(p => p.id);
+    const authorUsernames = [...new Set(posts.map(p => p.authorUsername))];
+    return api
+        .post('/viewer-state', { postIds, authorUsernames })
+        .then(res => {
+            const liked = new Set(res.data.likedPostIds);
+            const reblogged = new Set(res.data.rebloggedPostIds);
+            return new Map(postIds.map(id => [id, {
+                liked: liked.has(id),
+                reblogged: reblogged.has(id)
+            }]));
+        });
+};
@@ -2,7 +2,7 @@ import React, { useState }               from 'react';
 import { addComment }                     from '../api/commentService';
 import './CommentForm.css';
 
-export default function CommentForm({ postId, onCommentAdded }) {
+export default function CommentForm({ postId, parentId, onCommentAdded }) {
     const [content, setContent] = useState('');
     const [error, setError]     = useState('');
 
@@ -10,7 +10,7 @@ export default function CommentForm({ postId, onCommentAdded }) {
         e.preventDefault();
         setError('');
         try {
-            await addComment(postId, { content });
+            await addComment(postId, { content, parentId });
             setContent('');
             onCommentAdded();
         } catch (err) {
@@ -24,12 +24,12 @@ export default function CommentForm({ postId, onCommentAdded }) {
             <textarea
                 value={content}
                 onChange={e => setContent(e.target.value)}
-                placeholder="Write a comment…"
+                placeholder={parentId ? 'Write a reply…' : 'Write a comment…'}
                 rows={3}
                 required
             />
             <button type="submit" className="btn-comment">
-                Comment
+                {parentId ? 'Reply' : 'Comment'}
             </button>
         </form>
     );
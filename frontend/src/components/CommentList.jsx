@@ -1,29 +1,34 @@
 import React, { useContext, useState, useEffect } from 'react';
 import { AuthContext }                           from '../contexts/AuthContext';
-import { deleteComment, updateComment }          from '../api/commentService';
+import { deleteComment, updateComment, getReplies } from '../api/commentService';
 import ReportForm                                from './ReportForm';
+import CommentForm                               from './CommentForm';
 import './CommentList.css';
 
 export default function CommentList({
+                                        postId,
                                         comments: initialComments,
                                         onCommentDeleted,
-                                        onCommentUpdated
+                                        onCommentUpdated,
+                                        onReplyAdded
                                     }) {
     const { user } = useContext(AuthContext);
     const [comments, setComments]       = useState(initialComments);
     const [editingId, setEditingId]     = useState(null);
     const [editContent, setEditContent] = useState('');
     const [reportingId, setReportingId] = useState(null);
+    const [replyingId, setReplyingId]   = useState(null);
+    const [replies, setReplies]         = useState({});
 
     useEffect(() => {
         setComments(initialComments);
     }, [initialComments]);
 
-    const handleDelete = async id => {
+    const handleDelete = async c => {
         try {
-            await deleteComment(id);
-            setComments(cs => cs.filter(c => c.id !== id));
-            onCommentDeleted?.();
+            await deleteComment(c.id);
+            setComments(cs => cs.filter(x => x.id !== c.id));
+            onCommentDeleted?.(c);
         } catch {
             console.error('Failed to delete comment');
         }
@@ -51,6 +56,31 @@ export default function CommentList({
         }
     };
 
+    // replies are fetched page by page, keyed by their top-level comment
+    const loadReplies = async (parentId, cursor) => {
+        try {
+            const res = await getReplies(parentId, cursor);
+            setReplies(rs => ({
+                ...rs,
+                [parentId]: {
+                    items: [...(cursor ? rs[parentId].items : []), ...res.data.items],
+                    nextCursor: res.data.nextCursor
+                }
+            }));
+        } catch {
+            console.error('Failed to load replies');
+        }
+    };
+
+    const handleReplyAdded = parentId => {
+        setReplyingId(null);
+        setComments(cs =>
+            cs.map(c => c.id === parentId ? { ...c, replyCount: c.replyCount + 1 } : c)
+        );
+        loadReplies(parentId);
+        onReplyAdded?.();
+    };
+
     return (
         <ul className="comment-list">
             {comments.length === 0 && (
@@ -80,7 +110,7 @@ export default function CommentList({
                                         >✏️</button>
                                         <button
                                             className="btn-delete-comment"
-                                            onClick={() => handleDelete(c.id)}
+                                            onClick={() => handleDelete(c)}
                                         >🗑️</button>
                                     </>
                                     : <button
@@ -121,6 +151,46 @@ export default function CommentList({
                                 onReported={() => setReportingId(null)}
                             />
                         )}
+
+                        {postId && !c.parentId && (
+                            <div className="comment-thread">
+                                {c.replyCount > 0 && !replies[c.id] && (
+                                    <button
+                                        className="btn-view-replies"
+                                        onClick={() => loadReplies(c.id)}
+                                    >View {c.replyCount} {c.replyCount === 1 ? 'reply' : 'replies'}</button>
+                                )}
+                                <button
+                                    className="btn-reply-comment"
+                                    onClick={() => setReplyingId(replyingId === c.id ? null : c.id)}
+                                >↩️ Reply</button>
+
+                                {replies[c.id] && (
+                                    <ul className="comment-replies">
+                                        {replies[c.id].items.map(r => (
+                                            <li key={r.id} className="comment-reply">
+                                                <strong className="comment-author">@{r.authorUsername}</strong>
+                                                <p className="comment-content">{r.content}</p>
+                                            </li>
+                                        ))}
+                                        {replies[c.id].nextCursor && (
+                                            <button
+                                                className="btn-view-replies"
+                                                onClick={() => loadReplies(c.id, replies[c.id].nextCursor)}
+                                            >More replies</button>
+                                        )}
+                                    </ul>
+                                )}
+
+                                {replyingId === c.id && (
+                                    <CommentForm
+                                        postId={postId}
+                                        parentId={c.id}
+                                        onCommentAdded={() => handleReplyAdded(c.id)}
+                                    />
+                                )}
+                            </div>
+                        )}
                     </li>
                 );
             })}
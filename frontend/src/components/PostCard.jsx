@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { Link } from 'react-router-dom';
-import { toggleLike, getLikes } from '../api/likeService';
+import { likePost, unlikePost, getLikes } from '../api/likeService';
 import { getCommentsForPost } from '../api/commentService';
 import {
     getReblogState,
@@ -13,32 +13,32 @@ import CommentForm from './CommentForm';
 import ReportForm from './ReportForm';
 import './PostCard.css';
 
-export default function PostCard({ post, onDeleted, onReblog }) {
+export default function PostCard({ post, onDeleted, onReblog, viewer }) {
     const [likesCount, setLikesCount]     = useState(post.likeCount || 0);
-    const [likedByMe, setLikedByMe]       = useState(false);
-    const [commentCount, setCommentCount] = useState(0);
+    const [likedByMe, setLikedByMe]       = useState(viewer?.liked ?? false);
+    const [commentCount, setCommentCount] = useState(post.commentCount || 0);
     const [comments, setComments]         = useState([]);
+    const [commentCursor, setCommentCursor] = useState(null);
     const [showComments, setShowComments] = useState(false);
 
-    const [reblogged, setReblogged]     = useState(false);
+    const [reblogged, setReblogged]     = useState(viewer?.reblogged ?? false);
     const [reblogCount, setReblogCount] = useState(post.reblogCount || 0);
 
     const [reporting, setReporting] = useState(false);
 
     useEffect(() => {
-        getLikes(post.id)
-            .then(res => {
-                setLikesCount(res.data.totalLikes);
-                setLikedByMe(res.data.liked);
-            }).catch(console.error);
-
-        getCommentsForPost(post.id)
-            .then(res => setCommentCount(res.data.length))
-            .catch(console.error);
-
-        getReblogState(post.id)
-            .then(setReblogged)
-            .catch(console.error);
+        // listing pages prefetch like/reblog flags for the whole page via `viewer`
+        if (!viewer) {
+            getLikes(post.id)
+                .then(res => {
+                    setLikesCount(res.data.totalLikes);
+                    setLikedByMe(res.data.liked);
+                }).catch(console.error);
+
+            getReblogState(post.id)
+                .then(setReblogged)
+                .catch(console.error);
+        }
 
         getReblogCount(post.id)
             .then(setReblogCount)
@@ -47,7 +47,7 @@ export default function PostCard({ post, onDeleted, onReblog }) {
 
     const handleLike = async () => {
         try {
-            const res = await toggleLike(post.id);
+            const res = likedByMe ? await unlikePost(post.id) : await likePost(post.id);
             setLikesCount(res.data.totalLikes);
             setLikedByMe(res.data.liked);
         } catch (e) { console.error(e); }
@@ -56,11 +56,29 @@ export default function PostCard({ post, onDeleted, onReblog }) {
     const loadComments = async () => {
         try {
             const res = await getCommentsForPost(post.id);
-            setComments(res.data);
-            setCommentCount(res.data.length);
+            setComments(res.data.items);
+            setCommentCursor(res.data.nextCursor);
         } catch (e) { console.error(e); }
     };
 
+    const loadMoreComments = async () => {
+        try {
+            const res = await getCommentsForPost(post.id, commentCursor);
+            setComments(cs => [...cs, ...res.data.items]);
+            setCommentCursor(res.data.nextCursor);
+        } catch (e) { console.error(e); }
+    };
+
+    const handleCommentAdded = () => {
+        setCommentCount(n => n + 1);
+        loadComments();
+    };
+
+    const handleCommentDeleted = c => {
+        setCommentCount(n => Math.max(0, n - 1 - (c.replyCount || 0)));
+        loadComments();
+    };
+
     const handleToggleComments = () => {
         if (!showComments) loadComments();
         setShowComments(v => !v);
@@ -114,12 +132,18 @@ export default function PostCard({ post, onDeleted, onReblog }) {
                                 key={m.id}
                                 src={m.url}
                                 alt="attachment"
+                                width={m.width ?? undefined}
+                                height={m.height ?? undefined}
+                                loading="lazy"
                                 className="post-media-image"
                             />
                             : <video
                                 key={m.id}
                                 src={m.url}
                                 controls
+                                width={m.width ?? undefined}
+                                height={m.height ?? undefined}
+                                preload="metadata"
                                 className="post-media-video"
                             />
                     ))}
@@ -158,11 +182,18 @@ export default function PostCard({ post, onDeleted, onReblog }) {
             {showComments && (
                 <div className="comment-panel">
                     <CommentList
+                        postId={post.id}
                         comments={comments}
-                        onCommentDeleted={loadComments}
+                        onCommentDeleted={handleCommentDeleted}
                         onCommentUpdated={loadComments}
+                        onReplyAdded={() => setCommentCount(n => n + 1)}
                     />
-                    <CommentForm postId={post.id} onCommentAdded={loadComments} />
+                    {commentCursor && (
+                        <button onClick={loadMoreComments} className="btn-load-more">
+                            Load more comments
+                        </button>
+                    )}
+                    <CommentForm postId={post.id} onCommentAdded={handleCommentAdded} />
                 </div>
             )}
         </div>
@@ -1,11 +1,13 @@
 import React, { useEffect, useState } from 'react';
 import { Link }                      from 'react-router-dom';
 import { getAllPosts, deletePost }   from '../api/postService';
+import { getViewerState }            from '../api/viewerStateService';
 import PostCard                      from '../components/PostCard';
 import './PostFeed.css';
 
 export default function PostsFeed() {
     const [posts, setPosts]     = useState([]);
+    const [viewer, setViewer]   = useState(new Map());
     const [loading, setLoading] = useState(true);
     const [error, setError]     = useState('');
 
@@ -18,7 +20,9 @@ export default function PostsFeed() {
         setLoading(true);
         try {
             const res = await getAllPosts();
-            setPosts(res.data.content);
+            const page = res.data.content;
+            setViewer(await getViewerState(page).catch(() => new Map()));
+            setPosts(page);
         } catch {
             setError('Failed to load posts');
         } finally {
@@ -58,6 +62,7 @@ export default function PostsFeed() {
                 <PostCard
                     key={p.id}
                     post={p}
+                    viewer={viewer.get(p.id)}
                     onDeleted={handleDeleted}
                     onReblog={handleReblog}
                 />
@@ -1,5 +1,6 @@
 import React, { useState } from 'react';
 import { searchUsers, searchPosts } from '../api/searchService';
+import { getViewerState } from '../api/viewerStateService';
 import PostCard  from '../components/PostCard';
 import UserCard  from '../components/UserCard';
 import './SearchPage.css';
@@ -8,6 +9,7 @@ export default function SearchPage() {
     const [query, setQuery]     = useState('');
     const [type, setType]       = useState('posts');
     const [results, setResults] = useState([]);
+    const [viewer, setViewer]   = useState(new Map());
     const [loading, setLoading] = useState(false);
     const [error, setError]     = useState('');
 
@@ -20,6 +22,9 @@ export default function SearchPage() {
             const res = type === 'users'
                 ? await searchUsers(query)
                 : await searchPosts(query);
+            if (type === 'posts') {
+                setViewer(await getViewerState(res.data.content).catch(() => new Map()));
+            }
             setResults(res.data.content);
         } catch (err) {
             console.error(err);
@@ -61,7 +66,7 @@ export default function SearchPage() {
             <div className="results-list">
                 {type === 'users'
                     ? results.map(u => <UserCard key={u.username} user={u} />)
-                    : results.map(p => <PostCard key={p.id} post={p} />)}
+                    : results.map(p => <PostCard key={p.id} post={p} viewer={viewer.get(p.id)} />)}
             </div>
         </div>
     );
@@ -13,6 +13,7 @@ export default function SinglePost() {
 
     const [post, setPost]         = useState(null);
     const [comments, setComments] = useState([]);
+    const [cursor, setCursor]     = useState(null);
     const [isEditing, setEditing] = useState(false);
     const [form, setForm]         = useState({ title: '', body: '' });
     const [error, setError]       = useState('');
@@ -25,7 +26,8 @@ export default function SinglePost() {
                 setPost(pRes.data);
                 setForm({ title: pRes.data.title, body: pRes.data.body });
                 const cRes = await getCommentsForPost(postId);
-                setComments(cRes.data);
+                setComments(cRes.data.items);
+                setCursor(cRes.data.nextCursor);
             } catch {
                 console.error('Error loading post or comments');
             }
@@ -35,7 +37,18 @@ export default function SinglePost() {
     const loadComments = async () => {
         try {
             const cRes = await getCommentsForPost(postId);
-            setComments(cRes.data);
+            setComments(cRes.data.items);
+            setCursor(cRes.data.nextCursor);
+        } catch {
+            console.error('Failed to load comments');
+        }
+    };
+
+    const loadMoreComments = async () => {
+        try {
+            const cRes = await getCommentsForPost(postId, cursor);
+            setComments(cs => [...cs, ...cRes.data.items]);
+            setCursor(cRes.data.nextCursor);
         } catch {
             console.error('Failed to load comments');
         }
@@ -153,10 +166,16 @@ export default function SinglePost() {
             <div className="comments-section">
                 <h3>Comments</h3>
                 <CommentList
+                    postId={postId}
                     comments={comments}
                     onCommentDeleted={loadComments}
                     onCommentUpdated={loadComments}
                 />
+                {cursor && (
+                    <button onClick={loadMoreComments} className="btn-load-more">
+                        Load more comments
+                    </button>
+                )}
                 <CommentForm postId={postId} onCommentAdded={loadComments} />
             </div>
         </div>
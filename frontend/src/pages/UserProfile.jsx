@@ -10,6 +10,7 @@ import {
 } from '../api/followService';
 import { getUserProfile }                    from '../api/userService';
 import { getPublishedPostsByUser }           from '../api/postService';
+import { getViewerState }                    from '../api/viewerStateService';
 import PostCard                              from '../components/PostCard';
 import './UserProfile.css';
 
@@ -22,6 +23,7 @@ export default function UserProfile() {
     const [following, setFollowing] = useState(false);
     const [counts, setCounts]       = useState({ followers: 0, following: 0 });
     const [posts, setPosts]         = useState([]);
+    const [viewer, setViewer]       = useState(new Map());
 
     useEffect(() => {
         getUserProfile(other)
@@ -39,7 +41,11 @@ export default function UserProfile() {
         }
 
         getPublishedPostsByUser(other, 0, 15)
-            .then(res => setPosts(res.data.content))
+            .then(async res => {
+                const page = res.data.content;
+                setViewer(await getViewerState(page).catch(() => new Map()));
+                setPosts(page);
+            })
             .catch(console.error);
     }, [meUsername, other]);
 
@@ -81,7 +87,7 @@ export default function UserProfile() {
 
             <div className="posts-list">
                 {posts.map(p => (
-                    <PostCard key={p.id} post={p} />
+                    <PostCard key={p.id} post={p} viewer={viewer.get(p.id)} />
                 ))}
             </div>
         </div>
@@ -0,0 +1,75 @@
+package com.catalin.vibelog.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Local in-process caches backed by Caffeine.
+ * <p>
+ * Every cache is registered up front with statistics recording enabled, so Spring Boot
+ * binds it to Micrometer at startup and hit/miss rates are exposed as {@code cache.gets}
+ * under {@code /actuator/metrics}. The manager is transaction-aware: puts and evictions
+ * issued inside a transaction are applied only after it commits, so a rolled-back
+ * write never invalidates or repopulates an entry.
+ * </p>
+ */
+@Configuration
+public class CacheConfig {
+
+    /** Media attachments of a post, keyed by post ID. */
+    public static final String POST_MEDIA = "postMedia";
+
+    /** User identities (ID, role, avatar), keyed by username. */
+    public static final String USER_IDENTITY = "userIdentity";
+
+    /** Ranked follow suggestions, keyed by user ID. */
+    public static final String SUGGESTIONS = "suggestions";
+
+    /**
+     * Creates the application's cache manager.
+     *
+     * @param postMediaMaxSize   maximum number of posts whose media lists are kept
+     * @param postMediaTtl       time after which a cached media list is reloaded
+     * @param userMaxSize        maximum number of cached user identities
+     * @param userTtl            time after which a cached user identity is reloaded
+     * @param suggestionsMaxSize maximum number of users whose suggestions are kept
+     * @param suggestionsTtl     time after which cached suggestions are recomputed
+     * @return the configured {@link CacheManager}
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${vibelog.cache.post-media.max-size:10000}") long postMediaMaxSize,
+            @Value("${vibelog.cache.post-media.ttl:PT30M}") Duration postMediaTtl,
+            @Value("${vibelog.cache.user-identity.max-size:50000}") long userMaxSize,
+            @Value("${vibelog.cache.user-identity.ttl:PT10M}") Duration userTtl,
+            @Value("${vibelog.cache.suggestions.max-size:10000}") long suggestionsMaxSize,
+            @Value("${vibelog.cache.suggestions.ttl:PT15M}") Duration suggestionsTtl) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setCacheNames(List.of()); // only the caches registered below
+        manager.setAllowNullValues(false);
+        manager.registerCustomCache(POST_MEDIA, Caffeine.newBuilder()
+                .maximumSize(postMediaMaxSize)
+                .expireAfterWrite(postMediaTtl)
+                .recordStats()
+                .build());
+        manager.registerCustomCache(USER_IDENTITY, Caffeine.newBuilder()
+                .maximumSize(userMaxSize)
+                .expireAfterWrite(userTtl)
+                .recordStats()
+                .build());
+        manager.registerCustomCache(SUGGESTIONS, Caffeine.newBuilder()
+                .maximumSize(suggestionsMaxSize)
+                .expireAfterWrite(suggestionsTtl)
+                .recordStats()
+                .build());
+        return new TransactionAwareCacheManagerProxy(manager);
+    }
+}
@@ -0,0 +1,88 @@
+package com.catalin.vibelog.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Thread pools for long-running background work, kept apart from the shared
+ * application executor.
+ * <p>
+ * The shared pool serves {@code @Async} methods and MVC async requests; its queue is
+ * so large that it never grows past its core threads, so a few jobs that sleep between
+ * chunks would starve everything behind them. Each dedicated pool is small and has a
+ * bounded queue, and rejects new work once both are full. Declaring any executor bean
+ * makes Spring Boot back off from its own, so the shared pool is declared here as well,
+ * under the same names and from the same {@code spring.task.execution.*} properties.
+ * </p>
+ */
+@Configuration
+public class TaskExecutorConfig {
+
+    /** Executor running bulk moderation jobs. */
+    public static final String BULK_MODERATION_EXECUTOR = "bulkModerationExecutor";
+
+    /** Executor writing streamed MVC responses such as data exports. */
+    public static final String STREAMING_EXECUTOR = "streamingTaskExecutor";
+
+    /**
+     * Creates the shared application executor that Spring Boot would otherwise provide.
+     *
+     * @param builder builder configured from {@code spring.task.execution.*}
+     * @return the shared executor
+     */
+    @Lazy
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Creates the executor running bulk moderation jobs.
+     *
+     * @param concurrency   maximum number of jobs running at once
+     * @param queueCapacity maximum number of jobs waiting for a thread
+     * @return the bulk moderation executor
+     */
+    @Bean(name = BULK_MODERATION_EXECUTOR)
+    public ThreadPoolTaskExecutor bulkModerationExecutor(
+            @Value("${vibelog.moderation.bulk.concurrency:2}") int concurrency,
+            @Value("${vibelog.moderation.bulk.queue-capacity:20}") int queueCapacity) {
+        return boundedPool("vibelog-bulk-", concurrency, queueCapacity);
+    }
+
+    /**
+     * Creates the executor writing streamed MVC responses. Every running export holds
+     * one of its threads, and exports are capped by their slots, so the pool is sized
+     * to that cap; the queue only absorbs a slot released before its thread returns.
+     *
+     * @param maxConcurrentExports maximum number of exports running at once
+     * @return the streaming executor
+     */
+    @Bean(name = STREAMING_EXECUTOR)
+    public ThreadPoolTaskExecutor streamingTaskExecutor(
+            @Value("${vibelog.export.max-concurrent:2}") int maxConcurrentExports) {
+        return boundedPool("vibelog-stream-", maxConcurrentExports, maxConcurrentExports);
+    }
+
+    /**
+     * Build a fixed-size pool with a bounded queue.
+     *
+     * @param threadNamePrefix prefix of the pool's thread names
+     * @param threads          number of threads
+     * @param queueCapacity    number of tasks that may wait for a thread
+     * @return the pool, initialized by the container
+     */
+    private static ThreadPoolTaskExecutor boundedPool(String threadNamePrefix, int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(Math.max(1, threads));
+        executor.setMaxPoolSize(Math.max(1, threads));
+        executor.setQueueCapacity(Math.max(0, queueCapacity));
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
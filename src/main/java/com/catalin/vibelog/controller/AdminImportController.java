@@ -0,0 +1,49 @@
+package com.catalin.vibelog.controller;
+
+import com.catalin.vibelog.dto.response.ImportResultDTO;
+import com.catalin.vibelog.service.BulkImportService;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Admin‐only REST controller for bulk-loading content.
+ * <p>
+ * Secured with {@code @PreAuthorize("hasRole('ADMIN')")}. The request body is an
+ * NDJSON document in the format described by {@link BulkImportService}; it is
+ * streamed to the database without being buffered in memory.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/admin/import")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminImportController {
+
+    private final BulkImportService importService;
+
+    /**
+     * Constructs the AdminImportController with the required import service.
+     *
+     * @param importService the service loading the documents
+     */
+    public AdminImportController(BulkImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * POST /api/admin/import
+     * <p>
+     * Import posts, comments, likes and follows in a single transaction.
+     * </p>
+     *
+     * @param body the NDJSON document
+     * @return counts of what was created and skipped
+     * @throws IOException if reading the request body fails
+     */
+    @PostMapping
+    public ImportResultDTO importNdjson(InputStream body) throws IOException {
+        return importService.importNdjson(body);
+    }
+}
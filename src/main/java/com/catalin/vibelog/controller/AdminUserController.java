@@ -92,14 +92,16 @@ public class AdminUserController {
     /**
      * DELETE /api/admin/users/{id}
      * <p>
-     * Delete a user and cascade-delete their content.
+     * Disable a user's account and schedule their content for deletion.
+     * The account can no longer log in or use issued tokens once this returns;
+     * its data is purged in the background.
      * </p>
      *
      * @param id the ID of the user to delete
      * @throws com.catalin.vibelog.exception.ResourceNotFoundException if no user exists with the given ID
      */
     @DeleteMapping("/{id}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ResponseStatus(HttpStatus.ACCEPTED)
     public void deleteOne(@PathVariable Long id) {
         userService.deleteUserById(id);
     }
@@ -2,14 +2,13 @@ package com.catalin.vibelog.controller;
 
 import com.catalin.vibelog.dto.request.CommentRequest;
 import com.catalin.vibelog.dto.response.CommentResponse;
+import com.catalin.vibelog.dto.response.CursorPageDTO;
 import com.catalin.vibelog.service.CommentService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * REST controller for managing comments on posts.
  * <p>
@@ -27,18 +26,41 @@ public class CommentController {
     }
 
     /**
-     * List all comments for a given post, ordered by creation time ascending.
+     * List one page of a post's top-level comments, ordered by creation time ascending.
      *
      * @param postId the ID of the post whose comments to retrieve
-     * @return a {@link List} of {@link CommentResponse}
+     * @param cursor the {@code nextCursor} of the previous page; omit for the first page
+     * @param size   maximum number of comments to return (at most 100)
+     * @return the page of {@link CommentResponse} and the cursor for the next one
      */
     @GetMapping("/api/posts/{postId}/comments")
-    public List<CommentResponse> listComments(@PathVariable Long postId) {
-        return commentService.listComments(postId);
+    public CursorPageDTO<CommentResponse> listComments(
+            @PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return commentService.listComments(postId, cursor, size);
+    }
+
+    /**
+     * List one page of the replies to a comment, ordered by creation time ascending.
+     *
+     * @param commentId the ID of the comment whose replies to retrieve
+     * @param cursor    the {@code nextCursor} of the previous page; omit for the first page
+     * @param size      maximum number of replies to return (at most 100)
+     * @return the page of {@link CommentResponse} and the cursor for the next one
+     */
+    @GetMapping("/api/comments/{commentId}/replies")
+    public CursorPageDTO<CommentResponse> listReplies(
+            @PathVariable Long commentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return commentService.listReplies(commentId, cursor, size);
     }
 
     /**
-     * Add a new comment under a post.
+     * Add a new comment under a post, or a reply when {@code parentId} is set.
      *
      * @param postId the ID of the post to comment on
      * @param auth   the Spring Security {@link Authentication} of the current user
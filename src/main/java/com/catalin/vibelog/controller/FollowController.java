@@ -4,10 +4,12 @@ package com.catalin.vibelog.controller;
 import com.catalin.vibelog.dto.response.FollowStateDTO;
 import com.catalin.vibelog.dto.response.FollowCountDTO;
 import com.catalin.vibelog.dto.request.FollowRequestDTO;
+import com.catalin.vibelog.security.AuthenticatedUser;
 import com.catalin.vibelog.service.FollowService;
-import com.catalin.vibelog.service.UserService;
+import com.catalin.vibelog.service.UserLookupService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -19,24 +21,26 @@ import org.springframework.web.bind.annotation.*;
 public class FollowController {
 
     private final FollowService followService;
-    private final UserService userService;
+    private final UserLookupService userLookup;
 
     @Autowired
-    public FollowController(FollowService followService, UserService userService) {
+    public FollowController(FollowService followService, UserLookupService userLookup) {
         this.followService = followService;
-        this.userService   = userService;
+        this.userLookup    = userLookup;
     }
 
     /**
      * Check whether {@code followerUsername} is following {@code followeeUsername}.
      *
      * @param req  the DTO containing both usernames
+     * @param user the authenticated principal resolved from the JWT
      * @return DTO with {@code following=true} if the relationship exists
      */
     @PostMapping("/state")
-    public FollowStateDTO isFollowing(@Valid @RequestBody FollowRequestDTO req) {
-        Long followerId = userService.findByUsername(req.followerUsername()).getId();
-        Long followeeId = userService.findByUsername(req.followeeUsername()).getId();
+    public FollowStateDTO isFollowing(@Valid @RequestBody FollowRequestDTO req,
+                                      @AuthenticationPrincipal AuthenticatedUser user) {
+        Long followerId = resolveId(req.followerUsername(), user);
+        Long followeeId = userLookup.getByUsername(req.followeeUsername()).id();
         boolean following = followService.isFollowing(followerId, followeeId);
         return new FollowStateDTO(following);
     }
@@ -45,11 +49,13 @@ public class FollowController {
      * Create a follow relationship from {@code followerUsername} to {@code followeeUsername}.
      *
      * @param req  the DTO containing both usernames
+     * @param user the authenticated principal resolved from the JWT
      */
     @PostMapping
-    public void follow(@Valid @RequestBody FollowRequestDTO req) {
-        Long followerId = userService.findByUsername(req.followerUsername()).getId();
-        Long followeeId = userService.findByUsername(req.followeeUsername()).getId();
+    public void follow(@Valid @RequestBody FollowRequestDTO req,
+                       @AuthenticationPrincipal AuthenticatedUser user) {
+        Long followerId = resolveId(req.followerUsername(), user);
+        Long followeeId = userLookup.getByUsername(req.followeeUsername()).id();
         followService.follow(followerId, followeeId);
     }
 
@@ -57,11 +63,13 @@ public class FollowController {
      * Remove the follow relationship from {@code followerUsername} to {@code followeeUsername}.
      *
      * @param req  the DTO containing both usernames
+     * @param user the authenticated principal resolved from the JWT
      */
     @DeleteMapping
-    public void unfollow(@Valid @RequestBody FollowRequestDTO req) {
-        Long followerId = userService.findByUsername(req.followerUsername()).getId();
-        Long followeeId = userService.findByUsername(req.followeeUsername()).getId();
+    public void unfollow(@Valid @RequestBody FollowRequestDTO req,
+                         @AuthenticationPrincipal AuthenticatedUser user) {
+        Long followerId = resolveId(req.followerUsername(), user);
+        Long followeeId = userLookup.getByUsername(req.followeeUsername()).id();
         followService.unfollow(followerId, followeeId);
     }
 
@@ -73,9 +81,22 @@ public class FollowController {
      */
     @PostMapping("/count")
     public FollowCountDTO counts(@Valid @RequestBody FollowRequestDTO req) {
-        Long userId = userService.findByUsername(req.followeeUsername()).getId();
-        long followers = followService.countFollowers(userId);
-        long following = followService.countFollowing(userId);
-        return new FollowCountDTO(followers, following);
+        Long userId = userLookup.getByUsername(req.followeeUsername()).id();
+        return followService.getFollowCounts(userId);
+    }
+
+    /**
+     * Resolve a username to its user ID, taking it straight from the principal
+     * when the username refers to the current user.
+     *
+     * @param username the username to resolve
+     * @param user     the authenticated principal, may be {@code null}
+     * @return the user's ID
+     */
+    private Long resolveId(String username, AuthenticatedUser user) {
+        if (user != null && user.username().equals(username)) {
+            return user.id();
+        }
+        return userLookup.getByUsername(username).id();
     }
 }
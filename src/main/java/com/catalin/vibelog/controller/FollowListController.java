@@ -0,0 +1,85 @@
+package com.catalin.vibelog.controller;
+
+import com.catalin.vibelog.dto.response.CursorPageDTO;
+import com.catalin.vibelog.dto.response.FollowUserDTO;
+import com.catalin.vibelog.dto.response.MutualFollowersDTO;
+import com.catalin.vibelog.security.AuthenticatedUser;
+import com.catalin.vibelog.service.FollowService;
+import com.catalin.vibelog.service.UserLookupService;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Exposes a user's follower and following lists with keyset pagination,
+ * and the "followed by people you follow" summary.
+ */
+@RestController
+@RequestMapping("/api/users/{username}")
+public class FollowListController {
+
+    private final FollowService followService;
+    private final UserLookupService userLookup;
+
+    /**
+     * Constructs the controller.
+     *
+     * @param followService service providing the follow listings
+     * @param userLookup    cached resolver from username to user identity
+     */
+    public FollowListController(FollowService followService, UserLookupService userLookup) {
+        this.followService = followService;
+        this.userLookup = userLookup;
+    }
+
+    /**
+     * GET /api/users/{username}/followers : one page of the user's followers, newest first.
+     *
+     * @param username the user whose followers to list
+     * @param cursor   the {@code nextCursor} of the previous page; omit for the first page
+     * @param size     maximum number of followers to return (at most 100)
+     * @return the page and the cursor for the next one
+     */
+    @GetMapping("/followers")
+    public CursorPageDTO<FollowUserDTO> followers(
+            @PathVariable String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return followService.listFollowers(userLookup.getByUsername(username).id(), cursor, size);
+    }
+
+    /**
+     * GET /api/users/{username}/following : one page of the users this user follows, newest first.
+     *
+     * @param username the user whose followings to list
+     * @param cursor   the {@code nextCursor} of the previous page; omit for the first page
+     * @param size     maximum number of users to return (at most 100)
+     * @return the page and the cursor for the next one
+     */
+    @GetMapping("/following")
+    public CursorPageDTO<FollowUserDTO> following(
+            @PathVariable String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return followService.listFollowing(userLookup.getByUsername(username).id(), cursor, size);
+    }
+
+    /**
+     * GET /api/users/{username}/followers/mutual : accounts the current user follows
+     * that also follow {@code username}.
+     *
+     * @param username the user being looked at
+     * @param limit    maximum number of accounts to include in the sample
+     * @param user     the authenticated principal resolved from the JWT
+     * @return a sample of mutual connections and their total number
+     */
+    @GetMapping("/followers/mutual")
+    public MutualFollowersDTO mutualFollowers(
+            @PathVariable String username,
+            @RequestParam(defaultValue = "3") int limit,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return followService.findFollowedByFollowees(user.id(), userLookup.getByUsername(username).id(), limit);
+    }
+}
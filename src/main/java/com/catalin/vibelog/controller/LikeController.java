@@ -1,14 +1,16 @@
 package com.catalin.vibelog.controller;
 
 import com.catalin.vibelog.dto.response.LikeResponse;
+import com.catalin.vibelog.security.AuthenticatedUser;
 import com.catalin.vibelog.service.LikeService;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 /**
  * REST controller for managing likes on posts.
  * <p>
- * Exposes endpoints to toggle a like and to fetch like status/count.
+ * Exposes endpoints to toggle a like, to idempotently like ({@code PUT}) or
+ * unlike ({@code DELETE}) a post, and to fetch like status/count.
  * All operations require an authenticated user.
  * </p>
  */
@@ -27,33 +29,61 @@ public class LikeController {
      * otherwise it will remove it.
      *
      * @param postId the ID of the post to like or unlike
-     * @param auth   the Spring Security {@link Authentication} of the current user
+     * @param user   the authenticated principal resolved from the JWT
      * @return a {@link LikeResponse} containing the new total like count and the user's like status
      */
     @PostMapping("/api/posts/{postId}/likes")
     public LikeResponse toggleLike(
             @PathVariable Long postId,
-            Authentication auth
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        String username = auth.getName();
-        return likeService.toggleLike(postId, username);
+        return likeService.toggleLike(postId, user.id(), user.username());
+    }
+
+    /**
+     * Like the given post as the current user. Repeating the request has no further effect.
+     *
+     * @param postId the ID of the post to like
+     * @param user   the authenticated principal resolved from the JWT
+     * @return a {@link LikeResponse} with {@code liked=true} and the current total like count
+     */
+    @PutMapping("/api/posts/{postId}/likes")
+    public LikeResponse like(
+            @PathVariable Long postId,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return likeService.like(postId, user.id(), user.username());
+    }
+
+    /**
+     * Remove the current user's like from the given post. Repeating the request has no further effect.
+     *
+     * @param postId the ID of the post to unlike
+     * @param user   the authenticated principal resolved from the JWT
+     * @return a {@link LikeResponse} with {@code liked=false} and the current total like count
+     */
+    @DeleteMapping("/api/posts/{postId}/likes")
+    public LikeResponse unlike(
+            @PathVariable Long postId,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return likeService.unlike(postId, user.id());
     }
 
     /**
      * Fetch the current user's like status and total like count for a post.
      *
      * @param postId the ID of the post
-     * @param auth   the Spring Security {@link Authentication} of the current user
+     * @param user   the authenticated principal resolved from the JWT
      * @return a {@link LikeResponse} with current like count and whether the user has liked
      */
     @GetMapping("/api/posts/{postId}/likes")
     public LikeResponse getLikeStatus(
             @PathVariable Long postId,
-            Authentication auth
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        String username = auth.getName();
         int totalLikes = likeService.countLikes(postId);
-        boolean liked  = likeService.isLiked(postId, username);
+        boolean liked  = likeService.isLiked(postId, user.id());
         return new LikeResponse(postId, liked, totalLikes);
     }
 }
@@ -1,7 +1,12 @@
 package com.catalin.vibelog.controller;
 
+import com.catalin.vibelog.dto.request.BulkPostDeleteRequest;
+import com.catalin.vibelog.dto.request.CommentPurgeRequest;
+import com.catalin.vibelog.dto.response.BulkJobDTO;
+import com.catalin.vibelog.service.BulkModerationService;
 import com.catalin.vibelog.service.CommentService;
 import com.catalin.vibelog.service.PostService;
+import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -20,17 +25,21 @@ public class ModeratorController {
 
     private final PostService postService;
     private final CommentService commentService;
+    private final BulkModerationService bulkService;
 
     /**
      * Constructs the ModeratorController with required services for moderation.
      *
      * @param postService    service providing post deletion capabilities
      * @param commentService service providing comment deletion capabilities
+     * @param bulkService    service running bulk deletion jobs
      */
     public ModeratorController(PostService postService,
-                               CommentService commentService) {
+                               CommentService commentService,
+                               BulkModerationService bulkService) {
         this.postService = postService;
         this.commentService = commentService;
+        this.bulkService = bulkService;
     }
 
     /**
@@ -64,4 +73,67 @@ public class ModeratorController {
     public void deleteComment(@PathVariable Long commentId) {
         commentService.deleteCommentAsModerator(commentId);
     }
+
+    /**
+     * POST /api/moderation/bulk/posts/delete
+     * <p>
+     * Starts deleting the given posts, their reblogs and all associated data in the background.
+     * </p>
+     *
+     * @param request the IDs of the posts to delete
+     * @return the started job, to be polled for progress
+     */
+    @PostMapping("/bulk/posts/delete")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public BulkJobDTO deletePosts(@Valid @RequestBody BulkPostDeleteRequest request) {
+        return bulkService.startPostDeletion(request.postIds());
+    }
+
+    /**
+     * POST /api/moderation/bulk/users/{username}/purge
+     * <p>
+     * Starts deleting every post and comment written by the user in the background.
+     * The account itself is kept.
+     * </p>
+     *
+     * @param username the user whose content is purged
+     * @return the started job, to be polled for progress
+     * @throws com.catalin.vibelog.exception.UserNotFoundException if no user has that username
+     */
+    @PostMapping("/bulk/users/{username}/purge")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public BulkJobDTO purgeUser(@PathVariable String username) {
+        return bulkService.startUserPurge(username);
+    }
+
+    /**
+     * POST /api/moderation/bulk/comments/delete
+     * <p>
+     * Starts deleting every comment containing the given text, case-insensitively,
+     * together with its replies, in the background.
+     * </p>
+     *
+     * @param request the text to match
+     * @return the started job, to be polled for progress
+     */
+    @PostMapping("/bulk/comments/delete")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public BulkJobDTO deleteComments(@Valid @RequestBody CommentPurgeRequest request) {
+        return bulkService.startCommentPurge(request.contains());
+    }
+
+    /**
+     * GET /api/moderation/bulk/jobs/{jobId}
+     * <p>
+     * Reports the progress of a bulk job.
+     * </p>
+     *
+     * @param jobId the job's identifier
+     * @return the job's progress
+     * @throws com.catalin.vibelog.exception.ResourceNotFoundException if the job is unknown or expired
+     */
+    @GetMapping("/bulk/jobs/{jobId}")
+    public BulkJobDTO getJob(@PathVariable String jobId) {
+        return bulkService.getJob(jobId);
+    }
 }
@@ -3,6 +3,7 @@ package com.catalin.vibelog.controller;
 import com.catalin.vibelog.dto.request.PostRequest;
 import com.catalin.vibelog.dto.response.MediaResponseDTO;
 import com.catalin.vibelog.dto.response.PostResponse;
+import com.catalin.vibelog.security.AuthenticatedUser;
 import com.catalin.vibelog.service.MediaService;
 import com.catalin.vibelog.service.PostService;
 import jakarta.validation.Valid;
@@ -12,6 +13,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -47,7 +49,7 @@ public class PostController {
     /**
      * Create a new post.
      *
-     * @param auth the Spring Security {@link Authentication} containing the current principal's username
+     * @param user the authenticated principal resolved from the JWT
      * @param req  the {@link PostRequest} DTO with title, body, status, and optional originalPostId
      * @return the created {@link PostResponse}
      * @throws com.catalin.vibelog.exception.PostNotFoundException if the originalPostId does not exist
@@ -55,11 +57,10 @@ public class PostController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public PostResponse createPost(
-            Authentication auth,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @Valid @RequestBody PostRequest req
     ) {
-        String username = auth.getName();
-        return postService.createPost(req, username);
+        return postService.createPost(req, user.id(), user.username());
     }
 
     /**
@@ -184,7 +185,7 @@ public class PostController {
      * Reblog an existing post by creating a new published post linked to the original.
      *
      * @param postId the ID of the post to reblog
-     * @param auth   the Spring Security {@link Authentication} containing the current user's username
+     * @param user   the authenticated principal resolved from the JWT
      * @return the newly created {@link PostResponse}
      * @throws com.catalin.vibelog.exception.PostNotFoundException if the original post does not exist
      */
@@ -192,9 +193,8 @@ public class PostController {
     @ResponseStatus(HttpStatus.CREATED)
     public PostResponse reblogPost(
             @PathVariable Long postId,
-            Authentication auth
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        String username = auth.getName();
         PostResponse original = postService.getPostById(postId);
         PostRequest req = new PostRequest(
                 original.title(),
@@ -202,38 +202,38 @@ public class PostController {
                 com.catalin.vibelog.model.enums.PostStatus.PUBLISHED.name(),
                 postId
         );
-        return postService.createPost(req, username);
+        return postService.createPost(req, user.id(), user.username());
     }
 
     /**
      * Undo a reblog by deleting the reblog post created by the current user.
      *
      * @param postId the ID of the original post whose reblog to undo
-     * @param auth   the Spring Security {@link Authentication} containing the current user's username
+     * @param user   the authenticated principal resolved from the JWT
      * @throws com.catalin.vibelog.exception.PostNotFoundException if no such reblog exists
      */
     @DeleteMapping("/{postId}/reblog")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void undoReblog(
             @PathVariable Long postId,
-            Authentication auth
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        postService.undoReblog(auth.getName(), postId);
+        postService.undoReblog(user.id(), postId);
     }
 
     /**
      * Check if the current user has reblogged a specific post.
      *
      * @param postId the ID of the original post
-     * @param auth   the Spring Security {@link Authentication} containing the current user's username
+     * @param user   the authenticated principal resolved from the JWT
      * @return a map with key "reblogged" and value true if reblogged, false otherwise
      */
     @GetMapping("/{postId}/reblog/state")
     public Map<String, Boolean> reblogState(
             @PathVariable Long postId,
-            Authentication auth
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        boolean state = postService.isReblogged(auth.getName(), postId);
+        boolean state = postService.isReblogged(user.id(), postId);
         return Map.of("reblogged", state);
     }
 
@@ -263,7 +263,8 @@ public class PostController {
             @RequestParam("file") MultipartFile file
     ) {
         var m = mediaService.uploadToPost(postId, file);
-        return new MediaResponseDTO(m.getId(), m.getUrl(), m.getType().name());
+        return new MediaResponseDTO(m.getId(), m.getUrl(), m.getType().name(),
+                m.getWidth(), m.getHeight(), m.getDurationMs());
     }
 
     /**
@@ -274,9 +275,7 @@ public class PostController {
      */
     @GetMapping("/{postId}/media")
     public List<MediaResponseDTO> listMedia(@PathVariable Long postId) {
-        return mediaService.listForPost(postId).stream()
-                .map(m -> new MediaResponseDTO(m.getId(), m.getUrl(), m.getType().name()))
-                .toList();
+        return mediaService.listForPost(postId);
     }
 
     /**
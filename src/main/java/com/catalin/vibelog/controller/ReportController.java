@@ -2,8 +2,11 @@ package com.catalin.vibelog.controller;
 
 import com.catalin.vibelog.dto.request.ReportRequestDTO;
 import com.catalin.vibelog.dto.request.ReportStatusUpdateDTO;
+import com.catalin.vibelog.dto.response.ModerationQueueItemDTO;
 import com.catalin.vibelog.dto.response.ReportResponseDTO;
+import com.catalin.vibelog.dto.response.TargetResolutionDTO;
 import com.catalin.vibelog.model.enums.ReportStatus;
+import com.catalin.vibelog.model.enums.ReportTarget;
 import com.catalin.vibelog.service.ReportService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -91,4 +94,35 @@ public class ReportController {
     ) {
         return reportService.updateReportStatus(reportId, statusUpdate);
     }
+
+    /**
+     * List the moderation queue: reports aggregated per post or comment,
+     * highest priority first (moderator only).
+     *
+     * @param pageable paging parameters; sorting is fixed to priority
+     * @return a page of queue items
+     */
+    @GetMapping("/queue")
+    @PreAuthorize("hasRole('MODERATOR')")
+    public Page<ModerationQueueItemDTO> listModerationQueue(Pageable pageable) {
+        return reportService.listModerationQueue(pageable);
+    }
+
+    /**
+     * Resolve every pending report against a post or comment (moderator only).
+     *
+     * @param targetType   POST or COMMENT
+     * @param targetId     the ID of the reported post or comment
+     * @param statusUpdate the new status payload
+     * @return the number of reports updated
+     */
+    @PutMapping("/queue/{targetType}/{targetId}/status")
+    @PreAuthorize("hasRole('MODERATOR')")
+    public TargetResolutionDTO resolveTarget(
+            @PathVariable ReportTarget targetType,
+            @PathVariable Long targetId,
+            @Valid @RequestBody ReportStatusUpdateDTO statusUpdate
+    ) {
+        return reportService.resolveTarget(targetType, targetId, statusUpdate.status());
+    }
 }
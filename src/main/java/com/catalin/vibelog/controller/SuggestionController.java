@@ -0,0 +1,44 @@
+package com.catalin.vibelog.controller;
+
+import com.catalin.vibelog.dto.response.SuggestedUserDTO;
+import com.catalin.vibelog.security.AuthenticatedUser;
+import com.catalin.vibelog.service.SuggestionService;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Exposes "who to follow" suggestions for the authenticated user.
+ */
+@RestController
+@RequestMapping("/api/users/me/suggestions")
+public class SuggestionController {
+
+    private final SuggestionService suggestionService;
+
+    /**
+     * Constructs the controller.
+     *
+     * @param suggestionService service ranking follow suggestions
+     */
+    public SuggestionController(SuggestionService suggestionService) {
+        this.suggestionService = suggestionService;
+    }
+
+    /**
+     * GET /api/users/me/suggestions : accounts followed by the people the current
+     * user follows, ranked by how many of them follow each account.
+     *
+     * @param limit maximum number of suggestions to return
+     * @param user  the authenticated principal resolved from the JWT
+     * @return the suggestions, best first
+     */
+    @GetMapping
+    public List<SuggestedUserDTO> suggestions(
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return suggestionService.suggestFor(user.id(), limit);
+    }
+}
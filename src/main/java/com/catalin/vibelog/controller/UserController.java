@@ -3,14 +3,23 @@ package com.catalin.vibelog.controller;
 import com.catalin.vibelog.dto.request.ProfileUpdateRequest;
 import com.catalin.vibelog.dto.response.ProfileResponse;
 import com.catalin.vibelog.dto.response.ProfileUpdateWithTokenResponse;
+import com.catalin.vibelog.model.enums.ExportFormat;
+import com.catalin.vibelog.security.AuthenticatedUser;
 import com.catalin.vibelog.security.JwtUtil;
+import com.catalin.vibelog.service.DataExportService;
 import com.catalin.vibelog.service.StorageService;
 import com.catalin.vibelog.service.UserService;
 import jakarta.validation.Valid;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * REST controller for managing the authenticated user's profile and public profile access.
@@ -25,17 +34,21 @@ public class UserController {
 
     private final UserService userService;
     private final StorageService storageService;
+    private final DataExportService exportService;
 
     /**
      * Constructs the controller with required services.
      *
      * @param userService    service for profile operations
      * @param storageService service for file storage (e.g., avatars)
+     * @param exportService  service streaming a user's data export
      */
     public UserController(UserService userService,
-                          StorageService storageService) {
+                          StorageService storageService,
+                          DataExportService exportService) {
         this.userService    = userService;
         this.storageService = storageService;
+        this.exportService  = exportService;
     }
 
     /**
@@ -107,7 +120,8 @@ public class UserController {
     /**
      * DELETE /api/users/me/avatar : Remove the current user's profile picture.
      * <p>
-     * Deletes the stored file (if any) and clears the <code>profilePicture</code> field.
+     * Clears the <code>profilePicture</code> field; the stored file is reclaimed
+     * later by the storage garbage collector.
      * </p>
      *
      * @param auth the Spring Security {@link Authentication} containing the principal's username
@@ -116,13 +130,43 @@ public class UserController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteAvatar(Authentication auth) {
         String username = auth.getName();
-        ProfileResponse before = userService.getProfileByUsername(username);
-        if (before.profilePicture() != null) {
-            storageService.delete(before.profilePicture());
-        }
         userService.updateProfileByUsername(
                 username,
                 new ProfileUpdateRequest(null, null, null, null)
         );
     }
+
+    /**
+     * GET /api/users/me/export : Download everything the current user has created.
+     * <p>
+     * The response is streamed while it is read from the database, as NDJSON by default
+     * or as a ZIP archive that also contains the media files. An export slot is reserved
+     * before the response starts, so a busy instance answers 503 instead of queueing it.
+     * </p>
+     *
+     * @param user   the authenticated principal resolved from the JWT
+     * @param format the download format
+     * @return the streamed export as an attachment
+     * @throws com.catalin.vibelog.exception.CapacityExceededException if too many exports are running
+     */
+    @GetMapping("/me/export")
+    public ResponseEntity<StreamingResponseBody> exportMyData(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format
+    ) {
+        Long userId = user.id();
+        boolean zip = format == ExportFormat.ZIP;
+        String filename = "vibelog-export" + (zip ? ".zip" : ".ndjson");
+        DataExportService.Slot slot = exportService.reserve();
+        return ResponseEntity.ok()
+                .contentType(zip ? MediaType.parseMediaType("application/zip")
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(out -> {
+                    try (slot) {
+                        exportService.export(userId, format, out);
+                    }
+                });
+    }
 }
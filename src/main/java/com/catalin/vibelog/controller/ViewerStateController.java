@@ -0,0 +1,44 @@
+package com.catalin.vibelog.controller;
+
+import com.catalin.vibelog.dto.request.ViewerStateRequestDTO;
+import com.catalin.vibelog.dto.response.ViewerStateDTO;
+import com.catalin.vibelog.security.AuthenticatedUser;
+import com.catalin.vibelog.service.ViewerStateService;
+import jakarta.validation.Valid;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller returning the current user's like, reblog and follow flags
+ * for a whole page of posts in one round trip.
+ */
+@RestController
+@RequestMapping("/api/viewer-state")
+public class ViewerStateController {
+
+    private final ViewerStateService viewerStateService;
+
+    /**
+     * Constructs the controller with the service computing viewer flags.
+     *
+     * @param viewerStateService the service resolving like/reblog/follow state
+     */
+    public ViewerStateController(ViewerStateService viewerStateService) {
+        this.viewerStateService = viewerStateService;
+    }
+
+    /**
+     * POST /api/viewer-state : Resolve the viewer's flags for the given posts and authors.
+     *
+     * @param req  the post IDs and author usernames rendered on the page
+     * @param user the authenticated principal resolved from the JWT
+     * @return the liked and reblogged post IDs and the followed authors among those requested
+     */
+    @PostMapping
+    public ViewerStateDTO viewerState(
+            @Valid @RequestBody ViewerStateRequestDTO req,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return viewerStateService.getViewerState(user.id(), req.postIds(), req.authorUsernames());
+    }
+}
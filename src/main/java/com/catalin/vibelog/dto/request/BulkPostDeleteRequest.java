@@ -0,0 +1,15 @@
+package com.catalin.vibelog.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Payload for deleting several posts at once.
+ *
+ * @param postIds IDs of the posts to delete, reblogs of them included
+ */
+public record BulkPostDeleteRequest(
+        @NotEmpty(message = "At least one post ID must be provided")
+        List<Long> postIds
+) { }
@@ -0,0 +1,15 @@
+package com.catalin.vibelog.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Payload for deleting every comment matching a pattern.
+ *
+ * @param contains text the comment content must contain, compared case-insensitively
+ */
+public record CommentPurgeRequest(
+        @NotBlank(message = "Pattern must not be blank")
+        @Size(min = 3, max = 200, message = "Pattern must be between 3 and 200 characters")
+        String contains
+) { }
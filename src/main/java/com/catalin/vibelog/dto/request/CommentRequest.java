@@ -9,10 +9,23 @@ import jakarta.validation.constraints.Size;
  * Only the content of the comment is mutable; the post and author are derived from context.
  * </p>
  *
- * @param content the text of the comment; must not be blank and have max length 1000
+ * @param content  the text of the comment; must not be blank and have max length 1000
+ * @param parentId ID of the comment being replied to, or {@code null} for a top-level comment;
+ *                 ignored on updates
  */
 public record CommentRequest(
         @NotBlank(message = "Comment content must not be blank")
         @Size(max = 1000, message = "Comment cannot exceed 1000 characters")
-        String content
-) {}
+        String content,
+        Long parentId
+) {
+
+    /**
+     * Creates a request for a top-level comment.
+     *
+     * @param content the text of the comment
+     */
+    public CommentRequest(String content) {
+        this(content, null);
+    }
+}
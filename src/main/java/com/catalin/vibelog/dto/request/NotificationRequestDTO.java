@@ -1,18 +1,74 @@
 package com.catalin.vibelog.dto.request;
 
 import com.catalin.vibelog.model.enums.NotificationType;
+import com.catalin.vibelog.model.enums.ReportStatus;
+import com.catalin.vibelog.model.enums.ReportTarget;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 /**
  * Payload to create a notification (used by event listeners).
+ * <p>
+ * Requests naming an actor are aggregated: they fold into the recipient's recent
+ * unseen notification of the same type and target, and their text is rendered
+ * from the actors instead of being supplied.
+ * </p>
  *
- * @param type               the notification type
- * @param recipientUsername  who receives it
- * @param content            the message body
+ * @param type              the notification type
+ * @param recipientUsername who receives it
+ * @param content           the message body; {@code null} for notifications rendered from a template
+ * @param actorUsername     the user who caused it, or {@code null} if it is not aggregated
+ * @param targetId          ID of the post or comment it is about, or {@code null} if it is about the recipient
+ * @param targetType        kind of the reported object for a REPORT notification, or {@code null}
+ * @param reportResult      outcome of the report for a REPORT notification, or {@code null}
  */
 public record NotificationRequestDTO(
         @NotNull NotificationType type,
         @NotBlank String recipientUsername,
-        @NotBlank String content
-) { }
+        String content,
+        String actorUsername,
+        Long targetId,
+        ReportTarget targetType,
+        ReportStatus reportResult
+) {
+
+    /**
+     * Create a plain notification with a fixed message.
+     *
+     * @param type              the notification type
+     * @param recipientUsername who receives it
+     * @param content           the message body
+     */
+    public NotificationRequestDTO(NotificationType type, String recipientUsername, String content) {
+        this(type, recipientUsername, content, null, null, null, null);
+    }
+
+    /**
+     * Create an aggregated notification for an action by {@code actorUsername}.
+     *
+     * @param type              the notification type
+     * @param recipientUsername who receives it
+     * @param actorUsername     the user who caused it
+     * @param targetId          ID of the post it is about, or {@code null} if it is about the recipient
+     * @return the request
+     */
+    public static NotificationRequestDTO fromActor(NotificationType type, String recipientUsername,
+                                                   String actorUsername, Long targetId) {
+        return new NotificationRequestDTO(type, recipientUsername, null, actorUsername, targetId, null, null);
+    }
+
+    /**
+     * Create a REPORT notification telling a reporter the outcome of their report.
+     *
+     * @param recipientUsername who filed the report
+     * @param targetType        kind of the reported object
+     * @param targetId          ID of the reported post or comment
+     * @param result            the report's final status
+     * @return the request
+     */
+    public static NotificationRequestDTO forReport(String recipientUsername, ReportTarget targetType,
+                                                   Long targetId, ReportStatus result) {
+        return new NotificationRequestDTO(NotificationType.REPORT, recipientUsername, null, null,
+                targetId, targetType, result);
+    }
+}
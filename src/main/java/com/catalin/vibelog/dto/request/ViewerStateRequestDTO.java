@@ -0,0 +1,17 @@
+package com.catalin.vibelog.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Payload asking for the current user's relationship to a page of content.
+ *
+ * @param postIds         IDs of the posts rendered on the page
+ * @param authorUsernames usernames of the authors rendered on the page; may be empty
+ */
+public record ViewerStateRequestDTO(
+        @NotNull @Size(max = 100) List<Long> postIds,
+        @Size(max = 100) List<String> authorUsernames
+) {}
@@ -0,0 +1,33 @@
+package com.catalin.vibelog.dto.response;
+
+import com.catalin.vibelog.model.enums.BulkJobStatus;
+import com.catalin.vibelog.model.enums.BulkJobType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a bulk moderation job.
+ *
+ * @param id         identifier to poll the job with
+ * @param type       what the job deletes
+ * @param status     current lifecycle state
+ * @param total           number of posts or comments selected when the job started
+ * @param processed       number of selected posts or comments handled so far
+ * @param deletedPosts    posts deleted so far, reblogs included
+ * @param deletedComments comments deleted so far, replies and comments on deleted posts included
+ * @param startedAt       when the job was submitted
+ * @param finishedAt      when the job completed or failed; {@code null} while running
+ * @param error           failure message if the job failed; {@code null} otherwise
+ */
+public record BulkJobDTO(
+        String id,
+        BulkJobType type,
+        BulkJobStatus status,
+        long total,
+        long processed,
+        long deletedPosts,
+        long deletedComments,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String error
+) { }
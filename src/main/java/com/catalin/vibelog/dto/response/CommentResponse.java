@@ -12,10 +12,14 @@ import java.time.LocalDateTime;
  * @param content         text content of the comment
  * @param authorUsername  username of the comment's author
  * @param createdAt       timestamp when the comment was created
+ * @param parentId        ID of the comment this replies to, or {@code null} for a top-level comment
+ * @param replyCount      number of replies to this comment
  */
 public record CommentResponse(
         Long id,
         String content,
         String authorUsername,
-        LocalDateTime createdAt
+        LocalDateTime createdAt,
+        Long parentId,
+        int replyCount
 ) {}
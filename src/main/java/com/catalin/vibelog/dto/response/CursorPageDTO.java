@@ -0,0 +1,15 @@
+package com.catalin.vibelog.dto.response;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * @param items      the items on this page
+ * @param nextCursor opaque cursor to pass back for the next page, or {@code null} on the last page
+ * @param <T>        the item type
+ */
+public record CursorPageDTO<T>(
+        List<T> items,
+        String nextCursor
+) {}
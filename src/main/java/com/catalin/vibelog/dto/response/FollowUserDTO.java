@@ -0,0 +1,18 @@
+package com.catalin.vibelog.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user appearing in a follower/following list.
+ *
+ * @param id             the user's ID
+ * @param username       the user's username
+ * @param profilePicture URL of the user's avatar, may be {@code null}
+ * @param followedAt     when the follow relationship was created
+ */
+public record FollowUserDTO(
+        Long id,
+        String username,
+        String profilePicture,
+        LocalDateTime followedAt
+) {}
@@ -0,0 +1,23 @@
+package com.catalin.vibelog.dto.response;
+
+/**
+ * Outcome of a bulk import.
+ *
+ * @param lines         number of non-empty lines read from the document
+ * @param posts         posts created
+ * @param comments      comments created, replies included
+ * @param likes         likes created
+ * @param follows       follows created
+ * @param skipped       lines that created nothing, e.g. unknown users or references, duplicates,
+ *                      or values that do not fit their column
+ * @param elapsedMillis wall-clock time spent loading and merging
+ */
+public record ImportResultDTO(
+        long lines,
+        long posts,
+        long comments,
+        long likes,
+        long follows,
+        long skipped,
+        long elapsedMillis
+) { }
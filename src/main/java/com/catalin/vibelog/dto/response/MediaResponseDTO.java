@@ -3,15 +3,23 @@ package com.catalin.vibelog.dto.response;
 /**
  * Data Transfer Object representing media attached to a post.
  * <p>
- * Contains the media ID, publicly accessible URL, and media type (e.g., image or video).
+ * Contains the media ID, publicly accessible URL, media type (e.g., image or video),
+ * and the dimensions and duration detected at upload time so clients can reserve
+ * layout space before the media loads.
  * </p>
  *
- * @param id   the unique identifier of the media
- * @param url  the publicly accessible URL or path to the media resource
- * @param type the media type, typically corresponding to {@code MediaType.name()}
+ * @param id         the unique identifier of the media
+ * @param url        the publicly accessible URL or path to the media resource
+ * @param type       the media type, typically corresponding to {@code MediaType.name()}
+ * @param width      pixel width, or {@code null} if unknown
+ * @param height     pixel height, or {@code null} if unknown
+ * @param durationMs video duration in milliseconds, or {@code null}
  */
 public record MediaResponseDTO(
         Long id,
         String url,
-        String type
+        String type,
+        Integer width,
+        Integer height,
+        Long durationMs
 ) {}
@@ -0,0 +1,22 @@
+package com.catalin.vibelog.dto.response;
+
+import com.catalin.vibelog.model.enums.ReportTarget;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregated view of the pending reports against one post or comment.
+ *
+ * @param targetType      whether the reported content is a post or a comment
+ * @param targetId        ID of the reported post or comment
+ * @param reportCount     number of pending reports against it
+ * @param firstReportedAt when the oldest pending report was filed
+ * @param lastReportedAt  when the newest pending report was filed
+ */
+public record ModerationQueueItemDTO(
+        ReportTarget targetType,
+        Long targetId,
+        int reportCount,
+        LocalDateTime firstReportedAt,
+        LocalDateTime lastReportedAt
+) { }
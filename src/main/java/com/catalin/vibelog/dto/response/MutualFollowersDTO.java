@@ -0,0 +1,15 @@
+package com.catalin.vibelog.dto.response;
+
+import java.util.List;
+
+/**
+ * Accounts the viewer follows that also follow a given user
+ * ("followed by alice, bob and 12 others").
+ *
+ * @param users a sample of such accounts
+ * @param total the total number of such accounts
+ */
+public record MutualFollowersDTO(
+        List<FollowUserDTO> users,
+        long total
+) {}
@@ -2,20 +2,27 @@ package com.catalin.vibelog.dto.response;
 
 import com.catalin.vibelog.model.enums.NotificationType;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Sent to the client to render a notification.
  *
- * @param id        unique notification ID
- * @param type      event type (LIKE, COMMENT, etc.)
- * @param content   descriptive message
- * @param seen      whether the user has viewed it
- * @param timestamp when it was created
+ * @param id         unique notification ID
+ * @param type       event type (LIKE, COMMENT, etc.)
+ * @param content    descriptive message, rendered in the request's locale
+ * @param seen       whether the user has viewed it
+ * @param timestamp  when it was created, or last updated for an aggregated notification
+ * @param targetId   ID of the post it is about, or {@code null}
+ * @param actorCount number of users folded into it
+ * @param actors     usernames of the most recent of those users, newest first
  */
 public record NotificationResponseDTO(
         Long id,
         NotificationType type,
         String content,
         boolean seen,
-        LocalDateTime timestamp
-) { }
+        LocalDateTime timestamp,
+        Long targetId,
+        int actorCount,
+        List<String> actors
+) {}
@@ -0,0 +1,16 @@
+package com.catalin.vibelog.dto.response;
+
+/**
+ * A "who to follow" suggestion.
+ *
+ * @param id             the suggested user's ID
+ * @param username       the suggested user's username
+ * @param profilePicture URL of the user's avatar, may be {@code null}
+ * @param mutualCount    how many accounts the viewer follows also follow this user
+ */
+public record SuggestedUserDTO(
+        Long id,
+        String username,
+        String profilePicture,
+        int mutualCount
+) {}
@@ -0,0 +1,19 @@
+package com.catalin.vibelog.dto.response;
+
+import com.catalin.vibelog.model.enums.ReportStatus;
+import com.catalin.vibelog.model.enums.ReportTarget;
+
+/**
+ * Outcome of resolving every pending report against one post or comment.
+ *
+ * @param targetType      whether the reported content is a post or a comment
+ * @param targetId        ID of the reported post or comment
+ * @param status          the status the reports were moved to
+ * @param reportsResolved number of reports updated
+ */
+public record TargetResolutionDTO(
+        ReportTarget targetType,
+        Long targetId,
+        ReportStatus status,
+        int reportsResolved
+) { }
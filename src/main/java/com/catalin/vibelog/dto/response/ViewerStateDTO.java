@@ -0,0 +1,18 @@
+package com.catalin.vibelog.dto.response;
+
+import java.util.Set;
+
+/**
+ * The current user's like, reblog and follow flags for a page of content.
+ * Every requested post or author not contained in a set is not liked, reblogged
+ * or followed respectively.
+ *
+ * @param likedPostIds      IDs of requested posts the viewer has liked
+ * @param rebloggedPostIds  IDs of requested posts the viewer has reblogged
+ * @param followedUsernames requested authors the viewer is following
+ */
+public record ViewerStateDTO(
+        Set<Long> likedPostIds,
+        Set<Long> rebloggedPostIds,
+        Set<String> followedUsernames
+) {}
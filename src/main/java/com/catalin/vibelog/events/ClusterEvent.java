@@ -0,0 +1,39 @@
+package com.catalin.vibelog.events;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+/**
+ * Envelope in which the event relay hands a committed {@link DistributedEvent} to
+ * listeners on every instance, including the one that published it.
+ * <p>
+ * Listeners subscribe with the wrapped type, e.g. {@code ClusterEvent<FollowEvent>}.
+ * Delivery is at least once, so listeners must tolerate seeing an event twice.
+ * </p>
+ *
+ * @param <T> the type of the wrapped event
+ */
+public class ClusterEvent<T extends DistributedEvent> extends ApplicationEvent implements ResolvableTypeProvider {
+    public final long outboxId;
+    public final T event;
+
+    /**
+     * @param source   the relay delivering the event
+     * @param outboxId the ID of the event's outbox row
+     * @param event    the committed event
+     */
+    public ClusterEvent(Object source, long outboxId, T event) {
+        super(source);
+        this.outboxId = outboxId;
+        this.event = event;
+    }
+
+    /**
+     * @return the envelope's type including the wrapped event's type, used to match listeners
+     */
+    @Override
+    public ResolvableType getResolvableType() {
+        return ResolvableType.forClassWithGenerics(getClass(), ResolvableType.forInstance(event));
+    }
+}
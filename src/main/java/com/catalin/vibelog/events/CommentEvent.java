@@ -1,11 +1,15 @@
 package com.catalin.vibelog.events;
 
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.springframework.context.ApplicationEvent;
 
 /**
  * Event published when a user comments on a post.
  */
-public class CommentEvent extends ApplicationEvent {
+@JsonIgnoreProperties({"source", "timestamp"})
+public class CommentEvent extends ApplicationEvent implements DistributedEvent {
     public final Long postId;
     public final Long commentId;
     public final String commenterUsername;
@@ -18,7 +22,8 @@ public class CommentEvent extends ApplicationEvent {
      * @param commenterUsername    the username of the commenter
      * @param postAuthorUsername   the username of the post’s author
      */
-    public CommentEvent(Object source,
+    @JsonCreator
+    public CommentEvent(@JacksonInject(SOURCE) Object source,
                         Long postId,
                         Long commentId,
                         String commenterUsername,
@@ -29,4 +34,12 @@ public class CommentEvent extends ApplicationEvent {
         this.commenterUsername = commenterUsername;
         this.postAuthorUsername = postAuthorUsername;
     }
+
+    /**
+     * @return key of the commented post, so the events of one post stay in order
+     */
+    @Override
+    public String aggregateKey() {
+        return "post:" + postId;
+    }
 }
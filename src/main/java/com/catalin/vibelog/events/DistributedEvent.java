@@ -0,0 +1,22 @@
+package com.catalin.vibelog.events;
+
+/**
+ * A domain event that is delivered to every instance of the application through
+ * the {@link com.catalin.vibelog.service.EventBus}, not only to in-process listeners.
+ * <p>
+ * Implementations are written to the outbox as JSON of their public fields and
+ * rebuilt through their {@code @JsonCreator} constructor, with the relay injected
+ * as the event's source under {@link #SOURCE}. Events with the same aggregate key
+ * are delivered in the order their transactions committed.
+ * </p>
+ */
+public interface DistributedEvent {
+
+    /** Name under which the relay injects itself as the source of a rebuilt event. */
+    String SOURCE = "eventSource";
+
+    /**
+     * @return key of the aggregate the event belongs to, e.g. {@code post:12}
+     */
+    String aggregateKey();
+}
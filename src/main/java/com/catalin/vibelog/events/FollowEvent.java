@@ -1,24 +1,45 @@
 package com.catalin.vibelog.events;
 
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.springframework.context.ApplicationEvent;
 
 /**
  * Event published when a user follows another user.
  */
-public class FollowEvent extends ApplicationEvent {
+@JsonIgnoreProperties({"source", "timestamp"})
+public class FollowEvent extends ApplicationEvent implements DistributedEvent {
+    public final Long followerId;
     public final String followerUsername;
+    public final Long followedId;
     public final String followedUsername;
 
     /**
      * @param source             the object publishing the event
+     * @param followerId         the ID of the user who just followed
      * @param followerUsername   the username of the user who just followed
+     * @param followedId         the ID of the user being followed
      * @param followedUsername   the username of the user being followed
      */
-    public FollowEvent(Object source,
+    @JsonCreator
+    public FollowEvent(@JacksonInject(SOURCE) Object source,
+                       Long followerId,
                        String followerUsername,
+                       Long followedId,
                        String followedUsername) {
         super(source);
+        this.followerId = followerId;
         this.followerUsername = followerUsername;
+        this.followedId = followedId;
         this.followedUsername = followedUsername;
     }
+
+    /**
+     * @return key of the follower, so their follows and unfollows stay in order
+     */
+    @Override
+    public String aggregateKey() {
+        return "user:" + followerId;
+    }
 }
@@ -1,28 +1,45 @@
 package com.catalin.vibelog.events;
 
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.springframework.context.ApplicationEvent;
 
 /**
- * Event published when a user likes a post.
+ * Event published when a user likes a post, including their own.
  */
-public class LikeEvent extends ApplicationEvent {
+@JsonIgnoreProperties({"source", "timestamp"})
+public class LikeEvent extends ApplicationEvent implements DistributedEvent {
     public final Long postId;
+    public final Long likerId;    // null in events written before it was added
     public final String likerUsername;
     public final String postAuthorUsername;
 
     /**
      * @param source               the object publishing the event (usually "this")
      * @param postId               the ID of the post that was liked
+     * @param likerId              the ID of the user who liked
      * @param likerUsername        the username of the user who liked
      * @param postAuthorUsername   the username of the post’s author
      */
-    public LikeEvent(Object source,
+    @JsonCreator
+    public LikeEvent(@JacksonInject(SOURCE) Object source,
                      Long postId,
+                     Long likerId,
                      String likerUsername,
                      String postAuthorUsername) {
         super(source);
         this.postId = postId;
+        this.likerId = likerId;
         this.likerUsername = likerUsername;
         this.postAuthorUsername = postAuthorUsername;
     }
+
+    /**
+     * @return key of the liked post, so the events of one post stay in order
+     */
+    @Override
+    public String aggregateKey() {
+        return "post:" + postId;
+    }
 }
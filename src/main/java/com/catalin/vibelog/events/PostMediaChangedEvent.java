@@ -0,0 +1,36 @@
+package com.catalin.vibelog.events;
+
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Event published when media is attached to or removed from posts, or the posts
+ * themselves are deleted, so every instance drops its cached media lists of them.
+ */
+@JsonIgnoreProperties({"source", "timestamp"})
+public class PostMediaChangedEvent extends ApplicationEvent implements DistributedEvent {
+    public final List<Long> postIds;
+
+    /**
+     * @param source  the object publishing the event
+     * @param postIds IDs of the posts whose media changed
+     */
+    @JsonCreator
+    public PostMediaChangedEvent(@JacksonInject(SOURCE) Object source,
+                                 List<Long> postIds) {
+        super(source);
+        this.postIds = postIds;
+    }
+
+    /**
+     * @return key of the first post; evictions are idempotent, so their relative order does not matter
+     */
+    @Override
+    public String aggregateKey() {
+        return "post:" + postIds.get(0);
+    }
+}
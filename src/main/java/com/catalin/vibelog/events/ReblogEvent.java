@@ -1,11 +1,15 @@
 package com.catalin.vibelog.events;
 
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.springframework.context.ApplicationEvent;
 
 /**
  * Event published when a user reblogs (reposts) another user’s post.
  */
-public class ReblogEvent extends ApplicationEvent {
+@JsonIgnoreProperties({"source", "timestamp"})
+public class ReblogEvent extends ApplicationEvent implements DistributedEvent {
     public final Long originalPostId;
     public final String rebloggerUsername;
     public final String originalAuthorUsername;
@@ -16,7 +20,8 @@ public class ReblogEvent extends ApplicationEvent {
      * @param rebloggerUsername      the username of the user doing the reblog
      * @param originalAuthorUsername the username of the original post’s author
      */
-    public ReblogEvent(Object source,
+    @JsonCreator
+    public ReblogEvent(@JacksonInject(SOURCE) Object source,
                        Long originalPostId,
                        String rebloggerUsername,
                        String originalAuthorUsername) {
@@ -25,4 +30,12 @@ public class ReblogEvent extends ApplicationEvent {
         this.rebloggerUsername = rebloggerUsername;
         this.originalAuthorUsername = originalAuthorUsername;
     }
+
+    /**
+     * @return key of the reblogged post, so the events of one post stay in order
+     */
+    @Override
+    public String aggregateKey() {
+        return "post:" + originalPostId;
+    }
 }
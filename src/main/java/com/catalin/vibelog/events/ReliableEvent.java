@@ -0,0 +1,42 @@
+package com.catalin.vibelog.events;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+/**
+ * Envelope in which the outbox dispatcher hands a committed {@link DistributedEvent}
+ * to the listeners of one instance, for side effects that must run once per event
+ * rather than once per instance, such as writing notifications.
+ * <p>
+ * Listeners run in a transaction of their own, which also records the delivery; if one
+ * throws, the event is retried later. Once that transaction commits the event is not
+ * delivered again, so transactional side effects happen once, while side effects
+ * outside the database may repeat after a failed attempt.
+ * </p>
+ *
+ * @param <T> the type of the wrapped event
+ */
+public class ReliableEvent<T extends DistributedEvent> extends ApplicationEvent implements ResolvableTypeProvider {
+    public final long outboxId;
+    public final T event;
+
+    /**
+     * @param source   the dispatcher delivering the event
+     * @param outboxId the ID of the event's outbox row
+     * @param event    the committed event
+     */
+    public ReliableEvent(Object source, long outboxId, T event) {
+        super(source);
+        this.outboxId = outboxId;
+        this.event = event;
+    }
+
+    /**
+     * @return the envelope's type including the wrapped event's type, used to match listeners
+     */
+    @Override
+    public ResolvableType getResolvableType() {
+        return ResolvableType.forClassWithGenerics(getClass(), ResolvableType.forInstance(event));
+    }
+}
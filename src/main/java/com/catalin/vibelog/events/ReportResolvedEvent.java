@@ -1,13 +1,17 @@
 package com.catalin.vibelog.events;
 
 import com.catalin.vibelog.model.enums.ReportStatus;
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.springframework.context.ApplicationEvent;
 
 /**
  * Event published when a user’s report is resolved by a moderator.
  * Notifies the original reporter of outcome.
  */
-public class ReportResolvedEvent extends ApplicationEvent {
+@JsonIgnoreProperties({"source", "timestamp"})
+public class ReportResolvedEvent extends ApplicationEvent implements DistributedEvent {
     public final Long reportId;
     public final String reporterUsername;
     public final Long postId;     // null if comment-based
@@ -22,7 +26,8 @@ public class ReportResolvedEvent extends ApplicationEvent {
      * @param commentId         ID of the reported comment (or null)
      * @param result            the final status (REVIEWED or RESOLVED)
      */
-    public ReportResolvedEvent(Object source,
+    @JsonCreator
+    public ReportResolvedEvent(@JacksonInject(SOURCE) Object source,
                                Long reportId,
                                String reporterUsername,
                                Long postId,
@@ -35,4 +40,12 @@ public class ReportResolvedEvent extends ApplicationEvent {
         this.commentId = commentId;
         this.result = result;
     }
+
+    /**
+     * @return key of the reported post or comment
+     */
+    @Override
+    public String aggregateKey() {
+        return postId != null ? "post:" + postId : "comment:" + commentId;
+    }
 }
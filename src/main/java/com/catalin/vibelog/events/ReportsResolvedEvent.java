@@ -0,0 +1,50 @@
+package com.catalin.vibelog.events;
+
+import com.catalin.vibelog.model.enums.ReportStatus;
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Event published when a moderator resolves every pending report against one
+ * post or comment at once. Batched counterpart of {@link ReportResolvedEvent}:
+ * all reporters are notified of the same outcome in a single write.
+ */
+@JsonIgnoreProperties({"source", "timestamp"})
+public class ReportsResolvedEvent extends ApplicationEvent implements DistributedEvent {
+    public final Long postId;     // null if comment-based
+    public final Long commentId;  // null if post-based
+    public final List<Long> reportIds;
+    public final ReportStatus result;
+
+    /**
+     * @param source    the object publishing the event
+     * @param postId    ID of the reported post (or null)
+     * @param commentId ID of the reported comment (or null)
+     * @param reportIds IDs of the reports that were resolved
+     * @param result    the final status (REVIEWED or RESOLVED)
+     */
+    @JsonCreator
+    public ReportsResolvedEvent(@JacksonInject(SOURCE) Object source,
+                                Long postId,
+                                Long commentId,
+                                List<Long> reportIds,
+                                ReportStatus result) {
+        super(source);
+        this.postId = postId;
+        this.commentId = commentId;
+        this.reportIds = List.copyOf(reportIds);
+        this.result = result;
+    }
+
+    /**
+     * @return key of the reported post or comment
+     */
+    @Override
+    public String aggregateKey() {
+        return postId != null ? "post:" + postId : "comment:" + commentId;
+    }
+}
@@ -0,0 +1,37 @@
+package com.catalin.vibelog.events;
+
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published when a user stops following another user.
+ */
+@JsonIgnoreProperties({"source", "timestamp"})
+public class UnfollowEvent extends ApplicationEvent implements DistributedEvent {
+    public final Long followerId;
+    public final Long followedId;
+
+    /**
+     * @param source     the object publishing the event
+     * @param followerId the ID of the user who unfollowed
+     * @param followedId the ID of the user no longer followed
+     */
+    @JsonCreator
+    public UnfollowEvent(@JacksonInject(SOURCE) Object source,
+                         Long followerId,
+                         Long followedId) {
+        super(source);
+        this.followerId = followerId;
+        this.followedId = followedId;
+    }
+
+    /**
+     * @return key of the follower, so their follows and unfollows stay in order
+     */
+    @Override
+    public String aggregateKey() {
+        return "user:" + followerId;
+    }
+}
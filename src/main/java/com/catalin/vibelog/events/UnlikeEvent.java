@@ -0,0 +1,37 @@
+package com.catalin.vibelog.events;
+
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published when a user removes their like from a post.
+ */
+@JsonIgnoreProperties({"source", "timestamp"})
+public class UnlikeEvent extends ApplicationEvent implements DistributedEvent {
+    public final Long postId;
+    public final Long userId;
+
+    /**
+     * @param source the object publishing the event
+     * @param postId the ID of the post that was unliked
+     * @param userId the ID of the user who removed their like
+     */
+    @JsonCreator
+    public UnlikeEvent(@JacksonInject(SOURCE) Object source,
+                       Long postId,
+                       Long userId) {
+        super(source);
+        this.postId = postId;
+        this.userId = userId;
+    }
+
+    /**
+     * @return key of the unliked post, so it stays in order with the post's likes
+     */
+    @Override
+    public String aggregateKey() {
+        return "post:" + postId;
+    }
+}
@@ -0,0 +1,34 @@
+package com.catalin.vibelog.events;
+
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published when a user is renamed, deleted or has a cached attribute changed,
+ * so every instance drops its cached identity for the username.
+ */
+@JsonIgnoreProperties({"source", "timestamp"})
+public class UserIdentityChangedEvent extends ApplicationEvent implements DistributedEvent {
+    public final String username;
+
+    /**
+     * @param source   the object publishing the event
+     * @param username the username whose cached identity is stale
+     */
+    @JsonCreator
+    public UserIdentityChangedEvent(@JacksonInject(SOURCE) Object source,
+                                    String username) {
+        super(source);
+        this.username = username;
+    }
+
+    /**
+     * @return key of the username, so its changes stay in order
+     */
+    @Override
+    public String aggregateKey() {
+        return "username:" + username;
+    }
+}
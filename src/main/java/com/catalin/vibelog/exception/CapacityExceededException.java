@@ -0,0 +1,17 @@
+package com.catalin.vibelog.exception;
+
+/**
+ * Exception thrown when a long-running operation cannot be started because the
+ * pool that runs such operations is full. The client may retry later.
+ */
+public class CapacityExceededException extends RuntimeException {
+
+    /**
+     * Constructs a new CapacityExceededException.
+     *
+     * @param message what could not be started
+     */
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+}
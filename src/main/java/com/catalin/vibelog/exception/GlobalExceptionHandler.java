@@ -37,6 +37,50 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ex.getMessage());
     }
 
+    /**
+     * Handle uploads whose content is not a supported image or video format.
+     *
+     * @param ex the {@link UnsupportedMediaException} containing details
+     * @return a {@link ResponseEntity} with HTTP 415 Unsupported Media Type and the exception message
+     */
+    @ExceptionHandler(UnsupportedMediaException.class)
+    public ResponseEntity<String> handleUnsupportedMedia(UnsupportedMediaException ex) {
+        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(ex.getMessage());
+    }
+
+    /**
+     * Handle pagination cursors that cannot be decoded.
+     *
+     * @param ex the {@link InvalidCursorException} containing details
+     * @return a {@link ResponseEntity} with HTTP 400 Bad Request and the exception message
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    /**
+     * Handle bulk import documents the database refused to load.
+     *
+     * @param ex the {@link InvalidImportException} containing details
+     * @return a {@link ResponseEntity} with HTTP 400 Bad Request and the exception message
+     */
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<String> handleInvalidImport(InvalidImportException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    /**
+     * Handle long-running operations refused because their pool is full.
+     *
+     * @param ex the {@link CapacityExceededException} containing details
+     * @return a {@link ResponseEntity} with HTTP 503 Service Unavailable and the exception message
+     */
+    @ExceptionHandler(CapacityExceededException.class)
+    public ResponseEntity<String> handleCapacityExceeded(CapacityExceededException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
     /**
      * Catch-all handler for any other uncaught exceptions.
      *
@@ -0,0 +1,17 @@
+package com.catalin.vibelog.exception;
+
+/**
+ * Exception thrown when a pagination cursor supplied by the client
+ * is malformed or was not issued by the server.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidCursorException for the given cursor.
+     *
+     * @param cursor the rejected cursor value
+     */
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor: " + cursor);
+    }
+}
@@ -0,0 +1,19 @@
+package com.catalin.vibelog.exception;
+
+/**
+ * Exception thrown when a bulk import document cannot be loaded,
+ * for example because a line is not valid JSON or a timestamp cannot be parsed.
+ * Nothing from the document is kept.
+ */
+public class InvalidImportException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidImportException with the database's explanation.
+     *
+     * @param message why the document was rejected
+     * @param cause   the underlying database error
+     */
+    public InvalidImportException(String message, Throwable cause) {
+        super("Invalid import document: " + message, cause);
+    }
+}
@@ -1,11 +1,12 @@
 package com.catalin.vibelog.exception;
 
+import com.catalin.vibelog.model.enums.ReportTarget;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 /**
  * Exception thrown when no {@link com.catalin.vibelog.model.Report}
- * exists with the given ID.
+ * exists with the given ID, or no pending report exists against a target.
  */
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class ReportNotFoundException extends RuntimeException {
@@ -18,4 +19,14 @@ public class ReportNotFoundException extends RuntimeException {
     public ReportNotFoundException(Long reportId) {
         super("Report not found with id " + reportId);
     }
+
+    /**
+     * Constructs a new ReportNotFoundException for a target without pending reports.
+     *
+     * @param targetType kind of the reported content
+     * @param targetId   ID of the reported post or comment
+     */
+    public ReportNotFoundException(ReportTarget targetType, Long targetId) {
+        super("No pending reports for " + targetType.name().toLowerCase() + " " + targetId);
+    }
 }
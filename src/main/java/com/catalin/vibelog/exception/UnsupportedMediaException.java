@@ -0,0 +1,17 @@
+package com.catalin.vibelog.exception;
+
+/**
+ * Exception thrown when an uploaded file is not a supported
+ * image or video container.
+ */
+public class UnsupportedMediaException extends RuntimeException {
+
+    /**
+     * Constructs a new exception with the specified detail message.
+     *
+     * @param message explanation of why the file was rejected
+     */
+    public UnsupportedMediaException(String message) {
+        super(message);
+    }
+}
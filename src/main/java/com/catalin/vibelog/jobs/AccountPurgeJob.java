@@ -0,0 +1,287 @@
+package com.catalin.vibelog.jobs;
+
+import com.catalin.vibelog.model.enums.AccountPurgeStage;
+import com.catalin.vibelog.repository.CommentRepository;
+import com.catalin.vibelog.repository.FollowRepository;
+import com.catalin.vibelog.repository.LikeRepository;
+import com.catalin.vibelog.repository.NotificationRepository;
+import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.repository.ReportRepository;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.PendingDeletion;
+import com.catalin.vibelog.service.ContentPurger;
+import com.catalin.vibelog.service.ContentPurger.Deleted;
+import com.catalin.vibelog.service.DisabledAccountRegistry;
+import com.catalin.vibelog.service.StorageService;
+import com.catalin.vibelog.service.UserLookupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Purges the data of accounts disabled for deletion, in bounded batches.
+ * <p>
+ * Each account walks through the {@link AccountPurgeStage}s in order. A stage
+ * repeats batches of at most {@code batch-size} rows, each in its own transaction,
+ * until a batch comes back short; the account's checkpoint then moves to the next
+ * stage. Batches only delete what is still there, so a run interrupted mid-stage
+ * resumes from the stored checkpoint without redoing finished stages, and a run
+ * stops after {@code max-batches-per-run} batches to leave the scheduler to other jobs.
+ * </p>
+ * <p>
+ * Blobs of the deleted media and the profile picture are removed once their rows
+ * are gone; anything that fails to delete is reclaimed by the
+ * {@link StorageGarbageCollector}. If rows referencing the account appeared after
+ * their stage ran, deleting the account fails and the purge starts over.
+ * </p>
+ */
+@Component
+public class AccountPurgeJob {
+    private static final Logger log = LoggerFactory.getLogger(AccountPurgeJob.class);
+
+    private final UserRepository userRepo;
+    private final PostRepository postRepo;
+    private final CommentRepository commentRepo;
+    private final LikeRepository likeRepo;
+    private final FollowRepository followRepo;
+    private final NotificationRepository notificationRepo;
+    private final ReportRepository reportRepo;
+    private final ContentPurger purger;
+    private final StorageService storageService;
+    private final UserLookupService userLookup;
+    private final DisabledAccountRegistry disabledAccounts;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration batchPause;
+
+    /**
+     * Constructs the job with its collaborators and tuning parameters.
+     *
+     * @param userRepo         repository listing pending accounts and storing checkpoints
+     * @param postRepo         repository selecting the account's posts
+     * @param commentRepo      repository selecting the account's comments
+     * @param likeRepo         repository purging the account's likes
+     * @param followRepo       repository purging the account's follows
+     * @param notificationRepo repository purging the account's notifications
+     * @param reportRepo       repository selecting the account's reports
+     * @param purger           set-based deletion of posts, comments and reports
+     * @param storageService   storage backend freeing media and avatar blobs
+     * @param userLookup       cached username lookup, evicted when an account is gone
+     * @param disabledAccounts registry refreshed from the database by this job
+     * @param batchSize        maximum number of rows deleted per batch
+     * @param maxBatchesPerRun maximum number of batches executed per run
+     * @param batchPause       pause between two batches
+     */
+    public AccountPurgeJob(UserRepository userRepo,
+                           PostRepository postRepo,
+                           CommentRepository commentRepo,
+                           LikeRepository likeRepo,
+                           FollowRepository followRepo,
+                           NotificationRepository notificationRepo,
+                           ReportRepository reportRepo,
+                           ContentPurger purger,
+                           StorageService storageService,
+                           UserLookupService userLookup,
+                           DisabledAccountRegistry disabledAccounts,
+                           @Value("${vibelog.accounts.purge.batch-size:500}") int batchSize,
+                           @Value("${vibelog.accounts.purge.max-batches-per-run:200}") int maxBatchesPerRun,
+                           @Value("${vibelog.accounts.purge.batch-pause:PT0.1S}") Duration batchPause) {
+        this.userRepo = userRepo;
+        this.postRepo = postRepo;
+        this.commentRepo = commentRepo;
+        this.likeRepo = likeRepo;
+        this.followRepo = followRepo;
+        this.notificationRepo = notificationRepo;
+        this.reportRepo = reportRepo;
+        this.purger = purger;
+        this.storageService = storageService;
+        this.userLookup = userLookup;
+        this.disabledAccounts = disabledAccounts;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.batchPause = batchPause;
+    }
+
+    /**
+     * Scheduled entry point; reloads the disabled account registry so that deletions
+     * made on other instances take effect here.
+     */
+    @Scheduled(
+            initialDelayString = "${vibelog.accounts.disabled.initial-delay:PT0S}",
+            fixedDelayString = "${vibelog.accounts.disabled.refresh-interval:PT30S}"
+    )
+    public void refreshDisabledAccounts() {
+        try {
+            disabledAccounts.reload();
+        } catch (RuntimeException e) {
+            log.warn("Disabled account reload failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Scheduled entry point; continues purging pending accounts on a fixed delay.
+     */
+    @Scheduled(
+            initialDelayString = "${vibelog.accounts.purge.initial-delay:PT1M}",
+            fixedDelayString = "${vibelog.accounts.purge.interval:PT1M}"
+    )
+    public void run() {
+        try {
+            int purged = purgePending();
+            if (purged > 0) {
+                log.info("Account purge removed {} accounts", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Account purge run failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Purge pending accounts, oldest deletion request first, within this run's batch budget.
+     * An account whose batch fails is skipped until the next run.
+     *
+     * @return number of accounts fully purged in this run
+     */
+    public int purgePending() {
+        int budget = maxBatchesPerRun;
+        int purged = 0;
+        for (PendingDeletion account : userRepo.findPendingDeletions()) {
+            if (budget <= 0) {
+                break;
+            }
+            try {
+                Progress progress = purge(account, budget);
+                budget -= progress.batches();
+                if (progress.finished()) {
+                    purged++;
+                }
+            } catch (RuntimeException e) {
+                budget--;
+                log.warn("Purge of account {} failed: {}", account.id(), e.getMessage(), e);
+            }
+        }
+        return purged;
+    }
+
+    /**
+     * Run the account's remaining stages from its checkpoint.
+     *
+     * @param account the account to purge
+     * @param budget  maximum number of batches to execute
+     * @return the batches spent and whether the account is gone
+     */
+    private Progress purge(PendingDeletion account, int budget) {
+        AccountPurgeStage stage = account.stage() != null ? account.stage() : AccountPurgeStage.POSTS;
+        int batches = 0;
+        while (stage != AccountPurgeStage.ACCOUNT) {
+            if (batches >= budget) {
+                return new Progress(batches, false);
+            }
+            int deleted = purgeBatch(account.id(), stage);
+            batches++;
+            if (deleted < batchSize) {
+                stage = AccountPurgeStage.values()[stage.ordinal() + 1];
+                userRepo.updatePurgeStage(account.id(), stage);
+            }
+            pause();
+        }
+        return new Progress(batches, deleteAccount(account));
+    }
+
+    /**
+     * Delete one batch of the given stage.
+     *
+     * @param userId the ID of the account
+     * @param stage  the stage to run
+     * @return number of rows selected for deletion, which is below the batch size once the stage is done
+     */
+    private int purgeBatch(Long userId, AccountPurgeStage stage) {
+        return switch (stage) {
+            case POSTS -> {
+                List<Long> ids = postRepo.findIdsByAuthorIdAfter(userId, 0L, PageRequest.of(0, batchSize));
+                if (!ids.isEmpty()) {
+                    freeBlobs(purger.deletePosts(ids));
+                }
+                yield ids.size();
+            }
+            case COMMENTS -> {
+                List<Long> ids = commentRepo.findIdsByAuthorIdAfter(userId, 0L, PageRequest.of(0, batchSize));
+                if (!ids.isEmpty()) {
+                    purger.deleteComments(ids);
+                }
+                yield ids.size();
+            }
+            case LIKES -> likeRepo.purgeByUser(userId, batchSize);
+            case FOLLOWING -> followRepo.purgeFollowing(userId, batchSize);
+            case FOLLOWERS -> followRepo.purgeFollowers(userId, batchSize);
+            case NOTIFICATIONS -> notificationRepo.deleteBatchByRecipientId(userId, batchSize);
+            case REPORTS -> {
+                List<Long> ids = reportRepo.findIdsByReporterId(userId, PageRequest.of(0, batchSize));
+                if (!ids.isEmpty()) {
+                    purger.deleteReports(ids);
+                }
+                yield ids.size();
+            }
+            case ACCOUNT -> 0;
+        };
+    }
+
+    /**
+     * Delete the account row, or restart the purge if new rows still reference it.
+     *
+     * @param account the account to delete
+     * @return {@code true} if the account was deleted
+     */
+    private boolean deleteAccount(PendingDeletion account) {
+        try {
+            userRepo.deleteAccountById(account.id());
+        } catch (DataIntegrityViolationException e) {
+            log.info("Account {} gained new rows during its purge; starting over", account.id());
+            userRepo.updatePurgeStage(account.id(), AccountPurgeStage.POSTS);
+            return false;
+        }
+        userLookup.evict(account.username());
+        if (account.profilePicture() != null) {
+            storageService.delete(account.profilePicture());
+        }
+        return true;
+    }
+
+    /**
+     * Delete the blobs of media whose rows were just removed.
+     *
+     * @param deleted the outcome of a post purge
+     */
+    private void freeBlobs(Deleted deleted) {
+        deleted.mediaUrls().forEach(storageService::delete);
+    }
+
+    /**
+     * Throttle the purge between batches so it does not monopolize the database.
+     */
+    private void pause() {
+        if (batchPause.isZero() || batchPause.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPause.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Outcome of purging one account within a run.
+     *
+     * @param batches  number of batches executed
+     * @param finished whether the account row has been deleted
+     */
+    private record Progress(int batches, boolean finished) {}
+}
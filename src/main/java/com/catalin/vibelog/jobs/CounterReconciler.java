@@ -0,0 +1,157 @@
+package com.catalin.vibelog.jobs;
+
+import com.catalin.vibelog.repository.CommentRepository;
+import com.catalin.vibelog.repository.ModerationQueueRepository;
+import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.LikeCountDrift;
+import com.catalin.vibelog.service.LikeCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically repairs drift between the denormalized counters and their source tables:
+ * {@code posts.like_count} against {@code likes}, {@code posts.comment_count} and
+ * {@code comments.reply_count} against {@code comments}, and {@code users.follower_count} /
+ * {@code users.following_count} against {@code follows}, and the {@code moderation_queue}
+ * entries against the pending {@code reports}.
+ * <p>
+ * Counters can drift when buffered deltas are lost on a crash or when rows disappear
+ * through cascading deletes, and are zero for rows created before the columns existed;
+ * the first run shortly after startup backfills them.
+ * </p>
+ * <p>
+ * Like counters cannot simply be overwritten with a recount: a like that commits while
+ * the recount runs is counted there and again when its buffered delta is flushed, and
+ * buffers on other instances are out of reach. The like drift is therefore observed
+ * twice, {@code settle} apart, which is longer than any buffer holds a delta. Only a
+ * drift that is unchanged and has no local delta pending is lost for good, and it is
+ * corrected by adding it to the counter rather than by setting the recounted value, so
+ * concurrent flushes still land.
+ * </p>
+ */
+@Component
+public class CounterReconciler {
+    private static final Logger log = LoggerFactory.getLogger(CounterReconciler.class);
+
+    private final PostRepository postRepo;
+    private final UserRepository userRepo;
+    private final CommentRepository commentRepo;
+    private final LikeCounter likeCounter;
+    private final ModerationQueueRepository queueRepo;
+    private final Duration settle;
+
+    /**
+     * Constructs the reconciler.
+     *
+     * @param postRepo    repository performing the like and comment recounts
+     * @param userRepo    repository performing the follow recount
+     * @param commentRepo repository performing the reply recount
+     * @param likeCounter counter whose buffer is flushed before reconciling
+     * @param queueRepo   repository rebuilding the moderation queue
+     * @param settle      time between the two like drift observations; must exceed the
+     *                    like buffer's flush interval
+     */
+    public CounterReconciler(PostRepository postRepo,
+                             UserRepository userRepo,
+                             CommentRepository commentRepo,
+                             LikeCounter likeCounter,
+                             ModerationQueueRepository queueRepo,
+                             @Value("${vibelog.counters.reconcile.settle:PT5S}") Duration settle) {
+        this.postRepo = postRepo;
+        this.userRepo = userRepo;
+        this.commentRepo = commentRepo;
+        this.likeCounter = likeCounter;
+        this.queueRepo = queueRepo;
+        this.settle = settle;
+    }
+
+    /**
+     * Scheduled entry point; runs a reconciliation pass on a fixed delay.
+     */
+    @Scheduled(
+            initialDelayString = "${vibelog.counters.reconcile.initial-delay:PT1M}",
+            fixedDelayString = "${vibelog.counters.reconcile.interval:PT6H}"
+    )
+    public void run() {
+        try {
+            ReconcileResult result = reconcile();
+            if (result.posts() > 0 || result.comments() > 0 || result.users() > 0
+                    || result.queueEntries() > 0) {
+                log.info("Counter reconciliation corrected {} posts, {} comments, {} users and {} queue entries",
+                        result.posts(), result.comments(), result.users(), result.queueEntries());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Counter reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Correct the like counters whose drift is stable and recompute every other drifted counter.
+     *
+     * @return the number of corrected counters per table
+     */
+    public ReconcileResult reconcile() {
+        int posts = reconcileLikeCounts() + postRepo.reconcileCommentCounts();
+        int comments = commentRepo.reconcileReplyCounts();
+        int users = userRepo.reconcileFollowCounts();
+        int queueEntries = queueRepo.reconcileEntries() + queueRepo.deleteStaleEntries();
+        return new ReconcileResult(posts, comments, users, queueEntries);
+    }
+
+    /**
+     * Observe the like drift before and after the settle time and add back whatever
+     * drift stayed the same; a drift caused by a buffered delta changes once it is flushed.
+     *
+     * @return number of like counters corrected
+     */
+    private int reconcileLikeCounts() {
+        likeCounter.flush();
+        Map<Long, Long> before = postRepo.findLikeCountDrift().stream()
+                .collect(Collectors.toMap(LikeCountDrift::postId, LikeCountDrift::drift));
+        if (before.isEmpty()) {
+            return 0;
+        }
+        pause();
+        likeCounter.flush();
+        int corrected = 0;
+        for (LikeCountDrift drift : postRepo.findLikeCountDrift()) {
+            if (drift.drift().equals(before.get(drift.postId())) && likeCounter.pending(drift.postId()) == 0
+                    && postRepo.incrementLikeCount(drift.postId(), Math.toIntExact(drift.drift())) > 0) {
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
+    /**
+     * Wait for the settle time so that every delta buffered before the first observation is flushed.
+     */
+    private void pause() {
+        if (settle.isZero() || settle.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(settle.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Outcome of a single reconciliation pass.
+     *
+     * @param posts        number of like or comment counter corrections on posts
+     * @param comments     number of comments whose reply counter was corrected
+     * @param users        number of users whose follow counters were corrected
+     * @param queueEntries number of moderation queue entries inserted, corrected or removed
+     */
+    public record ReconcileResult(int posts, int comments, int users, int queueEntries) {}
+}
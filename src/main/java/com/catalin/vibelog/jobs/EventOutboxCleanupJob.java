@@ -0,0 +1,81 @@
+package com.catalin.vibelog.jobs;
+
+import com.catalin.vibelog.repository.EventOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Deletes processed outbox events, and the records of their deliveries, once every
+ * relay has had ample time to deliver them.
+ * <p>
+ * Runs on every instance; deleting in bounded batches keeps each statement short,
+ * and instances racing on the same rows only delete them once.
+ * </p>
+ */
+@Component
+public class EventOutboxCleanupJob {
+    private static final Logger log = LoggerFactory.getLogger(EventOutboxCleanupJob.class);
+
+    private final EventOutboxRepository outboxRepo;
+    private final Duration retention;
+    private final int batchSize;
+
+    /**
+     * Constructs the job.
+     *
+     * @param outboxRepo repository of the outbox rows
+     * @param retention  how long events are kept after being published
+     * @param batchSize  maximum number of events deleted per statement
+     */
+    public EventOutboxCleanupJob(EventOutboxRepository outboxRepo,
+                                 @Value("${vibelog.events.outbox.retention:PT24H}") Duration retention,
+                                 @Value("${vibelog.events.outbox.cleanup-batch-size:5000}") int batchSize) {
+        this.outboxRepo = outboxRepo;
+        this.retention = retention;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Scheduled entry point; deletes expired events on a fixed delay.
+     */
+    @Scheduled(
+            initialDelayString = "${vibelog.events.outbox.cleanup-initial-delay:PT5M}",
+            fixedDelayString = "${vibelog.events.outbox.cleanup-interval:PT10M}"
+    )
+    public void run() {
+        try {
+            int deleted = deleteExpired();
+            if (deleted > 0) {
+                log.info("Deleted {} expired outbox events", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox cleanup failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Delete every processed event and every delivery record older than the retention
+     * period, one batch at a time.
+     *
+     * @return number of events deleted
+     */
+    public int deleteExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = outboxRepo.deleteCreatedBefore(cutoff, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        do {
+            deleted = outboxRepo.deleteDeliveriesBefore(cutoff, batchSize);
+        } while (deleted == batchSize);
+        return total;
+    }
+}
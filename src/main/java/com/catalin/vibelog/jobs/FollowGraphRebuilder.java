@@ -0,0 +1,46 @@
+package com.catalin.vibelog.jobs;
+
+import com.catalin.vibelog.service.FollowGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically reloads the in-memory {@link FollowGraph} from the {@code follows} table.
+ * <p>
+ * The first run shortly after startup populates the graph; later runs compact the
+ * event overlay into a fresh snapshot and pick up edges changed outside the
+ * follow/unfollow endpoints, such as rows removed by cascading user deletes.
+ * </p>
+ */
+@Component
+public class FollowGraphRebuilder {
+    private static final Logger log = LoggerFactory.getLogger(FollowGraphRebuilder.class);
+
+    private final FollowGraph followGraph;
+
+    /**
+     * Constructs the rebuilder.
+     *
+     * @param followGraph the graph to reload
+     */
+    public FollowGraphRebuilder(FollowGraph followGraph) {
+        this.followGraph = followGraph;
+    }
+
+    /**
+     * Scheduled entry point; rebuilds the graph on a fixed delay.
+     */
+    @Scheduled(
+            initialDelayString = "${vibelog.suggestions.graph.initial-delay:PT10S}",
+            fixedDelayString = "${vibelog.suggestions.graph.rebuild-interval:PT30M}"
+    )
+    public void run() {
+        try {
+            followGraph.rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Follow graph rebuild failed: {}", e.getMessage(), e);
+        }
+    }
+}
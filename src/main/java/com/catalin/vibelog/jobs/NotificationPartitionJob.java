@@ -0,0 +1,69 @@
+package com.catalin.vibelog.jobs;
+
+import com.catalin.vibelog.service.NotificationPartitionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@code notifications} table partitioned by month and enforces its retention.
+ * <p>
+ * The first run shortly after startup converts a plain table left by the schema
+ * generator; every run then creates the upcoming months' partitions and drops
+ * (or detaches for archival) the months that fell out of the retention period.
+ * Can be switched off for databases without declarative partitioning.
+ * </p>
+ */
+@Component
+public class NotificationPartitionJob {
+    private static final Logger log = LoggerFactory.getLogger(NotificationPartitionJob.class);
+
+    private final NotificationPartitionManager partitions;
+    private final boolean enabled;
+
+    /**
+     * Constructs the job.
+     *
+     * @param partitions the partition manager
+     * @param enabled    whether partition maintenance runs at all
+     */
+    public NotificationPartitionJob(NotificationPartitionManager partitions,
+                                    @Value("${vibelog.notifications.partitions.enabled:true}") boolean enabled) {
+        this.partitions = partitions;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Scheduled entry point; maintains the partitions on a fixed delay.
+     */
+    @Scheduled(
+            initialDelayString = "${vibelog.notifications.partitions.initial-delay:PT0S}",
+            fixedDelayString = "${vibelog.notifications.partitions.interval:PT6H}"
+    )
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            maintain();
+        } catch (RuntimeException e) {
+            log.warn("Notification partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Convert the table if needed, create upcoming partitions, then expire old ones.
+     */
+    public void maintain() {
+        if (!partitions.ensurePartitioned()) {
+            return;
+        }
+        int created = partitions.createUpcomingPartitions();
+        int expired = partitions.expireOldPartitions();
+        if (created > 0 || expired > 0) {
+            log.info("Notification partitions: {} created, {} expired", created, expired);
+        }
+    }
+}
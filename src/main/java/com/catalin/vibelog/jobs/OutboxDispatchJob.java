@@ -0,0 +1,112 @@
+package com.catalin.vibelog.jobs;
+
+import com.catalin.vibelog.service.OutboxDispatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Drains the outbox with several concurrent workers on a fixed delay.
+ * <p>
+ * Each worker claims batches until one comes back short. Workers on this and other
+ * instances never claim the same event, so adding workers or instances raises
+ * throughput without coordination.
+ * </p>
+ */
+@Component
+public class OutboxDispatchJob {
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatchJob.class);
+
+    private final OutboxDispatcher dispatcher;
+    private final boolean enabled;
+    private final int workers;
+    private final int batchSize;
+
+    /**
+     * Constructs the job.
+     *
+     * @param dispatcher the outbox dispatcher
+     * @param enabled    whether this instance dispatches events at all
+     * @param workers    number of workers draining the outbox concurrently
+     * @param batchSize  the dispatcher's batch size, below which a worker stops
+     */
+    public OutboxDispatchJob(OutboxDispatcher dispatcher,
+                             @Value("${vibelog.events.dispatch.enabled:true}") boolean enabled,
+                             @Value("${vibelog.events.dispatch.workers:2}") int workers,
+                             @Value("${vibelog.events.dispatch.batch-size:100}") int batchSize) {
+        this.dispatcher = dispatcher;
+        this.enabled = enabled;
+        this.workers = Math.max(1, workers);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Scheduled entry point; drains the outbox on a fixed delay.
+     */
+    @Scheduled(
+            initialDelayString = "${vibelog.events.dispatch.initial-delay:PT10S}",
+            fixedDelayString = "${vibelog.events.dispatch.interval:PT1S}"
+    )
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int claimed = drain();
+            if (claimed > 0) {
+                log.debug("Dispatched {} outbox events", claimed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Run the workers until each has seen a short batch.
+     *
+     * @return number of events claimed by all workers
+     */
+    public int drain() {
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < workers; i++) {
+                results.add(pool.submit(this::work));
+            }
+        }
+        int claimed = 0;
+        for (Future<Integer> result : results) {
+            try {
+                claimed += result.get();
+            } catch (ExecutionException e) {
+                log.warn("Outbox worker failed: {}", e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Claim batches until one comes back short.
+     *
+     * @return number of events claimed
+     */
+    private int work() {
+        int claimed = 0;
+        int batch;
+        do {
+            batch = dispatcher.dispatchBatch();
+            claimed += batch;
+        } while (batch >= batchSize);
+        return claimed;
+    }
+}
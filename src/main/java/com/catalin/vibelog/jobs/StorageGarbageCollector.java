@@ -0,0 +1,181 @@
+package com.catalin.vibelog.jobs;
+
+import com.catalin.vibelog.repository.MediaRepository;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.service.StorageService;
+import com.catalin.vibelog.service.StorageService.StoredObject;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Mark-and-sweep garbage collector for the blob storage backing media and avatars.
+ * <p>
+ * Request paths no longer delete files inline; instead this job periodically
+ * marks every blob still referenced by a {@code Media.url} or {@code User.profilePicture},
+ * then sweeps unreferenced blobs in throttled batches. Blobs younger than the
+ * configured grace period are never swept, so uploads whose database row has not
+ * been committed yet are safe.
+ * </p>
+ * <p>
+ * Reclaimed bytes and deleted files are exported as the
+ * {@code vibelog.storage.gc.reclaimed} and {@code vibelog.storage.gc.deleted} counters.
+ * </p>
+ */
+@Component
+public class StorageGarbageCollector {
+    private static final Logger log = LoggerFactory.getLogger(StorageGarbageCollector.class);
+
+    private final StorageService storageService;
+    private final MediaRepository mediaRepo;
+    private final UserRepository userRepo;
+    private final Counter reclaimedBytes;
+    private final Counter deletedFiles;
+    private final Duration gracePeriod;
+    private final int batchSize;
+    private final Duration batchPause;
+
+    /**
+     * Constructs the collector with its collaborators and tuning parameters.
+     *
+     * @param storageService the storage backend to sweep
+     * @param mediaRepo      repository used to mark media blobs
+     * @param userRepo       repository used to mark avatar blobs
+     * @param meterRegistry  registry receiving the reclaimed-bytes and deleted-files counters
+     * @param gracePeriod    minimum age of a blob before it may be swept
+     * @param batchSize      number of deletions performed before pausing
+     * @param batchPause     pause between two deletion batches
+     */
+    public StorageGarbageCollector(StorageService storageService,
+                                   MediaRepository mediaRepo,
+                                   UserRepository userRepo,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${vibelog.storage.gc.grace-period:PT1H}") Duration gracePeriod,
+                                   @Value("${vibelog.storage.gc.batch-size:100}") int batchSize,
+                                   @Value("${vibelog.storage.gc.batch-pause:PT1S}") Duration batchPause) {
+        this.storageService = storageService;
+        this.mediaRepo = mediaRepo;
+        this.userRepo = userRepo;
+        this.reclaimedBytes = Counter.builder("vibelog.storage.gc.reclaimed")
+                .description("Bytes reclaimed by deleting orphaned blobs")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.deletedFiles = Counter.builder("vibelog.storage.gc.deleted")
+                .description("Orphaned blobs deleted by the storage garbage collector")
+                .baseUnit("files")
+                .register(meterRegistry);
+        this.gracePeriod = gracePeriod;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchPause = batchPause;
+    }
+
+    /**
+     * Scheduled entry point; runs a full mark-and-sweep cycle on a fixed delay.
+     */
+    @Scheduled(
+            initialDelayString = "${vibelog.storage.gc.initial-delay:PT5M}",
+            fixedDelayString = "${vibelog.storage.gc.interval:PT1H}"
+    )
+    public void run() {
+        try {
+            SweepResult result = collect();
+            if (result.deletedFiles() > 0) {
+                log.info("Storage GC deleted {} orphaned blobs, reclaimed {} bytes",
+                        result.deletedFiles(), result.reclaimedBytes());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Storage GC cycle failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Run one mark-and-sweep cycle.
+     *
+     * @return the number of deleted blobs and reclaimed bytes for this cycle
+     */
+    public SweepResult collect() {
+        Set<String> referenced = markReferenced();
+        Instant cutoff = Instant.now().minus(gracePeriod);
+
+        int deleted = 0;
+        long bytes = 0;
+        int inBatch = 0;
+        try (Stream<StoredObject> stored = storageService.listStored()) {
+            for (StoredObject blob : (Iterable<StoredObject>) stored::iterator) {
+                if (referenced.contains(blob.key()) || blob.lastModified().isAfter(cutoff)) {
+                    continue;
+                }
+                if (storageService.deleteKey(blob.key())) {
+                    deleted++;
+                    bytes += blob.size();
+                    deletedFiles.increment();
+                    reclaimedBytes.increment(blob.size());
+                }
+                if (++inBatch >= batchSize) {
+                    inBatch = 0;
+                    pause();
+                }
+            }
+        }
+        return new SweepResult(deleted, bytes);
+    }
+
+    /**
+     * Mark phase: resolve every blob key referenced from the database.
+     *
+     * @return the set of storage keys that must be kept
+     */
+    private Set<String> markReferenced() {
+        Set<String> keys = new HashSet<>();
+        addKeys(keys, mediaRepo.findAllUrls());
+        addKeys(keys, userRepo.findAllProfilePictures());
+        return keys;
+    }
+
+    /**
+     * Resolve the given URLs to storage keys and add them to the mark set.
+     *
+     * @param keys the mark set to extend
+     * @param urls URLs referenced from the database
+     */
+    private void addKeys(Set<String> keys, List<String> urls) {
+        urls.stream()
+                .map(storageService::resolveKey)
+                .filter(Objects::nonNull)
+                .forEach(keys::add);
+    }
+
+    /**
+     * Throttle the sweep between batches so it does not saturate disk I/O.
+     */
+    private void pause() {
+        if (batchPause.isZero() || batchPause.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPause.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Outcome of a single collection cycle.
+     *
+     * @param deletedFiles   number of orphaned blobs removed
+     * @param reclaimedBytes total size of the removed blobs in bytes
+     */
+    public record SweepResult(int deletedFiles, long reclaimedBytes) {}
+}
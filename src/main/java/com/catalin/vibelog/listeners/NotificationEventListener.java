@@ -5,24 +5,29 @@ import com.catalin.vibelog.events.CommentEvent;
 import com.catalin.vibelog.events.FollowEvent;
 import com.catalin.vibelog.events.LikeEvent;
 import com.catalin.vibelog.events.ReblogEvent;
+import com.catalin.vibelog.events.ReliableEvent;
 import com.catalin.vibelog.events.ReportResolvedEvent;
+import com.catalin.vibelog.events.ReportsResolvedEvent;
 import com.catalin.vibelog.model.enums.NotificationType;
+import com.catalin.vibelog.model.enums.ReportTarget;
 import com.catalin.vibelog.service.NotificationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.event.TransactionPhase;
-import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * Listens for social-action events (likes, comments, follows, reblogs,
  * and report resolutions) and converts them into notifications.
  * <p>
- * Each {@code @EventListener} method takes the published event,
- * builds a {@link NotificationRequestDTO} and delegates to
+ * Each {@code @EventListener} method takes an event handed over by the
+ * {@link com.catalin.vibelog.service.OutboxDispatcher} after the action
+ * committed, builds a {@link NotificationRequestDTO} and delegates to
  * {@link NotificationService#sendNotification(NotificationRequestDTO)}.
+ * A failing notification is retried by the dispatcher instead of rolling
+ * back the action. Likes, comments, follows and reblogs name their actor and
+ * target so the service can fold them into one notification per recipient and target.
  * </p>
  */
 @Component
@@ -44,110 +49,121 @@ public class NotificationEventListener {
     /**
      * Handle user "like" actions.
      * <p>
-     * When a {@link LikeEvent} is published, sends a LIKE notification
-     * to the author of the liked post.
+     * When a {@link LikeEvent} is dispatched, sends a LIKE notification
+     * to the author of the liked post, unless they liked it themselves.
      * </p>
      *
-     * @param ev the event containing liker, postId, and postAuthorUsername
+     * @param reliable the envelope of the event containing liker, postId, and postAuthorUsername
      */
     @EventListener
-    //@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    public void handleLike(LikeEvent ev) {
+    public void handleLike(ReliableEvent<LikeEvent> reliable) {
+        LikeEvent ev = reliable.event;
         log.debug("▶️ Received LikeEvent for postId={}, liker={}, author={}",
                 ev.postId, ev.likerUsername, ev.postAuthorUsername);
-        String content = "💖 @" + ev.likerUsername +
-                " liked your post #" + ev.postId;
-        notifService.sendNotification(new NotificationRequestDTO(
+        if (ev.likerUsername.equals(ev.postAuthorUsername)) {
+            return;
+        }
+        notifService.sendNotification(NotificationRequestDTO.fromActor(
                 NotificationType.LIKE,
                 ev.postAuthorUsername,
-                content
+                ev.likerUsername,
+                ev.postId
         ));
     }
 
     /**
      * Handle user "comment" actions.
      * <p>
-     * When a {@link CommentEvent} is published, sends a COMMENT notification
+     * When a {@link CommentEvent} is dispatched, sends a COMMENT notification
      * to the author of the commented post.
      * </p>
      *
-     * @param ev the event containing commenterUsername, postId, and postAuthorUsername
+     * @param reliable the envelope of the event containing commenterUsername, postId, and postAuthorUsername
      */
-    //@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     @EventListener
-    public void handleComment(CommentEvent ev) {
-        String content = "💬 @" + ev.commenterUsername +
-                " commented on your post #" + ev.postId;
-        notifService.sendNotification(new NotificationRequestDTO(
+    public void handleComment(ReliableEvent<CommentEvent> reliable) {
+        CommentEvent ev = reliable.event;
+        notifService.sendNotification(NotificationRequestDTO.fromActor(
                 NotificationType.COMMENT,
                 ev.postAuthorUsername,
-                content
+                ev.commenterUsername,
+                ev.postId
         ));
     }
 
     /**
      * Handle user "follow" actions.
      * <p>
-     * When a {@link FollowEvent} is published, sends a FOLLOW notification
+     * When a {@link FollowEvent} is dispatched, sends a FOLLOW notification
      * to the user who was followed.
      * </p>
      *
-     * @param ev the event containing followerUsername and followedUsername
+     * @param reliable the envelope of the event containing followerUsername and followedUsername
      */
-    //@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     @EventListener
-    public void handleFollow(FollowEvent ev) {
-        String content = "➕ @" + ev.followerUsername +
-                " is now following you";
-        notifService.sendNotification(new NotificationRequestDTO(
+    public void handleFollow(ReliableEvent<FollowEvent> reliable) {
+        FollowEvent ev = reliable.event;
+        notifService.sendNotification(NotificationRequestDTO.fromActor(
                 NotificationType.FOLLOW,
                 ev.followedUsername,
-                content
+                ev.followerUsername,
+                null
         ));
     }
 
     /**
      * Handle user "reblog" actions.
      * <p>
-     * When a {@link ReblogEvent} is published, sends a REBLOG notification
+     * When a {@link ReblogEvent} is dispatched, sends a REBLOG notification
      * to the author of the original post.
      * </p>
      *
-     * @param ev the event containing rebloggerUsername, originalPostId, and originalAuthorUsername
+     * @param reliable the envelope of the event containing rebloggerUsername, originalPostId,
+     *                 and originalAuthorUsername
      */
-    //@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     @EventListener
-    public void handleReblog(ReblogEvent ev) {
-        String content = "🔁 @" + ev.rebloggerUsername +
-                " reblogged your post #" + ev.originalPostId;
-        notifService.sendNotification(new NotificationRequestDTO(
+    public void handleReblog(ReliableEvent<ReblogEvent> reliable) {
+        ReblogEvent ev = reliable.event;
+        notifService.sendNotification(NotificationRequestDTO.fromActor(
                 NotificationType.REBLOG,
                 ev.originalAuthorUsername,
-                content
+                ev.rebloggerUsername,
+                ev.originalPostId
         ));
     }
 
     /**
      * Handle moderator "report resolved" actions.
      * <p>
-     * When a {@link ReportResolvedEvent} is published, sends a REPORT notification
+     * When a {@link ReportResolvedEvent} is dispatched, sends a REPORT notification
      * to the user who originally filed the report.
      * </p>
      *
-     * @param ev the event containing reporterUsername, postId/commentId, and result
+     * @param reliable the envelope of the event containing reporterUsername, postId/commentId, and result
      */
-    //@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     @EventListener
-    public void handleReportResolved(ReportResolvedEvent ev) {
-        String target = (ev.postId != null)
-                ? "post #" + ev.postId
-                : "comment #" + ev.commentId;
-        String content = "🚩 Your report on " + target +
-                " was " + ev.result.name().toLowerCase();
-        notifService.sendNotification(new NotificationRequestDTO(
-                NotificationType.REPORT,
-                ev.reporterUsername,
-                content
-        ));
+    public void handleReportResolved(ReliableEvent<ReportResolvedEvent> reliable) {
+        ReportResolvedEvent ev = reliable.event;
+        notifService.sendNotification(ev.postId != null
+                ? NotificationRequestDTO.forReport(ev.reporterUsername, ReportTarget.POST, ev.postId, ev.result)
+                : NotificationRequestDTO.forReport(ev.reporterUsername, ReportTarget.COMMENT, ev.commentId, ev.result));
+    }
+
+    /**
+     * Handle moderators resolving every report against a target at once.
+     * <p>
+     * When a {@link ReportsResolvedEvent} is dispatched, sends the same REPORT
+     * notification to all reporters through a single bulk insert.
+     * </p>
+     *
+     * @param reliable the envelope of the event containing postId/commentId, the resolved report IDs, and result
+     */
+    @EventListener
+    public void handleReportsResolved(ReliableEvent<ReportsResolvedEvent> reliable) {
+        ReportsResolvedEvent ev = reliable.event;
+        int sent = ev.postId != null
+                ? notifService.notifyReporters(ev.reportIds, ReportTarget.POST, ev.postId, ev.result)
+                : notifService.notifyReporters(ev.reportIds, ReportTarget.COMMENT, ev.commentId, ev.result);
+        log.debug("Notified {} reporters about {}", sent, ev.aggregateKey());
     }
 }
@@ -3,18 +3,31 @@ package com.catalin.vibelog.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 /**
  * Represents a comment made by a user on a post.
+ * <p>
+ * Comments are threaded one level deep: a reply points at a top-level comment
+ * through {@code parentId}. The indexes serve keyset pages of a post's top-level
+ * comments and of a comment's replies, both in creation order.
+ * </p>
  */
 @Entity
 @Setter
 @Getter
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_post_parent_created", columnList = "post_id, parent_id, created_at, id"),
+        @Index(name = "idx_comments_parent_created", columnList = "parent_id, created_at, id")
+})
+@NamedEntityGraph(name = Comment.WITH_AUTHOR_GRAPH, attributeNodes = @NamedAttributeNode("author"))
 public class Comment {
 
+    /** Fetch plan for editing or rendering a single comment together with its author. */
+    public static final String WITH_AUTHOR_GRAPH = "Comment.withAuthor";
+
     /** Primary key identifier for the comment. */
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,17 +38,32 @@ public class Comment {
     private String content;
 
     /** Timestamp when the comment was created. */
-    @Column(nullable = false)
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
     /** The user who authored this comment. */
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     private User author;
 
     /** The post to which this comment belongs. */
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     private Post post;
 
+    /**
+     * ID of the top-level comment this is a reply to, or {@code null} for a top-level comment.
+     * Kept as a plain column so all replies can be removed with one bulk statement.
+     */
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    /**
+     * Denormalized number of replies to this comment. Only written by atomic increments,
+     * so editing a comment cannot overwrite replies added since it was loaded.
+     */
+    @Column(name = "reply_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int replyCount;
+
     /** Timestamp when the comment was last edited. */
     @Column(name = "edited_at")
     private LocalDateTime editedAt;
@@ -12,7 +12,11 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "follows")
+@Table(name = "follows", indexes = {
+        // keyset pagination of a user's followers / following, newest first
+        @Index(name = "idx_follows_followed_created", columnList = "followed_user_id, created_at, following_user_id"),
+        @Index(name = "idx_follows_following_created", columnList = "following_user_id, created_at, followed_user_id")
+})
 public class Follow {
 
     /** Composite primary key of the follow relationship. */
@@ -20,13 +24,13 @@ public class Follow {
     private FollowId id;
 
     /** The user who is doing the following. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("followingUserId")
     @JoinColumn(name = "following_user_id", nullable = false)
     private User follower;
 
     /** The user who is being followed. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("followedUserId")
     @JoinColumn(name = "followed_user_id", nullable = false)
     private User followed;
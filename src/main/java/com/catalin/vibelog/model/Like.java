@@ -20,12 +20,12 @@ public class Like {
     private LikeId id;
 
     /** The user who performed the like. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("userId")
     private User user;
 
     /** The post that was liked. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("postId")
     private Post post;
 
@@ -27,7 +27,7 @@ public class Media {
     @Enumerated(EnumType.STRING)
     private MediaType type;
 
-    /** File format or extension (e.g., "jpg", "mp4"). */
+    /** Container format detected from the file signature (e.g., "jpeg", "mp4"). */
     @Column(nullable = false)
     private String format;
 
@@ -35,6 +35,16 @@ public class Media {
     @Column(nullable = false)
     private long size;
 
+    /** Pixel width detected at upload time, or {@code null} if the container does not expose it. */
+    private Integer width;
+
+    /** Pixel height detected at upload time, or {@code null} if the container does not expose it. */
+    private Integer height;
+
+    /** Playback duration in milliseconds for videos, or {@code null} for images and unknown durations. */
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
     /** URL or path where the media is stored. */
     @Column(nullable = false)
     private String url;
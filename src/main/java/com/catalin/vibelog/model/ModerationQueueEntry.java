@@ -0,0 +1,61 @@
+package com.catalin.vibelog.model;
+
+import com.catalin.vibelog.model.enums.ReportTarget;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the moderation queue: every pending report against the same post or
+ * comment, aggregated into a single row.
+ * <p>
+ * Rows are upserted when a report is filed and deleted once the target's reports are
+ * resolved. The priority grows with the logarithm of the report count and linearly with
+ * the time of the latest report, so ordering by it surfaces heavily and recently reported
+ * content first without recomputing scores as time passes.
+ * </p>
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "moderation_queue",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_moderation_queue_target", columnNames = {"target_type", "target_id"}),
+        indexes = @Index(name = "idx_moderation_queue_priority", columnList = "priority, id"))
+public class ModerationQueueEntry {
+
+    /** Primary key identifier for the queue entry. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Whether the reported content is a post or a comment. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, length = 16)
+    private ReportTarget targetType;
+
+    /** ID of the reported post or comment. */
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    /** Number of pending reports against the target. */
+    @Column(name = "report_count", nullable = false)
+    private int reportCount;
+
+    /** When the oldest pending report was filed. */
+    @Column(name = "first_reported_at", nullable = false)
+    private LocalDateTime firstReportedAt;
+
+    /** When the newest pending report was filed. */
+    @Column(name = "last_reported_at", nullable = false)
+    private LocalDateTime lastReportedAt;
+
+    /** Ordering score of the entry; higher is reviewed first. */
+    @Column(nullable = false)
+    private double priority;
+
+    /** Default no-args constructor required by JPA. */
+    public ModerationQueueEntry() {}
+}
@@ -1,15 +1,27 @@
 package com.catalin.vibelog.model;
 
 import com.catalin.vibelog.model.enums.NotificationType;
+import com.catalin.vibelog.model.enums.ReportStatus;
+import com.catalin.vibelog.model.enums.ReportTarget;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 
 /**
  * Notification sent to a user in response to social interactions
  * such as likes, comments, follows, or reblogs.
+ * <p>
+ * The {@code notifications} table is partitioned by month on {@link #timestamp}
+ * and old months are dropped as a whole; see
+ * {@link com.catalin.vibelog.service.NotificationPartitionManager}. Repeated actions
+ * of the same type on the same target are folded into one unseen row that counts
+ * its distinct actors and keeps their IDs; its text is rendered when it is read.
+ * </p>
  */
 @Entity
 @Setter
@@ -26,17 +38,48 @@ public class Notification {
     @Enumerated(EnumType.STRING)
     private NotificationType type;
 
-    /** Descriptive content or message of the notification. */
+    /**
+     * Fixed message of the notification, or {@code null} for notifications rendered
+     * from their type, actors, target and report outcome when read.
+     */
     private String content;
 
     /** Flag indicating whether the user has seen this notification. */
     private boolean seen;
 
-    /** Timestamp when the notification was created. */
+    /** Timestamp when the notification was created; the table is range-partitioned by month on it. */
+    @Column(nullable = false)
     private LocalDateTime timestamp;
 
+    /**
+     * ID of the object the notification is about (the liked, commented, reblogged or reported
+     * post, or the reported comment), or {@code null} when it is about the recipient (a follow). Part of the aggregation key.
+     */
+    @Column(name = "target_id")
+    private Long targetId;
+
+    /** Kind of object {@link #targetId} refers to for a REPORT notification, or {@code null} otherwise. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type")
+    private ReportTarget targetType;
+
+    /** Outcome of the report for a REPORT notification, or {@code null} otherwise. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_result")
+    private ReportStatus reportResult;
+
+    /** Number of distinct actors folded into this notification. */
+    @Column(name = "actor_count", nullable = false)
+    @ColumnDefault("1")
+    private int actorCount = 1;
+
+    /** IDs of all actors folded in, newest first; {@code null} for notifications with fixed content. */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "actor_ids")
+    private Long[] actorIds;
+
     /** The recipient user who will receive this notification. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "recipient_id", nullable = false)
     private User recipient;
 
@@ -61,6 +104,11 @@ public class Notification {
         private boolean seen = false;
         private LocalDateTime timestamp = LocalDateTime.now();
         private User recipient;
+        private Long targetId;
+        private ReportTarget targetType;
+        private ReportStatus reportResult;
+        private int actorCount = 1;
+        private Long[] actorIds;
 
         /**
          * Sets the notification type.
@@ -117,6 +165,61 @@ public class Notification {
             return this;
         }
 
+        /**
+         * Sets the ID of the object the notification is about.
+         *
+         * @param targetId the target's ID, or {@code null}
+         * @return this {@code Builder} instance
+         */
+        public Builder targetId(Long targetId) {
+            this.targetId = targetId;
+            return this;
+        }
+
+        /**
+         * Sets the kind of object the notification is about.
+         *
+         * @param targetType the reported object's kind, or {@code null}
+         * @return this {@code Builder} instance
+         */
+        public Builder targetType(ReportTarget targetType) {
+            this.targetType = targetType;
+            return this;
+        }
+
+        /**
+         * Sets the outcome of the report the notification is about.
+         *
+         * @param reportResult the report's final status, or {@code null}
+         * @return this {@code Builder} instance
+         */
+        public Builder reportResult(ReportStatus reportResult) {
+            this.reportResult = reportResult;
+            return this;
+        }
+
+        /**
+         * Sets the number of actors folded into the notification.
+         *
+         * @param actorCount the actor count
+         * @return this {@code Builder} instance
+         */
+        public Builder actorCount(int actorCount) {
+            this.actorCount = actorCount;
+            return this;
+        }
+
+        /**
+         * Sets the IDs of the actors.
+         *
+         * @param actorIds IDs of the actors, newest first
+         * @return this {@code Builder} instance
+         */
+        public Builder actorIds(Long... actorIds) {
+            this.actorIds = actorIds;
+            return this;
+        }
+
         /**
          * Builds and returns the configured {@link Notification} instance.
          *
@@ -136,6 +239,11 @@ public class Notification {
             n.setSeen(this.seen);
             n.setTimestamp(this.timestamp);
             n.setRecipient(this.recipient);
+            n.setTargetId(this.targetId);
+            n.setTargetType(this.targetType);
+            n.setReportResult(this.reportResult);
+            n.setActorCount(this.actorCount);
+            n.setActorIds(this.actorIds);
             return n;
         }
     }
@@ -0,0 +1,35 @@
+package com.catalin.vibelog.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record that the listeners of one outbox event ran and committed.
+ * <p>
+ * It is written in the same transaction as the listeners' side effects, so an event
+ * whose batch was claimed again, because the claiming transaction failed before it
+ * marked the event processed, is recognised and not handed to the listeners twice.
+ * Records are deleted with their events once older than the outbox retention period.
+ * </p>
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "event_outbox_deliveries")
+public class OutboxDelivery {
+
+    /** ID of the delivered {@link OutboxEvent}. */
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    /** When the event's listeners committed. */
+    @Column(name = "delivered_at", nullable = false)
+    private LocalDateTime deliveredAt;
+
+    /** Default no-args constructor required by JPA. */
+    public OutboxDelivery() {}
+}
@@ -0,0 +1,84 @@
+package com.catalin.vibelog.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * One domain event in the transactional outbox.
+ * <p>
+ * Rows are inserted in the same transaction as the change they describe, so an event
+ * exists if and only if its change committed. The event relay of every instance reads
+ * them in ID order, and one instance's dispatcher runs their side effects and marks
+ * them processed. Processed rows are deleted once older than the retention period.
+ * </p>
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "event_outbox",
+        indexes = @Index(name = "idx_event_outbox_pending", columnList = "processed_at, id"))
+public class OutboxEvent {
+
+    /** Primary key identifier, increasing in insertion order. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Key of the aggregate the event belongs to, e.g. {@code post:12}. */
+    @Column(name = "aggregate_key", nullable = false, length = 64)
+    private String aggregateKey;
+
+    /** Fully qualified class name of the event. */
+    @Column(name = "event_type", nullable = false, length = 128)
+    private String eventType;
+
+    /** The event serialized as JSON. */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false)
+    private String payload;
+
+    /** When the event was published. */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /** When the dispatcher finished with the event, or {@code null} while it is pending. */
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    /** Number of failed dispatch attempts. */
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int attempts;
+
+    /** Earliest time of the next dispatch attempt after a failure, or {@code null}. */
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    /** Message of the latest failed attempt, or {@code null}. */
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /** Default no-args constructor required by JPA. */
+    public OutboxEvent() {}
+
+    /**
+     * Constructs an outbox row.
+     *
+     * @param aggregateKey key of the aggregate the event belongs to
+     * @param eventType    fully qualified class name of the event
+     * @param payload      the event serialized as JSON
+     * @param createdAt    when the event was published
+     */
+    public OutboxEvent(String aggregateKey, String eventType, String payload, LocalDateTime createdAt) {
+        this.aggregateKey = aggregateKey;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+}
@@ -3,6 +3,7 @@ package com.catalin.vibelog.model;
 import com.catalin.vibelog.model.enums.PostStatus;
 import jakarta.persistence.*;
 import lombok.Getter;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
@@ -20,8 +21,22 @@ import java.util.List;
 @Setter
 @Entity
 @Table(name = "posts")
+@NamedEntityGraph(
+        name = Post.FEED_CARD_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("author"),
+                @NamedAttributeNode(value = "originalPost", subgraph = "originalPost")
+        },
+        subgraphs = @NamedSubgraph(name = "originalPost", attributeNodes = @NamedAttributeNode("author"))
+)
 public class Post {
 
+    /**
+     * Fetch plan for rendering a post card: the author and, for reblogs,
+     * the original post with its author, all loaded in the same select.
+     */
+    public static final String FEED_CARD_GRAPH = "Post.feedCard";
+
     /** Primary key identifier for the post. */
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -49,7 +64,7 @@ public class Post {
     private LocalDateTime updatedAt;
 
     /** The user who authored this post. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
 
@@ -58,7 +73,7 @@ public class Post {
     private List<Media> mediaList = new ArrayList<>();
 
     /** Reference to the original post if this is a reblog; null otherwise. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "original_post_id")
     private Post originalPost;
 
@@ -77,6 +92,25 @@ public class Post {
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Comment> comments = new ArrayList<>();
 
+    /**
+     * Denormalized number of comments, replies included, maintained by
+     * {@link com.catalin.vibelog.service.CommentService} instead of counting comment rows.
+     * Only written by atomic increments, like {@link #likeCount}.
+     */
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int commentCount;
+
+    /**
+     * Denormalized number of likes, maintained incrementally by
+     * {@link com.catalin.vibelog.service.LikeCounter} instead of counting like rows.
+     * Only written by atomic increments, never by saving the entity, so editing a post
+     * cannot overwrite likes counted since it was loaded.
+     */
+    @Column(name = "like_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int likeCount;
+
     /** All like records for this post; deleted when the post is deleted. */
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Like> likes = new ArrayList<>();
@@ -16,27 +16,38 @@ import java.time.LocalDateTime;
 @Entity
 @Setter
 @Getter
-@Table(name = "reports")
+@Table(name = "reports", indexes = {
+        // pending reports per target, for resolving a moderation queue entry
+        @Index(name = "idx_reports_post_status", columnList = "post_id, status"),
+        @Index(name = "idx_reports_comment_status", columnList = "comment_id, status")
+})
+@NamedEntityGraph(name = Report.MODERATION_GRAPH, attributeNodes = @NamedAttributeNode("reporter"))
 public class Report {
 
+    /**
+     * Fetch plan for moderating a report: the reporter is needed for the
+     * resolution notice, while the targets are only referenced by ID.
+     */
+    public static final String MODERATION_GRAPH = "Report.moderation";
+
     /** Primary key identifier for the report entry. */
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     /** The user who created this report. */
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "reporter_id", nullable = false)
     private User reporter;
 
     /** The post being reported, if applicable. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id")
     @OnDelete(action = OnDeleteAction.CASCADE)
     private Post post;
 
     /** The comment being reported, if applicable. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "comment_id")
     @OnDelete(action = OnDeleteAction.CASCADE)
     private Comment comment;
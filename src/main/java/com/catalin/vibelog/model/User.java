@@ -1,10 +1,12 @@
 package com.catalin.vibelog.model;
 
+import com.catalin.vibelog.model.enums.AccountPurgeStage;
 import com.catalin.vibelog.model.enums.Role;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -77,6 +79,39 @@ public abstract class User {
     @Column(length = 500)
     private String bio;
 
+    /**
+     * Denormalized number of users following this user, maintained on follow/unfollow.
+     * Only written by atomic increments, so saving a profile edit cannot overwrite it.
+     */
+    @Column(name = "follower_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private long followerCount;
+
+    /**
+     * Denormalized number of users this user follows, maintained on follow/unfollow.
+     * Only written by atomic increments, so saving a profile edit cannot overwrite it.
+     */
+    @Column(name = "following_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private long followingCount;
+
+    /**
+     * When the account was disabled for deletion; {@code null} for active accounts.
+     * Disabled accounts can no longer log in and are purged in the background.
+     * Only written by targeted updates, so a profile saved while the account is being
+     * deleted cannot re-enable it.
+     */
+    @Column(name = "deletion_requested_at", insertable = false, updatable = false)
+    private LocalDateTime deletionRequestedAt;
+
+    /**
+     * Checkpoint of the background purge of a disabled account: the next stage to run.
+     * Only written by targeted updates, like {@link #deletionRequestedAt}.
+     */
+    @Column(name = "purge_stage", length = 20, insertable = false, updatable = false)
+    @Enumerated(EnumType.STRING)
+    private AccountPurgeStage purgeStage;
+
     /**
      * Follows initiated by this user (users this user is following).
      * Cascade operations and orphan removal ensure consistency.
@@ -0,0 +1,24 @@
+package com.catalin.vibelog.model.enums;
+
+/**
+ * Stages of the background purge of a deleted account, in execution order.
+ * The stage stored on the account is the next one to run.
+ */
+public enum AccountPurgeStage {
+    /** Delete the user's posts, their reblogs and everything attached to them. */
+    POSTS,
+    /** Delete the user's remaining comments and their replies. */
+    COMMENTS,
+    /** Delete the user's likes, lowering the like counters of the liked posts. */
+    LIKES,
+    /** Delete the follows made by the user, lowering the followees' follower counters. */
+    FOLLOWING,
+    /** Delete the follows of the user, lowering the followers' following counters. */
+    FOLLOWERS,
+    /** Delete the notifications addressed to the user. */
+    NOTIFICATIONS,
+    /** Delete the reports filed by the user, taking pending ones out of the moderation queue. */
+    REPORTS,
+    /** Delete the account row itself. */
+    ACCOUNT
+}
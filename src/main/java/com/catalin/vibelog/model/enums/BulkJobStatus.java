@@ -0,0 +1,13 @@
+package com.catalin.vibelog.model.enums;
+
+/**
+ * Lifecycle states of a bulk moderation job.
+ */
+public enum BulkJobStatus {
+    /** The job is still deleting chunks. */
+    RUNNING,
+    /** Every chunk was deleted. */
+    COMPLETED,
+    /** A chunk failed; chunks committed before it stay deleted. */
+    FAILED
+}
@@ -0,0 +1,13 @@
+package com.catalin.vibelog.model.enums;
+
+/**
+ * Kinds of bulk moderation jobs.
+ */
+public enum BulkJobType {
+    /** Delete an explicit list of posts. */
+    DELETE_POSTS,
+    /** Delete every post and comment written by one user. */
+    PURGE_USER,
+    /** Delete every comment whose content matches a pattern. */
+    DELETE_COMMENTS
+}
@@ -0,0 +1,11 @@
+package com.catalin.vibelog.model.enums;
+
+/**
+ * Formats a user's data export can be downloaded in.
+ */
+public enum ExportFormat {
+    /** One JSON document per line. */
+    NDJSON,
+    /** A ZIP archive holding the NDJSON document and the media files it lists. */
+    ZIP
+}
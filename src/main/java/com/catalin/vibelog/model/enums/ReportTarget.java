@@ -0,0 +1,11 @@
+package com.catalin.vibelog.model.enums;
+
+/**
+ * Kinds of content a report can be filed against.
+ */
+public enum ReportTarget {
+    /** The report targets a post. */
+    POST,
+    /** The report targets a comment. */
+    COMMENT
+}
@@ -1,23 +1,245 @@
 package com.catalin.vibelog.repository;
 
+import com.catalin.vibelog.dto.response.CommentResponse;
 import com.catalin.vibelog.model.Comment;
-import org.springframework.data.domain.Sort;
+import com.catalin.vibelog.repository.projection.CommentExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for {@link Comment} entities.
- * Allows CRUD plus listing all comments under a specific post.
+ * Allows CRUD plus keyset-paged listing of a post's comments and a comment's replies,
+ * projected straight into {@link CommentResponse} with the author's username joined in.
  */
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     /**
-     * List all comments belonging to a given post.
+     * Load a comment with its {@link Comment#WITH_AUTHOR_GRAPH author fetch plan},
+     * for ownership checks and rendering the edited comment.
      *
-     * @param postId the ID of the post whose comments are being retrieved
-     * @param sort   sorting order (e.g. Sort.by("createdAt").descending())
-     * @return a {@link List} of {@link Comment} for the specified post, in the given order
+     * @param id the ID of the comment
+     * @return an {@link Optional} containing the comment, if present
      */
-    List<Comment> findAllByPostId(Long postId, Sort sort);
+    @EntityGraph(Comment.WITH_AUTHOR_GRAPH)
+    Optional<Comment> findWithAuthorById(Long id);
+
+    /**
+     * Keyset page of a post's top-level comments, oldest first, strictly after the given position.
+     * Served by the {@code (post_id, parent_id, created_at, id)} index.
+     *
+     * @param postId    the ID of the post whose comments are being retrieved
+     * @param afterTime creation time of the last comment on the previous page
+     * @param afterId   ID of the last comment on the previous page
+     * @param limit     maximum number of rows to return
+     * @return the comments on this page
+     */
+    @Query("""
+      SELECT new com.catalin.vibelog.dto.response.CommentResponse(c.id, c.content, a.username, c.createdAt, c.parentId, c.replyCount)
+      FROM Comment c JOIN c.author a
+      WHERE c.post.id = :postId AND c.parentId IS NULL
+        AND (c.createdAt > :afterTime OR (c.createdAt = :afterTime AND c.id > :afterId))
+      ORDER BY c.createdAt ASC, c.id ASC
+      """)
+    List<CommentResponse> findTopLevelPage(@Param("postId") Long postId,
+                                           @Param("afterTime") LocalDateTime afterTime,
+                                           @Param("afterId") Long afterId,
+                                           Pageable limit);
+
+    /**
+     * Keyset page of the replies to a comment, oldest first, strictly after the given position.
+     * Served by the {@code (parent_id, created_at, id)} index.
+     *
+     * @param parentId  the ID of the comment whose replies are being retrieved
+     * @param afterTime creation time of the last reply on the previous page
+     * @param afterId   ID of the last reply on the previous page
+     * @param limit     maximum number of rows to return
+     * @return the replies on this page
+     */
+    @Query("""
+      SELECT new com.catalin.vibelog.dto.response.CommentResponse(c.id, c.content, a.username, c.createdAt, c.parentId, c.replyCount)
+      FROM Comment c JOIN c.author a
+      WHERE c.parentId = :parentId
+        AND (c.createdAt > :afterTime OR (c.createdAt = :afterTime AND c.id > :afterId))
+      ORDER BY c.createdAt ASC, c.id ASC
+      """)
+    List<CommentResponse> findRepliesPage(@Param("parentId") Long parentId,
+                                          @Param("afterTime") LocalDateTime afterTime,
+                                          @Param("afterId") Long afterId,
+                                          Pageable limit);
+
+    /**
+     * Resolve the top-level comment of a thread without loading the comment: the comment
+     * itself if it is top-level, otherwise its parent.
+     *
+     * @param commentId the ID of the comment being replied to
+     * @param postId    the ID of the post the comment must belong to
+     * @return the ID of the thread's top-level comment, or empty if the comment is not on this post
+     */
+    @Query("SELECT COALESCE(c.parentId, c.id) FROM Comment c WHERE c.id = :commentId AND c.post.id = :postId")
+    Optional<Long> findThreadRootId(@Param("commentId") Long commentId, @Param("postId") Long postId);
+
+    /**
+     * Atomically adjust the reply counter of a comment by the given delta.
+     *
+     * @param commentId the ID of the comment
+     * @param delta     the amount to add (negative to subtract)
+     * @return number of rows updated (0 if the comment no longer exists)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + :delta WHERE c.id = :commentId")
+    int incrementReplyCount(@Param("commentId") Long commentId, @Param("delta") int delta);
+
+    /**
+     * Delete every reply to the given comment in one statement.
+     *
+     * @param parentId the ID of the comment whose replies are removed
+     * @return the number of deleted replies
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Comment c WHERE c.parentId = :parentId")
+    int deleteAllByParentId(@Param("parentId") Long parentId);
+
+    /**
+     * Recompute every drifted reply counter from the comments table.
+     *
+     * @return number of comments whose counter was corrected
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      UPDATE comments
+      SET reply_count = (SELECT COUNT(*) FROM comments r WHERE r.parent_id = comments.id)
+      WHERE reply_count <> (SELECT COUNT(*) FROM comments r WHERE r.parent_id = comments.id)
+      """, nativeQuery = true)
+    int reconcileReplyCounts();
+
+    /**
+     * Next chunk of IDs of comments written by a user, in ascending ID order.
+     *
+     * @param authorId the ID of the author
+     * @param afterId  the last ID of the previous chunk, or 0 to start
+     * @param limit    page whose size is the chunk size
+     * @return up to {@code limit} comment IDs
+     */
+    @Query("SELECT c.id FROM Comment c WHERE c.author.id = :authorId AND c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsByAuthorIdAfter(@Param("authorId") Long authorId,
+                                      @Param("afterId") Long afterId,
+                                      Pageable limit);
+
+    /**
+     * Count the comments written by a user.
+     *
+     * @param authorId the ID of the author
+     * @return number of comments
+     */
+    long countByAuthorId(Long authorId);
+
+    /**
+     * Next chunk of IDs of comments whose content contains the fragment, case-insensitive,
+     * in ascending ID order.
+     *
+     * @param fragment substring to match
+     * @param afterId  the last ID of the previous chunk, or 0 to start
+     * @param limit    page whose size is the chunk size
+     * @return up to {@code limit} comment IDs
+     */
+    @Query("""
+      SELECT c.id FROM Comment c
+      WHERE LOWER(c.content) LIKE LOWER(CONCAT('%', :fragment, '%')) AND c.id > :afterId
+      ORDER BY c.id
+      """)
+    List<Long> findIdsByContentContainingAfter(@Param("fragment") String fragment,
+                                               @Param("afterId") Long afterId,
+                                               Pageable limit);
+
+    /**
+     * Count the comments whose content contains the fragment, case-insensitive.
+     *
+     * @param fragment substring to match
+     * @return number of matching comments
+     */
+    long countByContentContainingIgnoreCase(String fragment);
+
+    /**
+     * Expand a set of comment IDs with the IDs of all their replies.
+     *
+     * @param ids the IDs of the comments
+     * @return the given IDs that exist, plus the IDs of their replies
+     */
+    @Query("SELECT c.id FROM Comment c WHERE c.id IN :ids OR c.parentId IN :ids")
+    List<Long> findIdsWithReplies(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lower the reply counters of the parents of the given comments by the number of
+     * their replies among them, in a single statement. Must run before those comments are deleted.
+     *
+     * @param ids the IDs of the comments about to be deleted
+     * @return number of parent comments updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      UPDATE comments c
+      SET reply_count = GREATEST(c.reply_count - g.n, 0)
+      FROM (SELECT parent_id, COUNT(*) AS n FROM comments
+            WHERE id IN (:ids) AND parent_id IS NOT NULL
+            GROUP BY parent_id) g
+      WHERE c.id = g.parent_id
+      """, nativeQuery = true)
+    int decrementReplyCounts(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Delete the given comments in a single statement.
+     *
+     * @param ids the IDs of the comments
+     * @return number of comments removed
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Comment c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Delete every comment on the given posts in a single statement.
+     *
+     * @param postIds the IDs of the posts
+     * @return number of comments removed
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Comment c WHERE c.post.id IN :postIds")
+    int deleteByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Stream a user's comments for a data export, oldest first, without loading entities.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param authorId the ID of the author
+     * @return a stream of export rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("""
+      SELECT new com.catalin.vibelog.repository.projection.CommentExportRow(
+             c.id, c.post.id, c.parentId, c.content, c.createdAt, c.editedAt)
+      FROM Comment c
+      WHERE c.author.id = :authorId
+      ORDER BY c.id
+      """)
+    Stream<CommentExportRow> streamExportRowsByAuthorId(@Param("authorId") Long authorId);
 }
@@ -0,0 +1,166 @@
+package com.catalin.vibelog.repository;
+
+import com.catalin.vibelog.model.OutboxEvent;
+import com.catalin.vibelog.repository.projection.OutboxRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the {@link OutboxEvent} rows of the transactional outbox.
+ */
+public interface EventOutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Serialize publishing on one aggregate until the current transaction ends, so the
+     * events of an aggregate get their IDs in the order their transactions commit.
+     *
+     * @param key the aggregate key
+     * @return always 1
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtextextended(:key, 0))) l",
+            nativeQuery = true)
+    int lockAggregate(@Param("key") String key);
+
+    /**
+     * Wake the relays listening on a channel; Postgres holds the notification back
+     * until the current transaction commits and drops it if it rolls back.
+     *
+     * @param channel the channel the relays listen on
+     * @return always 1
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_notify(:channel, '')) n", nativeQuery = true)
+    int notifyChannel(@Param("channel") String channel);
+
+    /**
+     * @return the highest ID in the outbox, or 0 if it is empty
+     */
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM OutboxEvent e")
+    long findMaxId();
+
+    /**
+     * Read the events after an ID, oldest first.
+     *
+     * @param after    the exclusive lower bound
+     * @param pageable limits the number of rows
+     * @return the events
+     */
+    @Query("""
+      SELECT new com.catalin.vibelog.repository.projection.OutboxRow(e.id, e.eventType, e.payload)
+      FROM OutboxEvent e
+      WHERE e.id > :after
+      ORDER BY e.id
+      """)
+    List<OutboxRow> findAfter(@Param("after") long after, Pageable pageable);
+
+    /**
+     * Read the events with the given IDs that exist, oldest first; used to pick up events
+     * whose transaction committed after events with higher IDs.
+     *
+     * @param ids IDs of the events
+     * @return the events
+     */
+    @Query("""
+      SELECT new com.catalin.vibelog.repository.projection.OutboxRow(e.id, e.eventType, e.payload)
+      FROM OutboxEvent e
+      WHERE e.id IN :ids
+      ORDER BY e.id
+      """)
+    List<OutboxRow> findByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Mark events as processed by the dispatcher.
+     *
+     * @param ids         IDs of the events
+     * @param processedAt time of processing
+     * @return number of rows updated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.processedAt = :processedAt WHERE e.id IN :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+
+    /**
+     * Record that the listeners of an event ran, in their transaction, unless they already did.
+     *
+     * @param id          ID of the event
+     * @param deliveredAt time of delivery
+     * @return 1 if this is the event's first delivery, 0 if it was delivered before
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      INSERT INTO event_outbox_deliveries (event_id, delivered_at)
+      VALUES (:id, CAST(:deliveredAt AS timestamp))
+      ON CONFLICT (event_id) DO NOTHING
+      """, nativeQuery = true)
+    int recordDelivery(@Param("id") Long id, @Param("deliveredAt") LocalDateTime deliveredAt);
+
+    /**
+     * Record a failed dispatch attempt: the event is retried after a backoff that doubles
+     * with every attempt, or marked processed once it has failed {@code maxAttempts} times.
+     *
+     * @param id             ID of the event
+     * @param error          message of the failure
+     * @param now            time of the attempt
+     * @param backoffSeconds delay before the first retry, in seconds
+     * @param maxAttempts    number of attempts after which the event is given up on
+     * @return number of rows updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      UPDATE event_outbox
+      SET attempts = attempts + 1,
+          last_error = :error,
+          next_attempt_at = CAST(:now AS timestamp) + make_interval(secs => :backoffSeconds * power(2, attempts)),
+          processed_at = CASE WHEN attempts + 1 >= :maxAttempts THEN CAST(:now AS timestamp) END
+      WHERE id = :id
+      """, nativeQuery = true)
+    int recordFailure(@Param("id") Long id,
+                      @Param("error") String error,
+                      @Param("now") LocalDateTime now,
+                      @Param("backoffSeconds") double backoffSeconds,
+                      @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Delete up to {@code limit} processed events published before a cutoff.
+     *
+     * @param cutoff processed events created before this time are deleted
+     * @param limit  maximum number of events deleted
+     * @return number of events deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      DELETE FROM event_outbox
+      WHERE id IN (SELECT id FROM event_outbox
+                   WHERE created_at < :cutoff AND processed_at IS NOT NULL
+                   ORDER BY id LIMIT :limit)
+      """, nativeQuery = true)
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Delete delivery records older than a cutoff, at most {@code limit} at a time.
+     *
+     * @param cutoff records of deliveries before this time are deleted
+     * @param limit  maximum number of records deleted
+     * @return number of records deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      DELETE FROM event_outbox_deliveries
+      WHERE event_id IN (SELECT event_id FROM event_outbox_deliveries
+                         WHERE delivered_at < :cutoff
+                         ORDER BY event_id LIMIT :limit)
+      """, nativeQuery = true)
+    int deleteDeliveriesBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -1,50 +1,217 @@
 package com.catalin.vibelog.repository;
 
+import com.catalin.vibelog.dto.response.FollowUserDTO;
 import com.catalin.vibelog.model.Follow;
 import com.catalin.vibelog.model.FollowId;
-import com.catalin.vibelog.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository for managing Follow entities, which represent
  * “user A follows user B” relationships.
+ * <p>
+ * All lookups work on user IDs only, so callers never need to load
+ * the {@code User} entities involved. Follow and unfollow are single
+ * idempotent statements whose row counts drive the denormalized counters.
+ * </p>
  */
 @Repository
 public interface FollowRepository extends JpaRepository<Follow, FollowId> {
 
     /**
-     * Looks up a follow relationship by the follower and the followed.
+     * Inserts the follow relationship between two users unless it already exists.
      *
-     * @param follower the user who is doing the following
-     * @param followed the user who is being followed
-     * @return an Optional containing the Follow if it exists, or empty otherwise
+     * @param followerId the ID of the user who is doing the following
+     * @param followeeId the ID of the user who is being followed
+     * @return 1 if the relationship was created, 0 if it already existed
      */
-    Optional<Follow> findByFollowerAndFollowed(User follower, User followed);
+    @Modifying
+    @Transactional
+    @Query(value = """
+      INSERT INTO follows (following_user_id, followed_user_id, created_at)
+      VALUES (:followerId, :followeeId, CURRENT_TIMESTAMP)
+      ON CONFLICT DO NOTHING
+      """, nativeQuery = true)
+    int insertIfAbsent(@Param("followerId") Long followerId, @Param("followeeId") Long followeeId);
 
     /**
-     * Deletes the follow relationship between two users.
+     * Deletes the follow relationship between two users, if present.
      *
-     * @param follower the user who is doing the unfollowing
-     * @param followed the user who is being unfollowed
+     * @param followerId the ID of the user who is doing the unfollowing
+     * @param followeeId the ID of the user who is being unfollowed
+     * @return the number of deleted rows (0 or 1)
      */
-    void deleteByFollowerAndFollowed(User follower, User followed);
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Follow f WHERE f.id.followingUserId = :followerId AND f.id.followedUserId = :followeeId")
+    int deleteByIds(@Param("followerId") Long followerId, @Param("followeeId") Long followeeId);
 
     /**
-     * Counts how many users follow the given user.
+     * Return which of the given users the follower is following, in a single query.
      *
-     * @param followed the user for whom we count followers
-     * @return the number of followers
+     * @param followerId the ID of the following user
+     * @param usernames  the usernames to check
+     * @return the subset of {@code usernames} followed by the follower
      */
-    long countByFollowed(User followed);
+    @Query("SELECT f.followed.username FROM Follow f WHERE f.id.followingUserId = :followerId AND f.followed.username IN :usernames")
+    List<String> findFollowedUsernames(@Param("followerId") Long followerId,
+                                       @Param("usernames") Collection<String> usernames);
 
     /**
-     * Counts how many users the given user is following.
+     * Keyset page of a user's followers, newest first, strictly after the given position.
+     * Served by the {@code (followed_user_id, created_at, following_user_id)} index.
      *
-     * @param follower the user for whom we count followings
-     * @return the number of users being followed
+     * @param userId       the ID of the followed user
+     * @param beforeTime   follow timestamp of the last row on the previous page
+     * @param beforeUserId follower ID of the last row on the previous page
+     * @param limit        maximum number of rows to return
+     * @return the followers on this page
      */
-    long countByFollower(User follower);
-}
\ No newline at end of file
+    @Query("""
+      SELECT new com.catalin.vibelog.dto.response.FollowUserDTO(u.id, u.username, u.profilePicture, f.createdAt)
+      FROM Follow f JOIN f.follower u
+      WHERE f.id.followedUserId = :userId
+        AND (f.createdAt < :beforeTime
+             OR (f.createdAt = :beforeTime AND f.id.followingUserId < :beforeUserId))
+      ORDER BY f.createdAt DESC, f.id.followingUserId DESC
+      """)
+    List<FollowUserDTO> findFollowersPage(@Param("userId") Long userId,
+                                          @Param("beforeTime") LocalDateTime beforeTime,
+                                          @Param("beforeUserId") Long beforeUserId,
+                                          Pageable limit);
+
+    /**
+     * Keyset page of the users a user follows, newest first, strictly after the given position.
+     * Served by the {@code (following_user_id, created_at, followed_user_id)} index.
+     *
+     * @param userId       the ID of the following user
+     * @param beforeTime   follow timestamp of the last row on the previous page
+     * @param beforeUserId followed user ID of the last row on the previous page
+     * @param limit        maximum number of rows to return
+     * @return the followed users on this page
+     */
+    @Query("""
+      SELECT new com.catalin.vibelog.dto.response.FollowUserDTO(u.id, u.username, u.profilePicture, f.createdAt)
+      FROM Follow f JOIN f.followed u
+      WHERE f.id.followingUserId = :userId
+        AND (f.createdAt < :beforeTime
+             OR (f.createdAt = :beforeTime AND f.id.followedUserId < :beforeUserId))
+      ORDER BY f.createdAt DESC, f.id.followedUserId DESC
+      """)
+    List<FollowUserDTO> findFollowingPage(@Param("userId") Long userId,
+                                          @Param("beforeTime") LocalDateTime beforeTime,
+                                          @Param("beforeUserId") Long beforeUserId,
+                                          Pageable limit);
+
+    /**
+     * Accounts followed by the viewer that themselves follow the target, i.e. the
+     * intersection of the viewer's following list with the target's follower list.
+     * Each candidate from the viewer's index range is probed against the follows key.
+     *
+     * @param viewerId the ID of the viewing user
+     * @param targetId the ID of the user being looked at
+     * @param limit    maximum number of rows to return
+     * @return a sample of mutual connections, most recently followed first
+     */
+    @Query("""
+      SELECT new com.catalin.vibelog.dto.response.FollowUserDTO(u.id, u.username, u.profilePicture, mine.createdAt)
+      FROM Follow mine
+      JOIN Follow theirs ON theirs.id.followingUserId = mine.id.followedUserId
+      JOIN mine.followed u
+      WHERE mine.id.followingUserId = :viewerId
+        AND theirs.id.followedUserId = :targetId
+      ORDER BY mine.createdAt DESC
+      """)
+    List<FollowUserDTO> findFollowedByFollowees(@Param("viewerId") Long viewerId,
+                                                @Param("targetId") Long targetId,
+                                                Pageable limit);
+
+    /**
+     * Count the accounts followed by the viewer that themselves follow the target.
+     *
+     * @param viewerId the ID of the viewing user
+     * @param targetId the ID of the user being looked at
+     * @return the number of mutual connections
+     */
+    @Query("""
+      SELECT COUNT(mine)
+      FROM Follow mine
+      JOIN Follow theirs ON theirs.id.followingUserId = mine.id.followedUserId
+      WHERE mine.id.followingUserId = :viewerId
+        AND theirs.id.followedUserId = :targetId
+      """)
+    long countFollowedByFollowees(@Param("viewerId") Long viewerId, @Param("targetId") Long targetId);
+
+    /**
+     * Stream every follow edge ordered by follower, then followee, straight off the primary key.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream of all follow relationship keys
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT f.id FROM Follow f ORDER BY f.id.followingUserId, f.id.followedUserId")
+    Stream<FollowId> streamAllIds();
+
+    /**
+     * Delete up to {@code limit} follows made by a user and lower the follower counter
+     * of each followee, in a single statement.
+     *
+     * @param userId the ID of the following user
+     * @param limit  maximum number of follows deleted
+     * @return number of follows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      WITH gone AS (
+        DELETE FROM follows
+        WHERE following_user_id = :userId
+          AND followed_user_id IN (
+            SELECT followed_user_id FROM follows WHERE following_user_id = :userId LIMIT :limit)
+        RETURNING followed_user_id
+      )
+      UPDATE users u
+      SET follower_count = GREATEST(u.follower_count - 1, 0)
+      FROM gone g
+      WHERE u.id = g.followed_user_id
+      """, nativeQuery = true)
+    int purgeFollowing(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Delete up to {@code limit} follows of a user and lower the following counter
+     * of each follower, in a single statement.
+     *
+     * @param userId the ID of the followed user
+     * @param limit  maximum number of follows deleted
+     * @return number of follows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      WITH gone AS (
+        DELETE FROM follows
+        WHERE followed_user_id = :userId
+          AND following_user_id IN (
+            SELECT following_user_id FROM follows WHERE followed_user_id = :userId LIMIT :limit)
+        RETURNING following_user_id
+      )
+      UPDATE users u
+      SET following_count = GREATEST(u.following_count - 1, 0)
+      FROM gone g
+      WHERE u.id = g.following_user_id
+      """, nativeQuery = true)
+    int purgeFollowers(@Param("userId") Long userId, @Param("limit") int limit);
+}
@@ -2,11 +2,24 @@ package com.catalin.vibelog.repository;
 
 import com.catalin.vibelog.model.Like;
 import com.catalin.vibelog.model.LikeId;
+import com.catalin.vibelog.repository.projection.LikeExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository for {@link Like} entities, keyed by composite {@link LikeId} (userId + postId).
  * Supports counting, existence checks, and deletion of likes.
+ * Like and unlike are exposed as single idempotent statements keyed by user and post ID.
  */
 public interface LikeRepository extends JpaRepository<Like, LikeId> {
 
@@ -32,4 +45,102 @@ public interface LikeRepository extends JpaRepository<Like, LikeId> {
      * @param id composite key containing {@code userId} and {@code postId}
      */
     void deleteById(LikeId id);
+
+    /**
+     * Insert a like unless it already exists, in a single statement.
+     *
+     * @param userId the ID of the liking user
+     * @param postId the ID of the liked post
+     * @return 1 if a like was inserted, 0 if it already existed
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      INSERT INTO likes (user_id, post_id, liked_at)
+      VALUES (:userId, :postId, CURRENT_TIMESTAMP)
+      ON CONFLICT DO NOTHING
+      """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    /**
+     * Delete a like by user and post ID, in a single statement.
+     *
+     * @param userId the ID of the user who liked
+     * @param postId the ID of the liked post
+     * @return 1 if a like was removed, 0 if none existed
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Like l WHERE l.id.userId = :userId AND l.id.postId = :postId")
+    int deleteByIds(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    /**
+     * Return which of the given posts the user has liked, in a single query.
+     *
+     * @param userId  the ID of the user
+     * @param postIds the IDs of the posts to check
+     * @return the subset of {@code postIds} liked by the user
+     */
+    @Query("SELECT l.id.postId FROM Like l WHERE l.id.userId = :userId AND l.id.postId IN :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Return the IDs of all users who liked the given post.
+     *
+     * @param postId the ID of the post
+     * @return the IDs of the likers
+     */
+    @Query("SELECT l.id.userId FROM Like l WHERE l.id.postId = :postId")
+    List<Long> findUserIdsByPostId(@Param("postId") Long postId);
+
+    /**
+     * Delete every like on the given posts in a single statement.
+     *
+     * @param postIds the IDs of the posts
+     * @return number of likes removed
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Like l WHERE l.id.postId IN :postIds")
+    int deleteByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Delete up to {@code limit} likes made by a user and lower the like counter of
+     * each liked post, in a single statement.
+     *
+     * @param userId the ID of the user
+     * @param limit  maximum number of likes deleted
+     * @return number of likes deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      WITH gone AS (
+        DELETE FROM likes
+        WHERE user_id = :userId
+          AND post_id IN (SELECT post_id FROM likes WHERE user_id = :userId LIMIT :limit)
+        RETURNING post_id
+      )
+      UPDATE posts p
+      SET like_count = GREATEST(p.like_count - 1, 0)
+      FROM gone g
+      WHERE p.id = g.post_id
+      """, nativeQuery = true)
+    int purgeByUser(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Stream a user's likes for a data export, oldest first.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param userId the ID of the user
+     * @return a stream of export rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("""
+      SELECT new com.catalin.vibelog.repository.projection.LikeExportRow(l.id.postId, l.likedAt)
+      FROM Like l
+      WHERE l.id.userId = :userId
+      ORDER BY l.likedAt
+      """)
+    Stream<LikeExportRow> streamExportRowsByUserId(@Param("userId") Long userId);
 }
@@ -2,10 +2,20 @@ package com.catalin.vibelog.repository;
 
 import com.catalin.vibelog.model.Media;
 import com.catalin.vibelog.model.enums.MediaType;
+import com.catalin.vibelog.repository.projection.MediaExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Spring Data repository for managing {@link Media} entities.
@@ -24,6 +34,14 @@ public interface MediaRepository extends JpaRepository<Media, Long> {
      */
     List<Media> findByPostId(Long postId);
 
+    /**
+     * Retrieve all media attachments for any of the specified posts.
+     *
+     * @param postIds the IDs of the posts whose media to retrieve
+     * @return a {@link List} of {@link Media} entities associated with those posts
+     */
+    List<Media> findByPostIdIn(Collection<Long> postIds);
+
     /**
      * Retrieve all media records of the given {@link MediaType}.
      *
@@ -38,4 +56,51 @@ public interface MediaRepository extends JpaRepository<Media, Long> {
      * @param postId the ID of the post whose media should be removed
      */
     void deleteByPostId(Long postId);
-}
\ No newline at end of file
+
+    /**
+     * Retrieve the storage URL of every media attachment, used to mark
+     * referenced blobs during storage garbage collection.
+     *
+     * @return a {@link List} of all media URLs
+     */
+    @Query("select m.url from Media m")
+    List<String> findAllUrls();
+
+    /**
+     * Delete the media records of the given posts in a single statement. The blobs
+     * themselves are left to the storage garbage collector.
+     *
+     * @param postIds the IDs of the posts
+     * @return number of media records removed
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Media m WHERE m.post.id IN :postIds")
+    int deleteByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Retrieve the storage URLs of the media attached to the given posts.
+     *
+     * @param postIds the IDs of the posts
+     * @return the media URLs
+     */
+    @Query("SELECT m.url FROM Media m WHERE m.post.id IN :postIds")
+    List<String> findUrlsByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Stream the media attached to a user's posts for a data export manifest.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param authorId the ID of the posts' author
+     * @return a stream of export rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("""
+      SELECT new com.catalin.vibelog.repository.projection.MediaExportRow(
+             m.id, m.post.id, m.type, m.format, m.size, m.url)
+      FROM Media m
+      WHERE m.post.author.id = :authorId
+      ORDER BY m.id
+      """)
+    Stream<MediaExportRow> streamExportRowsByAuthorId(@Param("authorId") Long authorId);
+}
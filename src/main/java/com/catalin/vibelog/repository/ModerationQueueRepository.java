@@ -0,0 +1,242 @@
+package com.catalin.vibelog.repository;
+
+import com.catalin.vibelog.dto.response.ModerationQueueItemDTO;
+import com.catalin.vibelog.model.ModerationQueueEntry;
+import com.catalin.vibelog.model.enums.ReportTarget;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Repository for the aggregated {@link ModerationQueueEntry} rows.
+ * <p>
+ * The priority is {@code ln(report_count + 1) + epoch(last_reported_at) / 45000}:
+ * a target reported 2.7 times as often ranks like one reported 12.5 hours later.
+ * It is recomputed by every statement that changes either input.
+ * </p>
+ */
+public interface ModerationQueueRepository extends JpaRepository<ModerationQueueEntry, Long> {
+
+    /**
+     * Add one pending report to the target's queue entry, creating the entry if needed.
+     *
+     * @param targetType the {@link ReportTarget} name of the reported content
+     * @param targetId   ID of the reported post or comment
+     * @param reportedAt when the report was filed
+     * @return number of rows inserted or updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      INSERT INTO moderation_queue
+             (target_type, target_id, report_count, first_reported_at, last_reported_at, priority)
+      VALUES (:targetType, :targetId, 1, :reportedAt, :reportedAt,
+              LN(2) + EXTRACT(EPOCH FROM CAST(:reportedAt AS timestamp)) / 45000)
+      ON CONFLICT (target_type, target_id) DO UPDATE
+      SET report_count     = moderation_queue.report_count + 1,
+          first_reported_at = LEAST(moderation_queue.first_reported_at, EXCLUDED.first_reported_at),
+          last_reported_at = GREATEST(moderation_queue.last_reported_at, EXCLUDED.last_reported_at),
+          priority         = LN(moderation_queue.report_count + 2)
+                             + EXTRACT(EPOCH FROM GREATEST(moderation_queue.last_reported_at,
+                                                           EXCLUDED.last_reported_at)) / 45000
+      """, nativeQuery = true)
+    int recordReport(@Param("targetType") String targetType,
+                     @Param("targetId") Long targetId,
+                     @Param("reportedAt") LocalDateTime reportedAt);
+
+    /**
+     * Remove one pending report from the target's queue entry. Entries left without
+     * reports are dropped by {@link #deleteIfEmpty(ReportTarget, Long)}.
+     *
+     * @param targetType the {@link ReportTarget} name of the reported content
+     * @param targetId   ID of the reported post or comment
+     * @return number of rows updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      UPDATE moderation_queue
+      SET report_count = report_count - 1,
+          priority     = LN(report_count) + EXTRACT(EPOCH FROM last_reported_at) / 45000
+      WHERE target_type = :targetType AND target_id = :targetId
+      """, nativeQuery = true)
+    int decrementReportCount(@Param("targetType") String targetType, @Param("targetId") Long targetId);
+
+    /**
+     * Drop the target's queue entry if it has no pending reports left.
+     *
+     * @param targetType kind of the reported content
+     * @param targetId   ID of the reported post or comment
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+      DELETE FROM ModerationQueueEntry e
+      WHERE e.targetType = :targetType AND e.targetId = :targetId AND e.reportCount <= 0
+      """)
+    int deleteIfEmpty(@Param("targetType") ReportTarget targetType, @Param("targetId") Long targetId);
+
+    /**
+     * Page through the queue, highest priority first.
+     *
+     * @param pageable pagination information; must be unsorted, since a sort would be
+     *                 appended to the fixed priority order
+     * @return a {@link Page} of queue items
+     */
+    @Query(value = """
+      SELECT new com.catalin.vibelog.dto.response.ModerationQueueItemDTO(
+             e.targetType, e.targetId, e.reportCount, e.firstReportedAt, e.lastReportedAt)
+      FROM ModerationQueueEntry e
+      ORDER BY e.priority DESC, e.id DESC
+      """,
+            countQuery = "SELECT COUNT(e) FROM ModerationQueueEntry e")
+    Page<ModerationQueueItemDTO> findQueuePage(Pageable pageable);
+
+    /**
+     * Load and row-lock the queue entry of a target, so reports filed while the
+     * target is being resolved wait and then start a fresh entry.
+     *
+     * @param targetType kind of the reported content
+     * @param targetId   ID of the reported post or comment
+     * @return an {@link Optional} containing the locked entry, if the target has pending reports
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM ModerationQueueEntry e WHERE e.targetType = :targetType AND e.targetId = :targetId")
+    Optional<ModerationQueueEntry> lockByTarget(@Param("targetType") ReportTarget targetType,
+                                                @Param("targetId") Long targetId);
+
+    /**
+     * Drop the queue entry of a target, e.g. after a moderator deleted it.
+     *
+     * @param targetType kind of the reported content
+     * @param targetId   ID of the reported post or comment
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ModerationQueueEntry e WHERE e.targetType = :targetType AND e.targetId = :targetId")
+    int deleteByTarget(@Param("targetType") ReportTarget targetType, @Param("targetId") Long targetId);
+
+    /**
+     * Rebuild drifted or missing entries from the pending reports.
+     *
+     * @return number of entries inserted or corrected
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      INSERT INTO moderation_queue
+             (target_type, target_id, report_count, first_reported_at, last_reported_at, priority)
+      SELECT t.target_type, t.target_id, t.cnt, t.first_at, t.last_at,
+             LN(t.cnt + 1) + EXTRACT(EPOCH FROM t.last_at) / 45000
+      FROM (
+        SELECT CASE WHEN r.post_id IS NOT NULL THEN 'POST' ELSE 'COMMENT' END AS target_type,
+               COALESCE(r.post_id, r.comment_id) AS target_id,
+               COUNT(*) AS cnt, MIN(r.reported_at) AS first_at, MAX(r.reported_at) AS last_at
+        FROM reports r
+        WHERE r.status = 'PENDING'
+        GROUP BY 1, 2
+      ) t
+      ON CONFLICT (target_type, target_id) DO UPDATE
+      SET report_count      = EXCLUDED.report_count,
+          first_reported_at = EXCLUDED.first_reported_at,
+          last_reported_at  = EXCLUDED.last_reported_at,
+          priority          = EXCLUDED.priority
+      WHERE moderation_queue.report_count <> EXCLUDED.report_count
+         OR moderation_queue.last_reported_at <> EXCLUDED.last_reported_at
+      """, nativeQuery = true)
+    int reconcileEntries();
+
+    /**
+     * Delete entries whose target no longer has any pending report.
+     *
+     * @return number of entries deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      DELETE FROM moderation_queue q
+      WHERE NOT EXISTS (
+        SELECT 1 FROM reports r
+        WHERE r.status = 'PENDING'
+          AND ((q.target_type = 'POST' AND r.post_id = q.target_id)
+            OR (q.target_type = 'COMMENT' AND r.comment_id = q.target_id))
+      )
+      """, nativeQuery = true)
+    int deleteStaleEntries();
+
+    /**
+     * Drop the queue entries of several targets of the same kind in a single statement.
+     *
+     * @param targetType kind of the reported content
+     * @param targetIds  IDs of the reported posts or comments
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ModerationQueueEntry e WHERE e.targetType = :targetType AND e.targetId IN :targetIds")
+    int deleteByTargets(@Param("targetType") ReportTarget targetType,
+                        @Param("targetIds") Collection<Long> targetIds);
+
+    /**
+     * Drop the queue entries of every comment on the given posts in a single statement.
+     *
+     * @param postIds the IDs of the posts whose comments' entries should be removed
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      DELETE FROM moderation_queue
+      WHERE target_type = 'COMMENT'
+        AND target_id IN (SELECT c.id FROM comments c WHERE c.post_id IN (:postIds))
+      """, nativeQuery = true)
+    int deleteCommentEntriesForPosts(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Remove the pending reports among the given ones from their targets' entries,
+     * in a single statement. Must run before the reports are deleted; entries left
+     * without reports are dropped by {@link #deleteEmptyEntries()}.
+     *
+     * @param reportIds the IDs of the reports about to be deleted
+     * @return number of entries updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      UPDATE moderation_queue q
+      SET report_count = q.report_count - g.n,
+          priority     = LN(GREATEST(q.report_count - g.n, 0) + 1) + EXTRACT(EPOCH FROM q.last_reported_at) / 45000
+      FROM (
+        SELECT CASE WHEN r.post_id IS NOT NULL THEN 'POST' ELSE 'COMMENT' END AS target_type,
+               COALESCE(r.post_id, r.comment_id) AS target_id,
+               COUNT(*) AS n
+        FROM reports r
+        WHERE r.id IN (:reportIds) AND r.status = 'PENDING'
+        GROUP BY 1, 2
+      ) g
+      WHERE q.target_type = g.target_type AND q.target_id = g.target_id
+      """, nativeQuery = true)
+    int decrementForReports(@Param("reportIds") Collection<Long> reportIds);
+
+    /**
+     * Drop every entry left without pending reports.
+     *
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ModerationQueueEntry e WHERE e.reportCount <= 0")
+    int deleteEmptyEntries();
+}
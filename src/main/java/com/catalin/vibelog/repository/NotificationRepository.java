@@ -1,6 +1,9 @@
 package com.catalin.vibelog.repository;
 
 import com.catalin.vibelog.model.Notification;
+import com.catalin.vibelog.model.enums.NotificationType;
+import com.catalin.vibelog.repository.projection.NotificationRow;
+import com.catalin.vibelog.repository.projection.OpenAggregate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +13,10 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repository for managing {@link Notification} entities.
  */
@@ -17,16 +24,115 @@ import org.springframework.transaction.annotation.Transactional;
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
     /**
-     * Fetch notifications for a given recipient, newest first.
+     * Fetch notifications for a given recipient, newest first, selecting the
+     * stored columns directly so neither the notification nor its recipient
+     * is hydrated.
      *
      * @param username the recipient’s username
      * @param pageable paging & sorting information
-     * @return page of notifications
+     * @return page of notification rows, still to be rendered
+     */
+    @Query(value = """
+      SELECT new com.catalin.vibelog.repository.projection.NotificationRow(
+             n.id, n.type, n.content, n.seen, n.timestamp, n.targetId, n.targetType, n.reportResult,
+             n.actorCount, n.actorIds)
+      FROM Notification n
+      WHERE n.recipient.username = :username
+      ORDER BY n.timestamp DESC
+      """,
+            countQuery = "SELECT COUNT(n) FROM Notification n WHERE n.recipient.username = :username")
+    Page<NotificationRow> findRowsByRecipientUsername(@Param("username") String username,
+                                                      Pageable pageable);
+
+    /**
+     * Serialize aggregation of one notification key until the current transaction ends,
+     * so concurrent actions cannot both miss the open aggregate and insert two rows.
+     *
+     * @param key the aggregation key (recipient, type and target)
+     * @return always 1
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtextextended(:key, 0))) l",
+            nativeQuery = true)
+    int lockAggregate(@Param("key") String key);
+
+    /**
+     * Find the newest unseen notification of a type and target created or updated since
+     * the given time that is not full yet, served by the partial index on unseen notifications.
+     *
+     * @param recipientId the ID of the recipient
+     * @param type        the notification type
+     * @param targetKey   the target's ID, or 0 for notifications without a target
+     * @param since       start of the aggregation window
+     * @param maxActors   number of actors at which an aggregate stops absorbing more
+     * @param pageable    limits the result to the newest match
+     * @return the open aggregate, if any
      */
-    Page<Notification> findByRecipientUsernameOrderByTimestampDesc(String username, Pageable pageable);
+    @Query("""
+      SELECT new com.catalin.vibelog.repository.projection.OpenAggregate(n.id, n.actorCount, n.actorIds)
+      FROM Notification n
+      WHERE n.recipient.id = :recipientId
+        AND n.type = :type
+        AND COALESCE(n.targetId, 0) = :targetKey
+        AND n.seen = false
+        AND n.timestamp >= :since
+        AND n.actorCount < :maxActors
+      ORDER BY n.timestamp DESC
+      """)
+    List<OpenAggregate> findOpenAggregates(@Param("recipientId") Long recipientId,
+                                           @Param("type") NotificationType type,
+                                           @Param("targetKey") long targetKey,
+                                           @Param("since") LocalDateTime since,
+                                           @Param("maxActors") int maxActors,
+                                           Pageable pageable);
 
     /**
-     * Count how many notifications are still unseen.
+     * Fold another actor into an aggregated notification and move it to the top of the list.
+     *
+     * @param id         the notification's ID
+     * @param actorCount the new number of distinct actors
+     * @param actorIds   the IDs of all actors, newest first
+     * @param timestamp  time of the latest action
+     * @return number of rows updated
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+      UPDATE Notification n
+      SET n.actorCount = :actorCount, n.actorIds = :actorIds, n.timestamp = :timestamp
+      WHERE n.id = :id
+      """)
+    int updateAggregate(@Param("id") Long id,
+                        @Param("actorCount") int actorCount,
+                        @Param("actorIds") Long[] actorIds,
+                        @Param("timestamp") LocalDateTime timestamp);
+
+    /**
+     * Insert one REPORT notification for every distinct user who filed one of the
+     * given reports, in a single statement.
+     *
+     * @param targetType the {@link com.catalin.vibelog.model.enums.ReportTarget} name
+     * @param targetId   ID of the reported post or comment
+     * @param result     the {@link com.catalin.vibelog.model.enums.ReportStatus} name
+     * @param timestamp  creation time of the notifications
+     * @param reportIds  IDs of the reports whose reporters are notified
+     * @return number of notifications inserted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      INSERT INTO notifications (type, target_type, target_id, report_result, seen, timestamp, recipient_id)
+      SELECT 'REPORT', CAST(:targetType AS varchar), CAST(:targetId AS bigint), CAST(:result AS varchar),
+             false, CAST(:timestamp AS timestamp), r.reporter_id
+      FROM (SELECT DISTINCT reporter_id FROM reports WHERE id IN (:reportIds)) r
+      """, nativeQuery = true)
+    int insertForReporters(@Param("targetType") String targetType,
+                           @Param("targetId") Long targetId,
+                           @Param("result") String result,
+                           @Param("timestamp") LocalDateTime timestamp,
+                           @Param("reportIds") Collection<Long> reportIds);
+
+    /**
+     * Count how many notifications are still unseen, served by the partial index on unseen notifications.
      *
      * @param username the recipient’s username
      * @return number of unseen notifications
@@ -34,14 +140,17 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     long countByRecipientUsernameAndSeenFalse(String username);
 
     /**
-     * Mark all notifications as read for a user.
+     * Mark all notifications as read for a user. Only unseen rows are touched, found
+     * through the partial index on unseen notifications, so the cost does not grow
+     * with the user's history.
      *
      * @param username the recipient’s username
+     * @return number of notifications that were unseen
      */
     @Modifying
     @Transactional
-    @Query("update Notification n set n.seen = true where n.recipient.username = :username")
-    void markAllReadForUser(String username);
+    @Query("update Notification n set n.seen = true where n.recipient.username = :username and n.seen = false")
+    int markAllReadForUser(String username);
 
     /**
      * Mark a single notification as read, but only if it belongs to the given user.
@@ -60,4 +169,32 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
             @Param("id") Long id,
             @Param("username") String username
     );
+
+    /**
+     * Delete up to {@code limit} notifications addressed to a user.
+     *
+     * @param recipientId the ID of the recipient
+     * @param limit       maximum number of notifications deleted
+     * @return number of notifications deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      DELETE FROM notifications
+      WHERE id IN (SELECT id FROM notifications WHERE recipient_id = :recipientId LIMIT :limit)
+      """, nativeQuery = true)
+    int deleteBatchByRecipientId(@Param("recipientId") Long recipientId, @Param("limit") int limit);
+
+    /**
+     * Delete the notifications about the given posts, found through the partial index on targets.
+     *
+     * @param types   the notification types whose target is a post
+     * @param postIds IDs of the posts
+     * @return number of notifications deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from Notification n where n.targetId in :postIds and n.type in :types")
+    int deleteByTargets(@Param("types") Collection<NotificationType> types,
+                        @Param("postIds") Collection<Long> postIds);
 }
@@ -2,13 +2,25 @@ package com.catalin.vibelog.repository;
 
 import com.catalin.vibelog.model.Post;
 import com.catalin.vibelog.model.enums.PostStatus;
+import com.catalin.vibelog.repository.projection.LikeCountDrift;
+import com.catalin.vibelog.repository.projection.PostExportRow;
+import com.catalin.vibelog.repository.projection.TagExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Data repository for managing {@link Post} entities.
@@ -20,6 +32,16 @@ import java.util.Optional;
  */
 public interface PostRepository extends JpaRepository<Post, Long> {
 
+    /**
+     * Load a single post with its {@link Post#FEED_CARD_GRAPH feed card} fetch plan,
+     * so the author and any reblogged original are read in one select.
+     *
+     * @param id the ID of the post
+     * @return an {@link Optional} containing the post, if present
+     */
+    @EntityGraph(Post.FEED_CARD_GRAPH)
+    Optional<Post> findFeedCardById(Long id);
+
     /**
      * Retrieve a page of posts filtered by their status.
      *
@@ -27,6 +49,7 @@ public interface PostRepository extends JpaRepository<Post, Long> {
      * @param pageable pagination and sorting information
      * @return a {@link Page} of posts matching the specified status
      */
+    @EntityGraph(Post.FEED_CARD_GRAPH)
     Page<Post> findAllByStatus(PostStatus status, Pageable pageable);
 
     /**
@@ -36,6 +59,7 @@ public interface PostRepository extends JpaRepository<Post, Long> {
      * @param pageable pagination and sorting information
      * @return a {@link Page} of posts created by the given username
      */
+    @EntityGraph(Post.FEED_CARD_GRAPH)
     Page<Post> findByAuthorUsername(String username, Pageable pageable);
 
     /**
@@ -47,6 +71,7 @@ public interface PostRepository extends JpaRepository<Post, Long> {
      * @param pageable pagination and sorting information
      * @return a {@link Page} of posts matching the author and status
      */
+    @EntityGraph(Post.FEED_CARD_GRAPH)
     Page<Post> findByAuthorUsernameAndStatus(String username, PostStatus status, Pageable pageable);
 
     /**
@@ -58,6 +83,15 @@ public interface PostRepository extends JpaRepository<Post, Long> {
      */
     boolean existsByAuthorUsernameAndOriginalPostId(String authorUsername, Long originalPostId);
 
+    /**
+     * Check if the user with the given ID has reblogged a specific post.
+     *
+     * @param authorId       the ID of the reblogging user
+     * @param originalPostId the ID of the original post
+     * @return {@code true} if the user has reblogged the post, {@code false} otherwise
+     */
+    boolean existsByAuthorIdAndOriginalPostId(Long authorId, Long originalPostId);
+
     /**
      * Count how many times a given post has been reblogged.
      *
@@ -75,6 +109,15 @@ public interface PostRepository extends JpaRepository<Post, Long> {
      */
     Optional<Post> findByAuthorUsernameAndOriginalPostId(String authorUsername, Long originalPostId);
 
+    /**
+     * Find a specific reblog entry by author ID and original post.
+     *
+     * @param authorId       the ID of the reblogging user
+     * @param originalPostId the ID of the original post
+     * @return an {@link Optional} containing the reblogged {@link Post}, if present
+     */
+    Optional<Post> findByAuthorIdAndOriginalPostId(Long authorId, Long originalPostId);
+
     /**
      * Search published posts by matching the query string against title or body,
      * case-insensitive.
@@ -86,6 +129,7 @@ public interface PostRepository extends JpaRepository<Post, Long> {
      * @param pageable       pagination and sorting information
      * @return a {@link Page} of posts whose title or body contains the query string
      */
+    @EntityGraph(Post.FEED_CARD_GRAPH)
     Page<Post> findByStatusAndTitleContainingIgnoreCaseOrStatusAndBodyContainingIgnoreCase(
             PostStatus status1, String titleFragment,
             PostStatus status2, String bodyFragment,
@@ -93,7 +137,8 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     );
 
     /**
-     * Retrieve the IDs of posts sorted by descending number of likes.
+     * Retrieve the IDs of posts sorted by descending number of likes,
+     * using the denormalized {@code likeCount} counter.
      *
      * @param limit pagination information to indicate number of top results
      * @return a {@link List} of post IDs ordered by like count (highest first)
@@ -101,14 +146,13 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @Query("""
       SELECT p.id
       FROM Post p
-      LEFT JOIN p.likes l
-      GROUP BY p.id
-      ORDER BY COUNT(l) DESC
+      ORDER BY p.likeCount DESC
       """)
     List<Long> findTopLikedPostIds(Pageable limit);
 
     /**
-     * Retrieve the IDs of posts sorted by descending number of comments.
+     * Retrieve the IDs of posts sorted by descending number of comments,
+     * using the denormalized {@code commentCount} counter.
      *
      * @param limit pagination information to indicate number of top results
      * @return a {@link List} of post IDs ordered by comment count (highest first)
@@ -116,9 +160,7 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @Query("""
       SELECT p.id
       FROM Post p
-      LEFT JOIN p.comments c
-      GROUP BY p.id
-      ORDER BY COUNT(c) DESC
+      ORDER BY p.commentCount DESC
       """)
     List<Long> findTopCommentedPostIds(Pageable limit);
 
@@ -135,4 +177,201 @@ public interface PostRepository extends JpaRepository<Post, Long> {
       ORDER BY (SELECT COUNT(r) FROM Post r WHERE r.originalPost = p) DESC
       """)
     List<Long> findTopRebloggedPostIds(Pageable limit);
+
+    /**
+     * Look up the username of a post's author without loading the post.
+     *
+     * @param postId the ID of the post
+     * @return an {@link Optional} containing the author's username, if the post exists
+     */
+    @Query("SELECT p.author.username FROM Post p WHERE p.id = :postId")
+    Optional<String> findAuthorUsernameById(@Param("postId") Long postId);
+
+    /**
+     * Read the persisted like counter of a post.
+     *
+     * @param postId the ID of the post
+     * @return an {@link Optional} containing the stored like count, if the post exists
+     */
+    @Query("SELECT p.likeCount FROM Post p WHERE p.id = :postId")
+    Optional<Integer> findLikeCountById(@Param("postId") Long postId);
+
+    /**
+     * Atomically adjust the like counter of a post by the given delta.
+     *
+     * @param postId the ID of the post
+     * @param delta  the amount to add (negative to subtract)
+     * @return number of rows updated (0 if the post no longer exists)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Post p SET p.likeCount = p.likeCount + :delta WHERE p.id = :postId")
+    int incrementLikeCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+    /**
+     * Atomically adjust the comment counter of a post by the given delta.
+     *
+     * @param postId the ID of the post
+     * @param delta  the amount to add (negative to subtract)
+     * @return number of rows updated (0 if the post no longer exists)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :postId")
+    int incrementCommentCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+    /**
+     * Compare every like counter with the likes table. The difference includes deltas
+     * still buffered by a {@link com.catalin.vibelog.service.LikeCounter}, so it is not
+     * applied directly.
+     *
+     * @return the posts whose counter differs from their number of like rows
+     */
+    @Query("""
+      SELECT new com.catalin.vibelog.repository.projection.LikeCountDrift(p.id, COUNT(l.id.userId) - p.likeCount)
+      FROM Post p LEFT JOIN Like l ON l.post = p
+      GROUP BY p.id, p.likeCount
+      HAVING COUNT(l.id.userId) <> p.likeCount
+      """)
+    List<LikeCountDrift> findLikeCountDrift();
+
+    /**
+     * Recompute every drifted comment counter from the comments table.
+     *
+     * @return number of posts whose counter was corrected
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      UPDATE posts
+      SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = posts.id)
+      WHERE comment_count <> (SELECT COUNT(*) FROM comments c WHERE c.post_id = posts.id)
+      """, nativeQuery = true)
+    int reconcileCommentCounts();
+
+    /**
+     * Return which of the given posts the user has reblogged, in a single query.
+     *
+     * @param authorId        the ID of the reblogging user
+     * @param originalPostIds the IDs of the original posts to check
+     * @return the subset of {@code originalPostIds} reblogged by the user
+     */
+    @Query("SELECT p.originalPost.id FROM Post p WHERE p.author.id = :authorId AND p.originalPost.id IN :originalPostIds")
+    List<Long> findRebloggedOriginalPostIds(@Param("authorId") Long authorId,
+                                            @Param("originalPostIds") Collection<Long> originalPostIds);
+
+    /**
+     * Next chunk of IDs of posts written by a user, in ascending ID order.
+     *
+     * @param authorId the ID of the author
+     * @param afterId  the last ID of the previous chunk, or 0 to start
+     * @param limit    page whose size is the chunk size
+     * @return up to {@code limit} post IDs
+     */
+    @Query("SELECT p.id FROM Post p WHERE p.author.id = :authorId AND p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsByAuthorIdAfter(@Param("authorId") Long authorId,
+                                      @Param("afterId") Long afterId,
+                                      Pageable limit);
+
+    /**
+     * Count the posts written by a user.
+     *
+     * @param authorId the ID of the author
+     * @return number of posts
+     */
+    long countByAuthorId(Long authorId);
+
+    /**
+     * Expand a set of post IDs with the IDs of every reblog of them, transitively,
+     * matching what deleting the posts would cascade to. Reblogs come before the
+     * posts they reblog, so deleting the result in order never breaks a reference.
+     *
+     * @param ids the IDs of the posts
+     * @return the given IDs that exist plus the IDs of all their reblogs, deepest first
+     */
+    @Query(value = """
+      WITH RECURSIVE tree(id, depth) AS (
+        SELECT id, 0 FROM posts WHERE id IN (:ids)
+        UNION ALL
+        SELECT p.id, t.depth + 1 FROM posts p JOIN tree t ON p.original_post_id = t.id
+      )
+      SELECT id FROM tree GROUP BY id ORDER BY MAX(depth) DESC, id
+      """, nativeQuery = true)
+    List<Long> findIdsWithReblogs(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lower the comment counters of the posts of the given comments by the number of
+     * those comments on each, in a single statement. Must run before the comments are deleted.
+     *
+     * @param commentIds the IDs of the comments about to be deleted
+     * @return number of posts updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      UPDATE posts p
+      SET comment_count = GREATEST(p.comment_count - g.n, 0)
+      FROM (SELECT post_id, COUNT(*) AS n FROM comments
+            WHERE id IN (:commentIds)
+            GROUP BY post_id) g
+      WHERE p.id = g.post_id
+      """, nativeQuery = true)
+    int decrementCommentCounts(@Param("commentIds") Collection<Long> commentIds);
+
+    /**
+     * Delete the tags of the given posts in a single statement.
+     *
+     * @param postIds the IDs of the posts
+     * @return number of tag rows removed
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM post_tags WHERE post_id IN (:postIds)", nativeQuery = true)
+    int deleteTagsByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Delete the given posts in a single statement. Rows referencing them
+     * (comments, likes, media, tags, reports, reblogs) must be removed first.
+     *
+     * @param ids the IDs of the posts
+     * @return number of posts removed
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Post p WHERE p.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stream a user's posts for a data export, oldest first, without loading entities.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param authorId the ID of the author
+     * @return a stream of export rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("""
+      SELECT new com.catalin.vibelog.repository.projection.PostExportRow(
+             p.id, p.title, p.body, p.status, p.createdAt, p.updatedAt,
+             p.originalPost.id, p.likeCount, p.commentCount)
+      FROM Post p
+      WHERE p.author.id = :authorId
+      ORDER BY p.id
+      """)
+    Stream<PostExportRow> streamExportRowsByAuthorId(@Param("authorId") Long authorId);
+
+    /**
+     * Stream the tags of a user's posts for a data export.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param authorId the ID of the author
+     * @return a stream of export rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("""
+      SELECT new com.catalin.vibelog.repository.projection.TagExportRow(p.id, t)
+      FROM Post p JOIN p.tags t
+      WHERE p.author.id = :authorId
+      ORDER BY p.id
+      """)
+    Stream<TagExportRow> streamExportTagsByAuthorId(@Param("authorId") Long authorId);
 }
@@ -1,11 +1,21 @@
 package com.catalin.vibelog.repository;
 
+import com.catalin.vibelog.dto.response.ReportResponseDTO;
 import com.catalin.vibelog.model.Report;
 import com.catalin.vibelog.model.enums.ReportStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Spring Data repository for managing {@link Report} entities.
@@ -18,22 +28,82 @@ import org.springframework.stereotype.Repository;
 public interface ReportRepository extends JpaRepository<Report, Long> {
 
     /**
-     * Retrieve a paginated list of reports filtered by their status.
+     * Load a report with its {@link Report#MODERATION_GRAPH moderation fetch plan}:
+     * the reporter is joined, the reported post and comment stay unloaded.
+     *
+     * @param id the ID of the report
+     * @return an {@link Optional} containing the report, if present
+     */
+    @EntityGraph(Report.MODERATION_GRAPH)
+    Optional<Report> findForModerationById(Long id);
+
+    /**
+     * Retrieve a paginated list of reports filtered by their status, selecting
+     * the response columns directly. The post and comment IDs are read from the
+     * foreign keys, so neither target is joined or loaded.
      *
      * @param status   the {@link ReportStatus} to filter by
      * @param pageable pagination and sorting information
-     * @return a {@link Page} of {@link Report} entities matching the status
+     * @return a {@link Page} of {@link ReportResponseDTO} matching the status
      */
-    Page<Report> findByStatus(ReportStatus status, Pageable pageable);
+    @Query(value = """
+      SELECT new com.catalin.vibelog.dto.response.ReportResponseDTO(
+             r.id, u.username, r.post.id, r.comment.id, r.reason, r.status, r.reportedAt)
+      FROM Report r JOIN r.reporter u
+      WHERE r.status = :status
+      """,
+            countQuery = "SELECT COUNT(r) FROM Report r WHERE r.status = :status")
+    Page<ReportResponseDTO> findResponsesByStatus(@Param("status") ReportStatus status, Pageable pageable);
 
     /**
-     * Retrieve a paginated list of reports submitted by a specific user.
+     * Retrieve a paginated list of reports submitted by a specific user, selecting
+     * the response columns directly.
      *
      * @param username the username of the reporter
      * @param pageable pagination and sorting information
-     * @return a {@link Page} of {@link Report} entities filed by the reporter
+     * @return a {@link Page} of {@link ReportResponseDTO} filed by the reporter
      */
-    Page<Report> findByReporterUsername(String username, Pageable pageable);
+    @Query(value = """
+      SELECT new com.catalin.vibelog.dto.response.ReportResponseDTO(
+             r.id, u.username, r.post.id, r.comment.id, r.reason, r.status, r.reportedAt)
+      FROM Report r JOIN r.reporter u
+      WHERE u.username = :username
+      """,
+            countQuery = "SELECT COUNT(r) FROM Report r WHERE r.reporter.username = :username")
+    Page<ReportResponseDTO> findResponsesByReporterUsername(@Param("username") String username,
+                                                            Pageable pageable);
+
+    /**
+     * Collect the IDs of the reports with the given status against a post.
+     *
+     * @param postId the ID of the reported post
+     * @param status the status to match, typically {@link ReportStatus#PENDING}
+     * @return the matching report IDs
+     */
+    @Query("SELECT r.id FROM Report r WHERE r.post.id = :postId AND r.status = :status")
+    List<Long> findIdsByPostIdAndStatus(@Param("postId") Long postId, @Param("status") ReportStatus status);
+
+    /**
+     * Collect the IDs of the reports with the given status against a comment.
+     *
+     * @param commentId the ID of the reported comment
+     * @param status    the status to match, typically {@link ReportStatus#PENDING}
+     * @return the matching report IDs
+     */
+    @Query("SELECT r.id FROM Report r WHERE r.comment.id = :commentId AND r.status = :status")
+    List<Long> findIdsByCommentIdAndStatus(@Param("commentId") Long commentId, @Param("status") ReportStatus status);
+
+    /**
+     * Move several reports to a new status in one statement.
+     *
+     * @param ids    the IDs of the reports to update
+     * @param status the new status
+     * @return number of reports updated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Report r SET r.status = :status WHERE r.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") ReportStatus status);
 
     /**
      * Retrieve a paginated list of reports targeting a specific post.
@@ -66,4 +136,65 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
      * @param commentId the ID of the comment whose reports should be removed
      */
     void deleteAllByCommentId(Long commentId);
-}
\ No newline at end of file
+
+    /**
+     * Delete all reports associated with replies to the given comment.
+     *
+     * @param parentId the ID of the comment whose replies' reports should be removed
+     */
+    void deleteAllByCommentParentId(Long parentId);
+
+    /**
+     * Delete every report against the given posts in a single statement.
+     *
+     * @param postIds the IDs of the reported posts
+     * @return number of reports removed
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Report r WHERE r.post.id IN :postIds")
+    int deleteByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Delete every report against the given comments in a single statement.
+     *
+     * @param commentIds the IDs of the reported comments
+     * @return number of reports removed
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Report r WHERE r.comment.id IN :commentIds")
+    int deleteByCommentIdIn(@Param("commentIds") Collection<Long> commentIds);
+
+    /**
+     * Delete every report against a comment on one of the given posts in a single statement.
+     *
+     * @param postIds the IDs of the posts whose comments' reports should be removed
+     * @return number of reports removed
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Report r WHERE r.comment.id IN (SELECT c.id FROM Comment c WHERE c.post.id IN :postIds)")
+    int deleteByCommentPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Next chunk of IDs of reports filed by a user.
+     *
+     * @param reporterId the ID of the reporter
+     * @param limit      page whose size is the chunk size
+     * @return up to {@code limit} report IDs
+     */
+    @Query("SELECT r.id FROM Report r WHERE r.reporter.id = :reporterId ORDER BY r.id")
+    List<Long> findIdsByReporterId(@Param("reporterId") Long reporterId, Pageable limit);
+
+    /**
+     * Delete the given reports in a single statement.
+     *
+     * @param ids the IDs of the reports
+     * @return number of reports removed
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Report r WHERE r.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -1,11 +1,24 @@
 package com.catalin.vibelog.repository;
 
+import com.catalin.vibelog.dto.response.FollowCountDTO;
+import com.catalin.vibelog.dto.response.UserResponseDTO;
 import com.catalin.vibelog.model.User;
+import com.catalin.vibelog.model.enums.AccountPurgeStage;
+import com.catalin.vibelog.repository.projection.PendingDeletion;
+import com.catalin.vibelog.repository.projection.ProfileRow;
+import com.catalin.vibelog.repository.projection.UserIdentity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -48,9 +61,218 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return an Optional containing the matching User, if any
      */
     Optional<User> findByUsername(String username);
+
+    /**
+     * Resolve a username to its {@link UserIdentity} projection, selecting only
+     * the identity columns instead of the whole entity.
+     *
+     * @param username the username to search for
+     * @return an Optional containing the user's identity, if any
+     */
+    @Query("select new com.catalin.vibelog.repository.projection.UserIdentity(u.id, u.username, u.role, u.profilePicture) "
+            + "from User u where u.username = :username")
+    Optional<UserIdentity> findIdentityByUsername(@Param("username") String username);
+
+    /**
+     * Look up the username of the user with the given ID.
+     *
+     * @param id the user's ID
+     * @return an Optional containing the username, if the user exists
+     */
+    @Query("select u.username from User u where u.id = :id")
+    Optional<String> findUsernameById(@Param("id") Long id);
+
+    /**
+     * Select the profile columns of the user with the given ID.
+     *
+     * @param id the user's ID
+     * @return an Optional containing the profile row, if the user exists
+     */
+    @Query("select new com.catalin.vibelog.repository.projection.ProfileRow("
+            + "u.id, u.email, u.username, u.bio, u.profilePicture, u.createdAt, u.role) "
+            + "from User u where u.id = :id")
+    Optional<ProfileRow> findProfileById(@Param("id") Long id);
+
+    /**
+     * Select the profile columns of the user with the given username.
+     *
+     * @param username the username to search for
+     * @return an Optional containing the profile row, if the user exists
+     */
+    @Query("select new com.catalin.vibelog.repository.projection.ProfileRow("
+            + "u.id, u.email, u.username, u.bio, u.profilePicture, u.createdAt, u.role) "
+            + "from User u where u.username = :username")
+    Optional<ProfileRow> findProfileByUsername(@Param("username") String username);
+
     /**
-     * Find users whose username contains {@code fragment}, case-insensitive.
+     * Select a page of profile rows whose username contains {@code fragment},
+     * case-insensitive.
+     *
+     * @param fragment substring to match
+     * @param pageable pagination and sorting information
+     * @return a {@link Page} of {@link ProfileRow}
      */
-    Page<User> findByUsernameContainingIgnoreCase(String fragment, Pageable pageable);
+    @Query(value = "select new com.catalin.vibelog.repository.projection.ProfileRow("
+            + "u.id, u.email, u.username, u.bio, u.profilePicture, u.createdAt, u.role) "
+            + "from User u where lower(u.username) like lower(concat('%', :fragment, '%'))",
+            countQuery = "select count(u) from User u "
+                    + "where lower(u.username) like lower(concat('%', :fragment, '%'))")
+    Page<ProfileRow> findProfilesByUsernameContaining(@Param("fragment") String fragment, Pageable pageable);
 
+    /**
+     * Select a page of profile rows over every user.
+     *
+     * @param pageable pagination and sorting information
+     * @return a {@link Page} of {@link ProfileRow}
+     */
+    @Query(value = "select new com.catalin.vibelog.repository.projection.ProfileRow("
+            + "u.id, u.email, u.username, u.bio, u.profilePicture, u.createdAt, u.role) "
+            + "from User u",
+            countQuery = "select count(u) from User u")
+    Page<ProfileRow> findAllProfiles(Pageable pageable);
+
+    /**
+     * Search users whose username contains {@code fragment}, case-insensitive,
+     * selecting only the columns of a {@link UserResponseDTO}.
+     *
+     * @param fragment substring to match
+     * @param pageable pagination and sorting information
+     * @return a {@link Page} of {@link UserResponseDTO}
+     */
+    @Query(value = "select new com.catalin.vibelog.dto.response.UserResponseDTO("
+            + "u.id, u.username, u.bio, u.profilePicture) "
+            + "from User u where lower(u.username) like lower(concat('%', :fragment, '%'))",
+            countQuery = "select count(u) from User u "
+                    + "where lower(u.username) like lower(concat('%', :fragment, '%'))")
+    Page<UserResponseDTO> searchUserSummaries(@Param("fragment") String fragment, Pageable pageable);
+
+    /**
+     * Retrieve every profile picture URL currently assigned to a user,
+     * used to mark referenced blobs during storage garbage collection.
+     *
+     * @return a {@link List} of non-null profile picture URLs
+     */
+    @Query("select u.profilePicture from User u where u.profilePicture is not null")
+    List<String> findAllProfilePictures();
+
+    /**
+     * Look up the identities of several users in a single query.
+     *
+     * @param ids the users' IDs
+     * @return identities of the users that exist and are not disabled for deletion
+     */
+    @Query("select new com.catalin.vibelog.repository.projection.UserIdentity(u.id, u.username, u.role, u.profilePicture) "
+            + "from User u where u.id in :ids and u.deletionRequestedAt is null")
+    List<UserIdentity> findIdentitiesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Read the denormalized follower/following counters of a user.
+     *
+     * @param id the user's ID
+     * @return an Optional containing the counters, if the user exists
+     */
+    @Query("select new com.catalin.vibelog.dto.response.FollowCountDTO(u.followerCount, u.followingCount) "
+            + "from User u where u.id = :id")
+    Optional<FollowCountDTO> findFollowCountsById(@Param("id") Long id);
+
+    /**
+     * Adjust the follower counter of the followee and the following counter of the
+     * follower in a single statement.
+     *
+     * @param followerId the ID of the following user
+     * @param followeeId the ID of the followed user
+     * @param delta      {@code +1} on follow, {@code -1} on unfollow
+     * @return number of rows updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      UPDATE users
+      SET follower_count  = follower_count  + CASE WHEN id = :followeeId THEN :delta ELSE 0 END,
+          following_count = following_count + CASE WHEN id = :followerId THEN :delta ELSE 0 END
+      WHERE id IN (:followerId, :followeeId)
+      """, nativeQuery = true)
+    int adjustFollowCounts(@Param("followerId") Long followerId,
+                           @Param("followeeId") Long followeeId,
+                           @Param("delta") int delta);
+
+    /**
+     * Recompute every drifted follower/following counter from the follows table.
+     *
+     * @return number of users whose counters were corrected
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+      UPDATE users
+      SET follower_count  = (SELECT COUNT(*) FROM follows f WHERE f.followed_user_id = users.id),
+          following_count = (SELECT COUNT(*) FROM follows f WHERE f.following_user_id = users.id)
+      WHERE follower_count  <> (SELECT COUNT(*) FROM follows f WHERE f.followed_user_id = users.id)
+         OR following_count <> (SELECT COUNT(*) FROM follows f WHERE f.following_user_id = users.id)
+      """, nativeQuery = true)
+    int reconcileFollowCounts();
+
+    /**
+     * Disable an account for deletion and set its purge checkpoint to the first stage.
+     *
+     * @param id          the ID of the user
+     * @param requestedAt when the deletion was requested
+     * @param stage       the first purge stage
+     * @return 1 if the account was disabled, 0 if it was already disabled or does not exist
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+      UPDATE User u SET u.deletionRequestedAt = :requestedAt, u.purgeStage = :stage
+      WHERE u.id = :id AND u.deletionRequestedAt IS NULL
+      """)
+    int markForDeletion(@Param("id") Long id,
+                        @Param("requestedAt") LocalDateTime requestedAt,
+                        @Param("stage") AccountPurgeStage stage);
+
+    /**
+     * IDs of every account disabled for deletion.
+     *
+     * @return the IDs
+     */
+    @Query("SELECT u.id FROM User u WHERE u.deletionRequestedAt IS NOT NULL")
+    List<Long> findDisabledIds();
+
+    /**
+     * Accounts awaiting purge, oldest deletion request first.
+     *
+     * @return the pending accounts with their checkpoints
+     */
+    @Query("""
+      SELECT new com.catalin.vibelog.repository.projection.PendingDeletion(
+             u.id, u.username, u.profilePicture, u.purgeStage)
+      FROM User u
+      WHERE u.deletionRequestedAt IS NOT NULL
+      ORDER BY u.deletionRequestedAt, u.id
+      """)
+    List<PendingDeletion> findPendingDeletions();
+
+    /**
+     * Move the purge checkpoint of a disabled account.
+     *
+     * @param id    the ID of the user
+     * @param stage the next stage to run
+     * @return number of rows updated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.purgeStage = :stage WHERE u.id = :id")
+    int updatePurgeStage(@Param("id") Long id, @Param("stage") AccountPurgeStage stage);
+
+    /**
+     * Delete an account row, without loading or cascading into its collections.
+     * Every row referencing the account must be gone already.
+     *
+     * @param id the ID of the user
+     * @return number of accounts deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM User u WHERE u.id = :id")
+    int deleteAccountById(@Param("id") Long id);
 }
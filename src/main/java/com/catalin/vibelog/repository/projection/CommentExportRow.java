@@ -0,0 +1,22 @@
+package com.catalin.vibelog.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment as written to a user's data export.
+ *
+ * @param id        the comment's primary key
+ * @param postId    the ID of the commented post
+ * @param parentId  the ID of the comment replied to, or {@code null} for top-level comments
+ * @param content   the comment's text
+ * @param createdAt when the comment was written
+ * @param editedAt  when the comment was last edited, or {@code null}
+ */
+public record CommentExportRow(
+        Long id,
+        Long postId,
+        Long parentId,
+        String content,
+        LocalDateTime createdAt,
+        LocalDateTime editedAt
+) {}
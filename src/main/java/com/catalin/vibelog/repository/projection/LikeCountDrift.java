@@ -0,0 +1,12 @@
+package com.catalin.vibelog.repository.projection;
+
+/**
+ * A post whose stored like counter differs from the number of its like rows.
+ *
+ * @param postId the ID of the post
+ * @param drift  number of like rows minus the stored counter
+ */
+public record LikeCountDrift(
+        Long postId,
+        Long drift
+) {}
@@ -0,0 +1,14 @@
+package com.catalin.vibelog.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * A like as written to a user's data export.
+ *
+ * @param postId  the ID of the liked post
+ * @param likedAt when the like was given
+ */
+public record LikeExportRow(
+        Long postId,
+        LocalDateTime likedAt
+) {}
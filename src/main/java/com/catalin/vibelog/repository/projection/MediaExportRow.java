@@ -0,0 +1,22 @@
+package com.catalin.vibelog.repository.projection;
+
+import com.catalin.vibelog.model.enums.MediaType;
+
+/**
+ * A media attachment as listed in the manifest of a user's data export.
+ *
+ * @param id     the media's primary key
+ * @param postId the ID of the post it is attached to
+ * @param type   whether it is an image or a video
+ * @param format the detected file format
+ * @param size   size of the file in bytes
+ * @param url    URL the file is served from
+ */
+public record MediaExportRow(
+        long id,
+        Long postId,
+        MediaType type,
+        String format,
+        long size,
+        String url
+) {}
@@ -0,0 +1,34 @@
+package com.catalin.vibelog.repository.projection;
+
+import com.catalin.vibelog.model.enums.NotificationType;
+import com.catalin.vibelog.model.enums.ReportStatus;
+import com.catalin.vibelog.model.enums.ReportTarget;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored columns of a notification as selected for the inbox, before its message is rendered.
+ *
+ * @param id         the notification's primary key
+ * @param type       the notification type
+ * @param content    the fixed message, or {@code null} if it is rendered from the other columns
+ * @param seen       whether the recipient has viewed it
+ * @param timestamp  when it was created, or last updated for an aggregated notification
+ * @param targetId   ID of the post or comment it is about, or {@code null}
+ * @param targetType kind of reported object for a REPORT notification, or {@code null}
+ * @param result     outcome of the report for a REPORT notification, or {@code null}
+ * @param actorCount number of distinct actors folded into it
+ * @param actorIds   IDs of those actors, newest first, or {@code null}
+ */
+public record NotificationRow(
+        Long id,
+        NotificationType type,
+        String content,
+        boolean seen,
+        LocalDateTime timestamp,
+        Long targetId,
+        ReportTarget targetType,
+        ReportStatus result,
+        int actorCount,
+        Long[] actorIds
+) {}
@@ -0,0 +1,14 @@
+package com.catalin.vibelog.repository.projection;
+
+/**
+ * The unseen notification that new actions of the same type and target are folded into.
+ *
+ * @param id         the notification's primary key
+ * @param actorCount number of distinct actors folded in so far
+ * @param actorIds   IDs of all those actors, newest first, or {@code null}
+ */
+public record OpenAggregate(
+        Long id,
+        int actorCount,
+        Long[] actorIds
+) {}
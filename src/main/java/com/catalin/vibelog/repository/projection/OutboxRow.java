@@ -0,0 +1,14 @@
+package com.catalin.vibelog.repository.projection;
+
+/**
+ * The columns of an outbox row needed to rebuild and deliver its event.
+ *
+ * @param id        the row's primary key
+ * @param eventType fully qualified class name of the event
+ * @param payload   the event serialized as JSON
+ */
+public record OutboxRow(
+        Long id,
+        String eventType,
+        String payload
+) {}
@@ -0,0 +1,18 @@
+package com.catalin.vibelog.repository.projection;
+
+import com.catalin.vibelog.model.enums.AccountPurgeStage;
+
+/**
+ * An account disabled for deletion whose data has not been fully purged yet.
+ *
+ * @param id             the user's primary key
+ * @param username       the user's username
+ * @param profilePicture URL of the user's profile picture, or {@code null}
+ * @param stage          the next purge stage to run
+ */
+public record PendingDeletion(
+        Long id,
+        String username,
+        String profilePicture,
+        AccountPurgeStage stage
+) {}
@@ -0,0 +1,30 @@
+package com.catalin.vibelog.repository.projection;
+
+import com.catalin.vibelog.model.enums.PostStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * A post as written to a user's data export.
+ *
+ * @param id             the post's primary key
+ * @param title          the post's title
+ * @param body           the post's body
+ * @param status         the post's publication status
+ * @param createdAt      when the post was created
+ * @param updatedAt      when the post was last updated, or {@code null}
+ * @param originalPostId ID of the reblogged post, or {@code null} for original posts
+ * @param likeCount      number of likes on the post
+ * @param commentCount   number of comments on the post
+ */
+public record PostExportRow(
+        Long id,
+        String title,
+        String body,
+        PostStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long originalPostId,
+        int likeCount,
+        int commentCount
+) {}
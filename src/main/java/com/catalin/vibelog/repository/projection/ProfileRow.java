@@ -0,0 +1,27 @@
+package com.catalin.vibelog.repository.projection;
+
+import com.catalin.vibelog.model.enums.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of the columns shown on a user's profile, selected directly
+ * instead of hydrating the full {@link com.catalin.vibelog.model.User} entity.
+ *
+ * @param id             the user's primary key
+ * @param email          the user's email address
+ * @param username       the user's current username
+ * @param bio            the user's bio, or {@code null}
+ * @param profilePicture URL of the user's profile picture, or {@code null}
+ * @param createdAt      when the account was created
+ * @param role           the user's role
+ */
+public record ProfileRow(
+        Long id,
+        String email,
+        String username,
+        String bio,
+        String profilePicture,
+        LocalDateTime createdAt,
+        Role role
+) {}
@@ -0,0 +1,12 @@
+package com.catalin.vibelog.repository.projection;
+
+/**
+ * A tag of one of the user's posts, as written to a data export.
+ *
+ * @param postId the ID of the tagged post
+ * @param tag    the tag
+ */
+public record TagExportRow(
+        Long postId,
+        String tag
+) {}
@@ -0,0 +1,19 @@
+package com.catalin.vibelog.repository.projection;
+
+import com.catalin.vibelog.model.enums.Role;
+
+/**
+ * Lightweight read-only view of a user's identity, used to resolve an authenticated
+ * username to its ID and role without loading the full {@link com.catalin.vibelog.model.User} entity.
+ *
+ * @param id             the user's primary key
+ * @param username       the user's current username
+ * @param role           the user's role
+ * @param profilePicture URL of the user's profile picture, or {@code null}
+ */
+public record UserIdentity(
+        Long id,
+        String username,
+        Role role,
+        String profilePicture
+) {}
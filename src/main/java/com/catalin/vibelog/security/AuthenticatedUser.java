@@ -0,0 +1,28 @@
+package com.catalin.vibelog.security;
+
+import com.catalin.vibelog.model.enums.Role;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal placed in the security context by {@link JwtAuthenticationFilter}.
+ * <p>
+ * Carries the identity claims of the validated JWT so controllers can obtain the
+ * caller's ID via {@code @AuthenticationPrincipal} without a database lookup.
+ * Implements {@link AuthenticatedPrincipal}, so {@code Authentication.getName()}
+ * keeps returning the username.
+ * </p>
+ *
+ * @param id       the user's primary key
+ * @param username the user's username (JWT subject)
+ * @param role     the user's role
+ */
+public record AuthenticatedUser(Long id, String username, Role role) implements AuthenticatedPrincipal {
+
+    /**
+     * @return the username, used as the authentication name
+     */
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,5 +1,6 @@
 package com.catalin.vibelog.security;
 
+import com.catalin.vibelog.service.DisabledAccountRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,29 +18,36 @@ import java.util.Collections;
  * and populate the Spring Security context with authentication details.
  * <p>
  * Checks the "Authorization" header for a Bearer token, validates it,
- * and sets the authenticated principal and role if valid.
+ * and sets an {@link AuthenticatedUser} principal and role authority if valid.
+ * The token is parsed once per request and no database lookup is performed;
+ * tokens of accounts disabled for deletion are ignored using the in-memory
+ * {@link DisabledAccountRegistry}.
  * </p>
  */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final DisabledAccountRegistry disabledAccounts;
 
     /**
      * Constructs the filter with the JWT utility for token operations.
      *
-     * @param jwtUtil utility for validating and parsing JWT tokens
+     * @param jwtUtil          utility for validating and parsing JWT tokens
+     * @param disabledAccounts registry of accounts whose tokens must be ignored
      */
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, DisabledAccountRegistry disabledAccounts) {
         this.jwtUtil = jwtUtil;
+        this.disabledAccounts = disabledAccounts;
     }
 
     /**
      * Intercept each request to extract the JWT from the Authorization header,
      * validate it, and set the authentication in the security context.
      * <p>
-     * If a valid Bearer token is present, the username and role are extracted,
-     * an {@link UsernamePasswordAuthenticationToken} is created, and the
-     * {@link SecurityContextHolder} is populated.
+     * If a valid Bearer token of an account that is not disabled is present,
+     * the user ID, username and role are extracted,
+     * an {@link UsernamePasswordAuthenticationToken} with an {@link AuthenticatedUser}
+     * principal is created, and the {@link SecurityContextHolder} is populated.
      * </p>
      *
      * @param request     the HTTP request containing potential JWT
@@ -55,19 +63,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String header = request.getHeader("Authorization");
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
-            if (jwtUtil.validateToken(token)) {
-                String username = jwtUtil.getUsernameFromToken(token);
-                String role = jwtUtil.getRoleFromToken(token);
+            jwtUtil.parseAuthenticatedUser(token)
+                    .filter(user -> !disabledAccounts.isDisabled(user.id()))
+                    .ifPresent(user -> {
+                        UsernamePasswordAuthenticationToken authenticationToken =
+                                new UsernamePasswordAuthenticationToken(
+                                        user,
+                                        null,
+                                        Collections.singletonList(new SimpleGrantedAuthority(user.role().name()))
+                                );
 
-                UsernamePasswordAuthenticationToken authenticationToken =
-                        new UsernamePasswordAuthenticationToken(
-                                username,
-                                null,
-                                Collections.singletonList(new SimpleGrantedAuthority(role))
-                        );
-
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-            }
+                        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                    });
         }
         filterChain.doFilter(request, response);
     }
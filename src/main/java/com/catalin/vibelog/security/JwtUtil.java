@@ -1,6 +1,9 @@
 package com.catalin.vibelog.security;
 
 import com.catalin.vibelog.model.User;
+import com.catalin.vibelog.model.enums.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -8,6 +11,7 @@ import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
 
 /**
  * Utility class for generating and validating JSON Web Tokens (JWT)
@@ -28,9 +32,15 @@ public class JwtUtil {
      */
     private final long jwtExpirationInMs = 3_600_000;
 
+    /** Claim holding the user's numeric ID. */
+    static final String USER_ID_CLAIM = "uid";
+
+    /** Claim holding the user's role. */
+    static final String ROLE_CLAIM = "role";
+
     /**
      * Generates a signed JWT containing the username as subject
-     * and the user's role as a custom claim.
+     * and the user's ID and role as custom claims.
      *
      * @param user the authenticated user for whom the token is issued
      * @return a signed JWT token string
@@ -38,13 +48,39 @@ public class JwtUtil {
     public String generateToken(User user) {
         return Jwts.builder()
                 .setSubject(user.getUsername())
-                .claim("role", user.getRole().toString())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().toString())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationInMs))
                 .signWith(key)
                 .compact();
     }
 
+    /**
+     * Validates the JWT and extracts the caller's identity in a single parse.
+     * Tokens that are invalid, expired, or lack the ID or role claims yield an empty result.
+     *
+     * @param token the JWT token string
+     * @return the {@link AuthenticatedUser} described by the token, if valid
+     */
+    public Optional<AuthenticatedUser> parseAuthenticatedUser(String token) {
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(key)
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            Number id = claims.get(USER_ID_CLAIM, Number.class);
+            String role = claims.get(ROLE_CLAIM, String.class);
+            if (id == null || role == null || claims.getSubject() == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new AuthenticatedUser(id.longValue(), claims.getSubject(), Role.valueOf(role)));
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * Parses the JWT and extracts the username (subject).
      *
@@ -72,7 +108,7 @@ public class JwtUtil {
                 .build()
                 .parseClaimsJws(token)
                 .getBody()
-                .get("role");
+                .get(ROLE_CLAIM);
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.catalin.vibelog.security;
 
+import com.catalin.vibelog.service.DisabledAccountRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -21,14 +22,17 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtUtil jwtUtil;
+    private final DisabledAccountRegistry disabledAccounts;
 
     /**
      * Constructs SecurityConfig with the JWT utility for token operations.
      *
-     * @param jwtUtil utility for generating and validating JWT tokens
+     * @param jwtUtil          utility for generating and validating JWT tokens
+     * @param disabledAccounts registry of accounts whose tokens are rejected
      */
-    public SecurityConfig(JwtUtil jwtUtil) {
+    public SecurityConfig(JwtUtil jwtUtil, DisabledAccountRegistry disabledAccounts) {
         this.jwtUtil = jwtUtil;
+        this.disabledAccounts = disabledAccounts;
     }
 
     /**
@@ -39,7 +43,7 @@ public class SecurityConfig {
      */
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtUtil);
+        return new JwtAuthenticationFilter(jwtUtil, disabledAccounts);
     }
 
     /**
@@ -1,19 +1,46 @@
 package com.catalin.vibelog.security;
 
+import com.catalin.vibelog.config.TaskExecutorConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
- * Web MVC configuration for serving static file resources.
+ * Web MVC configuration for serving static file resources and streamed responses.
  * <p>
  * Configures a resource handler that exposes the local "uploads" directory
  * under the "/uploads/**" URL pattern, allowing files to be served directly from disk.
+ * Asynchronous responses are written on their own executor rather than the shared
+ * application pool, so long downloads cannot stall other async work.
  * </p>
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final AsyncTaskExecutor streamingExecutor;
+
+    /**
+     * Constructs the configuration.
+     *
+     * @param streamingExecutor executor writing streamed response bodies
+     */
+    public WebConfig(@Qualifier(TaskExecutorConfig.STREAMING_EXECUTOR) AsyncTaskExecutor streamingExecutor) {
+        this.streamingExecutor = streamingExecutor;
+    }
+
+    /**
+     * Run asynchronous request processing, such as {@code StreamingResponseBody}, on the streaming executor.
+     *
+     * @param configurer the async support configurer
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor);
+    }
+
     /**
      * Register resource handlers for static file serving.
      * <p>
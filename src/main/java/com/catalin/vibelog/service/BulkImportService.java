@@ -0,0 +1,41 @@
+package com.catalin.vibelog.service;
+
+import com.catalin.vibelog.dto.response.ImportResultDTO;
+import com.catalin.vibelog.exception.InvalidImportException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Loads posts, comments, likes and follows in bulk from an NDJSON document, for
+ * migrating existing blogs and seeding environments with realistic volumes.
+ * <p>
+ * Each line is one object with a {@code type} of {@code post}, {@code comment},
+ * {@code like} or {@code follow}. Users are referenced by username and must already
+ * exist; posts and comments carry a document-local {@code ref} that later lines use
+ * to point at them:
+ * </p>
+ * <pre>
+ * {"type":"post","ref":"p1","author":"alice","title":"Hi","body":"...","status":"PUBLISHED","createdAt":"2024-01-01T10:00:00","tags":["intro"]}
+ * {"type":"comment","ref":"c1","post":"p1","author":"bob","content":"Welcome!","createdAt":"2024-01-01T11:00:00"}
+ * {"type":"comment","ref":"c2","post":"p1","parent":"c1","author":"alice","content":"Thanks"}
+ * {"type":"like","post":"p1","user":"bob"}
+ * {"type":"follow","follower":"bob","followed":"alice"}
+ * </pre>
+ * <p>
+ * The document is imported atomically: either every valid line is stored with the
+ * affected counters updated, or nothing is.
+ * </p>
+ */
+public interface BulkImportService {
+
+    /**
+     * Import the given NDJSON document.
+     *
+     * @param ndjson the document, read to its end but not closed
+     * @return what was created
+     * @throws InvalidImportException if a line is not valid JSON or holds an unparseable value
+     * @throws IOException            if reading the document fails
+     */
+    ImportResultDTO importNdjson(InputStream ndjson) throws IOException;
+}
@@ -0,0 +1,52 @@
+package com.catalin.vibelog.service;
+
+import com.catalin.vibelog.dto.response.BulkJobDTO;
+
+import java.util.List;
+
+/**
+ * Moderator operations deleting many posts or comments at once.
+ * <p>
+ * Each operation starts a background job that deletes its targets with set-based
+ * statements, one chunk per transaction, and returns immediately; progress is
+ * polled through {@link #getJob(String)}.
+ * </p>
+ */
+public interface BulkModerationService {
+
+    /**
+     * Start deleting the given posts together with their reblogs, comments, likes,
+     * media, tags and reports.
+     *
+     * @param postIds IDs of the posts to delete; unknown IDs are ignored
+     * @return the started job
+     */
+    BulkJobDTO startPostDeletion(List<Long> postIds);
+
+    /**
+     * Start deleting every post and comment written by a user.
+     *
+     * @param username the user whose content is purged
+     * @return the started job
+     * @throws com.catalin.vibelog.exception.UserNotFoundException if no user has that username
+     */
+    BulkJobDTO startUserPurge(String username);
+
+    /**
+     * Start deleting every comment whose content contains the given text,
+     * case-insensitively, together with their replies and reports.
+     *
+     * @param contains the text to match
+     * @return the started job
+     */
+    BulkJobDTO startCommentPurge(String contains);
+
+    /**
+     * Current progress of a job.
+     *
+     * @param jobId the job's identifier
+     * @return the job's progress
+     * @throws com.catalin.vibelog.exception.ResourceNotFoundException if the job is unknown or expired
+     */
+    BulkJobDTO getJob(String jobId);
+}
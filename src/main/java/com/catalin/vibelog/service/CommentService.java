@@ -2,7 +2,7 @@ package com.catalin.vibelog.service;
 
 import com.catalin.vibelog.dto.request.CommentRequest;
 import com.catalin.vibelog.dto.response.CommentResponse;
-import java.util.List;
+import com.catalin.vibelog.dto.response.CursorPageDTO;
 
 /**
  * Defines business operations for creating, retrieving, updating, and deleting comments on posts.
@@ -11,7 +11,8 @@ import java.util.List;
 public interface CommentService {
 
     /**
-     * Add a new comment under the given post.
+     * Add a new comment under the given post, or a reply when the request names a parent comment.
+     * Replies to a reply are attached to its top-level comment.
      *
      * @param postId         the ID of the post being commented on
      * @param req            the {@link CommentRequest} containing the comment content
@@ -19,17 +20,33 @@ public interface CommentService {
      * @return the created {@link CommentResponse}
      * @throws com.catalin.vibelog.exception.ResourceNotFoundException if no post exists with the given ID
      * @throws com.catalin.vibelog.exception.UserNotFoundException     if the author username does not exist
+     * @throws com.catalin.vibelog.exception.CommentNotFoundException  if the parent comment does not exist on this post
      */
     CommentResponse addComment(Long postId, CommentRequest req, String authorUsername);
 
     /**
-     * List all comments for a given post, ordered by creation time ascending.
+     * List one page of a post's top-level comments, ordered by creation time ascending.
      *
      * @param postId the ID of the post whose comments to list
-     * @return a {@link List} of {@link CommentResponse}
+     * @param cursor cursor returned with the previous page, or {@code null} for the first page
+     * @param size   maximum number of comments to return
+     * @return the page of comments and the cursor for the next page
      * @throws com.catalin.vibelog.exception.ResourceNotFoundException if no post exists with the given ID
+     * @throws com.catalin.vibelog.exception.InvalidCursorException    if the cursor is malformed
      */
-    List<CommentResponse> listComments(Long postId);
+    CursorPageDTO<CommentResponse> listComments(Long postId, String cursor, int size);
+
+    /**
+     * List one page of the replies to a comment, ordered by creation time ascending.
+     *
+     * @param commentId the ID of the comment whose replies to list
+     * @param cursor    cursor returned with the previous page, or {@code null} for the first page
+     * @param size      maximum number of replies to return
+     * @return the page of replies and the cursor for the next page
+     * @throws com.catalin.vibelog.exception.ResourceNotFoundException if no comment exists with the given ID
+     * @throws com.catalin.vibelog.exception.InvalidCursorException    if the cursor is malformed
+     */
+    CursorPageDTO<CommentResponse> listReplies(Long commentId, String cursor, int size);
 
     /**
      * Update an existing comment. Only the original author may perform this.
@@ -43,7 +60,7 @@ public interface CommentService {
     CommentResponse updateComment(Long commentId, CommentRequest req, String authorUsername);
 
     /**
-     * Delete a comment. Only the original author may perform this.
+     * Delete a comment together with its replies. Only the original author may perform this.
      *
      * @param commentId      the ID of the comment to delete
      * @param authorUsername the username of the user attempting the deletion
@@ -53,7 +70,7 @@ public interface CommentService {
 
     /**
      * Delete a comment by moderator (admin) privileges.
-     * This bypasses author ownership checks and removes the comment entirely.
+     * This bypasses author ownership checks and removes the comment and its replies entirely.
      *
      * @param commentId the ID of the comment to delete
      * @throws com.catalin.vibelog.exception.ResourceNotFoundException if no comment exists with the given ID
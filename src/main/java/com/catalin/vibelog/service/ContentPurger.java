@@ -0,0 +1,49 @@
+package com.catalin.vibelog.service;
+
+import java.util.List;
+
+/**
+ * Deletes posts, comments and reports together with every row depending on them,
+ * using set-based statements instead of loading and cascading entity by entity.
+ * <p>
+ * Each call runs in its own transaction, so callers can delete large selections in
+ * bounded chunks and keep what was committed if a later chunk fails.
+ * </p>
+ */
+public interface ContentPurger {
+
+    /**
+     * Delete the given posts and, transitively, their reblogs, along with their comments,
+     * likes, media records, tags, reports and moderation queue entries.
+     *
+     * @param postIds IDs of the posts to delete; unknown IDs are ignored
+     * @return what was deleted
+     */
+    Deleted deletePosts(List<Long> postIds);
+
+    /**
+     * Delete the given comments and their replies, along with their reports and moderation
+     * queue entries, lowering the comment counters of their posts and parent comments.
+     *
+     * @param commentIds IDs of the comments to delete; unknown IDs are ignored
+     * @return what was deleted
+     */
+    Deleted deleteComments(List<Long> commentIds);
+
+    /**
+     * Delete the given reports, removing the pending ones from the moderation queue.
+     *
+     * @param reportIds IDs of the reports to delete
+     * @return number of reports deleted
+     */
+    int deleteReports(List<Long> reportIds);
+
+    /**
+     * Outcome of a purge call.
+     *
+     * @param posts     number of posts deleted, reblogs included
+     * @param comments  number of comments deleted, replies and comments on deleted posts included
+     * @param mediaUrls URLs of the media records deleted with the posts; their blobs are still stored
+     */
+    record Deleted(int posts, int comments, List<String> mediaUrls) {}
+}
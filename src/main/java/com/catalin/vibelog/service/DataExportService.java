@@ -0,0 +1,49 @@
+package com.catalin.vibelog.service;
+
+import com.catalin.vibelog.model.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Exports everything a user has created: profile, posts, tags, comments, likes
+ * and a manifest of their media.
+ * <p>
+ * Rows are streamed from the database straight into the output, so memory use does
+ * not grow with the size of the account. An export holds a database connection for
+ * as long as the client takes to download it, so only a limited number run at once;
+ * callers reserve a {@link Slot} before starting one.
+ * </p>
+ */
+public interface DataExportService {
+
+    /**
+     * Reserve one of the limited export slots.
+     *
+     * @return the slot, to be closed once the export has been written or abandoned
+     * @throws com.catalin.vibelog.exception.CapacityExceededException if every slot is taken
+     */
+    Slot reserve();
+
+    /**
+     * Write the user's data to the given stream. The stream is flushed but not closed.
+     *
+     * @param userId the ID of the user to export
+     * @param format whether to write plain NDJSON or a ZIP archive including media files
+     * @param out    the destination
+     * @throws IOException if writing to the destination fails
+     */
+    void export(Long userId, ExportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * A reserved export slot. Closing it more than once has no further effect.
+     */
+    interface Slot extends AutoCloseable {
+
+        /**
+         * Release the slot.
+         */
+        @Override
+        void close();
+    }
+}
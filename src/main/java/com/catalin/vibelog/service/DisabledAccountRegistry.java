@@ -0,0 +1,34 @@
+package com.catalin.vibelog.service;
+
+/**
+ * In-memory set of accounts disabled for deletion, consulted on every authenticated
+ * request so that tokens issued before the deletion stop working without a database
+ * lookup per request.
+ * <p>
+ * Accounts disabled on this instance take effect once the disabling transaction
+ * commits; accounts disabled elsewhere are picked up by the next {@link #reload()}.
+ * </p>
+ */
+public interface DisabledAccountRegistry {
+
+    /**
+     * Check whether an account is disabled.
+     *
+     * @param userId the ID of the user
+     * @return {@code true} if the account is disabled for deletion
+     */
+    boolean isDisabled(Long userId);
+
+    /**
+     * Mark an account as disabled once the current transaction commits,
+     * or immediately if there is none.
+     *
+     * @param userId the ID of the user
+     */
+    void disable(Long userId);
+
+    /**
+     * Replace the set with the accounts currently disabled in the database.
+     */
+    void reload();
+}
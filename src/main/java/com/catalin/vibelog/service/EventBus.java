@@ -0,0 +1,25 @@
+package com.catalin.vibelog.service;
+
+import com.catalin.vibelog.events.DistributedEvent;
+
+/**
+ * Publishes domain events to listeners on every instance of the application.
+ * <p>
+ * The event is recorded in the current transaction and, once that transaction commits,
+ * delivered on every instance, including this one, as a
+ * {@link com.catalin.vibelog.events.ClusterEvent}: at least once, and in commit order
+ * among events of the same aggregate. Nothing is delivered if the transaction rolls back,
+ * and no listener sees the bare event. The at-least-once guarantee only holds for
+ * transactions that commit within {@code vibelog.events.relay.gap-timeout} of publishing:
+ * the events of a transaction still open after that are skipped by the relay.
+ * </p>
+ */
+public interface EventBus {
+
+    /**
+     * Record an event for delivery to every instance once the current transaction commits.
+     *
+     * @param event the event to publish
+     */
+    void publish(DistributedEvent event);
+}
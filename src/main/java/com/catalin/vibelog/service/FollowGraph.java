@@ -0,0 +1,25 @@
+package com.catalin.vibelog.service;
+
+/**
+ * In-memory copy of the follow graph used for graph walks such as follow suggestions,
+ * which would be too expensive to run as SQL over {@code follows} on every request.
+ * <p>
+ * The graph is rebuilt from the database periodically and kept current in between
+ * by follow/unfollow events, so it may briefly lag behind committed changes.
+ * </p>
+ */
+public interface FollowGraph {
+
+    /**
+     * The IDs of the users the given user follows.
+     *
+     * @param userId the ID of the follower
+     * @return the followee IDs, empty if the user follows nobody
+     */
+    long[] following(long userId);
+
+    /**
+     * Reload the whole graph from the database.
+     */
+    void rebuild();
+}
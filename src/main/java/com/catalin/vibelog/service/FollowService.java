@@ -1,5 +1,10 @@
 package com.catalin.vibelog.service;
 
+import com.catalin.vibelog.dto.response.CursorPageDTO;
+import com.catalin.vibelog.dto.response.FollowCountDTO;
+import com.catalin.vibelog.dto.response.FollowUserDTO;
+import com.catalin.vibelog.dto.response.MutualFollowersDTO;
+
 /**
  * Service interface defining follow/unfollow operations
  * and follower/following counts.
@@ -48,4 +53,42 @@ public interface FollowService {
      * @return number of users userId is following
      */
     long countFollowing(Long userId);
-}
\ No newline at end of file
+
+    /**
+     * Returns both follower and following counts of a user in one lookup.
+     *
+     * @param userId ID of the user
+     * @return the user's follower and following counts
+     */
+    FollowCountDTO getFollowCounts(Long userId);
+
+    /**
+     * Lists a user's followers, newest first, one keyset page at a time.
+     *
+     * @param userId ID of the followed user
+     * @param cursor cursor returned with the previous page, or {@code null} for the first page
+     * @param size   maximum number of followers to return
+     * @return the page of followers and the cursor for the next page
+     */
+    CursorPageDTO<FollowUserDTO> listFollowers(Long userId, String cursor, int size);
+
+    /**
+     * Lists the users a user follows, newest first, one keyset page at a time.
+     *
+     * @param userId ID of the following user
+     * @param cursor cursor returned with the previous page, or {@code null} for the first page
+     * @param size   maximum number of users to return
+     * @return the page of followed users and the cursor for the next page
+     */
+    CursorPageDTO<FollowUserDTO> listFollowing(Long userId, String cursor, int size);
+
+    /**
+     * Finds accounts the viewer follows that also follow the target user.
+     *
+     * @param viewerId ID of the viewing user
+     * @param targetId ID of the user being looked at
+     * @param limit    maximum number of accounts to include in the sample
+     * @return a sample of mutual connections and their total number
+     */
+    MutualFollowersDTO findFollowedByFollowees(Long viewerId, Long targetId, int limit);
+}
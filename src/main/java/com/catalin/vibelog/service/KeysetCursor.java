@@ -0,0 +1,72 @@
+package com.catalin.vibelog.service;
+
+import com.catalin.vibelog.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by {@code (timestamp, id)}, newest or oldest first,
+ * exchanged with clients as an opaque URL-safe string.
+ * <p>
+ * The next page starts strictly after this position, so pages stay stable while
+ * new rows are inserted and each page costs an index range scan regardless of depth.
+ * </p>
+ *
+ * @param timestamp the timestamp of the last row on the previous page
+ * @param id        the tie-breaking ID of the last row on the previous page
+ */
+public record KeysetCursor(LocalDateTime timestamp, Long id) {
+
+    /** Position before the first row of a newest-first listing, used when no cursor is supplied. */
+    public static final KeysetCursor START = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE);
+
+    /** Position before the first row of an oldest-first listing, used when no cursor is supplied. */
+    public static final KeysetCursor EARLIEST = new KeysetCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    /**
+     * Decode a cursor received from a client for a newest-first listing.
+     *
+     * @param cursor the opaque cursor, or {@code null}/blank for the first page
+     * @return the decoded position, {@link #START} when no cursor was given
+     * @throws InvalidCursorException if the cursor cannot be decoded
+     */
+    public static KeysetCursor decode(String cursor) {
+        return decode(cursor, START);
+    }
+
+    /**
+     * Decode a cursor received from a client.
+     *
+     * @param cursor the opaque cursor, or {@code null}/blank for the first page
+     * @param start  the position to use when no cursor was given
+     * @return the decoded position
+     * @throws InvalidCursorException if the cursor cannot be decoded
+     */
+    public static KeysetCursor decode(String cursor, KeysetCursor start) {
+        if (cursor == null || cursor.isBlank()) {
+            return start;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, sep)),
+                    Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    /**
+     * Encode this position for a client.
+     *
+     * @return an opaque URL-safe cursor string
+     */
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
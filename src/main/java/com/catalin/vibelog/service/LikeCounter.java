@@ -0,0 +1,35 @@
+package com.catalin.vibelog.service;
+
+/**
+ * Maintains the denormalized per-post like counters.
+ * <p>
+ * Depending on configuration, deltas are either applied to the post row immediately
+ * or coalesced in memory and flushed periodically, so that bursts of likes on a
+ * popular post do not contend on the same row.
+ * </p>
+ */
+public interface LikeCounter {
+
+    /**
+     * Record a change in the like count of a post.
+     *
+     * @param postId the ID of the post
+     * @param delta  {@code +1} for a new like, {@code -1} for a removed like
+     */
+    void add(Long postId, int delta);
+
+    /**
+     * Return the delta recorded for a post that has not been written to the database yet.
+     *
+     * @param postId the ID of the post
+     * @return the pending delta, {@code 0} when nothing is buffered
+     */
+    long pending(Long postId);
+
+    /**
+     * Write all buffered deltas to the database.
+     *
+     * @return number of posts whose counter was updated
+     */
+    int flush();
+}
@@ -0,0 +1,41 @@
+package com.catalin.vibelog.service;
+
+import java.util.Optional;
+
+/**
+ * In-memory membership index answering "has this user liked this post?"
+ * for popular posts without querying the database.
+ * <p>
+ * Only posts above an engagement threshold are indexed; for every other post
+ * the index answers "unknown" and callers fall back to SQL.
+ * </p>
+ */
+public interface LikeIndex {
+
+    /**
+     * Look up whether a user has liked a post.
+     *
+     * @param postId the ID of the post
+     * @param userId the ID of the user
+     * @return the answer if the post is indexed, or empty if callers must check the database
+     */
+    Optional<Boolean> isLiked(Long postId, Long userId);
+
+    /**
+     * Record a new like once the current transaction commits, indexing the post
+     * if its like count has reached the threshold.
+     *
+     * @param postId     the ID of the liked post
+     * @param userId     the ID of the liker
+     * @param totalLikes the post's like count after this like
+     */
+    void recordLike(Long postId, Long userId, int totalLikes);
+
+    /**
+     * Record a removed like once the current transaction commits.
+     *
+     * @param postId the ID of the unliked post
+     * @param userId the ID of the user
+     */
+    void recordUnlike(Long postId, Long userId);
+}
@@ -17,6 +17,35 @@ public interface LikeService {
      */
     LikeResponse toggleLike(Long postId, String username);
 
+    /**
+     * Toggle a like for an already-resolved user, without looking the user up by username.
+     *
+     * @param postId   the ID of the post to like or unlike
+     * @param userId   the ID of the liker (from the authenticated principal)
+     * @param username the username of the liker, used for notifications
+     * @return a {@link LikeResponse} containing the new total like count and the user's like status
+     */
+    LikeResponse toggleLike(Long postId, Long userId, String username);
+
+    /**
+     * Like a post on behalf of the given user. Idempotent: liking an already liked post is a no-op.
+     *
+     * @param postId   the ID of the post to like
+     * @param userId   the ID of the liker
+     * @param username the username of the liker, used for notifications
+     * @return a {@link LikeResponse} with {@code liked=true} and the current total
+     */
+    LikeResponse like(Long postId, Long userId, String username);
+
+    /**
+     * Remove the given user's like from a post. Idempotent: unliking a post that is not liked is a no-op.
+     *
+     * @param postId the ID of the post to unlike
+     * @param userId the ID of the user
+     * @return a {@link LikeResponse} with {@code liked=false} and the current total
+     */
+    LikeResponse unlike(Long postId, Long userId);
+
     /**
      * Count how many total likes a post has.
      *
@@ -33,4 +62,13 @@ public interface LikeService {
      * @return {@code true} if the user has already liked the post
      */
     boolean isLiked(Long postId, String username);
+
+    /**
+     * Check whether the user with the given ID has liked the specified post.
+     *
+     * @param postId the ID of the post
+     * @param userId the ID of the user to check for
+     * @return {@code true} if the user has already liked the post
+     */
+    boolean isLiked(Long postId, Long userId);
 }
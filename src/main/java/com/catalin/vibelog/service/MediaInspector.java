@@ -0,0 +1,38 @@
+package com.catalin.vibelog.service;
+
+import com.catalin.vibelog.exception.UnsupportedMediaException;
+import com.catalin.vibelog.model.enums.MediaType;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Upload-time inspection of media files.
+ * <p>
+ * Identifies the real container format from the file's leading magic bytes rather than
+ * trusting the filename or client-supplied content type, and extracts layout metadata
+ * (dimensions, duration) from the container headers without decoding the payload.
+ * </p>
+ */
+public interface MediaInspector {
+
+    /**
+     * Inspect the given upload.
+     *
+     * @param file the multipart file to inspect
+     * @return the detected media information
+     * @throws UnsupportedMediaException if the content is not a supported image or video container
+     */
+    MediaInfo inspect(MultipartFile file);
+
+    /**
+     * Metadata extracted from an uploaded file.
+     * Dimension and duration fields are {@code null} when the container does not expose them
+     * in its headers.
+     *
+     * @param type       whether the file is an image or a video
+     * @param format     canonical container name (e.g. "jpeg", "mp4")
+     * @param width      pixel width, or {@code null} if unknown
+     * @param height     pixel height, or {@code null} if unknown
+     * @param durationMs playback duration in milliseconds for videos, or {@code null}
+     */
+    record MediaInfo(MediaType type, String format, Integer width, Integer height, Long durationMs) {}
+}
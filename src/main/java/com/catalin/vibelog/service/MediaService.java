@@ -1,9 +1,12 @@
 package com.catalin.vibelog.service;
 
+import com.catalin.vibelog.dto.response.MediaResponseDTO;
 import com.catalin.vibelog.model.Media;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Defines operations for uploading, retrieving, and deleting media attachments associated with posts.
@@ -39,10 +42,27 @@ public interface MediaService {
 
     /**
      * List all media items attached to the specified post.
+     * Results are served from a read-through cache that is invalidated on upload and deletion.
      *
      * @param postId the ID of the post whose media items to list
-     * @return a {@link List} of {@link Media} entities for the post
-     * @throws com.catalin.vibelog.exception.ResourceNotFoundException if no post exists with the given ID
+     * @return an immutable {@link List} of {@link MediaResponseDTO} for the post
+     */
+    List<MediaResponseDTO> listForPost(Long postId);
+
+    /**
+     * List the media items of several posts at once, loading all cache misses
+     * with a single query. Intended for prefetching a page of posts.
+     *
+     * @param postIds the IDs of the posts whose media items to list
+     * @return a map from every requested post ID to its (possibly empty) media list
+     */
+    Map<Long, List<MediaResponseDTO>> listForPosts(Collection<Long> postIds);
+
+    /**
+     * Drop the cached media lists, on every instance, of posts removed by other means,
+     * such as a cascading post delete, so their stale lists are not served until they expire.
+     *
+     * @param postIds the IDs of the deleted posts
      */
-    List<Media> listForPost(Long postId);
+    void evictCached(Collection<Long> postIds);
 }
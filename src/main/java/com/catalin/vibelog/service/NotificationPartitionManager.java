@@ -0,0 +1,36 @@
+package com.catalin.vibelog.service;
+
+/**
+ * Maintains the monthly range partitions of the {@code notifications} table.
+ * <p>
+ * Partitions are created ahead of time so inserts never wait on DDL, and months
+ * older than the retention period are detached as a whole instead of being
+ * deleted row by row.
+ * </p>
+ */
+public interface NotificationPartitionManager {
+
+    /**
+     * Convert an unpartitioned {@code notifications} table, as created by the schema
+     * generator, into a partitioned one. Existing rows are kept; does nothing if the
+     * table is already partitioned.
+     *
+     * @return {@code true} if the table is partitioned, {@code false} if it does not exist
+     */
+    boolean ensurePartitioned();
+
+    /**
+     * Create the partitions of the current month and the configured number of months ahead.
+     *
+     * @return number of partitions created
+     */
+    int createUpcomingPartitions();
+
+    /**
+     * Drop, or detach for archival, every partition whose rows are all older than
+     * the retention period.
+     *
+     * @return number of partitions removed from the table
+     */
+    int expireOldPartitions();
+}
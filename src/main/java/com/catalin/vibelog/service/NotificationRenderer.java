@@ -0,0 +1,25 @@
+package com.catalin.vibelog.service;
+
+import com.catalin.vibelog.dto.response.NotificationResponseDTO;
+import com.catalin.vibelog.repository.projection.NotificationRow;
+
+import java.util.List;
+
+/**
+ * Turns stored notification rows into the messages shown to their recipient.
+ * <p>
+ * Actor notifications only store their type, target, actor count and actor IDs;
+ * their text is produced at read time, so it follows renamed or deleted
+ * actors and the reader's locale.
+ * </p>
+ */
+public interface NotificationRenderer {
+
+    /**
+     * Render a page of notification rows, keeping their order.
+     *
+     * @param rows the stored rows
+     * @return one response per row
+     */
+    List<NotificationResponseDTO> render(List<NotificationRow> rows);
+}
@@ -3,9 +3,13 @@ package com.catalin.vibelog.service;
 import com.catalin.vibelog.dto.request.NotificationRequestDTO;
 import com.catalin.vibelog.dto.response.NotificationResponseDTO;
 import com.catalin.vibelog.exception.NotificationNotFoundException;
+import com.catalin.vibelog.model.enums.ReportStatus;
+import com.catalin.vibelog.model.enums.ReportTarget;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 /**
  * Defines business operations for creating, retrieving, and updating user notifications.
  * Implementations typically interact with persistence layers and event listeners.
@@ -21,6 +25,18 @@ public interface NotificationService {
      */
     void sendNotification(NotificationRequestDTO req);
 
+    /**
+     * Send the same REPORT notification to every user who filed one of the given reports,
+     * writing them in bulk instead of one insert per recipient.
+     *
+     * @param reportIds  IDs of the reports whose reporters are notified
+     * @param targetType kind of the reported object
+     * @param targetId   ID of the reported post or comment
+     * @param result     the reports' final status
+     * @return number of notifications written
+     */
+    int notifyReporters(List<Long> reportIds, ReportTarget targetType, Long targetId, ReportStatus result);
+
     /**
      * Retrieve a paginated list of notifications for the specified user.
      *
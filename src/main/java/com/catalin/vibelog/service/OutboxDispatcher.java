@@ -0,0 +1,22 @@
+package com.catalin.vibelog.service;
+
+/**
+ * Runs the side effects of committed outbox events, such as notifications, once per
+ * event across all instances.
+ * <p>
+ * Side effects no longer run inside the transaction of the user's action, so a failing
+ * notification cannot roll back a like, and since the event was committed with the
+ * action, a crash between the two cannot lose it either.
+ * </p>
+ */
+public interface OutboxDispatcher {
+
+    /**
+     * Claim a batch of pending events that no other worker holds, hand each one to the
+     * {@link com.catalin.vibelog.events.ReliableEvent} listeners, and mark it processed
+     * or schedule its retry.
+     *
+     * @return number of events claimed; fewer than the batch size once the outbox is drained
+     */
+    int dispatchBatch();
+}
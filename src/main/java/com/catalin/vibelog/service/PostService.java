@@ -20,6 +20,16 @@ public interface PostService {
      */
     PostResponse createPost(PostRequest req, String authorUsername);
 
+    /**
+     * Create a new post for an author whose ID is already known from the authenticated principal.
+     *
+     * @param req             the {@link PostRequest} carrying title, body, and status
+     * @param authorId        the ID of the post’s creator
+     * @param authorUsername  the username of the post’s creator
+     * @return the created {@link PostResponse}
+     */
+    PostResponse createPost(PostRequest req, Long authorId, String authorUsername);
+
     /**
      * Fetch a single post by its ID.
      *
@@ -85,6 +95,11 @@ public interface PostService {
      */
     void undoReblog(String username, Long originalPostId);
 
+    /**
+     * Undo a reblog by deleting the reblog‐post created by the user with the given ID.
+     */
+    void undoReblog(Long userId, Long originalPostId);
+
     /**
      * Check if {@code username} has already reblogged {@code originalPostId}.
      *
@@ -92,6 +107,13 @@ public interface PostService {
      */
     boolean isReblogged(String username, Long originalPostId);
 
+    /**
+     * Check if the user with ID {@code userId} has already reblogged {@code originalPostId}.
+     *
+     * @return true if a reblog‐post exists
+     */
+    boolean isReblogged(Long userId, Long originalPostId);
+
     /**
      * Count how many times {@code originalPostId} has been reblogged.
      *
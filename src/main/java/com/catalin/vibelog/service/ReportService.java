@@ -2,8 +2,11 @@ package com.catalin.vibelog.service;
 
 import com.catalin.vibelog.dto.request.ReportRequestDTO;
 import com.catalin.vibelog.dto.request.ReportStatusUpdateDTO;
+import com.catalin.vibelog.dto.response.ModerationQueueItemDTO;
 import com.catalin.vibelog.dto.response.ReportResponseDTO;
+import com.catalin.vibelog.dto.response.TargetResolutionDTO;
 import com.catalin.vibelog.model.enums.ReportStatus;
+import com.catalin.vibelog.model.enums.ReportTarget;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -47,4 +50,23 @@ public interface ReportService {
      * @return the updated report as a DTO
      */
     ReportResponseDTO updateReportStatus(Long reportId, ReportStatusUpdateDTO statusUpdate);
+
+    /**
+     * List the aggregated moderation queue, one entry per reported target,
+     * highest priority first.
+     *
+     * @param pageable paging parameters
+     * @return paged list of queue items
+     */
+    Page<ModerationQueueItemDTO> listModerationQueue(Pageable pageable);
+
+    /**
+     * Resolve every pending report against a post or comment at once.
+     *
+     * @param targetType kind of the reported content
+     * @param targetId   ID of the reported post or comment
+     * @param status     the status to move the reports to
+     * @return the number of reports updated
+     */
+    TargetResolutionDTO resolveTarget(ReportTarget targetType, Long targetId, ReportStatus status);
 }
@@ -3,6 +3,9 @@ package com.catalin.vibelog.service;
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Instant;
+import java.util.stream.Stream;
+
 /**
  * Defines operations for storing, retrieving, and deleting binary file resources.
  * Implementations might store files on local filesystem, cloud storage, or other backends.
@@ -36,4 +39,38 @@ public interface StorageService {
      * @throws com.catalin.vibelog.exception.ResourceNotFoundException if no file exists at the given location
      */
     Resource loadAsResource(String url);
+
+    /**
+     * Resolve the storage key (the backend-specific name of the stored blob)
+     * that a public URL or path produced by {@link #store(MultipartFile)} points at.
+     *
+     * @param url the public URL or internal storage path of a stored file
+     * @return the storage key, or {@code null} if the URL does not refer to this storage
+     */
+    String resolveKey(String url);
+
+    /**
+     * Enumerate every blob currently held by the storage backend.
+     * The returned stream may hold open resources and must be closed by the caller.
+     *
+     * @return a {@link Stream} of {@link StoredObject} descriptors
+     */
+    Stream<StoredObject> listStored();
+
+    /**
+     * Delete the blob with the given storage key.
+     *
+     * @param key the storage key as returned by {@link #resolveKey(String)} or {@link #listStored()}
+     * @return {@code true} if a blob was removed, {@code false} if none existed or removal failed
+     */
+    boolean deleteKey(String key);
+
+    /**
+     * Descriptor of a blob held by the storage backend.
+     *
+     * @param key          the storage key of the blob
+     * @param size         size of the blob in bytes
+     * @param lastModified when the blob was last written
+     */
+    record StoredObject(String key, long size, Instant lastModified) {}
 }
@@ -0,0 +1,21 @@
+package com.catalin.vibelog.service;
+
+import com.catalin.vibelog.dto.response.SuggestedUserDTO;
+
+import java.util.List;
+
+/**
+ * Service producing "who to follow" suggestions from the follow graph.
+ */
+public interface SuggestionService {
+
+    /**
+     * Suggest accounts followed by the people the user follows, ranked by how many
+     * of them follow each account. Accounts the user already follows are excluded.
+     *
+     * @param userId the ID of the user asking for suggestions
+     * @param limit  maximum number of suggestions to return
+     * @return the suggestions, best first
+     */
+    List<SuggestedUserDTO> suggestFor(Long userId, int limit);
+}
@@ -0,0 +1,42 @@
+package com.catalin.vibelog.service;
+
+import com.catalin.vibelog.exception.UserNotFoundException;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+
+import java.util.Optional;
+
+/**
+ * Resolves usernames (typically the authenticated JWT subject) to lightweight
+ * {@link UserIdentity} projections through a bounded, time-limited cache.
+ * <p>
+ * Callers that need to associate an entity with the user should use
+ * {@code UserRepository.getReferenceById(identity.id())} rather than loading the row.
+ * </p>
+ */
+public interface UserLookupService {
+
+    /**
+     * Find the identity for the given username.
+     *
+     * @param username the username to resolve
+     * @return the identity, or an empty Optional if no such user exists
+     */
+    Optional<UserIdentity> findByUsername(String username);
+
+    /**
+     * Resolve the identity for the given username, failing if it does not exist.
+     *
+     * @param username the username to resolve
+     * @return the user's identity
+     * @throws UserNotFoundException if no user exists with the given username
+     */
+    UserIdentity getByUsername(String username);
+
+    /**
+     * Drop any cached identity for the given username. Must be called whenever a
+     * user is renamed, deleted, or has a cached attribute changed.
+     *
+     * @param username the username whose cache entry to remove
+     */
+    void evict(String username);
+}
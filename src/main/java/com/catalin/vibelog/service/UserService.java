@@ -107,7 +107,8 @@ public interface UserService {
     ProfileResponse updateUserById(Long userId, ProfileUpdateRequest req);
 
     /**
-     * Delete a user (and cascade‐delete their associated content).
+     * Delete a user: the account is disabled immediately and its content is purged
+     * in the background by {@link com.catalin.vibelog.jobs.AccountPurgeJob}.
      *
      * @param userId the ID of the user to delete
      * @throws com.catalin.vibelog.exception.ResourceNotFoundException if no user exists with the given ID
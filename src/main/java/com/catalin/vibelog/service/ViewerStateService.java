@@ -0,0 +1,22 @@
+package com.catalin.vibelog.service;
+
+import com.catalin.vibelog.dto.response.ViewerStateDTO;
+
+import java.util.Collection;
+
+/**
+ * Resolves the current user's like, reblog and follow flags for a whole page
+ * of content at once, instead of one request per post or author.
+ */
+public interface ViewerStateService {
+
+    /**
+     * Compute the viewer's flags for the given posts and authors.
+     *
+     * @param viewerId        the ID of the current user
+     * @param postIds         IDs of the posts to check
+     * @param authorUsernames usernames of the authors to check; may be empty
+     * @return the subsets of posts liked and reblogged and authors followed by the viewer
+     */
+    ViewerStateDTO getViewerState(Long viewerId, Collection<Long> postIds, Collection<String> authorUsernames);
+}
@@ -99,14 +99,16 @@ public class AuthServiceImpl implements AuthService {
      *
      * @param dto the {@link LoginRequest} containing login credentials: email and password
      * @return an {@link AuthResponse} containing the JWT token, token type, expiration, and user details
-     * @throws InvalidCredentialsException if the email is not registered or the password is incorrect
+     * @throws InvalidCredentialsException if the email is not registered, the password is incorrect,
+     *                                     or the account has been disabled for deletion
      */
     @Override
     public AuthResponse login(LoginRequest dto) {
         User user = userRepo.findByEmail(dto.email())
                 .orElseThrow(() -> new InvalidCredentialsException("Invalid email or password"));
 
-        if (!passwordEncoder.matches(dto.password(), user.getPasswordHash())) {
+        if (!passwordEncoder.matches(dto.password(), user.getPasswordHash())
+                || user.getDeletionRequestedAt() != null) {
             throw new InvalidCredentialsException("Invalid email or password");
         }
 
@@ -0,0 +1,141 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.service.LikeCounter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Default implementation of {@link LikeCounter}.
+ * <p>
+ * When buffering is disabled every delta is applied to {@code posts.like_count}
+ * within the caller's transaction. When enabled, deltas are summed per post in memory
+ * and flushed on a fixed delay as one {@code UPDATE} per post, turning a burst of
+ * likes on a viral post into a single row write. Deltas from transactions that roll
+ * back are compensated, and the buffer is flushed on shutdown.
+ * </p>
+ * <p>
+ * Buffered counts are eventually consistent; a crash loses at most one flush interval
+ * of deltas, which the scheduled reconciliation job then repairs.
+ * </p>
+ */
+@Service
+public class BufferedLikeCounter implements LikeCounter {
+    private static final Logger log = LoggerFactory.getLogger(BufferedLikeCounter.class);
+
+    private final PostRepository postRepo;
+    private final boolean buffered;
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the counter.
+     *
+     * @param postRepo repository holding the persisted like counters
+     * @param buffered whether deltas are coalesced in memory instead of written immediately
+     */
+    public BufferedLikeCounter(PostRepository postRepo,
+                               @Value("${vibelog.likes.buffer.enabled:false}") boolean buffered) {
+        this.postRepo = postRepo;
+        this.buffered = buffered;
+    }
+
+    /**
+     * Record a change in the like count of a post, either immediately or in the buffer.
+     *
+     * @param postId the ID of the post
+     * @param delta  the change to apply
+     */
+    @Override
+    public void add(Long postId, int delta) {
+        if (!buffered) {
+            postRepo.incrementLikeCount(postId, delta);
+            return;
+        }
+        merge(postId, delta);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        merge(postId, -delta);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Return the buffered delta for a post.
+     *
+     * @param postId the ID of the post
+     * @return the delta not yet written to the database
+     */
+    @Override
+    public long pending(Long postId) {
+        return pending.getOrDefault(postId, 0L);
+    }
+
+    /**
+     * Write every buffered delta to the database, one short transaction per post.
+     * Deltas that fail to flush are put back and retried on the next cycle.
+     *
+     * @return number of posts whose counter was updated
+     */
+    @Override
+    public int flush() {
+        int flushed = 0;
+        for (Long postId : pending.keySet()) {
+            Long delta = pending.remove(postId);
+            if (delta == null) {
+                continue;
+            }
+            try {
+                postRepo.incrementLikeCount(postId, Math.toIntExact(delta));
+                flushed++;
+            } catch (RuntimeException e) {
+                merge(postId, delta);
+                log.warn("Failed to flush like counter for post {}: {}", postId, e.getMessage());
+            }
+        }
+        return flushed;
+    }
+
+    /**
+     * Scheduled entry point; flushes the buffer on a fixed delay.
+     */
+    @Scheduled(fixedDelayString = "${vibelog.likes.buffer.flush-interval:PT1S}")
+    public void scheduledFlush() {
+        if (buffered) {
+            flush();
+        }
+    }
+
+    /**
+     * Flush outstanding deltas before the application context shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (buffered) {
+            flush();
+        }
+    }
+
+    /**
+     * Add a delta to the buffer, dropping the entry once it nets out to zero.
+     *
+     * @param postId the ID of the post
+     * @param delta  the change to add
+     */
+    private void merge(Long postId, long delta) {
+        pending.merge(postId, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+}
@@ -0,0 +1,308 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.dto.response.ImportResultDTO;
+import com.catalin.vibelog.exception.InvalidImportException;
+import com.catalin.vibelog.service.BulkImportService;
+import com.catalin.vibelog.service.FollowGraph;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * Default implementation of {@link BulkImportService}, built on PostgreSQL {@code COPY}.
+ * <p>
+ * The document is piped unparsed into a temporary staging table with a single
+ * {@code COPY ... FROM STDIN}, one {@code jsonb} value per line, which is far cheaper
+ * than binding rows one statement at a time. Everything after that is set-based SQL in
+ * the same transaction: posts and comments are staged with IDs drawn from their table
+ * sequences so that document refs resolve to final IDs by join, then inserted in one
+ * statement per table; likes and follows are inserted with {@code ON CONFLICT DO NOTHING}
+ * and the counters they affect are incremented from exactly the rows inserted. Lines
+ * naming unknown or deleted users, unknown refs, or values longer than their column
+ * are skipped. The staging tables are dropped on commit.
+ * </p>
+ * <p>
+ * Posts are matched with the existing {@code LIKE} search as soon as they commit, so
+ * there is no separate search index to refresh; the in-memory follow graph is rebuilt
+ * after commit when follows were imported.
+ * </p>
+ */
+@Service
+public class BulkImportServiceImpl implements BulkImportService {
+    private static final Logger log = LoggerFactory.getLogger(BulkImportServiceImpl.class);
+
+    /** Staging table holding one JSON document per input line. */
+    private static final String CREATE_LINES = """
+      CREATE TEMP TABLE import_lines (
+        line_no bigserial,
+        doc     jsonb
+      ) ON COMMIT DROP
+      """;
+
+    /**
+     * Raw line load. CSV with control-character quote and delimiter keeps each line
+     * whole and free of escape processing; empty lines load as {@code NULL}.
+     */
+    private static final String COPY_LINES =
+            "COPY import_lines (doc) FROM STDIN WITH (FORMAT csv, DELIMITER E'\\x02', QUOTE E'\\x01')";
+
+    private static final String COUNT_LINES = "SELECT count(*) FROM import_lines WHERE doc IS NOT NULL";
+
+    /** Valid post lines, first occurrence of each ref, with their final IDs. */
+    private static final String STAGE_POSTS = """
+      CREATE TEMP TABLE import_posts ON COMMIT DROP AS
+      SELECT nextval(pg_get_serial_sequence('posts', 'id')) AS id, s.*
+      FROM (
+        SELECT DISTINCT ON (l.doc->>'ref', CASE WHEN l.doc->>'ref' IS NULL THEN l.line_no END)
+               l.doc->>'ref' AS ref,
+               u.id AS author_id,
+               l.doc->>'title' AS title,
+               l.doc->>'body' AS body,
+               CASE l.doc->>'status' WHEN 'DRAFT' THEN 'DRAFT' ELSE 'PUBLISHED' END AS status,
+               COALESCE((l.doc->>'createdAt')::timestamp, LOCALTIMESTAMP) AS created_at,
+               CASE WHEN jsonb_typeof(l.doc->'tags') = 'array' THEN l.doc->'tags' END AS tags
+        FROM import_lines l
+        JOIN users u ON u.username = l.doc->>'author' AND u.deletion_requested_at IS NULL
+        WHERE l.doc->>'type' = 'post'
+          AND length(l.doc->>'title') <= 255
+          AND length(l.doc->>'body') <= 255
+        ORDER BY l.doc->>'ref', CASE WHEN l.doc->>'ref' IS NULL THEN l.line_no END, l.line_no
+      ) s
+      """;
+
+    private static final String INDEX_POSTS = "CREATE INDEX ON import_posts (ref)";
+
+    private static final String INSERT_POSTS = """
+      INSERT INTO posts (id, title, body, status, created_at, author_id, comment_count, like_count)
+      SELECT id, title, body, status, created_at, author_id, 0, 0
+      FROM import_posts
+      """;
+
+    private static final String INSERT_TAGS = """
+      INSERT INTO post_tags (post_id, tags)
+      SELECT p.id, t.tag
+      FROM import_posts p
+      CROSS JOIN LATERAL jsonb_array_elements_text(p.tags) AS t(tag)
+      WHERE length(t.tag) <= 255
+      """;
+
+    /** Valid comment lines on imported posts, first occurrence of each ref, with their final IDs. */
+    private static final String STAGE_COMMENTS = """
+      CREATE TEMP TABLE import_comments ON COMMIT DROP AS
+      SELECT nextval(pg_get_serial_sequence('comments', 'id')) AS id, s.*
+      FROM (
+        SELECT DISTINCT ON (l.doc->>'ref', CASE WHEN l.doc->>'ref' IS NULL THEN l.line_no END)
+               l.doc->>'ref' AS ref,
+               l.doc->>'parent' AS parent_ref,
+               p.id AS post_id,
+               u.id AS author_id,
+               l.doc->>'content' AS content,
+               COALESCE((l.doc->>'createdAt')::timestamp, LOCALTIMESTAMP) AS created_at
+        FROM import_lines l
+        JOIN import_posts p ON p.ref = l.doc->>'post'
+        JOIN users u ON u.username = l.doc->>'author' AND u.deletion_requested_at IS NULL
+        WHERE l.doc->>'type' = 'comment'
+          AND length(l.doc->>'content') <= 1000
+        ORDER BY l.doc->>'ref', CASE WHEN l.doc->>'ref' IS NULL THEN l.line_no END, l.line_no
+      ) s
+      """;
+
+    private static final String INDEX_COMMENTS = "CREATE INDEX ON import_comments (ref)";
+
+    /** Replies are kept only when their parent is an imported comment on the same post. */
+    private static final String INSERT_COMMENTS = """
+      INSERT INTO comments (id, content, created_at, author_id, post_id, parent_id, reply_count)
+      SELECT c.id, c.content, c.created_at, c.author_id, c.post_id, parent.id, 0
+      FROM import_comments c
+      LEFT JOIN import_comments parent ON parent.ref = c.parent_ref AND parent.post_id = c.post_id
+      WHERE c.parent_ref IS NULL OR parent.id IS NOT NULL
+      """;
+
+    private static final String COUNT_POST_COMMENTS = """
+      UPDATE posts p
+      SET comment_count = s.n
+      FROM (
+        SELECT c.post_id, COUNT(*) AS n
+        FROM comments c JOIN import_posts ip ON ip.id = c.post_id
+        GROUP BY c.post_id
+      ) s
+      WHERE p.id = s.post_id
+      """;
+
+    private static final String COUNT_REPLIES = """
+      UPDATE comments c
+      SET reply_count = s.n
+      FROM (
+        SELECT r.parent_id, COUNT(*) AS n
+        FROM comments r JOIN import_comments ic ON ic.id = r.parent_id
+        GROUP BY r.parent_id
+      ) s
+      WHERE c.id = s.parent_id
+      """;
+
+    private static final String INSERT_LIKES = """
+      WITH inserted AS (
+        INSERT INTO likes (user_id, post_id, liked_at)
+        SELECT DISTINCT ON (u.id, p.id)
+               u.id, p.id, COALESCE((l.doc->>'likedAt')::timestamp, LOCALTIMESTAMP)
+        FROM import_lines l
+        JOIN import_posts p ON p.ref = l.doc->>'post'
+        JOIN users u ON u.username = l.doc->>'user' AND u.deletion_requested_at IS NULL
+        WHERE l.doc->>'type' = 'like'
+        ORDER BY u.id, p.id, l.line_no
+        ON CONFLICT DO NOTHING
+        RETURNING post_id
+      ), counted AS (
+        UPDATE posts p
+        SET like_count = p.like_count + s.n
+        FROM (SELECT post_id, COUNT(*) AS n FROM inserted GROUP BY post_id) s
+        WHERE p.id = s.post_id
+      )
+      SELECT COUNT(*) FROM inserted
+      """;
+
+    /** Both counters of a user are applied in one update, since a row may be updated only once per statement. */
+    private static final String INSERT_FOLLOWS = """
+      WITH inserted AS (
+        INSERT INTO follows (following_user_id, followed_user_id, created_at)
+        SELECT DISTINCT ON (f.id, t.id)
+               f.id, t.id, COALESCE((l.doc->>'createdAt')::timestamp, LOCALTIMESTAMP)
+        FROM import_lines l
+        JOIN users f ON f.username = l.doc->>'follower' AND f.deletion_requested_at IS NULL
+        JOIN users t ON t.username = l.doc->>'followed' AND t.deletion_requested_at IS NULL
+        WHERE l.doc->>'type' = 'follow'
+          AND f.id <> t.id
+        ORDER BY f.id, t.id, l.line_no
+        ON CONFLICT DO NOTHING
+        RETURNING following_user_id, followed_user_id
+      ), deltas AS (
+        SELECT following_user_id AS user_id, 1 AS following, 0 AS followers FROM inserted
+        UNION ALL
+        SELECT followed_user_id, 0, 1 FROM inserted
+      ), counted AS (
+        UPDATE users u
+        SET following_count = u.following_count + d.following,
+            follower_count  = u.follower_count + d.followers
+        FROM (
+          SELECT user_id, SUM(following) AS following, SUM(followers) AS followers
+          FROM deltas GROUP BY user_id
+        ) d
+        WHERE u.id = d.user_id
+      )
+      SELECT COUNT(*) FROM inserted
+      """;
+
+    private final JdbcTemplate jdbc;
+    private final DataSource dataSource;
+    private final FollowGraph followGraph;
+
+    /**
+     * Constructs the importer.
+     *
+     * @param jdbc        template running the merge statements in the current transaction
+     * @param dataSource  data source whose transaction-bound connection performs the {@code COPY}
+     * @param followGraph in-memory graph rebuilt after follows are imported
+     */
+    public BulkImportServiceImpl(JdbcTemplate jdbc, DataSource dataSource, FollowGraph followGraph) {
+        this.jdbc = jdbc;
+        this.dataSource = dataSource;
+        this.followGraph = followGraph;
+    }
+
+    /**
+     * Copy the document into staging, then merge posts, tags, comments, likes and follows
+     * in that order so each can resolve the refs of the ones before it.
+     *
+     * @param ndjson the document
+     * @return what was created
+     * @throws IOException if reading the document fails
+     */
+    @Override
+    @Transactional
+    public ImportResultDTO importNdjson(InputStream ndjson) throws IOException {
+        long start = System.nanoTime();
+        jdbc.execute(CREATE_LINES);
+        copyLines(ndjson);
+        try {
+            jdbc.execute("ANALYZE import_lines");
+            long lines = Objects.requireNonNull(jdbc.queryForObject(COUNT_LINES, Long.class));
+
+            jdbc.execute(STAGE_POSTS);
+            jdbc.execute(INDEX_POSTS);
+            jdbc.execute("ANALYZE import_posts");
+            long posts = jdbc.update(INSERT_POSTS);
+            jdbc.update(INSERT_TAGS);
+
+            jdbc.execute(STAGE_COMMENTS);
+            jdbc.execute(INDEX_COMMENTS);
+            jdbc.execute("ANALYZE import_comments");
+            long comments = jdbc.update(INSERT_COMMENTS);
+            jdbc.update(COUNT_POST_COMMENTS);
+            jdbc.update(COUNT_REPLIES);
+
+            long likes = Objects.requireNonNull(jdbc.queryForObject(INSERT_LIKES, Long.class));
+            long follows = Objects.requireNonNull(jdbc.queryForObject(INSERT_FOLLOWS, Long.class));
+            if (follows > 0) {
+                rebuildFollowGraphAfterCommit();
+            }
+
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            long skipped = lines - posts - comments - likes - follows;
+            log.info("Imported {} lines in {} ms: {} posts, {} comments, {} likes, {} follows, {} skipped",
+                    lines, elapsed, posts, comments, likes, follows, skipped);
+            return new ImportResultDTO(lines, posts, comments, likes, follows, skipped, elapsed);
+        } catch (DataIntegrityViolationException e) {
+            throw new InvalidImportException(e.getMostSpecificCause().getMessage(), e);
+        }
+    }
+
+    /**
+     * Stream the document into the staging table over the transaction's connection.
+     *
+     * @param ndjson the document
+     * @throws IOException if reading the document fails
+     */
+    private void copyLines(InputStream ndjson) throws IOException {
+        Connection con = DataSourceUtils.getConnection(dataSource);
+        try {
+            con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_LINES, ndjson);
+        } catch (SQLException e) {
+            if (e.getSQLState() != null && e.getSQLState().startsWith("22")) {
+                throw new InvalidImportException(e.getMessage(), e);
+            }
+            throw Objects.requireNonNull(jdbc.getExceptionTranslator().translate("COPY", COPY_LINES, e));
+        } finally {
+            DataSourceUtils.releaseConnection(con, dataSource);
+        }
+    }
+
+    /**
+     * Rebuild the follow graph once the imported follows are visible to its reload query.
+     */
+    private void rebuildFollowGraphAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            followGraph.rebuild();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                followGraph.rebuild();
+            }
+        });
+    }
+}
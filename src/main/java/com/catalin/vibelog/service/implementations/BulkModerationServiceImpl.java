@@ -0,0 +1,312 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.config.TaskExecutorConfig;
+import com.catalin.vibelog.dto.response.BulkJobDTO;
+import com.catalin.vibelog.exception.CapacityExceededException;
+import com.catalin.vibelog.exception.ResourceNotFoundException;
+import com.catalin.vibelog.exception.UserNotFoundException;
+import com.catalin.vibelog.model.enums.BulkJobStatus;
+import com.catalin.vibelog.model.enums.BulkJobType;
+import com.catalin.vibelog.repository.CommentRepository;
+import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.BulkModerationService;
+import com.catalin.vibelog.service.ContentPurger;
+import com.catalin.vibelog.service.ContentPurger.Deleted;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Default implementation of {@link BulkModerationService}.
+ * <p>
+ * Targets are selected in ascending ID chunks by keyset, and every chunk is deleted
+ * in its own transaction by the set-based {@link ContentPurger} instead of loading and
+ * cascading entity by entity. A failed chunk rolls back alone; chunks committed before
+ * it stay deleted and the job is reported as failed. Media blobs of deleted posts are
+ * left to the storage garbage collector. Jobs run on a dedicated bounded executor, so
+ * they never hold threads of the shared async pool, pause between chunks to leave room
+ * for regular traffic, and are kept in memory on this instance for a retention period
+ * after they finish. A job submitted while that executor is full is refused.
+ * </p>
+ */
+@Service
+public class BulkModerationServiceImpl implements BulkModerationService {
+    private static final Logger log = LoggerFactory.getLogger(BulkModerationServiceImpl.class);
+
+    private final PostRepository postRepo;
+    private final CommentRepository commentRepo;
+    private final UserRepository userRepo;
+    private final ContentPurger purger;
+    private final TaskExecutor executor;
+    private final int chunkSize;
+    private final Duration chunkPause;
+    private final Cache<String, Job> jobs;
+
+    /**
+     * Constructs the bulk moderation service.
+     *
+     * @param postRepo     repository selecting posts to delete
+     * @param commentRepo  repository selecting comments to delete
+     * @param userRepo     repository resolving the user whose content is purged
+     * @param purger       deletes each chunk in its own transaction
+     * @param executor     dedicated executor running the jobs
+     * @param chunkSize    number of targets deleted per transaction
+     * @param chunkPause   pause between two chunks
+     * @param jobRetention how long a finished job's progress stays available
+     */
+    public BulkModerationServiceImpl(PostRepository postRepo,
+                                     CommentRepository commentRepo,
+                                     UserRepository userRepo,
+                                     ContentPurger purger,
+                                     @Qualifier(TaskExecutorConfig.BULK_MODERATION_EXECUTOR) TaskExecutor executor,
+                                     @Value("${vibelog.moderation.bulk.chunk-size:500}") int chunkSize,
+                                     @Value("${vibelog.moderation.bulk.chunk-pause:PT0.1S}") Duration chunkPause,
+                                     @Value("${vibelog.moderation.bulk.job-retention:PT24H}") Duration jobRetention) {
+        this.postRepo = postRepo;
+        this.commentRepo = commentRepo;
+        this.userRepo = userRepo;
+        this.purger = purger;
+        this.executor = executor;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunkPause = chunkPause;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(jobRetention)
+                .build();
+    }
+
+    /**
+     * Delete the posts in ascending ID chunks.
+     *
+     * @param postIds IDs of the posts to delete
+     * @return the started job
+     */
+    @Override
+    public BulkJobDTO startPostDeletion(List<Long> postIds) {
+        List<Long> ids = postIds.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        return submit(BulkJobType.DELETE_POSTS, ids.size(), job -> {
+            for (List<Long> chunk : partition(ids)) {
+                deletePostChunk(job, chunk);
+                pause();
+            }
+        });
+    }
+
+    /**
+     * Delete the user's posts first, which also removes the comments on them,
+     * then the user's remaining comments.
+     *
+     * @param username the user whose content is purged
+     * @return the started job
+     */
+    @Override
+    public BulkJobDTO startUserPurge(String username) {
+        Long userId = userRepo.findIdentityByUsername(username)
+                .map(UserIdentity::id)
+                .orElseThrow(() -> new UserNotFoundException(username));
+        long total = postRepo.countByAuthorId(userId) + commentRepo.countByAuthorId(userId);
+        return submit(BulkJobType.PURGE_USER, total, job -> {
+            drain(after -> postRepo.findIdsByAuthorIdAfter(userId, after, chunkLimit()),
+                    chunk -> deletePostChunk(job, chunk));
+            drain(after -> commentRepo.findIdsByAuthorIdAfter(userId, after, chunkLimit()),
+                    chunk -> deleteCommentChunk(job, chunk));
+        });
+    }
+
+    /**
+     * Delete the matching comments in ascending ID chunks.
+     *
+     * @param contains the text to match
+     * @return the started job
+     */
+    @Override
+    public BulkJobDTO startCommentPurge(String contains) {
+        long total = commentRepo.countByContentContainingIgnoreCase(contains);
+        return submit(BulkJobType.DELETE_COMMENTS, total, job ->
+                drain(after -> commentRepo.findIdsByContentContainingAfter(contains, after, chunkLimit()),
+                        chunk -> deleteCommentChunk(job, chunk)));
+    }
+
+    /**
+     * Look up a job still held in memory.
+     *
+     * @param jobId the job's identifier
+     * @return the job's progress
+     */
+    @Override
+    public BulkJobDTO getJob(String jobId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Bulk moderation job not found: " + jobId);
+        }
+        return job.toDto();
+    }
+
+    /**
+     * Register a job and hand its work to the executor.
+     *
+     * @param type  what the job deletes
+     * @param total number of targets selected up front
+     * @param work  the chunk loop
+     * @return the job's initial progress
+     * @throws CapacityExceededException if the executor is full
+     */
+    private BulkJobDTO submit(BulkJobType type, long total, Consumer<Job> work) {
+        Job job = new Job(UUID.randomUUID().toString(), type, total);
+        try {
+            executor.execute(() -> run(job, work));
+        } catch (TaskRejectedException e) {
+            throw new CapacityExceededException("Too many bulk moderation jobs are running; try again later");
+        }
+        jobs.put(job.id, job);
+        return job.toDto();
+    }
+
+    /**
+     * Run a job's chunk loop and record its outcome.
+     *
+     * @param job  the job to run
+     * @param work the chunk loop
+     */
+    private void run(Job job, Consumer<Job> work) {
+        try {
+            work.accept(job);
+            job.finish(BulkJobStatus.COMPLETED, null);
+            log.info("Bulk moderation job {} ({}) deleted {} posts and {} comments",
+                    job.id, job.type, job.deletedPosts.get(), job.deletedComments.get());
+        } catch (RuntimeException e) {
+            job.finish(BulkJobStatus.FAILED, e.getMessage());
+            log.warn("Bulk moderation job {} ({}) failed after {} of {} targets: {}",
+                    job.id, job.type, job.processed.get(), job.total, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Feed keyset chunks to a deletion step until the selection runs dry.
+     *
+     * @param nextChunk   returns the next chunk of IDs above the given one
+     * @param deleteChunk deletes one chunk in its own transaction
+     */
+    private void drain(LongFunction<List<Long>> nextChunk, Consumer<List<Long>> deleteChunk) {
+        long after = 0;
+        List<Long> chunk;
+        while (!(chunk = nextChunk.apply(after)).isEmpty()) {
+            deleteChunk.accept(chunk);
+            after = chunk.get(chunk.size() - 1);
+            pause();
+        }
+    }
+
+    /**
+     * Delete a chunk of posts with their reblogs and dependents.
+     *
+     * @param job the job to report progress to
+     * @param ids IDs of the selected posts
+     */
+    private void deletePostChunk(Job job, List<Long> ids) {
+        job.record(ids.size(), purger.deletePosts(ids));
+    }
+
+    /**
+     * Delete a chunk of comments with their replies and reports.
+     *
+     * @param job the job to report progress to
+     * @param ids IDs of the selected comments
+     */
+    private void deleteCommentChunk(Job job, List<Long> ids) {
+        job.record(ids.size(), purger.deleteComments(ids));
+    }
+
+    /**
+     * Split IDs into consecutive chunks of at most the chunk size, keeping their order.
+     *
+     * @param ids the IDs to split
+     * @return the chunks
+     */
+    private List<List<Long>> partition(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * @return a page request limiting a keyset query to one chunk
+     */
+    private Pageable chunkLimit() {
+        return PageRequest.of(0, chunkSize);
+    }
+
+    /**
+     * Throttle the job between chunks so it does not monopolize the database.
+     */
+    private void pause() {
+        if (chunkPause.isZero() || chunkPause.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(chunkPause.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Mutable progress of one job, updated by the worker and read by pollers.
+     */
+    private static final class Job {
+        private final String id;
+        private final BulkJobType type;
+        private final long total;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong deletedPosts = new AtomicLong();
+        private final AtomicLong deletedComments = new AtomicLong();
+        private volatile BulkJobStatus status = BulkJobStatus.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Job(String id, BulkJobType type, long total) {
+            this.id = id;
+            this.type = type;
+            this.total = total;
+        }
+
+        private void record(int selected, Deleted deleted) {
+            deletedPosts.addAndGet(deleted.posts());
+            deletedComments.addAndGet(deleted.comments());
+            processed.addAndGet(selected);
+        }
+
+        private void finish(BulkJobStatus outcome, String message) {
+            this.error = message;
+            this.finishedAt = LocalDateTime.now();
+            this.status = outcome;
+        }
+
+        private BulkJobDTO toDto() {
+            return new BulkJobDTO(id, type, status, total, processed.get(),
+                    deletedPosts.get(), deletedComments.get(), startedAt, finishedAt, error);
+        }
+    }
+}
@@ -2,117 +2,174 @@ package com.catalin.vibelog.service.implementations;
 
 import com.catalin.vibelog.dto.request.CommentRequest;
 import com.catalin.vibelog.dto.response.CommentResponse;
+import com.catalin.vibelog.dto.response.CursorPageDTO;
 import com.catalin.vibelog.events.CommentEvent;
 import com.catalin.vibelog.exception.CommentNotFoundException;
 import com.catalin.vibelog.exception.PostNotFoundException;
 import com.catalin.vibelog.exception.UnauthorizedActionException;
 import com.catalin.vibelog.model.Comment;
-import com.catalin.vibelog.model.Post;
-import com.catalin.vibelog.model.User;
+import com.catalin.vibelog.model.enums.ReportTarget;
 import com.catalin.vibelog.repository.CommentRepository;
+import com.catalin.vibelog.repository.ModerationQueueRepository;
 import com.catalin.vibelog.repository.PostRepository;
 import com.catalin.vibelog.repository.ReportRepository;
 import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.UserIdentity;
 import com.catalin.vibelog.service.CommentService;
-import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.data.domain.Sort;
+import com.catalin.vibelog.service.EventBus;
+import com.catalin.vibelog.service.KeysetCursor;
+import com.catalin.vibelog.service.UserLookupService;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Default implementation of {@link CommentService}, handling creation, retrieval,
  * updating, and deletion of comments on posts.
  * Read-only methods are marked {@code readOnly=true}, and mutating methods
  * run within transactions to ensure atomicity and rollback.
+ * <p>
+ * Listings are keyset-paged projections, and the per-post comment count and
+ * per-comment reply count are denormalized counters adjusted on every insert and delete.
+ * </p>
  */
 @Service
 @Transactional
 public class CommentServiceImpl implements CommentService {
 
-    private final ApplicationEventPublisher publisher;
+    /** Upper bound for list page sizes. */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final EventBus publisher;
     private final ReportRepository  reportRepo;
     private final CommentRepository commentRepo;
     private final PostRepository    postRepo;
     private final UserRepository    userRepo;
+    private final UserLookupService userLookup;
+    private final ModerationQueueRepository queueRepo;
 
     /**
-     * Constructs the comment service with required repositories and event publisher.
+     * Constructs the comment service with required repositories and event bus.
      *
      * @param reportRepo   repository for cleaning up reports on moderation actions
-     * @param publisher    event publisher for firing comment events
+     * @param publisher    event bus publishing comment events to every instance
      * @param commentRepo  repository for comment persistence and queries
      * @param postRepo     repository for validating posts
-     * @param userRepo     repository for validating users
+     * @param userRepo     repository providing author references
+     * @param userLookup   cached resolver from username to user identity
+     * @param queueRepo    moderation queue, cleared of a comment once it is deleted
      */
     public CommentServiceImpl(ReportRepository  reportRepo,
-                              ApplicationEventPublisher publisher,
+                              EventBus publisher,
                               CommentRepository commentRepo,
                               PostRepository postRepo,
-                              UserRepository userRepo) {
+                              UserRepository userRepo,
+                              UserLookupService userLookup,
+                              ModerationQueueRepository queueRepo) {
         this.reportRepo = reportRepo;
         this.publisher = publisher;
         this.commentRepo = commentRepo;
         this.postRepo = postRepo;
         this.userRepo = userRepo;
+        this.userLookup = userLookup;
+        this.queueRepo = queueRepo;
     }
 
     /**
-     * Add a new comment under the specified post authored by the given user.
-     * Publishes a {@link CommentEvent} after successful creation.
+     * Add a new comment or reply under the specified post authored by the given user,
+     * and bump the post's comment counter (and the parent's reply counter for a reply).
+     * <p>
+     * Neither the post nor the author entity is loaded: both are set as reference proxies,
+     * the post's existence and author username come from one scalar query, and the parent
+     * is resolved with another. The published {@link CommentEvent} is handled after commit.
+     * </p>
      *
      * @param postId         the ID of the post to comment on
-     * @param req            the {@link CommentRequest} containing comment content
+     * @param req            the {@link CommentRequest} containing comment content and optional parent
      * @param authorUsername the username of the commenter (authenticated user)
      * @return the created {@link CommentResponse}
      * @throws PostNotFoundException        if no post exists with the given ID
+     * @throws CommentNotFoundException     if the parent comment does not exist on this post
      * @throws IllegalStateException        if the author user cannot be found
      */
     @Override
     public CommentResponse addComment(Long postId, CommentRequest req, String authorUsername) {
-        Post post = postRepo.findById(postId)
+        String postAuthorUsername = postRepo.findAuthorUsernameById(postId)
                 .orElseThrow(() -> new PostNotFoundException(postId));
-        User author = userRepo.findByUsername(authorUsername)
+        UserIdentity author = userLookup.findByUsername(authorUsername)
                 .orElseThrow(() -> new IllegalStateException("Authenticated user not found: " + authorUsername));
+        Long parentId = resolveParentId(postId, req.parentId());
         Comment comment = new Comment();
         comment.setContent(req.content());
-        comment.setCreatedAt(LocalDateTime.now());
-        comment.setAuthor(author);
-        comment.setPost(post);
+        comment.setAuthor(userRepo.getReferenceById(author.id()));
+        comment.setPost(postRepo.getReferenceById(postId));
+        comment.setParentId(parentId);
         Comment saved = commentRepo.save(comment);
+        postRepo.incrementCommentCount(postId, 1);
+        if (parentId != null) {
+            commentRepo.incrementReplyCount(parentId, 1);
+        }
 
-        publisher.publishEvent(new CommentEvent(
+        publisher.publish(new CommentEvent(
                 this,
-                post.getId(),
+                postId,
                 saved.getId(),
-                author.getUsername(),
-                post.getAuthor().getUsername()
+                author.username(),
+                postAuthorUsername
         ));
 
-        return toDto(saved);
+        // build from the identity so the author reference is never initialized
+        return new CommentResponse(
+                saved.getId(), saved.getContent(), author.username(), saved.getCreatedAt(), parentId, 0);
     }
 
     /**
-     * List all comments for the given post, ordered by creation time ascending.
+     * List one page of a post's top-level comments, oldest first, with a single
+     * projection query; the post's existence is only checked when the page is empty.
      *
      * @param postId the ID of the post whose comments to retrieve
-     * @return a list of {@link CommentResponse} DTOs
+     * @param cursor cursor returned with the previous page, or {@code null} for the first page
+     * @param size   maximum number of comments to return, clamped to 1..100
+     * @return the page of comments and the cursor for the next page
      * @throws PostNotFoundException if no post exists with the given ID
      */
     @Override
     @Transactional(readOnly = true)
-    public List<CommentResponse> listComments(Long postId) {
-        if (!postRepo.existsById(postId)) {
+    public CursorPageDTO<CommentResponse> listComments(Long postId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor, KeysetCursor.EARLIEST);
+        int pageSize = clamp(size);
+        List<CommentResponse> rows = commentRepo.findTopLevelPage(
+                postId, after.timestamp(), after.id(), PageRequest.of(0, pageSize + 1));
+        if (rows.isEmpty() && !postRepo.existsById(postId)) {
             throw new PostNotFoundException(postId);
         }
-        return commentRepo
-                .findAllByPostId(postId, Sort.by("createdAt").ascending())
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return toPage(rows, pageSize);
+    }
+
+    /**
+     * List one page of the replies to a comment, oldest first, with a single
+     * projection query; the comment's existence is only checked when the page is empty.
+     *
+     * @param commentId the ID of the comment whose replies to retrieve
+     * @param cursor    cursor returned with the previous page, or {@code null} for the first page
+     * @param size      maximum number of replies to return, clamped to 1..100
+     * @return the page of replies and the cursor for the next page
+     * @throws CommentNotFoundException if no comment exists with the given ID
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CommentResponse> listReplies(Long commentId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor, KeysetCursor.EARLIEST);
+        int pageSize = clamp(size);
+        List<CommentResponse> rows = commentRepo.findRepliesPage(
+                commentId, after.timestamp(), after.id(), PageRequest.of(0, pageSize + 1));
+        if (rows.isEmpty() && !commentRepo.existsById(commentId)) {
+            throw new CommentNotFoundException(commentId);
+        }
+        return toPage(rows, pageSize);
     }
 
     /**
@@ -127,7 +184,7 @@ public class CommentServiceImpl implements CommentService {
      */
     @Override
     public CommentResponse updateComment(Long commentId, CommentRequest req, String authorUsername) {
-        Comment comment = commentRepo.findById(commentId)
+        Comment comment = commentRepo.findWithAuthorById(commentId)
                 .orElseThrow(() -> new CommentNotFoundException(commentId));
         if (!comment.getAuthor().getUsername().equals(authorUsername)) {
             throw new UnauthorizedActionException(
@@ -140,7 +197,7 @@ public class CommentServiceImpl implements CommentService {
     }
 
     /**
-     * Delete a comment. Only the original author may perform this action.
+     * Delete a comment together with its replies. Only the original author may perform this action.
      *
      * @param commentId      the ID of the comment to delete
      * @param authorUsername the username of the user attempting deletion
@@ -149,17 +206,17 @@ public class CommentServiceImpl implements CommentService {
      */
     @Override
     public void deleteComment(Long commentId, String authorUsername) {
-        Comment comment = commentRepo.findById(commentId)
+        Comment comment = commentRepo.findWithAuthorById(commentId)
                 .orElseThrow(() -> new CommentNotFoundException(commentId));
         if (!comment.getAuthor().getUsername().equals(authorUsername)) {
             throw new UnauthorizedActionException(
                     "User '" + authorUsername + "' is not the author of comment " + commentId);
         }
-        commentRepo.delete(comment);
+        deleteWithReplies(comment);
     }
 
     /**
-     * Delete a comment as a moderator, deleting associated reports first.
+     * Delete a comment and its replies as a moderator, deleting associated reports first.
      *
      * @param commentId the ID of the comment to delete
      * @throws CommentNotFoundException if no comment exists with the given ID
@@ -169,7 +226,72 @@ public class CommentServiceImpl implements CommentService {
         Comment comment = commentRepo.findById(commentId)
                 .orElseThrow(() -> new CommentNotFoundException(commentId));
         reportRepo.deleteAllByCommentId(commentId);
+        deleteWithReplies(comment);
+    }
+
+    /**
+     * Resolve the parent a new comment should be attached to. Threads are one level deep,
+     * so a reply to a reply is attached to that reply's top-level comment.
+     *
+     * @param postId            the ID of the post being commented on
+     * @param requestedParentId the parent named in the request, or {@code null}
+     * @return the ID of the top-level parent, or {@code null} for a top-level comment
+     * @throws CommentNotFoundException if the parent does not exist on this post
+     */
+    private Long resolveParentId(Long postId, Long requestedParentId) {
+        if (requestedParentId == null) {
+            return null;
+        }
+        return commentRepo.findThreadRootId(requestedParentId, postId)
+                .orElseThrow(() -> new CommentNotFoundException(requestedParentId));
+    }
+
+    /**
+     * Delete a comment, and its replies if it is a top-level comment, keeping
+     * the post's comment counter and the parent's reply counter in step and
+     * clearing the moderation queue of every deleted comment.
+     *
+     * @param comment the comment to delete
+     */
+    private void deleteWithReplies(Comment comment) {
+        int removed = 1;
+        if (comment.getParentId() == null) {
+            queueRepo.deleteByTargets(ReportTarget.COMMENT,
+                    commentRepo.findIdsWithReplies(List.of(comment.getId())));
+            reportRepo.deleteAllByCommentParentId(comment.getId());
+            removed += commentRepo.deleteAllByParentId(comment.getId());
+        } else {
+            queueRepo.deleteByTarget(ReportTarget.COMMENT, comment.getId());
+            commentRepo.incrementReplyCount(comment.getParentId(), -1);
+        }
         commentRepo.delete(comment);
+        postRepo.incrementCommentCount(comment.getPost().getId(), -removed);
+    }
+
+    /**
+     * Trim a result fetched with one extra row into a page and derive the next cursor.
+     *
+     * @param rows     up to {@code pageSize + 1} rows in listing order
+     * @param pageSize the requested page size
+     * @return the page, with a cursor only if more rows exist
+     */
+    private CursorPageDTO<CommentResponse> toPage(List<CommentResponse> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new CursorPageDTO<>(rows, null);
+        }
+        List<CommentResponse> page = rows.subList(0, pageSize);
+        CommentResponse last = page.get(pageSize - 1);
+        return new CursorPageDTO<>(List.copyOf(page), new KeysetCursor(last.createdAt(), last.id()).encode());
+    }
+
+    /**
+     * Clamp a requested page size to the supported range.
+     *
+     * @param size the requested size
+     * @return a size between 1 and {@link #MAX_PAGE_SIZE}
+     */
+    private static int clamp(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
 
     /**
@@ -183,7 +305,9 @@ public class CommentServiceImpl implements CommentService {
                 c.getId(),
                 c.getContent(),
                 c.getAuthor().getUsername(),
-                c.getCreatedAt()
+                c.getCreatedAt(),
+                c.getParentId(),
+                c.getReplyCount()
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,161 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.events.ClusterEvent;
+import com.catalin.vibelog.events.FollowEvent;
+import com.catalin.vibelog.events.UnfollowEvent;
+import com.catalin.vibelog.model.FollowId;
+import com.catalin.vibelog.repository.FollowRepository;
+import com.catalin.vibelog.service.FollowGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * {@link FollowGraph} made of an immutable {@link FollowGraphSnapshot} plus a small
+ * overlay of follows and unfollows committed since the snapshot was loaded.
+ * <p>
+ * Every overlay edit carries a sequence number. A rebuild notes the current sequence
+ * before reading the follows table, swaps in the new snapshot and then drops only the
+ * edits up to that mark, since those are already part of the snapshot; edits that
+ * commit while the rebuild is running stay in the overlay. Each instance holds its own
+ * graph and receives the follows and unfollows of all instances through the event relay,
+ * in commit order per follower.
+ * </p>
+ */
+@Service
+public class CsrFollowGraph implements FollowGraph {
+    private static final Logger log = LoggerFactory.getLogger(CsrFollowGraph.class);
+
+    private final FollowRepository followRepo;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Map<Long, Edit>> overlay = new ConcurrentHashMap<>();
+    private volatile FollowGraphSnapshot snapshot = FollowGraphSnapshot.EMPTY;
+
+    /**
+     * Constructs the graph; it starts empty until the first {@link #rebuild()}.
+     *
+     * @param followRepo repository streaming the follow edges
+     */
+    public CsrFollowGraph(FollowRepository followRepo) {
+        this.followRepo = followRepo;
+    }
+
+    /**
+     * Followees from the snapshot, minus overlay unfollows, plus overlay follows.
+     *
+     * @param userId the ID of the follower
+     * @return the followee IDs
+     */
+    @Override
+    public long[] following(long userId) {
+        FollowGraphSnapshot current = snapshot;
+        long[] base = current.following(userId);
+        Map<Long, Edit> edits = overlay.get(userId);
+        if (edits == null) {
+            return base;
+        }
+        LongStream kept = Arrays.stream(base).filter(id -> {
+            Edit edit = edits.get(id);
+            return edit == null || edit.present();
+        });
+        LongStream added = edits.entrySet().stream()
+                .filter(e -> e.getValue().present() && !current.contains(userId, e.getKey()))
+                .mapToLong(Map.Entry::getKey);
+        return LongStream.concat(kept, added).toArray();
+    }
+
+    /**
+     * Stream every follow edge into primitive arrays and replace the snapshot,
+     * then drop the overlay edits the new snapshot already reflects.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long mark = sequence.get();
+        long started = System.nanoTime();
+        EdgeBuffer edges = new EdgeBuffer();
+        try (Stream<FollowId> ids = followRepo.streamAllIds()) {
+            ids.forEach(id -> edges.add(id.getFollowingUserId(), id.getFollowedUserId()));
+        }
+        snapshot = FollowGraphSnapshot.of(edges.followers, edges.followees, edges.size);
+        for (Long followerId : overlay.keySet()) {
+            overlay.computeIfPresent(followerId, (id, edits) -> {
+                edits.values().removeIf(edit -> edit.seq() <= mark);
+                return edits.isEmpty() ? null : edits;
+            });
+        }
+        log.info("Follow graph rebuilt: {} users, {} edges in {} ms",
+                snapshot.userCount(), snapshot.edgeCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Apply a follow committed on any instance to the overlay.
+     *
+     * @param ev the relayed event carrying both user IDs
+     */
+    @EventListener
+    public void onFollow(ClusterEvent<FollowEvent> ev) {
+        record(ev.event.followerId, ev.event.followedId, true);
+    }
+
+    /**
+     * Apply an unfollow committed on any instance to the overlay.
+     *
+     * @param ev the relayed event carrying both user IDs
+     */
+    @EventListener
+    public void onUnfollow(ClusterEvent<UnfollowEvent> ev) {
+        record(ev.event.followerId, ev.event.followedId, false);
+    }
+
+    /**
+     * Store the latest state of an edge, stamped with the next sequence number.
+     *
+     * @param followerId the ID of the follower
+     * @param followeeId the ID of the followee
+     * @param present    whether the edge now exists
+     */
+    private void record(Long followerId, Long followeeId, boolean present) {
+        overlay.compute(followerId, (id, edits) -> {
+            Map<Long, Edit> target = edits != null ? edits : new ConcurrentHashMap<>();
+            target.put(followeeId, new Edit(present, sequence.incrementAndGet()));
+            return target;
+        });
+    }
+
+    /**
+     * Latest known state of one edge in the overlay.
+     *
+     * @param present whether the edge exists
+     * @param seq     sequence number of the edit
+     */
+    private record Edit(boolean present, long seq) {}
+
+    /**
+     * Growable pair of primitive arrays collecting edges during a rebuild.
+     */
+    private static final class EdgeBuffer {
+        private long[] followers = new long[1024];
+        private long[] followees = new long[1024];
+        private int size;
+
+        private void add(long follower, long followee) {
+            if (size == followers.length) {
+                followers = Arrays.copyOf(followers, size * 2);
+                followees = Arrays.copyOf(followees, size * 2);
+            }
+            followers[size] = follower;
+            followees[size] = followee;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.exception.CapacityExceededException;
+import com.catalin.vibelog.exception.ResourceNotFoundException;
+import com.catalin.vibelog.model.enums.ExportFormat;
+import com.catalin.vibelog.repository.CommentRepository;
+import com.catalin.vibelog.repository.LikeRepository;
+import com.catalin.vibelog.repository.MediaRepository;
+import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.MediaExportRow;
+import com.catalin.vibelog.service.DataExportService;
+import com.catalin.vibelog.service.StorageService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Default implementation of {@link DataExportService}.
+ * <p>
+ * Every section is read through a forward-only {@code Stream} of projections with a
+ * large JDBC fetch size, all inside one read-only transaction so the export is a
+ * consistent snapshot. Each row becomes one {@code {"type": ..., "data": ...}} line.
+ * The ZIP format wraps the same document as {@code data.ndjson} and then copies each
+ * listed media file into {@code media/}, re-reading the manifest rather than holding
+ * it in memory; files missing from storage are skipped.
+ * </p>
+ * <p>
+ * Slots are counted by a semaphore on this instance, bounding how many connections
+ * of the pool exports can hold at once.
+ * </p>
+ */
+@Service
+public class DataExportServiceImpl implements DataExportService {
+    private static final Logger log = LoggerFactory.getLogger(DataExportServiceImpl.class);
+
+    private final UserRepository userRepo;
+    private final PostRepository postRepo;
+    private final CommentRepository commentRepo;
+    private final LikeRepository likeRepo;
+    private final MediaRepository mediaRepo;
+    private final StorageService storageService;
+    private final ObjectMapper mapper;
+    private final Semaphore slots;
+
+    /**
+     * Constructs the export service.
+     *
+     * @param userRepo       repository for the profile section
+     * @param postRepo       repository streaming posts and their tags
+     * @param commentRepo    repository streaming comments
+     * @param likeRepo       repository streaming likes
+     * @param mediaRepo      repository streaming the media manifest
+     * @param storageService storage backend the media files are copied from
+     * @param mapper         JSON mapper used for every line
+     * @param maxConcurrent  maximum number of exports running at once on this instance
+     */
+    public DataExportServiceImpl(UserRepository userRepo,
+                                 PostRepository postRepo,
+                                 CommentRepository commentRepo,
+                                 LikeRepository likeRepo,
+                                 MediaRepository mediaRepo,
+                                 StorageService storageService,
+                                 ObjectMapper mapper,
+                                 @Value("${vibelog.export.max-concurrent:2}") int maxConcurrent) {
+        this.userRepo = userRepo;
+        this.postRepo = postRepo;
+        this.commentRepo = commentRepo;
+        this.likeRepo = likeRepo;
+        this.mediaRepo = mediaRepo;
+        this.storageService = storageService;
+        this.mapper = mapper;
+        this.slots = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    /**
+     * Take a slot without waiting.
+     *
+     * @return the slot, releasing its permit on the first close
+     * @throws CapacityExceededException if every slot is taken
+     */
+    @Override
+    public Slot reserve() {
+        if (!slots.tryAcquire()) {
+            throw new CapacityExceededException("Too many data exports are running; try again later");
+        }
+        AtomicBoolean open = new AtomicBoolean(true);
+        return () -> {
+            if (open.compareAndSet(true, false)) {
+                slots.release();
+            }
+        };
+    }
+
+    /**
+     * Write the NDJSON document, zipped together with the media files if requested.
+     *
+     * @param userId the ID of the user to export
+     * @param format the output format
+     * @param out    the destination
+     * @throws IOException if writing to the destination fails
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void export(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        if (format == ExportFormat.ZIP) {
+            ZipOutputStream zip = new ZipOutputStream(out);
+            zip.putNextEntry(new ZipEntry("data.ndjson"));
+            writeDocument(userId, zip);
+            zip.closeEntry();
+            writeMediaFiles(userId, zip);
+            zip.finish();
+        } else {
+            writeDocument(userId, out);
+        }
+        out.flush();
+    }
+
+    /**
+     * Write one line per exported row, section by section.
+     *
+     * @param userId the ID of the user to export
+     * @param out    the destination, left open
+     * @throws IOException if writing fails
+     */
+    private void writeDocument(Long userId, OutputStream out) throws IOException {
+        try (SequenceWriter lines = mapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            userRepo.findProfileById(userId).ifPresent(profile -> writeLine(lines, "profile", profile));
+            try (Stream<?> rows = postRepo.streamExportRowsByAuthorId(userId)) {
+                writeLines(lines, "post", rows);
+            }
+            try (Stream<?> rows = postRepo.streamExportTagsByAuthorId(userId)) {
+                writeLines(lines, "tag", rows);
+            }
+            try (Stream<?> rows = commentRepo.streamExportRowsByAuthorId(userId)) {
+                writeLines(lines, "comment", rows);
+            }
+            try (Stream<?> rows = likeRepo.streamExportRowsByUserId(userId)) {
+                writeLines(lines, "like", rows);
+            }
+            try (Stream<?> rows = mediaRepo.streamExportRowsByAuthorId(userId)) {
+                writeLines(lines, "media", rows);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.write('\n');
+    }
+
+    /**
+     * Copy every media file of the user's posts into the archive.
+     *
+     * @param userId the ID of the user to export
+     * @param zip    the archive being written
+     * @throws IOException if writing to the archive fails
+     */
+    private void writeMediaFiles(Long userId, ZipOutputStream zip) throws IOException {
+        try (Stream<MediaExportRow> rows = mediaRepo.streamExportRowsByAuthorId(userId)) {
+            Iterator<MediaExportRow> it = rows.iterator();
+            while (it.hasNext()) {
+                MediaExportRow media = it.next();
+                InputStream in;
+                try {
+                    in = storageService.loadAsResource(media.url()).getInputStream();
+                } catch (ResourceNotFoundException | IOException e) {
+                    log.warn("Skipping media {} in export of user {}: {}", media.id(), userId, e.getMessage());
+                    continue;
+                }
+                try (in) {
+                    zip.putNextEntry(new ZipEntry("media/" + media.id() + extension(media.url())));
+                    in.transferTo(zip);
+                    zip.closeEntry();
+                }
+            }
+        }
+    }
+
+    /**
+     * Write each row of a section as its own line.
+     *
+     * @param lines the line writer
+     * @param type  the section name
+     * @param rows  the rows to write
+     */
+    private void writeLines(SequenceWriter lines, String type, Stream<?> rows) {
+        rows.forEach(row -> writeLine(lines, type, row));
+    }
+
+    /**
+     * Write a single line.
+     *
+     * @param lines the line writer
+     * @param type  the section name
+     * @param data  the row
+     */
+    private void writeLine(SequenceWriter lines, String type, Object data) {
+        try {
+            lines.write(new ExportLine(type, data));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param url the URL a media file is served from
+     * @return the file extension including its dot, or an empty string
+     */
+    private static String extension(String url) {
+        String name = url.substring(url.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(dot) : "";
+    }
+
+    /**
+     * One line of the export document.
+     *
+     * @param type the section the row belongs to
+     * @param data the exported row
+     */
+    private record ExportLine(String type, Object data) {}
+}
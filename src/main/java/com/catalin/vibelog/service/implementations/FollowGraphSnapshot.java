@@ -0,0 +1,115 @@
+package com.catalin.vibelog.service.implementations;
+
+import java.util.Arrays;
+
+/**
+ * Immutable follow graph in compressed sparse row (CSR) form.
+ * <p>
+ * User IDs are mapped to dense indices through the sorted {@code userIds} array;
+ * the followees of the user at index {@code i} are the dense indices
+ * {@code targets[offsets[i]] .. targets[offsets[i + 1] - 1]}, sorted ascending.
+ * The whole graph therefore takes three primitive arrays, roughly
+ * {@code 12 * users + 4 * edges} bytes, and no per-edge objects.
+ * </p>
+ */
+public final class FollowGraphSnapshot {
+
+    /** A graph without users or edges. */
+    public static final FollowGraphSnapshot EMPTY = new FollowGraphSnapshot(new long[0], new int[1], new int[0]);
+
+    private final long[] userIds;
+    private final int[] offsets;
+    private final int[] targets;
+
+    private FollowGraphSnapshot(long[] userIds, int[] offsets, int[] targets) {
+        this.userIds = userIds;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Build a snapshot from parallel arrays of follow edges, in any order.
+     *
+     * @param followers  follower ID of each edge
+     * @param followees  followee ID of each edge
+     * @param edgeCount  number of edges stored in the arrays
+     * @return the compressed graph
+     */
+    public static FollowGraphSnapshot of(long[] followers, long[] followees, int edgeCount) {
+        long[] ids = new long[edgeCount * 2];
+        System.arraycopy(followers, 0, ids, 0, edgeCount);
+        System.arraycopy(followees, 0, ids, edgeCount, edgeCount);
+        Arrays.parallelSort(ids);
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        long[] userIds = Arrays.copyOf(ids, distinct);
+
+        int[] offsets = new int[distinct + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[Arrays.binarySearch(userIds, followers[e]) + 1]++;
+        }
+        for (int i = 0; i < distinct; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] targets = new int[edgeCount];
+        int[] fill = Arrays.copyOf(offsets, distinct);
+        for (int e = 0; e < edgeCount; e++) {
+            int source = Arrays.binarySearch(userIds, followers[e]);
+            targets[fill[source]++] = Arrays.binarySearch(userIds, followees[e]);
+        }
+        for (int i = 0; i < distinct; i++) {
+            Arrays.sort(targets, offsets[i], offsets[i + 1]);
+        }
+        return new FollowGraphSnapshot(userIds, offsets, targets);
+    }
+
+    /**
+     * The IDs of the users followed by the given user, in ascending order.
+     *
+     * @param userId the ID of the follower
+     * @return the followee IDs, empty if the user follows nobody or is unknown
+     */
+    public long[] following(long userId) {
+        int source = Arrays.binarySearch(userIds, userId);
+        if (source < 0) {
+            return new long[0];
+        }
+        long[] result = new long[offsets[source + 1] - offsets[source]];
+        for (int k = 0; k < result.length; k++) {
+            result[k] = userIds[targets[offsets[source] + k]];
+        }
+        return result;
+    }
+
+    /**
+     * Check whether the snapshot contains the given edge.
+     *
+     * @param followerId the ID of the follower
+     * @param followeeId the ID of the followee
+     * @return {@code true} if the follower follows the followee in this snapshot
+     */
+    public boolean contains(long followerId, long followeeId) {
+        int source = Arrays.binarySearch(userIds, followerId);
+        int target = Arrays.binarySearch(userIds, followeeId);
+        return source >= 0 && target >= 0
+                && Arrays.binarySearch(targets, offsets[source], offsets[source + 1], target) >= 0;
+    }
+
+    /**
+     * @return the number of users appearing on either side of an edge
+     */
+    public int userCount() {
+        return userIds.length;
+    }
+
+    /**
+     * @return the number of follow edges
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+}
@@ -1,40 +1,55 @@
 package com.catalin.vibelog.service.implementations;
 
+import com.catalin.vibelog.dto.response.CursorPageDTO;
+import com.catalin.vibelog.dto.response.FollowCountDTO;
+import com.catalin.vibelog.dto.response.FollowUserDTO;
+import com.catalin.vibelog.dto.response.MutualFollowersDTO;
 import com.catalin.vibelog.events.FollowEvent;
-import com.catalin.vibelog.model.Follow;
+import com.catalin.vibelog.events.UnfollowEvent;
 import com.catalin.vibelog.model.FollowId;
-import com.catalin.vibelog.model.User;
 import com.catalin.vibelog.repository.FollowRepository;
 import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.EventBus;
 import com.catalin.vibelog.service.FollowService;
+import com.catalin.vibelog.service.KeysetCursor;
 import jakarta.persistence.EntityNotFoundException;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
 /**
  * Default implementation of {@link FollowService}, providing operations
  * for following and unfollowing users, checking follow status, and counting followers/following.
  * <p>
- * All methods execute within a transaction to maintain consistency.
+ * All methods execute within a transaction to maintain consistency. Operations work on
+ * user IDs only, and counts are read from the denormalized counters on {@code users}.
  * </p>
  */
 @Service
 @Transactional
 public class FollowServiceImpl implements FollowService {
 
-    private final ApplicationEventPublisher publisher;
+    /** Upper bound for list page sizes. */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final EventBus publisher;
     private final FollowRepository followRepo;
     private final UserRepository userRepo;
 
     /**
      * Constructs the FollowServiceImpl with required dependencies.
      *
-     * @param publisher  event publisher for firing follow/unfollow notifications
+     * @param publisher  event bus publishing follow/unfollow events to every instance
      * @param followRepo repository for persisting and querying follow relationships
-     * @param userRepo   repository for retrieving user entities
+     * @param userRepo   repository for usernames and follow counters
      */
-    public FollowServiceImpl(ApplicationEventPublisher publisher,
+    public FollowServiceImpl(EventBus publisher,
                              FollowRepository followRepo,
                              UserRepository userRepo) {
         this.publisher = publisher;
@@ -44,25 +59,23 @@ public class FollowServiceImpl implements FollowService {
 
     /**
      * Check if a user is following another user.
+     * Resolved with a single primary-key lookup on the follow table.
      *
      * @param followerId the ID of the potential follower
      * @param followeeId the ID of the potential followee
      * @return {@code true} if the follower is following the followee, {@code false} otherwise
-     * @throws EntityNotFoundException if either user cannot be found
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean isFollowing(Long followerId, Long followeeId) {
-        User follower = userRepo.findById(followerId)
-                .orElseThrow(() -> new EntityNotFoundException("Follower not found: " + followerId));
-        User followee = userRepo.findById(followeeId)
-                .orElseThrow(() -> new EntityNotFoundException("Followee not found: " + followeeId));
-        return followRepo.findByFollowerAndFollowed(follower, followee).isPresent();
+        return followRepo.existsById(new FollowId(followerId, followeeId));
     }
 
     /**
-     * Create a follow relationship from one user to another.
-     * Prevents self-follow and duplicate follows.
-     * Publishes a {@link FollowEvent} upon successful follow.
+     * Create a follow relationship from one user to another with a single
+     * {@code INSERT ... ON CONFLICT DO NOTHING}.
+     * Prevents self-follow; duplicate follows are a no-op.
+     * Counters are adjusted and a {@link FollowEvent} is published only when a row was inserted.
      *
      * @param followerId the ID of the follower
      * @param followeeId the ID of the user to be followed
@@ -74,66 +87,154 @@ public class FollowServiceImpl implements FollowService {
             // Prevent self-follow
             return;
         }
-        User follower = userRepo.findById(followerId)
+        Map<Long, String> usernames = userRepo.findIdentitiesByIdIn(List.of(followerId, followeeId)).stream()
+                .collect(Collectors.toMap(UserIdentity::id, UserIdentity::username));
+        String followerUsername = Optional.ofNullable(usernames.get(followerId))
                 .orElseThrow(() -> new EntityNotFoundException("User (follower) not found: " + followerId));
-        User followee = userRepo.findById(followeeId)
+        String followeeUsername = Optional.ofNullable(usernames.get(followeeId))
                 .orElseThrow(() -> new EntityNotFoundException("User (followee) not found: " + followeeId));
 
-        if (followRepo.findByFollowerAndFollowed(follower, followee).isEmpty()) {
-            Follow follow = new Follow();
-            follow.setId(new FollowId(followerId, followeeId));
-            follow.setFollower(follower);
-            follow.setFollowed(followee);
-            followRepo.save(follow);
-            publisher.publishEvent(new FollowEvent(
+        if (followRepo.insertIfAbsent(followerId, followeeId) == 1) {
+            userRepo.adjustFollowCounts(followerId, followeeId, 1);
+            publisher.publish(new FollowEvent(
                     this,
-                    follower.getUsername(),
-                    followee.getUsername()
+                    followerId,
+                    followerUsername,
+                    followeeId,
+                    followeeUsername
             ));
         }
     }
 
     /**
      * Remove an existing follow relationship.
+     * No-op if the relationship does not exist; otherwise counters are adjusted
+     * and an {@link UnfollowEvent} is published.
      *
      * @param followerId the ID of the follower
      * @param followeeId the ID of the followee to unfollow
-     * @throws EntityNotFoundException if either user cannot be found
      */
     @Override
     public void unfollow(Long followerId, Long followeeId) {
-        User follower = userRepo.findById(followerId)
-                .orElseThrow(() -> new EntityNotFoundException("User (follower) not found: " + followerId));
-        User followee = userRepo.findById(followeeId)
-                .orElseThrow(() -> new EntityNotFoundException("User (followee) not found: " + followeeId));
-        followRepo.deleteByFollowerAndFollowed(follower, followee);
+        if (followRepo.deleteByIds(followerId, followeeId) == 1) {
+            userRepo.adjustFollowCounts(followerId, followeeId, -1);
+            publisher.publish(new UnfollowEvent(this, followerId, followeeId));
+        }
     }
 
     /**
-     * Count how many followers a user has.
+     * Count how many followers a user has, from the denormalized counter.
      *
      * @param userId the ID of the user whose followers to count
      * @return the number of followers
-     * @throws EntityNotFoundException if the user cannot be found
      */
     @Override
+    @Transactional(readOnly = true)
     public long countFollowers(Long userId) {
-        User user = userRepo.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found: " + userId));
-        return followRepo.countByFollowed(user);
+        return getFollowCounts(userId).followers();
     }
 
     /**
-     * Count how many users a given user is following.
+     * Count how many users a given user is following, from the denormalized counter.
      *
      * @param userId the ID of the user whose followees to count
      * @return the number of users being followed
-     * @throws EntityNotFoundException if the user cannot be found
      */
     @Override
+    @Transactional(readOnly = true)
     public long countFollowing(Long userId) {
-        User user = userRepo.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found: " + userId));
-        return followRepo.countByFollower(user);
+        return getFollowCounts(userId).following();
+    }
+
+    /**
+     * Read both follow counters of a user with a single primary-key lookup.
+     *
+     * @param userId the ID of the user
+     * @return the follower and following counts, zero if the user does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public FollowCountDTO getFollowCounts(Long userId) {
+        return userRepo.findFollowCountsById(userId)
+                .orElseGet(() -> new FollowCountDTO(0, 0));
+    }
+
+    /**
+     * List a user's followers with keyset pagination on {@code (created_at, follower id)}.
+     *
+     * @param userId the ID of the followed user
+     * @param cursor cursor returned with the previous page, or {@code null} for the first page
+     * @param size   maximum number of followers to return, clamped to 1..100
+     * @return the page of followers and the cursor for the next page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<FollowUserDTO> listFollowers(Long userId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = clamp(size);
+        return toPage(followRepo.findFollowersPage(
+                userId, after.timestamp(), after.id(), PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    /**
+     * List the users a user follows with keyset pagination on {@code (created_at, followed id)}.
+     *
+     * @param userId the ID of the following user
+     * @param cursor cursor returned with the previous page, or {@code null} for the first page
+     * @param size   maximum number of users to return, clamped to 1..100
+     * @return the page of followed users and the cursor for the next page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<FollowUserDTO> listFollowing(Long userId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = clamp(size);
+        return toPage(followRepo.findFollowingPage(
+                userId, after.timestamp(), after.id(), PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    /**
+     * Find accounts the viewer follows that also follow the target user.
+     *
+     * @param viewerId the ID of the viewing user
+     * @param targetId the ID of the user being looked at
+     * @param limit    maximum number of accounts in the sample, clamped to 1..100
+     * @return a sample of mutual connections and their total number
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public MutualFollowersDTO findFollowedByFollowees(Long viewerId, Long targetId, int limit) {
+        List<FollowUserDTO> sample = followRepo.findFollowedByFollowees(
+                viewerId, targetId, PageRequest.of(0, clamp(limit)));
+        long total = sample.size() < clamp(limit)
+                ? sample.size()
+                : followRepo.countFollowedByFollowees(viewerId, targetId);
+        return new MutualFollowersDTO(sample, total);
+    }
+
+    /**
+     * Trim a result fetched with one extra row into a page and derive the next cursor.
+     *
+     * @param rows     up to {@code pageSize + 1} rows in listing order
+     * @param pageSize the requested page size
+     * @return the page, with a cursor only if more rows exist
+     */
+    private CursorPageDTO<FollowUserDTO> toPage(List<FollowUserDTO> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new CursorPageDTO<>(rows, null);
+        }
+        List<FollowUserDTO> page = rows.subList(0, pageSize);
+        FollowUserDTO last = page.get(pageSize - 1);
+        return new CursorPageDTO<>(List.copyOf(page), new KeysetCursor(last.followedAt(), last.id()).encode());
+    }
+
+    /**
+     * Clamp a requested page size to the supported range.
+     *
+     * @param size the requested size
+     * @return a size between 1 and {@link #MAX_PAGE_SIZE}
+     */
+    private static int clamp(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
-}
\ No newline at end of file
+}
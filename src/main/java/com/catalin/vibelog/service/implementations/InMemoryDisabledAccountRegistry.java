@@ -0,0 +1,99 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.service.DisabledAccountRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link DisabledAccountRegistry} holding the disabled account IDs in a hash set.
+ * <p>
+ * Reloads swap in a fresh set read from the database. Accounts disabled locally while
+ * a reload is reading are carried over, so a reload never forgets a deletion that
+ * committed after its query started. Purged accounts drop out on the next reload.
+ * </p>
+ */
+@Service
+public class InMemoryDisabledAccountRegistry implements DisabledAccountRegistry {
+
+    private final UserRepository userRepo;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Long> localDisables = new ConcurrentHashMap<>();
+    private volatile Set<Long> disabled = Set.of();
+
+    /**
+     * Constructs the registry.
+     *
+     * @param userRepo repository listing the disabled accounts
+     */
+    public InMemoryDisabledAccountRegistry(UserRepository userRepo) {
+        this.userRepo = userRepo;
+    }
+
+    /**
+     * Check the current set.
+     *
+     * @param userId the ID of the user
+     * @return {@code true} if the account is disabled for deletion
+     */
+    @Override
+    public boolean isDisabled(Long userId) {
+        return disabled.contains(userId);
+    }
+
+    /**
+     * Add the account to the set after commit.
+     *
+     * @param userId the ID of the user
+     */
+    @Override
+    public void disable(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(userId);
+                }
+            });
+        } else {
+            add(userId);
+        }
+    }
+
+    /**
+     * Read the disabled accounts and swap them in, keeping local disables made meanwhile.
+     */
+    @Override
+    public void reload() {
+        long startedAt = sequence.get();
+        Set<Long> fresh = new HashSet<>(userRepo.findDisabledIds());
+        synchronized (this) {
+            localDisables.forEach((userId, seq) -> {
+                if (seq > startedAt) {
+                    fresh.add(userId);
+                }
+            });
+            disabled = Set.copyOf(fresh);
+            localDisables.values().removeIf(seq -> seq <= startedAt);
+        }
+    }
+
+    /**
+     * Add one account to the current set, copying it so readers never see a partial update.
+     *
+     * @param userId the ID of the user
+     */
+    private synchronized void add(Long userId) {
+        localDisables.put(userId, sequence.incrementAndGet());
+        Set<Long> next = new HashSet<>(disabled);
+        next.add(userId);
+        disabled = Set.copyOf(next);
+    }
+}
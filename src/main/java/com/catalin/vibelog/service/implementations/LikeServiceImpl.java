@@ -2,58 +2,70 @@ package com.catalin.vibelog.service.implementations;
 
 import com.catalin.vibelog.dto.response.LikeResponse;
 import com.catalin.vibelog.events.LikeEvent;
+import com.catalin.vibelog.events.UnlikeEvent;
 import com.catalin.vibelog.exception.PostNotFoundException;
-import com.catalin.vibelog.model.Like;
 import com.catalin.vibelog.model.LikeId;
-import com.catalin.vibelog.model.Post;
-import com.catalin.vibelog.model.User;
 import com.catalin.vibelog.repository.LikeRepository;
 import com.catalin.vibelog.repository.PostRepository;
-import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.EventBus;
+import com.catalin.vibelog.service.LikeCounter;
+import com.catalin.vibelog.service.LikeIndex;
 import com.catalin.vibelog.service.LikeService;
-import org.springframework.context.ApplicationEventPublisher;
+import com.catalin.vibelog.service.UserLookupService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.Optional;
 
 /**
  * Default implementation of {@link LikeService}, handling toggling and querying of likes on posts.
  * <p>
- * All methods are transactional to ensure consistency when creating or removing likes.
- * Publishes a {@link LikeEvent} when a new like is created by someone other than the post's author.
+ * Likes are created and removed with single idempotent statements, so concurrent
+ * double-taps cannot fail or double count. Totals come from the post's denormalized
+ * counter maintained by {@link LikeCounter} rather than from counting like rows, and
+ * membership checks on popular posts are answered by the in-memory {@link LikeIndex}.
+ * Publishes a {@link LikeEvent} when a like is created and an {@link UnlikeEvent} when one
+ * is removed, so every instance can keep its like index current.
  * </p>
  */
 @Service
 public class LikeServiceImpl implements LikeService {
 
-    private final ApplicationEventPublisher publisher;
+    private final EventBus publisher;
     private final LikeRepository likeRepo;
     private final PostRepository postRepo;
-    private final UserRepository userRepo;
+    private final UserLookupService userLookup;
+    private final LikeCounter likeCounter;
+    private final LikeIndex likeIndex;
 
     /**
-     * Constructs the LikeService implementation with necessary repositories and event publisher.
+     * Constructs the LikeService implementation with necessary repositories and event bus.
      *
-     * @param likeRepo  repository for persisting and querying Like entities
-     * @param postRepo  repository for retrieving Post entities
-     * @param userRepo  repository for retrieving User entities
-     * @param publisher event publisher for firing LikeEvent notifications
+     * @param likeRepo    repository for persisting and querying Like entities
+     * @param postRepo    repository for post authors and like counters
+     * @param userLookup  cached resolver from username to user identity
+     * @param likeCounter maintainer of the per-post like counters
+     * @param likeIndex   in-memory like membership index for hot posts
+     * @param publisher   event bus publishing like and unlike events to every instance
      */
     public LikeServiceImpl(LikeRepository likeRepo,
                            PostRepository postRepo,
-                           UserRepository userRepo,
-                           ApplicationEventPublisher publisher) {
+                           UserLookupService userLookup,
+                           LikeCounter likeCounter,
+                           LikeIndex likeIndex,
+                           EventBus publisher) {
         this.likeRepo = likeRepo;
         this.postRepo = postRepo;
-        this.userRepo = userRepo;
+        this.userLookup = userLookup;
+        this.likeCounter = likeCounter;
+        this.likeIndex = likeIndex;
         this.publisher = publisher;
     }
 
     /**
      * Toggle a like for the specified post by the given user.
      * If a like already exists, it will be removed; otherwise, a new like is created.
-     * Publishes a {@link LikeEvent} when a new like is created and the liker is not the post's author.
      *
      * @param postId   the ID of the post to like or unlike
      * @param username the username of the acting user
@@ -64,52 +76,88 @@ public class LikeServiceImpl implements LikeService {
     @Override
     @Transactional
     public LikeResponse toggleLike(Long postId, String username) {
-        Post post = postRepo.findById(postId)
-                .orElseThrow(() -> new PostNotFoundException(postId));
-        User user = userRepo.findByUsername(username)
+        UserIdentity user = userLookup.findByUsername(username)
                 .orElseThrow(() -> new IllegalStateException(
                         "Authenticated user not found: " + username));
+        return toggleLike(postId, user.id(), username);
+    }
 
-        LikeId id = new LikeId(user.getId(), post.getId());
-        boolean liked;
-        if (likeRepo.existsById(id)) {
-            // Remove existing like
-            likeRepo.deleteById(id);
-            liked = false;
-        } else {
-            // Create new like
-            Like like = new Like();
-            like.setId(id);
-            like.setUser(user);
-            like.setPost(post);
-            like.setLikedAt(LocalDateTime.now());
-            likeRepo.save(like);
-            liked = true;
-            // Publish event if liker is not the author
-            if (liked && !username.equals(post.getAuthor().getUsername())) {
-                publisher.publishEvent(new LikeEvent(
-                        this,
-                        postId,
-                        username,
-                        post.getAuthor().getUsername()
-                ));
-            }
+    /**
+     * Toggle a like for the specified post by a user whose ID is already known,
+     * e.g. taken from the authenticated principal.
+     * Tries to remove the like first and creates it only if nothing was removed.
+     * When the like index says the post is not liked, the insert is tried first
+     * instead; the index is per instance and may miss likes made elsewhere, so an
+     * insert that conflicts with an existing like falls back to removing it.
+     *
+     * @param postId   the ID of the post to like or unlike
+     * @param userId   the ID of the acting user
+     * @param username the username of the acting user
+     * @return a {@link LikeResponse} containing post ID, new liked status, and total like count
+     * @throws PostNotFoundException if no post exists with the given ID
+     */
+    @Override
+    @Transactional
+    public LikeResponse toggleLike(Long postId, Long userId, String username) {
+        boolean maybeLiked = likeIndex.isLiked(postId, userId).orElse(true);
+        if (maybeLiked && likeRepo.deleteByIds(userId, postId) == 1) {
+            return removed(postId, userId);
         }
+        return insert(postId, userId, username)
+                .or(() -> !maybeLiked && likeRepo.deleteByIds(userId, postId) == 1
+                        ? Optional.of(removed(postId, userId))
+                        : Optional.empty())
+                .orElseGet(() -> new LikeResponse(postId, true, currentCount(postId)));
+    }
 
-        int total = likeRepo.countByIdPostId(postId);
-        return new LikeResponse(postId, liked, total);
+    /**
+     * Like a post with a single {@code INSERT ... ON CONFLICT DO NOTHING}.
+     * The counter is only incremented and the {@link LikeEvent} only published
+     * when a row was actually inserted.
+     *
+     * @param postId   the ID of the post to like
+     * @param userId   the ID of the acting user
+     * @param username the username of the acting user
+     * @return a {@link LikeResponse} with {@code liked=true} and the current total
+     * @throws PostNotFoundException if no post exists with the given ID
+     */
+    @Override
+    @Transactional
+    public LikeResponse like(Long postId, Long userId, String username) {
+        return insert(postId, userId, username)
+                .orElseGet(() -> new LikeResponse(postId, true, currentCount(postId)));
+    }
+
+    /**
+     * Remove a like with a single {@code DELETE}; the counter is only
+     * decremented and the {@link UnlikeEvent} only published when a row was actually removed.
+     *
+     * @param postId the ID of the post to unlike
+     * @param userId the ID of the acting user
+     * @return a {@link LikeResponse} with {@code liked=false} and the current total
+     * @throws PostNotFoundException if no post exists with the given ID
+     */
+    @Override
+    @Transactional
+    public LikeResponse unlike(Long postId, Long userId) {
+        if (likeRepo.deleteByIds(userId, postId) == 1) {
+            return removed(postId, userId);
+        }
+        return new LikeResponse(postId, false, currentCount(postId));
     }
 
     /**
      * Count the total number of likes for a given post.
      *
      * @param postId the ID of the post to count likes for
-     * @return the number of likes
+     * @return the number of likes, {@code 0} if the post does not exist
      */
     @Override
     @Transactional(readOnly = true)
     public int countLikes(Long postId) {
-        return likeRepo.countByIdPostId(postId);
+        return postRepo.findLikeCountById(postId)
+                .map(persisted -> withPending(postId, persisted))
+                .orElse(0);
     }
 
     /**
@@ -123,10 +171,85 @@ public class LikeServiceImpl implements LikeService {
     @Override
     @Transactional(readOnly = true)
     public boolean isLiked(Long postId, String username) {
-        User user = userRepo.findByUsername(username)
+        UserIdentity user = userLookup.findByUsername(username)
                 .orElseThrow(() -> new IllegalStateException(
                         "Authenticated user not found: " + username));
-        LikeId id = new LikeId(user.getId(), postId);
-        return likeRepo.existsById(id);
+        return isLiked(postId, user.id());
+    }
+
+    /**
+     * Check whether the user with the given ID has liked a given post,
+     * answering from the like index when the post is indexed.
+     *
+     * @param postId the ID of the post to check
+     * @param userId the ID of the user to check for
+     * @return {@code true} if the user has liked the post, {@code false} otherwise
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isLiked(Long postId, Long userId) {
+        return likeIndex.isLiked(postId, userId)
+                .orElseGet(() -> likeRepo.existsById(new LikeId(userId, postId)));
+    }
+
+    /**
+     * Insert a like unless it exists, then update the counter and the index and
+     * publish a {@link LikeEvent}.
+     *
+     * @param postId   the ID of the post to like
+     * @param userId   the ID of the acting user
+     * @param username the username of the acting user
+     * @return the liked state with the new total, or empty if the like already existed
+     * @throws PostNotFoundException if no post exists with the given ID
+     */
+    private Optional<LikeResponse> insert(Long postId, Long userId, String username) {
+        String author = postRepo.findAuthorUsernameById(postId)
+                .orElseThrow(() -> new PostNotFoundException(postId));
+        if (likeRepo.insertIfAbsent(userId, postId) == 0) {
+            return Optional.empty();
+        }
+        likeCounter.add(postId, 1);
+        int total = currentCount(postId);
+        likeIndex.recordLike(postId, userId, total);
+        publisher.publish(new LikeEvent(this, postId, userId, username, author));
+        return Optional.of(new LikeResponse(postId, true, total));
+    }
+
+    /**
+     * Account for a like row that was just deleted and publish an {@link UnlikeEvent}.
+     *
+     * @param postId the ID of the unliked post
+     * @param userId the ID of the user
+     * @return a {@link LikeResponse} with {@code liked=false} and the current total
+     */
+    private LikeResponse removed(Long postId, Long userId) {
+        likeCounter.add(postId, -1);
+        likeIndex.recordUnlike(postId, userId);
+        publisher.publish(new UnlikeEvent(this, postId, userId));
+        return new LikeResponse(postId, false, currentCount(postId));
+    }
+
+    /**
+     * Read the current like total of a post, including buffered deltas.
+     *
+     * @param postId the ID of the post
+     * @return the current like count
+     * @throws PostNotFoundException if no post exists with the given ID
+     */
+    private int currentCount(Long postId) {
+        int persisted = postRepo.findLikeCountById(postId)
+                .orElseThrow(() -> new PostNotFoundException(postId));
+        return withPending(postId, persisted);
+    }
+
+    /**
+     * Combine a persisted counter value with the delta still held in the buffer.
+     *
+     * @param postId    the ID of the post
+     * @param persisted the counter value read from the database
+     * @return the effective like count, never negative
+     */
+    private int withPending(Long postId, int persisted) {
+        return (int) Math.max(0, persisted + likeCounter.pending(postId));
     }
 }
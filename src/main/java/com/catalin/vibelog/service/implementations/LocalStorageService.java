@@ -1,6 +1,8 @@
 package com.catalin.vibelog.service.implementations;
 
 import com.catalin.vibelog.service.StorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -11,6 +13,9 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * Local filesystem implementation of {@link StorageService}.
@@ -22,6 +27,7 @@ import java.nio.file.*;
  */
 @Service
 public class LocalStorageService implements StorageService {
+    private static final Logger log = LoggerFactory.getLogger(LocalStorageService.class);
 
     /**
      * Root directory for storing files.
@@ -68,18 +74,93 @@ public class LocalStorageService implements StorageService {
 
     /**
      * Delete the file referenced by the given URL from local storage.
-     * Will quietly swallow exceptions to avoid impacting caller.
+     * Failures are logged and swallowed to avoid impacting the caller;
+     * anything left behind is reclaimed by the storage garbage collector.
      *
      * @param url the public or internal URL pointing to the stored file
      */
     @Override
     public void delete(String url) {
+        String key = resolveKey(url);
+        if (key != null) {
+            deleteKey(key);
+        }
+    }
+
+    /**
+     * Extract the filename portion of a URL produced by {@link #store(MultipartFile)}.
+     *
+     * @param url the public or internal URL of the file
+     * @return the filename inside the uploads directory, or {@code null} if the URL is malformed
+     */
+    @Override
+    public String resolveKey(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
         try {
-            // Extract just the filename portion from the URL
-            String filename = Paths.get(URI.create(url).getPath()).getFileName().toString();
-            Files.deleteIfExists(root.resolve(filename));
-        } catch (Exception e) {
-            // log and swallow
+            Path name = Paths.get(URI.create(url).getPath()).getFileName();
+            return name == null ? null : name.toString();
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring unparseable storage URL '{}'", url);
+            return null;
+        }
+    }
+
+    /**
+     * List the regular files directly under the uploads directory.
+     * Files whose attributes cannot be read are skipped.
+     *
+     * @return a lazily populated stream that must be closed by the caller
+     * @throws RuntimeException if the uploads directory cannot be listed
+     */
+    @Override
+    public Stream<StoredObject> listStored() {
+        try {
+            return Files.list(root)
+                    .map(this::describe)
+                    .filter(Objects::nonNull);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list stored files", e);
+        }
+    }
+
+    /**
+     * Delete a file from the uploads directory by its filename.
+     *
+     * @param key the filename inside the uploads directory
+     * @return {@code true} if the file existed and was removed
+     */
+    @Override
+    public boolean deleteKey(String key) {
+        try {
+            return Files.deleteIfExists(root.resolve(key).normalize());
+        } catch (IOException e) {
+            log.warn("Failed to delete stored file '{}': {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Read the attributes of a file under the uploads directory.
+     *
+     * @param file the path to describe
+     * @return a {@link StoredObject}, or {@code null} for directories and unreadable entries
+     */
+    private StoredObject describe(Path file) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            if (!attrs.isRegularFile()) {
+                return null;
+            }
+            return new StoredObject(
+                    file.getFileName().toString(),
+                    attrs.size(),
+                    attrs.lastModifiedTime().toInstant()
+            );
+        } catch (IOException e) {
+            log.debug("Skipping unreadable stored file '{}': {}", file, e.getMessage());
+            return null;
         }
     }
 
@@ -0,0 +1,519 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.exception.UnsupportedMediaException;
+import com.catalin.vibelog.model.enums.MediaType;
+import com.catalin.vibelog.service.MediaInspector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link MediaInspector} that sniffs magic bytes and walks container headers as a stream.
+ * <p>
+ * Only the first {@value #HEAD_SIZE} bytes are buffered for signature detection; JPEG segments,
+ * ISO-BMFF boxes (MP4/MOV) and EBML elements (WebM/MKV) are then walked sequentially, skipping
+ * over payloads instead of reading them, so large videos are never loaded into memory.
+ * Metadata that cannot be found in the headers is left {@code null} rather than failing the upload.
+ * </p>
+ */
+@Service
+public class MagicByteMediaInspector implements MediaInspector {
+
+    /** Number of leading bytes buffered for signature detection and fixed-offset headers. */
+    static final int HEAD_SIZE = 96;
+
+    /** Maximum nesting depth followed when walking container structures. */
+    private static final int MAX_DEPTH = 8;
+
+    /** Largest EBML string value read; the DocType is a short ASCII name. */
+    private static final int MAX_EBML_STRING = 64;
+
+    /**
+     * Detect the container format of the upload and extract its dimensions and duration.
+     *
+     * @param file the multipart file to inspect
+     * @return the detected {@link MediaInfo}
+     * @throws UnsupportedMediaException if the signature is not a supported image or video format
+     */
+    @Override
+    public MediaInfo inspect(MultipartFile file) {
+        try (InputStream raw = file.getInputStream()) {
+            byte[] head = raw.readNBytes(HEAD_SIZE);
+            MediaInfo info = sniff(head, raw);
+            if (info == null) {
+                throw new UnsupportedMediaException(
+                        "Unsupported media content: " + file.getOriginalFilename());
+            }
+            return info;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to inspect uploaded file", e);
+        }
+    }
+
+    /**
+     * Dispatch on the leading magic bytes.
+     *
+     * @param head the buffered leading bytes
+     * @param rest the remainder of the stream, positioned right after {@code head}
+     * @return the detected media info, or {@code null} if the signature is unknown
+     * @throws IOException if reading the stream fails
+     */
+    private MediaInfo sniff(byte[] head, InputStream rest) throws IOException {
+        if (startsWith(head, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return png(head);
+        }
+        if (startsWith(head, 0, 0xFF, 0xD8, 0xFF)) {
+            return jpeg(resume(head, rest));
+        }
+        if (ascii(head, 0, "GIF87a") || ascii(head, 0, "GIF89a")) {
+            return head.length >= 10 ? image("gif", u16le(head, 6), u16le(head, 8)) : image("gif", null, null);
+        }
+        if (ascii(head, 0, "BM") && head.length >= 26) {
+            return image("bmp", Math.abs(s32le(head, 18)), Math.abs(s32le(head, 22)));
+        }
+        if (ascii(head, 0, "RIFF") && ascii(head, 8, "WEBP")) {
+            return webp(head);
+        }
+        if (ascii(head, 0, "RIFF") && ascii(head, 8, "AVI ")) {
+            return avi(head);
+        }
+        if (ascii(head, 4, "ftyp")) {
+            return isoBmff(resume(head, rest), ascii(head, 8, "qt  ") ? "mov" : "mp4");
+        }
+        if (ascii(head, 4, "moov") || ascii(head, 4, "mdat") || ascii(head, 4, "wide")) {
+            return isoBmff(resume(head, rest), "mov");
+        }
+        if (startsWith(head, 0, 0x1A, 0x45, 0xDF, 0xA3)) {
+            return ebml(resume(head, rest));
+        }
+        if (ascii(head, 0, "FLV") && head.length > 3 && head[3] == 1) {
+            return new MediaInfo(MediaType.VIDEO, "flv", null, null, null);
+        }
+        return null;
+    }
+
+    // ----------------------------------------------------------------------
+    // Images
+    // ----------------------------------------------------------------------
+
+    /**
+     * Read PNG dimensions from the IHDR chunk, which the spec requires to come first.
+     */
+    private MediaInfo png(byte[] head) {
+        if (head.length >= 24 && ascii(head, 12, "IHDR")) {
+            return image("png", (int) u32be(head, 16), (int) u32be(head, 20));
+        }
+        return image("png", null, null);
+    }
+
+    /**
+     * Read WebP canvas dimensions from the first chunk (VP8, VP8L or VP8X).
+     */
+    private MediaInfo webp(byte[] head) {
+        if (head.length < 30) {
+            return image("webp", null, null);
+        }
+        if (ascii(head, 12, "VP8 ")) {
+            return image("webp", u16le(head, 26) & 0x3FFF, u16le(head, 28) & 0x3FFF);
+        }
+        if (ascii(head, 12, "VP8L")) {
+            long bits = u32le(head, 21);
+            return image("webp", (int) (bits & 0x3FFF) + 1, (int) ((bits >> 14) & 0x3FFF) + 1);
+        }
+        if (ascii(head, 12, "VP8X")) {
+            return image("webp", u24le(head, 24) + 1, u24le(head, 27) + 1);
+        }
+        return image("webp", null, null);
+    }
+
+    /**
+     * Walk JPEG marker segments until the first start-of-frame, skipping APPn payloads
+     * such as embedded EXIF thumbnails.
+     */
+    private MediaInfo jpeg(DataInputStream in) throws IOException {
+        try {
+            in.skipNBytes(2); // SOI
+            while (true) {
+                int b = in.readUnsignedByte();
+                if (b != 0xFF) {
+                    continue;
+                }
+                int marker = in.readUnsignedByte();
+                while (marker == 0xFF) {
+                    marker = in.readUnsignedByte();
+                }
+                if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD8)) {
+                    continue; // standalone markers carry no length
+                }
+                if (marker == 0xD9 || marker == 0xDA) {
+                    break; // end of image or start of scan: no frame header found
+                }
+                int length = in.readUnsignedShort();
+                if (isStartOfFrame(marker)) {
+                    in.skipNBytes(1); // sample precision
+                    int height = in.readUnsignedShort();
+                    int width = in.readUnsignedShort();
+                    return image("jpeg", width, height);
+                }
+                in.skipNBytes(Math.max(0, length - 2L));
+            }
+        } catch (EOFException ignored) {
+            // truncated header: fall through with unknown dimensions
+        }
+        return image("jpeg", null, null);
+    }
+
+    /**
+     * @return whether the marker is one of the SOF0..SOF15 frame headers (excluding DHT, JPG and DAC)
+     */
+    private boolean isStartOfFrame(int marker) {
+        return marker >= 0xC0 && marker <= 0xCF
+                && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+    }
+
+    // ----------------------------------------------------------------------
+    // Videos
+    // ----------------------------------------------------------------------
+
+    /**
+     * Read dimensions and duration from the AVI main header ({@code avih}),
+     * which sits at a fixed offset inside the leading {@code hdrl} list.
+     */
+    private MediaInfo avi(byte[] head) {
+        if (head.length < 72 || !ascii(head, 12, "LIST") || !ascii(head, 24, "avih")) {
+            return new MediaInfo(MediaType.VIDEO, "avi", null, null, null);
+        }
+        long microSecPerFrame = u32le(head, 32);
+        long totalFrames = u32le(head, 48);
+        Long duration = microSecPerFrame > 0 && totalFrames > 0
+                ? microSecPerFrame * totalFrames / 1000
+                : null;
+        return new MediaInfo(MediaType.VIDEO, "avi",
+                positive((int) u32le(head, 64)), positive((int) u32le(head, 68)), duration);
+    }
+
+    /**
+     * Walk top-level ISO-BMFF boxes until {@code moov} has been parsed.
+     * Payload boxes such as {@code mdat} are skipped, so {@code moov} is found
+     * even when it is stored at the end of the file.
+     */
+    private MediaInfo isoBmff(DataInputStream in, String format) throws IOException {
+        IsoState state = new IsoState();
+        try {
+            walkBoxes(in, Long.MAX_VALUE, 0, state);
+        } catch (EOFException ignored) {
+            // truncated file: keep whatever was found
+        }
+        return new MediaInfo(MediaType.VIDEO, format, state.width, state.height, state.durationMs);
+    }
+
+    /**
+     * Walk the boxes contained in {@code limit} bytes, descending into {@code moov} and {@code trak}.
+     *
+     * @return {@code true} once {@code moov} has been fully read
+     */
+    private boolean walkBoxes(DataInputStream in, long limit, int depth, IsoState state) throws IOException {
+        long consumed = 0;
+        while (consumed + 8 <= limit) {
+            long size = in.readInt() & 0xFFFFFFFFL;
+            String type = fourcc(in);
+            long header = 8;
+            if (size == 1) {
+                size = in.readLong();
+                header = 16;
+            } else if (size == 0) {
+                size = limit == Long.MAX_VALUE ? Long.MAX_VALUE : limit - consumed;
+            }
+            if (size < header) {
+                return false;
+            }
+            long body = size - header;
+            switch (type) {
+                case "moov", "trak" -> {
+                    if (depth < MAX_DEPTH) {
+                        walkBoxes(in, body, depth + 1, state);
+                        if (type.equals("moov")) {
+                            return true;
+                        }
+                    } else {
+                        in.skipNBytes(body);
+                    }
+                }
+                case "mvhd" -> readMvhd(in, body, state);
+                case "tkhd" -> readTkhd(in, body, state);
+                default -> {
+                    if (size == Long.MAX_VALUE) {
+                        return false;
+                    }
+                    in.skipNBytes(body);
+                }
+            }
+            consumed += size;
+        }
+        return false;
+    }
+
+    /**
+     * Read the movie duration from the movie header box.
+     */
+    private void readMvhd(DataInputStream in, long body, IsoState state) throws IOException {
+        if (body < 32) {
+            in.skipNBytes(body);
+            return;
+        }
+        int version = in.readUnsignedByte();
+        in.skipNBytes(3); // flags
+        long timescale;
+        long duration;
+        long read = 4;
+        if (version == 1) {
+            in.skipNBytes(16);
+            timescale = in.readInt() & 0xFFFFFFFFL;
+            duration = in.readLong();
+            read += 28;
+        } else {
+            in.skipNBytes(8);
+            timescale = in.readInt() & 0xFFFFFFFFL;
+            duration = in.readInt() & 0xFFFFFFFFL;
+            read += 16;
+        }
+        if (timescale > 0 && duration > 0 && duration != 0xFFFFFFFFL) {
+            state.durationMs = duration * 1000 / timescale;
+        }
+        in.skipNBytes(Math.max(0, body - read));
+    }
+
+    /**
+     * Read presentation dimensions from the first track header with a non-zero size
+     * (audio tracks report 0x0).
+     */
+    private void readTkhd(DataInputStream in, long body, IsoState state) throws IOException {
+        if (body < 84) {
+            in.skipNBytes(body);
+            return;
+        }
+        int version = in.readUnsignedByte();
+        in.skipNBytes(3); // flags
+        long read = 4;
+        int timesAndIds = version == 1 ? 32 : 20;
+        // times/ids, reserved(8), layer(2), alternate group(2), volume(2), reserved(2), matrix(36)
+        in.skipNBytes(timesAndIds + 52L);
+        read += timesAndIds + 52L;
+        int width = in.readInt() >>> 16;
+        int height = in.readInt() >>> 16;
+        read += 8;
+        if (state.width == null && width > 0 && height > 0) {
+            state.width = width;
+            state.height = height;
+        }
+        in.skipNBytes(Math.max(0, body - read));
+    }
+
+    /**
+     * Walk the EBML header and the Segment's Info and Tracks elements of a WebM/Matroska file,
+     * stopping at the first Cluster.
+     */
+    private MediaInfo ebml(DataInputStream in) throws IOException {
+        EbmlState state = new EbmlState();
+        try {
+            walkEbml(in, Long.MAX_VALUE, 0, state);
+        } catch (EOFException ignored) {
+            // truncated file: keep whatever was found
+        }
+        String format = "webm".equals(state.docType) ? "webm" : "mkv";
+        Long duration = state.duration != null
+                ? Math.round(state.duration * state.timecodeScale / 1_000_000d)
+                : null;
+        return new MediaInfo(MediaType.VIDEO, format, state.width, state.height, duration);
+    }
+
+    /**
+     * Walk EBML elements contained in {@code limit} bytes.
+     *
+     * @return {@code false} once a Cluster has been reached and walking should stop
+     */
+    private boolean walkEbml(DataInputStream in, long limit, int depth, EbmlState state) throws IOException {
+        long consumed = 0;
+        while (consumed < limit) {
+            long[] id = readVint(in, false);
+            long[] size = readVint(in, true);
+            long length = size[0];
+            consumed += id[1] + size[1];
+            switch ((int) id[0]) {
+                case 0x1A45DFA3, 0x18538067, 0x1549A966, 0x1654AE6B, 0xAE, 0xE0 -> {
+                    // EBML header, Segment, Info, Tracks, TrackEntry, Video: descend
+                    if (depth >= MAX_DEPTH || !walkEbml(in, length, depth + 1, state)) {
+                        return false;
+                    }
+                }
+                case 0x1F43B675 -> {
+                    return false; // Cluster: media data starts, headers are done
+                }
+                case 0x4282 -> state.docType = new String(
+                        in.readNBytes(valueLength(length, MAX_EBML_STRING)), StandardCharsets.US_ASCII);
+                case 0x2AD7B1 -> state.timecodeScale = readUnsigned(in, valueLength(length, Long.BYTES));
+                case 0x4489 -> state.duration = valueLength(length, Double.BYTES) == Float.BYTES
+                        ? (double) in.readFloat()
+                        : in.readDouble();
+                case 0xB0 -> {
+                    int width = (int) readUnsigned(in, valueLength(length, Long.BYTES));
+                    if (state.width == null) {
+                        state.width = width;
+                    }
+                }
+                case 0xBA -> {
+                    int height = (int) readUnsigned(in, valueLength(length, Long.BYTES));
+                    if (state.height == null) {
+                        state.height = height;
+                    }
+                }
+                default -> {
+                    if (length == Long.MAX_VALUE) {
+                        return false;
+                    }
+                    in.skipNBytes(length);
+                }
+            }
+            if (length == Long.MAX_VALUE) {
+                return true; // unknown-size element consumed the rest of its parent
+            }
+            consumed += length;
+        }
+        return true;
+    }
+
+    /**
+     * Check the declared size of an EBML value element before it is read, so an unknown
+     * or oversized length never reaches an {@code int} cast.
+     *
+     * @param length the size declared by the element
+     * @param max    the largest size the element's type allows
+     * @return the size as an {@code int}
+     * @throws UnsupportedMediaException if the size exceeds {@code max}
+     */
+    private int valueLength(long length, int max) {
+        if (length > max) {
+            throw new UnsupportedMediaException("Malformed EBML element of " + length + " bytes");
+        }
+        return (int) length;
+    }
+
+    /**
+     * Read an EBML variable-length integer.
+     *
+     * @param in       the stream
+     * @param stripTag whether to clear the length marker bit (sizes) or keep it (element IDs)
+     * @return a two-element array of {value, encoded length}; unknown sizes map to {@link Long#MAX_VALUE}
+     */
+    private long[] readVint(DataInputStream in, boolean stripTag) throws IOException {
+        int first = in.readUnsignedByte();
+        int length = Integer.numberOfLeadingZeros(first) - 23;
+        if (length < 1 || length > 8) {
+            throw new EOFException("Invalid EBML variable-length integer");
+        }
+        long value = stripTag ? first & (0xFF >> length) : first;
+        boolean allOnes = value == (0xFF >> length);
+        for (int i = 1; i < length; i++) {
+            int b = in.readUnsignedByte();
+            allOnes &= b == 0xFF;
+            value = (value << 8) | b;
+        }
+        if (stripTag && allOnes) {
+            value = Long.MAX_VALUE;
+        }
+        return new long[]{value, length};
+    }
+
+    /**
+     * Read a big-endian unsigned integer of the given byte length.
+     */
+    private long readUnsigned(DataInputStream in, int length) throws IOException {
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            value = (value << 8) | in.readUnsignedByte();
+        }
+        return value;
+    }
+
+    // ----------------------------------------------------------------------
+    // Helpers
+    // ----------------------------------------------------------------------
+
+    /**
+     * Re-join the buffered head with the rest of the stream for sequential parsers.
+     */
+    private DataInputStream resume(byte[] head, InputStream rest) {
+        return new DataInputStream(new SequenceInputStream(new ByteArrayInputStream(head), rest));
+    }
+
+    private MediaInfo image(String format, Integer width, Integer height) {
+        return new MediaInfo(MediaType.IMG, format, positive(width), positive(height), null);
+    }
+
+    private Integer positive(Integer value) {
+        return value != null && value > 0 ? value : null;
+    }
+
+    private String fourcc(DataInputStream in) throws IOException {
+        return new String(in.readNBytes(4), StandardCharsets.US_ASCII);
+    }
+
+    private boolean startsWith(byte[] data, int offset, int... signature) {
+        if (data.length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((data[offset + i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean ascii(byte[] data, int offset, String text) {
+        return startsWith(data, offset, text.chars().toArray());
+    }
+
+    private int u16le(byte[] d, int o) {
+        return (d[o] & 0xFF) | (d[o + 1] & 0xFF) << 8;
+    }
+
+    private int u24le(byte[] d, int o) {
+        return u16le(d, o) | (d[o + 2] & 0xFF) << 16;
+    }
+
+    private long u32le(byte[] d, int o) {
+        return (u24le(d, o) | (long) (d[o + 3] & 0xFF) << 24);
+    }
+
+    private int s32le(byte[] d, int o) {
+        return (int) u32le(d, o);
+    }
+
+    private long u32be(byte[] d, int o) {
+        return (long) (d[o] & 0xFF) << 24 | (d[o + 1] & 0xFF) << 16 | (d[o + 2] & 0xFF) << 8 | (d[o + 3] & 0xFF);
+    }
+
+    /** Values collected while walking ISO-BMFF boxes. */
+    private static final class IsoState {
+        Integer width;
+        Integer height;
+        Long durationMs;
+    }
+
+    /** Values collected while walking EBML elements. */
+    private static final class EbmlState {
+        String docType;
+        long timecodeScale = 1_000_000L;
+        Double duration;
+        Integer width;
+        Integer height;
+    }
+}
@@ -1,23 +1,44 @@
 package com.catalin.vibelog.service.implementations;
 
+import com.catalin.vibelog.config.CacheConfig;
+import com.catalin.vibelog.dto.response.MediaResponseDTO;
+import com.catalin.vibelog.events.ClusterEvent;
+import com.catalin.vibelog.events.PostMediaChangedEvent;
 import com.catalin.vibelog.model.Media;
 import com.catalin.vibelog.model.Post;
-import com.catalin.vibelog.model.enums.MediaType;
 import com.catalin.vibelog.repository.MediaRepository;
 import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.service.EventBus;
+import com.catalin.vibelog.service.MediaInspector;
+import com.catalin.vibelog.service.MediaInspector.MediaInfo;
 import com.catalin.vibelog.service.MediaService;
 import com.catalin.vibelog.service.StorageService;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Default implementation of {@link MediaService}, handling upload, retrieval,
  * and deletion of media attachments for posts. Integrates file storage via {@link StorageService}
  * and ensures database and storage consistency within transactions.
+ * Files of deleted media are reclaimed asynchronously by
+ * {@link com.catalin.vibelog.jobs.StorageGarbageCollector}.
+ * <p>
+ * Media rows are immutable after upload, so per-post media lists are kept in the
+ * {@value CacheConfig#POST_MEDIA} cache and evicted whenever a post's media changes,
+ * on this instance after commit and on every instance through a {@link PostMediaChangedEvent}.
+ * </p>
  */
 @Service
 @Transactional
@@ -26,6 +47,9 @@ public class MediaServiceImpl implements MediaService {
     private final MediaRepository mediaRepo;
     private final PostRepository postRepo;
     private final StorageService storageService;
+    private final MediaInspector mediaInspector;
+    private final Cache postMediaCache;
+    private final EventBus publisher;
 
     /**
      * Constructs the MediaService implementation with required dependencies.
@@ -33,24 +57,35 @@ public class MediaServiceImpl implements MediaService {
      * @param mediaRepo      repository for persisting Media entities
      * @param postRepo       repository for retrieving related Post entities
      * @param storageService service for storing and deleting underlying files
+     * @param mediaInspector detects the real format and metadata of uploads
+     * @param cacheManager   provides the per-post media cache
+     * @param publisher      event bus telling every instance to evict changed media lists
      */
     public MediaServiceImpl(MediaRepository mediaRepo,
                             PostRepository postRepo,
-                            StorageService storageService) {
+                            StorageService storageService,
+                            MediaInspector mediaInspector,
+                            CacheManager cacheManager,
+                            EventBus publisher) {
         this.mediaRepo = mediaRepo;
         this.postRepo = postRepo;
         this.storageService = storageService;
+        this.mediaInspector = mediaInspector;
+        this.postMediaCache = cacheManager.getCache(CacheConfig.POST_MEDIA);
+        this.publisher = publisher;
     }
 
     /**
      * Upload a file and attach it to the specified post.
-     * The file is stored using {@code storageService} and a {@link Media} entity is saved.
+     * The file's real format, dimensions and duration are detected by {@link MediaInspector}
+     * before it is stored using {@code storageService} and a {@link Media} entity is saved.
      * In case of persistence failure, the stored file is cleaned up.
      *
      * @param postId the ID of the post to attach the media to
      * @param file   the multipart file to upload
      * @return the persisted {@link Media} entity
      * @throws EntityNotFoundException if no post exists with the given ID
+     * @throws com.catalin.vibelog.exception.UnsupportedMediaException if the file is not a supported image or video
      * @throws RuntimeException        if saving the Media entity fails (file cleanup attempted)
      */
     @Override
@@ -59,23 +94,31 @@ public class MediaServiceImpl implements MediaService {
         Post post = postRepo.findById(postId)
                 .orElseThrow(() -> new EntityNotFoundException("Post not found: " + postId));
 
-        // 2) Store the file
+        // 2) Identify the real format from the content, before anything is stored
+        MediaInfo info = mediaInspector.inspect(file);
+
+        // 3) Store the file
         String url = storageService.store(file);
 
-        // 3) Create Media entity
+        // 4) Create Media entity
         Media media = new Media();
         media.setUrl(url);
-        media.setFormat(getExtension(file.getOriginalFilename()));
+        media.setFormat(info.format());
         media.setSize(file.getSize());
-        media.setType(detectType(file));
+        media.setType(info.type());
+        media.setWidth(info.width());
+        media.setHeight(info.height());
+        media.setDurationMs(info.durationMs());
         media.setPost(post);
 
-        // 4) Keep both sides in sync
+        // 5) Keep both sides in sync
         post.getMediaList().add(media);
 
-        // 5) Persist entity (cleanup file on error)
+        // 6) Persist entity (cleanup file on error)
         try {
-            return mediaRepo.save(media);
+            Media saved = mediaRepo.save(media);
+            evictCached(List.of(postId));
+            return saved;
         } catch (RuntimeException e) {
             storageService.delete(url);
             throw e;
@@ -83,7 +126,9 @@ public class MediaServiceImpl implements MediaService {
     }
 
     /**
-     * Delete a single media item by its ID, removing both the database record and stored file.
+     * Delete a single media item by its ID.
+     * The stored file is left in place and reclaimed later by the storage garbage collector,
+     * keeping filesystem I/O off the request path.
      *
      * @param mediaId the ID of the media to delete
      * @throws EntityNotFoundException if no Media exists with the given ID
@@ -93,74 +138,105 @@ public class MediaServiceImpl implements MediaService {
         Media media = mediaRepo.findById(mediaId)
                 .orElseThrow(() -> new EntityNotFoundException("Media not found: " + mediaId));
         mediaRepo.delete(media);
-        storageService.delete(media.getUrl());
+        evictCached(List.of(media.getPost().getId()));
     }
 
     /**
-     * Delete all media items attached to the specified post, including associated files.
+     * Delete all media items attached to the specified post.
+     * Stored files are reclaimed later by the storage garbage collector.
      *
      * @param postId the ID of the post whose media attachments to remove
      */
     @Override
     public void deleteAllForPost(Long postId) {
-        List<Media> all = mediaRepo.findByPostId(postId);
         mediaRepo.deleteByPostId(postId);
-        all.forEach(m -> storageService.delete(m.getUrl()));
+        evictCached(List.of(postId));
     }
 
     /**
-     * List all media items attached to the specified post.
+     * Evict the cached media lists of the given posts; with the transaction-aware cache
+     * manager this takes effect once the deleting transaction commits. Other instances
+     * evict theirs when the published {@link PostMediaChangedEvent} reaches them.
+     *
+     * @param postIds the IDs of the deleted posts
+     */
+    @Override
+    public void evictCached(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        postIds.forEach(postMediaCache::evict);
+        publisher.publish(new PostMediaChangedEvent(this, List.copyOf(postIds)));
+    }
+
+    /**
+     * Evict the media lists changed on any instance from this instance's cache.
+     *
+     * @param ev the relayed event carrying the post IDs
+     */
+    @EventListener
+    public void onPostMediaChanged(ClusterEvent<PostMediaChangedEvent> ev) {
+        ev.event.postIds.forEach(postMediaCache::evict);
+    }
+
+    /**
+     * List all media items attached to the specified post, reading through the post media cache.
      *
      * @param postId the ID of the post whose media to list
-     * @return a list of {@link Media} entities for the post
+     * @return an immutable list of {@link MediaResponseDTO} for the post
      */
     @Override
-    public List<Media> listForPost(Long postId) {
-        return mediaRepo.findByPostId(postId);
+    @Transactional(readOnly = true)
+    public List<MediaResponseDTO> listForPost(Long postId) {
+        return postMediaCache.get(postId, () -> toDtos(mediaRepo.findByPostId(postId)));
     }
 
     /**
-     * Extracts the file extension (without the dot) from a filename,
-     * or returns an empty string if none.
+     * List the media items of several posts, loading every cache miss with one
+     * {@code IN} query and populating the cache with the results (including empty lists).
      *
-     * @param filename the original filename
-     * @return the lowercase extension without the leading dot, or empty string
+     * @param postIds the IDs of the posts whose media to list
+     * @return a map from each requested post ID to its media list
      */
-    private String getExtension(String filename) {
-        if (filename == null) {
-            return "";
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<MediaResponseDTO>> listForPosts(Collection<Long> postIds) {
+        Map<Long, List<MediaResponseDTO>> result = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long postId : postIds) {
+            Cache.ValueWrapper cached = postMediaCache.get(postId);
+            if (cached != null) {
+                @SuppressWarnings("unchecked")
+                List<MediaResponseDTO> media = (List<MediaResponseDTO>) cached.get();
+                result.put(postId, media);
+            } else {
+                misses.add(postId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
         }
-        int dotIndex = filename.lastIndexOf('.');
-        if (dotIndex == -1 || dotIndex == filename.length() - 1) {
-            return "";
+
+        Map<Long, List<Media>> loaded = mediaRepo.findByPostIdIn(misses).stream()
+                .collect(Collectors.groupingBy(m -> m.getPost().getId()));
+        for (Long postId : misses) {
+            List<MediaResponseDTO> media = toDtos(loaded.getOrDefault(postId, List.of()));
+            postMediaCache.put(postId, media);
+            result.put(postId, media);
         }
-        return filename.substring(dotIndex + 1).toLowerCase();
+        return result;
     }
 
     /**
-     * Determine {@link MediaType} based on file extension or MIME type fallback.
-     * Supports common image and video extensions.
+     * Map media entities to immutable response DTOs suitable for caching.
      *
-     * @param file the multipart file to inspect
-     * @return {@code IMG} for images, {@code VIDEO} for videos
+     * @param media the media entities to convert
+     * @return an immutable list of DTOs
      */
-    private MediaType detectType(MultipartFile file) {
-        String ext = getExtension(file.getOriginalFilename());
-        switch (ext) {
-            case "jpg", "jpeg", "png", "gif", "bmp", "webp":
-                return MediaType.IMG;
-            case "mp4", "mov", "avi", "mkv", "webm", "flv":
-                return MediaType.VIDEO;
-            default:
-                String ct = file.getContentType();
-                if (ct != null) {
-                    if (ct.startsWith("image/")) {
-                        return MediaType.IMG;
-                    } else if (ct.startsWith("video/")) {
-                        return MediaType.VIDEO;
-                    }
-                }
-                return MediaType.IMG;
-        }
+    private List<MediaResponseDTO> toDtos(List<Media> media) {
+        return media.stream()
+                .map(m -> new MediaResponseDTO(m.getId(), m.getUrl(), m.getType().name(),
+                        m.getWidth(), m.getHeight(), m.getDurationMs()))
+                .toList();
     }
 }
@@ -0,0 +1,142 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.dto.response.NotificationResponseDTO;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.NotificationRow;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.NotificationRenderer;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * {@link NotificationRenderer} formatting the templates of {@code notifications.properties}.
+ * <p>
+ * The message source parses each template once and keeps the compiled format, and
+ * the most recent actors of a whole page are resolved with one query. Actors whose account is
+ * gone or disabled are left out of the names but still counted. Rows that carry
+ * fixed content, written before report outcomes were stored as columns, are returned as stored.
+ * </p>
+ */
+@Service
+public class MessageSourceNotificationRenderer implements NotificationRenderer {
+
+    /** Number of actors named before the rest are summarized as "N others". */
+    private static final int ACTORS_NAMED = 2;
+
+    /** Number of most recent actors resolved and returned per notification. */
+    private static final int ACTOR_SAMPLE_SIZE = 3;
+
+    private final MessageSource messages;
+    private final UserRepository userRepo;
+
+    /**
+     * Constructs the renderer.
+     *
+     * @param messages source of the notification templates
+     * @param userRepo repository resolving actor IDs to usernames
+     */
+    public MessageSourceNotificationRenderer(MessageSource messages, UserRepository userRepo) {
+        this.messages = messages;
+        this.userRepo = userRepo;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Messages are rendered in the locale of the current request.
+     * </p>
+     */
+    @Override
+    public List<NotificationResponseDTO> render(List<NotificationRow> rows) {
+        Set<Long> actorIds = new HashSet<>();
+        for (NotificationRow row : rows) {
+            actorIds.addAll(sample(row));
+        }
+        Map<Long, String> usernames = actorIds.isEmpty() ? Map.of()
+                : userRepo.findIdentitiesByIdIn(actorIds).stream()
+                        .collect(Collectors.toMap(UserIdentity::id, UserIdentity::username));
+        Locale locale = LocaleContextHolder.getLocale();
+        return rows.stream().map(row -> render(row, usernames::get, locale)).toList();
+    }
+
+    /**
+     * Render one row.
+     *
+     * @param row       the stored row
+     * @param usernames resolves an actor ID to its username, or {@code null}
+     * @param locale    the locale to render in
+     * @return the response
+     */
+    private NotificationResponseDTO render(NotificationRow row, Function<Long, String> usernames, Locale locale) {
+        List<String> actors = new ArrayList<>();
+        for (Long id : sample(row)) {
+            String username = usernames.apply(id);
+            if (username != null) {
+                actors.add(username);
+            }
+        }
+        String content = row.content();
+        if (content == null) {
+            String target = row.targetId() != null ? row.targetId().toString() : "";
+            Object[] args = {describeActors(actors, row.actorCount(), locale), target, row.actorCount(),
+                    label("notification.target.", row.targetType(), locale),
+                    label("notification.report.", row.result(), locale)};
+            content = messages.getMessage("notification." + row.type(), args, locale);
+        }
+        return new NotificationResponseDTO(row.id(), row.type(), content, row.seen(), row.timestamp(),
+                row.targetId(), row.actorCount(), actors);
+    }
+
+    /**
+     * @param row a stored row
+     * @return the IDs of its most recent actors, newest first
+     */
+    private static List<Long> sample(NotificationRow row) {
+        if (row.actorIds() == null) {
+            return List.of();
+        }
+        List<Long> ids = Arrays.asList(row.actorIds());
+        return ids.subList(0, Math.min(ACTOR_SAMPLE_SIZE, ids.size()));
+    }
+
+    /**
+     * @param prefix message key prefix
+     * @param value  the enum constant to look up, or {@code null}
+     * @param locale the locale to render in
+     * @return the message for {@code value}, or {@code null} if there is none
+     */
+    private String label(String prefix, Enum<?> value, Locale locale) {
+        return value != null ? messages.getMessage(prefix + value.name(), null, locale) : null;
+    }
+
+    /**
+     * Name the actors, e.g. {@code @a}, {@code @a and @b}, or {@code @a, @b and 48 others}.
+     *
+     * @param actors     usernames of the actor sample that still exist, newest first
+     * @param actorCount total number of actors
+     * @param locale     the locale to render in
+     * @return the actor phrase
+     */
+    private String describeActors(List<String> actors, int actorCount, Locale locale) {
+        if (actors.isEmpty()) {
+            return messages.getMessage("notification.actors.unknown", new Object[]{actorCount}, locale);
+        }
+        if (actorCount <= actors.size()) {
+            return messages.getMessage("notification.actors." + actors.size(), actors.toArray(), locale);
+        }
+        List<String> named = actors.subList(0, Math.min(ACTORS_NAMED, actors.size()));
+        Object[] args = {named.get(0), named.size() > 1 ? named.get(1) : null, actorCount - named.size()};
+        return messages.getMessage("notification.actors.others." + named.size(), args, locale);
+    }
+}
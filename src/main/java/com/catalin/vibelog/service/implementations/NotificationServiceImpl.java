@@ -4,62 +4,177 @@ import com.catalin.vibelog.dto.request.NotificationRequestDTO;
 import com.catalin.vibelog.dto.response.NotificationResponseDTO;
 import com.catalin.vibelog.exception.NotificationNotFoundException;
 import com.catalin.vibelog.model.Notification;
-import com.catalin.vibelog.model.User;
+import com.catalin.vibelog.model.enums.ReportStatus;
+import com.catalin.vibelog.model.enums.ReportTarget;
 import com.catalin.vibelog.repository.NotificationRepository;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.NotificationRow;
+import com.catalin.vibelog.repository.projection.OpenAggregate;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.NotificationRenderer;
 import com.catalin.vibelog.service.NotificationService;
-import com.catalin.vibelog.service.UserService;
+import com.catalin.vibelog.service.UserLookupService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Default implementation of {@link com.catalin.vibelog.service.NotificationService}.
  * <p>
  * Delegates persistence to {@link NotificationRepository} and user lookups
- * to {@link UserService}. Provides methods to send, list, count, and mark read.
+ * to the cached {@link UserLookupService}. Provides methods to send, list, count, and mark read.
+ * </p>
+ * <p>
+ * Notifications naming an actor are aggregated: under a transaction-scoped advisory
+ * lock on the (recipient, type, target) key, the newest unseen notification of that
+ * key within the aggregation window is updated in place with one more actor, and a
+ * new row is only inserted when there is none. A post liked ten thousand times thus
+ * costs its author a handful of rows per window instead of ten thousand.
+ * </p>
+ * <p>
+ * An aggregate keeps the IDs of all its actors, so an actor repeating the action is
+ * recognised and its count is exact. To bound the size of that array, an aggregate
+ * stops absorbing actors once it holds {@code max-actors} of them and the next actor
+ * starts a new one.
+ * </p>
+ * <p>
+ * Such notifications store no text, only their actor IDs, target and count; the
+ * {@link NotificationRenderer} produces the message when they are listed.
  * </p>
  */
 @Service
 public class NotificationServiceImpl implements NotificationService {
 
+    /** Maximum number of report IDs bound into a single bulk insert. */
+    private static final int REPORTER_CHUNK_SIZE = 1000;
+
     private final NotificationRepository notificationRepo;
-    private final UserService userService;
+    private final UserLookupService userLookup;
+    private final UserRepository userRepo;
+    private final NotificationRenderer renderer;
+    private final Duration aggregationWindow;
+    private final int maxActors;
 
+    /**
+     * Constructs the notification service.
+     *
+     * @param notificationRepo  repository persisting notifications
+     * @param userLookup        cached username lookup resolving recipients
+     * @param userRepo          repository providing recipient references
+     * @param renderer          renders stored notifications into messages when listed
+     * @param aggregationWindow how long an unseen notification keeps absorbing new actors
+     * @param maxActors         number of distinct actors after which an aggregate is full
+     */
     @Autowired
     public NotificationServiceImpl(
             NotificationRepository notificationRepo,
-            UserService userService
+            UserLookupService userLookup,
+            UserRepository userRepo,
+            NotificationRenderer renderer,
+            @Value("${vibelog.notifications.aggregation.window:PT24H}") Duration aggregationWindow,
+            @Value("${vibelog.notifications.aggregation.max-actors:500}") int maxActors
     ) {
-        this.notificationRepo = notificationRepo;
-        this.userService      = userService;
+        this.notificationRepo  = notificationRepo;
+        this.userLookup        = userLookup;
+        this.userRepo          = userRepo;
+        this.renderer          = renderer;
+        this.aggregationWindow = aggregationWindow;
+        this.maxActors         = Math.max(1, maxActors);
     }
 
     /**
      * {@inheritDoc}
      * <p>
      * Creates a new {@link Notification} from the given request DTO
-     * and saves it. Throws {@link com.catalin.vibelog.exception.UserNotFoundException}
+     * and saves it, or folds an actor notification into the open aggregate of its key.
+     * Throws {@link com.catalin.vibelog.exception.UserNotFoundException}
      * if the recipient username is not found.
      * </p>
      */
     @Override
+    @Transactional
     public void sendNotification(NotificationRequestDTO req) {
 
-        User recipient = userService.findByUsername(req.recipientUsername());
-        Notification n = Notification.builder()
-                .type(req.type())
-                .content(req.content())
-                .recipient(recipient)
-                .build();
-        notificationRepo.save(n);
+        UserIdentity recipient = userLookup.getByUsername(req.recipientUsername());
+        if (req.actorUsername() == null) {
+            Notification n = Notification.builder()
+                    .type(req.type())
+                    .content(req.content())
+                    .targetId(req.targetId())
+                    .targetType(req.targetType())
+                    .reportResult(req.reportResult())
+                    .recipient(userRepo.getReferenceById(recipient.id()))
+                    .build();
+            notificationRepo.save(n);
+            return;
+        }
+
+        long targetKey = req.targetId() != null ? req.targetId() : 0L;
+        notificationRepo.lockAggregate(recipient.id() + ":" + req.type() + ":" + targetKey);
+        LocalDateTime now = LocalDateTime.now();
+        Optional<OpenAggregate> open = notificationRepo.findOpenAggregates(
+                recipient.id(), req.type(), targetKey, now.minus(aggregationWindow), maxActors, PageRequest.of(0, 1)
+        ).stream().findFirst();
+
+        Long actorId = userLookup.getByUsername(req.actorUsername()).id();
+        if (open.isEmpty()) {
+            notificationRepo.save(Notification.builder()
+                    .type(req.type())
+                    .recipient(userRepo.getReferenceById(recipient.id()))
+                    .targetId(req.targetId())
+                    .actorIds(actorId)
+                    .timestamp(now)
+                    .build());
+            return;
+        }
+
+        OpenAggregate aggregate = open.get();
+        List<Long> actorIds = new ArrayList<>(aggregate.actorIds() == null
+                ? List.of() : Arrays.asList(aggregate.actorIds()));
+        if (actorIds.contains(actorId)) {
+            // An actor repeating the action (e.g. like, unlike, like) adds nothing new.
+            return;
+        }
+        actorIds.add(0, actorId);
+        notificationRepo.updateAggregate(aggregate.id(), aggregate.actorCount() + 1,
+                actorIds.toArray(Long[]::new), now);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Inserts the notifications with one statement per chunk of
+     * {@value #REPORTER_CHUNK_SIZE} reports, keeping the bind-parameter count bounded.
+     * </p>
+     */
+    @Override
+    public int notifyReporters(List<Long> reportIds, ReportTarget targetType, Long targetId, ReportStatus result) {
+        LocalDateTime now = LocalDateTime.now();
+        int written = 0;
+        for (int from = 0; from < reportIds.size(); from += REPORTER_CHUNK_SIZE) {
+            List<Long> chunk = reportIds.subList(from, Math.min(from + REPORTER_CHUNK_SIZE, reportIds.size()));
+            written += notificationRepo.insertForReporters(targetType.name(), targetId, result.name(), now, chunk);
+        }
+        return written;
     }
 
     /**
      * {@inheritDoc}
      * <p>
-     * Fetches a page of {@link Notification} for the given username,
-     * maps each to a {@link NotificationResponseDTO}.
+     * Selects a page of stored rows for the given username straight from the query,
+     * without loading {@link Notification} entities, and renders them as one batch.
      * </p>
      */
     @Override
@@ -67,15 +182,8 @@ public class NotificationServiceImpl implements NotificationService {
             String username,
             Pageable page
     ) {
-        return notificationRepo
-                .findByRecipientUsernameOrderByTimestampDesc(username, page)
-                .map(n -> new NotificationResponseDTO(
-                        n.getId(),
-                        n.getType(),
-                        n.getContent(),
-                        n.isSeen(),
-                        n.getTimestamp()
-                ));
+        Page<NotificationRow> rows = notificationRepo.findRowsByRecipientUsername(username, page);
+        return new PageImpl<>(renderer.render(rows.getContent()), rows.getPageable(), rows.getTotalElements());
     }
 
     /**
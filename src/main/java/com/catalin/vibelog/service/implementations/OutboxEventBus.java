@@ -0,0 +1,60 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.events.DistributedEvent;
+import com.catalin.vibelog.model.OutboxEvent;
+import com.catalin.vibelog.repository.EventOutboxRepository;
+import com.catalin.vibelog.service.EventBus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@link EventBus} writing each event to the transactional outbox and waking the
+ * {@link PostgresEventRelay} of every instance with {@code NOTIFY}. The same row is
+ * later claimed by one {@link com.catalin.vibelog.service.OutboxDispatcher} worker,
+ * which runs the event's side effects.
+ * <p>
+ * Publishing takes a transaction-scoped advisory lock on the event's aggregate before
+ * inserting the row, so the rows of one aggregate are numbered in commit order and the
+ * relays, which read in ID order, deliver them in that order.
+ * </p>
+ */
+@Service
+public class OutboxEventBus implements EventBus {
+
+    /** Channel on which the relays listen for committed events. */
+    public static final String CHANNEL = "vibelog_events";
+
+    private final EventOutboxRepository outboxRepo;
+    private final OutboxEventCodec codec;
+
+    /**
+     * Constructs the event bus.
+     *
+     * @param outboxRepo repository of the outbox rows
+     * @param codec      serializer of the events
+     */
+    public OutboxEventBus(EventOutboxRepository outboxRepo,
+                          OutboxEventCodec codec) {
+        this.outboxRepo = outboxRepo;
+        this.codec = codec;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Joins the caller's transaction, so the outbox row commits or rolls back with
+     * the change the event describes.
+     * </p>
+     */
+    @Override
+    @Transactional
+    public void publish(DistributedEvent event) {
+        String payload = codec.encode(event);
+        outboxRepo.lockAggregate(event.aggregateKey());
+        outboxRepo.save(new OutboxEvent(event.aggregateKey(), event.getClass().getName(), payload,
+                LocalDateTime.now()));
+        outboxRepo.notifyChannel(CHANNEL);
+    }
+}
@@ -0,0 +1,65 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.events.DistributedEvent;
+import com.catalin.vibelog.repository.projection.OutboxRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.InjectableValues;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Converts {@link DistributedEvent}s to and from the JSON payload of their outbox rows.
+ */
+@Component
+public class OutboxEventCodec {
+
+    private final ObjectMapper mapper;
+
+    /**
+     * Constructs the codec.
+     *
+     * @param mapper the application's JSON mapper
+     */
+    public OutboxEventCodec(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Serialize an event from its public fields.
+     *
+     * @param event the event
+     * @return the JSON payload
+     */
+    public String encode(DistributedEvent event) {
+        try {
+            return mapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + event.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Rebuild the event of an outbox row.
+     *
+     * @param row    the outbox row
+     * @param source the object injected as the rebuilt event's source
+     * @return the event
+     * @throws IllegalArgumentException if the row's type is not a {@link DistributedEvent}
+     *                                  or its payload cannot be read
+     */
+    public DistributedEvent decode(OutboxRow row, Object source) {
+        try {
+            Class<?> type = Class.forName(row.eventType(), false, getClass().getClassLoader());
+            if (!DistributedEvent.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException("Not a distributed event: " + row.eventType());
+            }
+            return mapper.readerFor(type)
+                    .with(new InjectableValues.Std().addValue(DistributedEvent.SOURCE, source))
+                    .readValue(row.payload());
+        } catch (ClassNotFoundException | IOException e) {
+            throw new IllegalArgumentException("Cannot read outbox event " + row.id() + ": " + e.getMessage(), e);
+        }
+    }
+}
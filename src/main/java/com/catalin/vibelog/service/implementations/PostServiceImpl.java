@@ -8,16 +8,20 @@ import com.catalin.vibelog.exception.PostNotFoundException;
 import com.catalin.vibelog.exception.UnauthorizedActionException;
 import com.catalin.vibelog.exception.UserNotFoundException;
 import com.catalin.vibelog.model.Post;
-import com.catalin.vibelog.model.User;
+import com.catalin.vibelog.model.enums.NotificationType;
 import com.catalin.vibelog.model.enums.PostStatus;
-import com.catalin.vibelog.repository.CommentRepository;
-import com.catalin.vibelog.repository.LikeRepository;
+import com.catalin.vibelog.model.enums.ReportTarget;
+import com.catalin.vibelog.repository.ModerationQueueRepository;
+import com.catalin.vibelog.repository.NotificationRepository;
 import com.catalin.vibelog.repository.PostRepository;
 import com.catalin.vibelog.repository.ReportRepository;
 import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.EventBus;
+import com.catalin.vibelog.service.LikeCounter;
 import com.catalin.vibelog.service.MediaService;
 import com.catalin.vibelog.service.PostService;
-import org.springframework.context.ApplicationEventPublisher;
+import com.catalin.vibelog.service.UserLookupService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
@@ -26,7 +30,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Default implementation of {@link PostService}, using Spring Data JPA for persistence.
@@ -39,13 +47,19 @@ import java.util.List;
 @Service
 public class PostServiceImpl implements PostService {
 
-    private final ApplicationEventPublisher publisher;
+    /** Notification types whose target is a post. */
+    private static final Set<NotificationType> POST_NOTIFICATIONS =
+            EnumSet.of(NotificationType.LIKE, NotificationType.COMMENT, NotificationType.REBLOG);
+
+    private final EventBus publisher;
     private final PostRepository postRepo;
     private final UserRepository userRepo;
-    private final CommentRepository commentRepo;
-    private final LikeRepository likeRepo;
+    private final LikeCounter likeCounter;
     private final ReportRepository reportRepo;
     private final MediaService mediaService;
+    private final UserLookupService userLookup;
+    private final ModerationQueueRepository queueRepo;
+    private final NotificationRepository notificationRepo;
 
     /**
      * Constructs the PostService implementation with required dependencies.
@@ -53,27 +67,33 @@ public class PostServiceImpl implements PostService {
      * @param reportRepo    repository for handling report cleanup on moderator actions
      * @param postRepo      repository for post persistence
      * @param userRepo      repository for user lookups
-     * @param commentRepo   repository for comment counts
-     * @param likeRepo      repository for like counts
-     * @param publisher     event publisher for reblog events
+     * @param likeCounter   source of buffered like count deltas
+     * @param publisher     event bus publishing reblog events to every instance
      * @param mediaService  service for retrieving media attachments
+     * @param userLookup    cached resolver from username to user identity
+     * @param queueRepo     moderation queue, cleared of deleted posts and their comments
+     * @param notificationRepo repository clearing the notifications about deleted posts
      */
     public PostServiceImpl(
             ReportRepository reportRepo,
             PostRepository postRepo,
             UserRepository userRepo,
-            CommentRepository commentRepo,
-            LikeRepository likeRepo,
-            ApplicationEventPublisher publisher,
-            MediaService mediaService
+            LikeCounter likeCounter,
+            EventBus publisher,
+            MediaService mediaService,
+            UserLookupService userLookup,
+            ModerationQueueRepository queueRepo,
+            NotificationRepository notificationRepo
     ) {
         this.reportRepo = reportRepo;
         this.postRepo = postRepo;
         this.userRepo = userRepo;
-        this.commentRepo = commentRepo;
-        this.likeRepo = likeRepo;
+        this.likeCounter = likeCounter;
         this.publisher = publisher;
         this.mediaService = mediaService;
+        this.userLookup = userLookup;
+        this.queueRepo = queueRepo;
+        this.notificationRepo = notificationRepo;
     }
 
     /**
@@ -88,19 +108,37 @@ public class PostServiceImpl implements PostService {
     @Override
     @Transactional
     public PostResponse createPost(PostRequest req, String authorUsername) {
-        User author = userRepo.findByUsername(authorUsername)
+        UserIdentity author = userLookup.findByUsername(authorUsername)
                 .orElseThrow(() -> new PostNotFoundException(null));
+        return createPost(req, author.id(), author.username());
+    }
+
+    /**
+     * Create a new post for an author whose ID is already known, e.g. from the
+     * authenticated principal; the author is attached by reference without being loaded.
+     * Publishes a {@link ReblogEvent} if this post is a reblog.
+     *
+     * @param req             the {@link PostRequest} containing title, body, status, and optional originalPostId
+     * @param authorId        the ID of the author
+     * @param authorUsername  the username of the author
+     * @return the created {@link PostResponse}
+     * @throws PostNotFoundException if the original post (when provided) does not exist
+     */
+    @Override
+    @Transactional
+    public PostResponse createPost(PostRequest req, Long authorId, String authorUsername) {
         Post post = new Post();
         post.setTitle(req.title());
         post.setBody(req.body());
         post.setStatus(PostStatus.fromString(req.status()));
-        post.setAuthor(author);
+        post.setAuthor(userRepo.getReferenceById(authorId));
 
+        Post original = null;
         if (req.originalPostId() != null) {
-            Post original = postRepo.findById(req.originalPostId())
+            original = postRepo.findFeedCardById(req.originalPostId())
                     .orElseThrow(() -> new PostNotFoundException(req.originalPostId()));
             post.setOriginalPost(original);
-            publisher.publishEvent(new ReblogEvent(
+            publisher.publish(new ReblogEvent(
                     this,
                     original.getId(),
                     authorUsername,
@@ -109,7 +147,20 @@ public class PostServiceImpl implements PostService {
         }
 
         Post saved = postRepo.save(post);
-        return toDto(saved);
+        // a new post has no likes, comments or media yet; build the response without querying for them
+        return new PostResponse(
+                saved.getId(),
+                saved.getTitle(),
+                saved.getBody(),
+                saved.getStatus().name(),
+                saved.getCreatedAt(),
+                authorUsername,
+                0,
+                0,
+                original == null ? null : original.getId(),
+                original == null ? null : original.getAuthor().getUsername(),
+                List.of()
+        );
     }
 
     /**
@@ -122,7 +173,7 @@ public class PostServiceImpl implements PostService {
     @Override
     @Transactional(readOnly = true)
     public PostResponse getPostById(Long postId) {
-        Post post = postRepo.findById(postId)
+        Post post = postRepo.findFeedCardById(postId)
                 .orElseThrow(() -> new PostNotFoundException(postId));
         return toDto(post);
     }
@@ -137,9 +188,7 @@ public class PostServiceImpl implements PostService {
     @Override
     @Transactional(readOnly = true)
     public Page<PostResponse> listPosts(PostStatus status, Pageable pageable) {
-        return postRepo
-                .findAllByStatus(status, pageable)
-                .map(this::toDto);
+        return toDtoPage(postRepo.findAllByStatus(status, pageable));
     }
 
     /**
@@ -155,7 +204,7 @@ public class PostServiceImpl implements PostService {
     @Override
     @Transactional
     public PostResponse updatePost(Long postId, PostRequest req, String authorUsername) {
-        Post post = postRepo.findById(postId)
+        Post post = postRepo.findFeedCardById(postId)
                 .orElseThrow(() -> new PostNotFoundException(postId));
         if (!post.getAuthor().getUsername().equals(authorUsername)) {
             throw new UnauthorizedActionException(
@@ -171,6 +220,7 @@ public class PostServiceImpl implements PostService {
 
     /**
      * Delete a post. Only the original author may delete their post.
+     * The like, comment and reblog notifications about it and its reblogs go with it.
      *
      * @param postId         the ID of the post to delete
      * @param authorUsername the username of the user attempting deletion
@@ -186,7 +236,11 @@ public class PostServiceImpl implements PostService {
             throw new UnauthorizedActionException(
                     "User '" + authorUsername + "' is not the author of post " + postId);
         }
+        List<Long> deletedIds = withReblogIds(post, new ArrayList<>());
+        clearQueue(deletedIds);
         postRepo.delete(post);
+        notificationRepo.deleteByTargets(POST_NOTIFICATIONS, deletedIds);
+        mediaService.evictCached(deletedIds);
     }
 
     /**
@@ -202,9 +256,7 @@ public class PostServiceImpl implements PostService {
         Pageable pageWithDefaultSort = pageable.getSort().isSorted()
                 ? pageable
                 : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("createdAt").descending());
-        return postRepo
-                .findByAuthorUsername(authorUsername, pageWithDefaultSort)
-                .map(this::toDto);
+        return toDtoPage(postRepo.findByAuthorUsername(authorUsername, pageWithDefaultSort));
     }
 
     /**
@@ -219,31 +271,49 @@ public class PostServiceImpl implements PostService {
     @Override
     @Transactional(readOnly = true)
     public Page<PostResponse> listPostsByAuthorAndStatus(String username, PostStatus status, Pageable pageable) {
-        userRepo.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException(username));
-        return postRepo.findByAuthorUsernameAndStatus(username, status, pageable)
-                .map(this::toDto);
+        userLookup.getByUsername(username);
+        return toDtoPage(postRepo.findByAuthorUsernameAndStatus(username, status, pageable));
     }
 
     /**
-     * Convert a {@link Post} entity to a {@link PostResponse} DTO,
-     * including counts for likes, comments, original post info, and media attachments.
+     * Convert a page of posts to DTOs, prefetching the media of every post on the page
+     * with a single batched lookup instead of one query per post.
+     *
+     * @param posts the page of post entities
+     * @return the corresponding page of response DTOs
+     */
+    private Page<PostResponse> toDtoPage(Page<Post> posts) {
+        Map<Long, List<MediaResponseDTO>> media = mediaService.listForPosts(
+                posts.map(Post::getId).getContent());
+        return posts.map(p -> toDto(p, media.getOrDefault(p.getId(), List.of())));
+    }
+
+    /**
+     * Convert a single {@link Post} entity to a {@link PostResponse} DTO.
      *
      * @param post the post entity to convert
      * @return the corresponding response DTO
      */
     private PostResponse toDto(Post post) {
-        int likeCount = likeRepo.countByIdPostId(post.getId());
-        int commentCount = commentRepo.findAllByPostId(post.getId(), Sort.unsorted()).size();
+        return toDto(post, mediaService.listForPost(post.getId()));
+    }
+
+    /**
+     * Convert a {@link Post} entity to a {@link PostResponse} DTO,
+     * including counts for likes, comments, original post info, and media attachments.
+     *
+     * @param post      the post entity to convert
+     * @param mediaDtos the post's media attachments
+     * @return the corresponding response DTO
+     */
+    private PostResponse toDto(Post post, List<MediaResponseDTO> mediaDtos) {
+        int likeCount = (int) Math.max(0, post.getLikeCount() + likeCounter.pending(post.getId()));
         Long originalPostId = post.getOriginalPost() == null
                 ? null
                 : post.getOriginalPost().getId();
         String originalAuthor = post.getOriginalPost() == null
                 ? null
                 : post.getOriginalPost().getAuthor().getUsername();
-        List<MediaResponseDTO> mediaDtos = mediaService.listForPost(post.getId()).stream()
-                .map(m -> new MediaResponseDTO(m.getId(), m.getUrl(), m.getType().name()))
-                .toList();
 
         return new PostResponse(
                 post.getId(),
@@ -253,7 +323,7 @@ public class PostServiceImpl implements PostService {
                 post.getCreatedAt(),
                 post.getAuthor().getUsername(),
                 likeCount,
-                commentCount,
+                post.getCommentCount(),
                 originalPostId,
                 originalAuthor,
                 mediaDtos
@@ -275,6 +345,21 @@ public class PostServiceImpl implements PostService {
         postRepo.delete(reblog);
     }
 
+    /**
+     * Remove a reblog by the user with the given ID for the specified original post.
+     *
+     * @param userId         the ID of the reblogger
+     * @param originalPostId the ID of the original post to undo reblog
+     * @throws PostNotFoundException if no matching reblog exists
+     */
+    @Override
+    @Transactional
+    public void undoReblog(Long userId, Long originalPostId) {
+        Post reblog = postRepo.findByAuthorIdAndOriginalPostId(userId, originalPostId)
+                .orElseThrow(() -> new PostNotFoundException(originalPostId));
+        postRepo.delete(reblog);
+    }
+
     /**
      * Check if a user has reblogged a specific post.
      *
@@ -288,6 +373,19 @@ public class PostServiceImpl implements PostService {
         return postRepo.existsByAuthorUsernameAndOriginalPostId(username, originalPostId);
     }
 
+    /**
+     * Check if the user with the given ID has reblogged a specific post.
+     *
+     * @param userId         the ID of the user to check
+     * @param originalPostId the ID of the original post
+     * @return {@code true} if the user has reblogged, {@code false} otherwise
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isReblogged(Long userId, Long originalPostId) {
+        return postRepo.existsByAuthorIdAndOriginalPostId(userId, originalPostId);
+    }
+
     /**
      * Count how many times a post has been reblogged.
      *
@@ -301,7 +399,8 @@ public class PostServiceImpl implements PostService {
     }
 
     /**
-     * Delete a post as a moderator, including cleaning up associated reports.
+     * Delete a post as a moderator, including cleaning up associated reports
+     * and the notifications about it and its reblogs.
      *
      * @param postId the ID of the post to delete
      * @throws PostNotFoundException if no post exists with the given ID
@@ -312,6 +411,37 @@ public class PostServiceImpl implements PostService {
         Post post = postRepo.findById(postId)
                 .orElseThrow(() -> new PostNotFoundException(postId));
         reportRepo.deleteAllByPostId(postId);
+        List<Long> deletedIds = withReblogIds(post, new ArrayList<>());
+        clearQueue(deletedIds);
         postRepo.delete(post);
+        notificationRepo.deleteByTargets(POST_NOTIFICATIONS, deletedIds);
+        mediaService.evictCached(deletedIds);
+    }
+
+    /**
+     * Collect the ID of a post and of every reblog that deleting it cascades to.
+     *
+     * @param post the post about to be deleted
+     * @param ids  the list to add the IDs to
+     * @return {@code ids}
+     */
+    private static List<Long> withReblogIds(Post post, List<Long> ids) {
+        ids.add(post.getId());
+        for (Post reblog : post.getRebloggedPosts()) {
+            withReblogIds(reblog, ids);
+        }
+        return ids;
+    }
+
+    /**
+     * Remove the moderation queue entries of posts about to be deleted and of every
+     * comment on them. Must run before the posts are deleted, while their comments
+     * can still be matched to them.
+     *
+     * @param postIds the IDs of the posts about to be deleted
+     */
+    private void clearQueue(List<Long> postIds) {
+        queueRepo.deleteByTargets(ReportTarget.POST, postIds);
+        queueRepo.deleteCommentEntriesForPosts(postIds);
     }
 }
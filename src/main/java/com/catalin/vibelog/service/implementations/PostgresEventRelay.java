@@ -0,0 +1,265 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.events.ClusterEvent;
+import com.catalin.vibelog.events.DistributedEvent;
+import com.catalin.vibelog.repository.EventOutboxRepository;
+import com.catalin.vibelog.repository.projection.OutboxRow;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Delivers the events of the outbox to this instance's listeners as {@link ClusterEvent}s.
+ * <p>
+ * A background thread holds one connection listening on {@link OutboxEventBus#CHANNEL}
+ * and reads new rows whenever a publishing transaction commits, or after the poll
+ * interval at the latest. It starts at the end of the outbox, since listeners load
+ * their state from the database on startup, and keeps its position across reconnects,
+ * so events committed while the database was unreachable are delivered afterwards.
+ * </p>
+ * <p>
+ * IDs are assigned before commit, so a row may become visible after rows with higher
+ * IDs. The relay therefore tracks the highest ID it delivered and everything below a
+ * low-water mark, looks up the IDs still missing in between on every pass, and only
+ * gives up on a missing ID, usually one of a rolled-back transaction, after the gap timeout.
+ * Delivery is therefore at least once only for transactions that commit within the gap
+ * timeout of their first outbox row: the events of a longer transaction are skipped, with
+ * a warning naming their IDs, so the timeout must stay well above the longest publishing
+ * transaction, such as a bulk moderation or account purge chunk.
+ * </p>
+ */
+@Component
+public class PostgresEventRelay implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(PostgresEventRelay.class);
+
+    private final DataSource dataSource;
+    private final EventOutboxRepository outboxRepo;
+    private final ApplicationEventPublisher publisher;
+    private final OutboxEventCodec codec;
+    private final boolean enabled;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final Duration gapTimeout;
+
+    /** Every ID up to this one has been delivered or given up on; -1 until the first pass. */
+    private long cursor = -1;
+    /** Highest ID delivered so far. */
+    private long high = -1;
+    /** IDs above the cursor that have been delivered. */
+    private final NavigableSet<Long> delivered = new TreeSet<>();
+    /** When the gap above the cursor was first seen, or {@code null} if there is none. */
+    private Instant gapSince;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Constructs the relay.
+     *
+     * @param dataSource   source of the listening connection
+     * @param outboxRepo   repository reading the outbox rows
+     * @param publisher    publisher handing the events to this instance's listeners
+     * @param codec        deserializer of the events
+     * @param enabled      whether the relay runs at all
+     * @param pollInterval longest wait for a notification before reading the outbox anyway
+     * @param batchSize    maximum number of rows read per query
+     * @param gapTimeout   how long a missing ID is waited for before it is skipped
+     */
+    public PostgresEventRelay(DataSource dataSource,
+                              EventOutboxRepository outboxRepo,
+                              ApplicationEventPublisher publisher,
+                              OutboxEventCodec codec,
+                              @Value("${vibelog.events.relay.enabled:true}") boolean enabled,
+                              @Value("${vibelog.events.relay.poll-interval:PT5S}") Duration pollInterval,
+                              @Value("${vibelog.events.relay.batch-size:500}") int batchSize,
+                              @Value("${vibelog.events.relay.gap-timeout:PT15M}") Duration gapTimeout) {
+        this.dataSource = dataSource;
+        this.outboxRepo = outboxRepo;
+        this.publisher = publisher;
+        this.codec = codec;
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+        this.batchSize = Math.max(1, batchSize);
+        this.gapTimeout = gapTimeout;
+    }
+
+    /**
+     * Start the listening thread, unless the relay is disabled.
+     */
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::listen, "vibelog-event-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stop the listening thread, waiting at most one poll interval for it to finish.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (worker == null) {
+            return;
+        }
+        try {
+            worker.join(pollInterval.toMillis() + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return whether the listening thread has been started and not stopped
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Deliver the rows committed since the last pass, including rows that fill gaps
+     * left by earlier passes, in ID order.
+     *
+     * @return number of events delivered
+     */
+    public int deliverPending() {
+        if (cursor < 0) {
+            cursor = high = outboxRepo.findMaxId();
+        }
+        int count = 0;
+        List<Long> missing = missing();
+        for (int from = 0; from < missing.size(); from += batchSize) {
+            List<Long> chunk = missing.subList(from, Math.min(from + batchSize, missing.size()));
+            for (OutboxRow row : outboxRepo.findByIdIn(chunk)) {
+                delivered.add(row.id());
+                deliver(row);
+                count++;
+            }
+        }
+        List<OutboxRow> rows;
+        do {
+            rows = outboxRepo.findAfter(high, PageRequest.of(0, batchSize));
+            for (OutboxRow row : rows) {
+                delivered.add(row.id());
+                high = row.id();
+                deliver(row);
+                count++;
+            }
+        } while (rows.size() == batchSize);
+        advanceCursor();
+        return count;
+    }
+
+    /**
+     * @return the IDs between the cursor and the highest delivered ID that have not been delivered, ascending
+     */
+    private List<Long> missing() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = cursor + 1; id < high; id++) {
+            if (!delivered.contains(id)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Listen for notifications and deliver pending rows until stopped, reconnecting
+     * after a failure.
+     */
+    private void listen() {
+        while (running) {
+            try (Connection con = dataSource.getConnection(); Statement statement = con.createStatement()) {
+                statement.execute("LISTEN " + OutboxEventBus.CHANNEL);
+                PGConnection pg = con.unwrap(PGConnection.class);
+                while (running) {
+                    deliverPending();
+                    pg.getNotifications((int) pollInterval.toMillis());
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Event relay failed, reconnecting: {}", e.getMessage(), e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    /**
+     * Move the cursor over the delivered IDs directly above it, then start or check
+     * the timeout of a remaining gap.
+     */
+    private void advanceCursor() {
+        long before = cursor;
+        while (delivered.remove(cursor + 1)) {
+            cursor++;
+        }
+        if (cursor >= high) {
+            gapSince = null;
+            return;
+        }
+        Instant now = Instant.now();
+        if (cursor != before || gapSince == null) {
+            gapSince = now;
+        } else if (!now.isBefore(gapSince.plus(gapTimeout))) {
+            log.warn("Giving up on outbox IDs {} to {}, their events will not be delivered here", cursor + 1, delivered.first() - 1);
+            cursor = delivered.first() - 1;
+            gapSince = null;
+            advanceCursor();
+        }
+    }
+
+    /**
+     * Rebuild the event of a row and hand it to the listeners. A row that cannot be
+     * rebuilt or whose listener fails is logged and skipped, so it cannot block the ones after it.
+     *
+     * @param row the outbox row
+     */
+    private void deliver(OutboxRow row) {
+        DistributedEvent event;
+        try {
+            event = codec.decode(row, this);
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping outbox event {}: {}", row.id(), e.getMessage());
+            return;
+        }
+        try {
+            publisher.publishEvent(new ClusterEvent<>(this, row.id(), event));
+        } catch (RuntimeException e) {
+            log.warn("Listener failed on outbox event {}: {}", row.id(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Wait one poll interval before reconnecting.
+     */
+    private void pause() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
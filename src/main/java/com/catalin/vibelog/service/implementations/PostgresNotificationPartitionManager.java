@@ -0,0 +1,231 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.service.NotificationPartitionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link NotificationPartitionManager} using PostgreSQL declarative range partitioning.
+ * <p>
+ * The schema generator creates {@code notifications} as a plain table. On conversion it
+ * is renamed to {@code notifications_legacy} and attached to a new partitioned parent as
+ * the partition for everything before the current month, so no history is copied; only
+ * rows of the current month move to their monthly partition. The parent's primary key is
+ * {@code (id, timestamp)} as the partition key must be part of it, and IDs keep coming
+ * from one sequence. A default partition catches rows outside every monthly range, and
+ * its rows move out when their month's partition is created.
+ * </p>
+ * <p>
+ * The parent carries an index on {@code (recipient_id, timestamp DESC)} for the inbox
+ * page and a partial index on {@code recipient_id} over unseen rows only, which keeps
+ * unread counts and mark-all-read proportional to what is unread. A partial index on
+ * {@code target_id} finds the notifications about a post when the post is deleted.
+ * </p>
+ */
+@Service
+public class PostgresNotificationPartitionManager implements NotificationPartitionManager {
+    private static final Logger log = LoggerFactory.getLogger(PostgresNotificationPartitionManager.class);
+
+    private static final String LEGACY_PARTITION = "notifications_legacy";
+    private static final String DEFAULT_PARTITION = "notifications_default";
+    private static final String ID_SEQUENCE = "notifications_part_id_seq";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('(\\d{4}-\\d{2}-\\d{2})");
+
+    private static final String TABLE_KIND =
+            "SELECT (SELECT relkind::text FROM pg_class WHERE oid = to_regclass('notifications'))";
+
+    private static final String LIST_PARTITIONS = """
+      SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bound
+      FROM pg_inherits i
+      JOIN pg_class c ON c.oid = i.inhrelid
+      WHERE i.inhparent = 'notifications'::regclass
+      """;
+
+    private final JdbcTemplate jdbc;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean archive;
+
+    /**
+     * Constructs the partition manager.
+     *
+     * @param jdbc            template running the DDL in the current transaction
+     * @param monthsAhead     number of future months to keep partitions ready for
+     * @param retentionMonths number of whole months kept before the current one
+     * @param archive         whether expired partitions are detached and kept as standalone
+     *                        tables instead of dropped
+     */
+    public PostgresNotificationPartitionManager(
+            JdbcTemplate jdbc,
+            @Value("${vibelog.notifications.partitions.months-ahead:2}") int monthsAhead,
+            @Value("${vibelog.notifications.retention.months:12}") int retentionMonths,
+            @Value("${vibelog.notifications.retention.archive:false}") boolean archive) {
+        this.jdbc = jdbc;
+        this.monthsAhead = Math.max(0, monthsAhead);
+        this.retentionMonths = Math.max(1, retentionMonths);
+        this.archive = archive;
+    }
+
+    /**
+     * Swap the plain table for a partitioned parent holding it as its oldest partition,
+     * then make sure the parent's indexes exist.
+     *
+     * @return {@code true} if the table is partitioned, {@code false} if it does not exist
+     */
+    @Override
+    @Transactional
+    public boolean ensurePartitioned() {
+        String kind = jdbc.queryForObject(TABLE_KIND, String.class);
+        if (kind == null) {
+            log.warn("Table notifications does not exist; skipping partitioning");
+            return false;
+        }
+        if (!"p".equals(kind)) {
+            convert(currentMonth());
+        }
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_notifications_recipient_timestamp "
+                + "ON notifications (recipient_id, timestamp DESC)");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_notifications_unseen "
+                + "ON notifications (recipient_id) WHERE NOT seen");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_notifications_target "
+                + "ON notifications (target_id) WHERE target_id IS NOT NULL");
+        return true;
+    }
+
+    /**
+     * Create each missing monthly partition, moving its rows out of the default partition.
+     *
+     * @return number of partitions created
+     */
+    @Override
+    @Transactional
+    public int createUpcomingPartitions() {
+        LocalDate month = currentMonth();
+        int created = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            if (createPartition(month.plusMonths(i))) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Detach every partition whose upper bound is at or before the retention cutoff,
+     * drop it unless archiving, and clear expired rows from the default partition.
+     *
+     * @return number of partitions removed from the table
+     */
+    @Override
+    @Transactional
+    public int expireOldPartitions() {
+        LocalDate cutoff = currentMonth().minusMonths(retentionMonths);
+        int expired = 0;
+        for (Map<String, Object> partition : jdbc.queryForList(LIST_PARTITIONS)) {
+            String name = (String) partition.get("name");
+            Matcher upper = UPPER_BOUND.matcher(Objects.toString(partition.get("bound"), ""));
+            if (!upper.find() || LocalDate.parse(upper.group(1)).isAfter(cutoff)) {
+                continue;
+            }
+            jdbc.execute("ALTER TABLE notifications DETACH PARTITION " + name);
+            if (archive) {
+                log.info("Detached notification partition {} for archival", name);
+            } else {
+                jdbc.execute("DROP TABLE " + name);
+                log.info("Dropped notification partition {}", name);
+            }
+            expired++;
+        }
+        jdbc.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE timestamp < " + literal(cutoff));
+        return expired;
+    }
+
+    /**
+     * Rebuild {@code notifications} as a partitioned table around the existing one.
+     *
+     * @param month first day of the current month; older rows stay in the legacy partition
+     */
+    private void convert(LocalDate month) {
+        log.info("Converting notifications into a monthly partitioned table");
+        jdbc.execute("LOCK TABLE notifications IN ACCESS EXCLUSIVE MODE");
+        jdbc.update("UPDATE notifications SET timestamp = LOCALTIMESTAMP WHERE timestamp IS NULL");
+        jdbc.execute("ALTER TABLE notifications RENAME TO " + LEGACY_PARTITION);
+        long maxId = Objects.requireNonNull(
+                jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + LEGACY_PARTITION, Long.class));
+
+        // A partition may not have its own identity, and the parent's ID sequence must outlive it.
+        jdbc.execute("ALTER TABLE " + LEGACY_PARTITION + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        jdbc.execute("ALTER TABLE " + LEGACY_PARTITION + " ALTER COLUMN id DROP DEFAULT");
+        jdbc.execute("ALTER TABLE " + LEGACY_PARTITION + " ALTER COLUMN timestamp SET NOT NULL");
+        jdbc.execute("CREATE SEQUENCE IF NOT EXISTS " + ID_SEQUENCE);
+        jdbc.queryForObject("SELECT setval('" + ID_SEQUENCE + "', " + (maxId + 1) + ", false)", Long.class);
+
+        jdbc.execute("CREATE TABLE notifications (LIKE " + LEGACY_PARTITION + " INCLUDING DEFAULTS) "
+                + "PARTITION BY RANGE (timestamp)");
+        jdbc.execute("ALTER TABLE notifications ALTER COLUMN id SET DEFAULT nextval('" + ID_SEQUENCE + "')");
+        jdbc.execute("ALTER SEQUENCE " + ID_SEQUENCE + " OWNED BY notifications.id");
+        jdbc.execute("ALTER TABLE notifications ADD CONSTRAINT notifications_part_pkey PRIMARY KEY (id, timestamp)");
+        jdbc.execute("ALTER TABLE notifications ADD CONSTRAINT fk_notifications_recipient "
+                + "FOREIGN KEY (recipient_id) REFERENCES users (id)");
+        jdbc.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF notifications DEFAULT");
+        createUpcomingPartitions();
+
+        jdbc.update("INSERT INTO notifications SELECT * FROM " + LEGACY_PARTITION
+                + " WHERE timestamp >= " + literal(month));
+        jdbc.update("DELETE FROM " + LEGACY_PARTITION + " WHERE timestamp >= " + literal(month));
+        jdbc.execute("ALTER TABLE notifications ATTACH PARTITION " + LEGACY_PARTITION
+                + " FOR VALUES FROM (MINVALUE) TO (" + literal(month) + ")");
+    }
+
+    /**
+     * Create the partition of one month unless it exists. The table is filled from the
+     * default partition before it is attached, since attaching fails while the default
+     * partition still holds rows of its range.
+     *
+     * @param month first day of the month
+     * @return {@code true} if the partition was created
+     */
+    private boolean createPartition(LocalDate month) {
+        String name = "notifications_p" + month.format(PARTITION_SUFFIX);
+        if (jdbc.queryForObject("SELECT to_regclass('" + name + "')::text", String.class) != null) {
+            return false;
+        }
+        String from = literal(month);
+        String to = literal(month.plusMonths(1));
+        jdbc.execute("CREATE TABLE " + name + " (LIKE notifications INCLUDING DEFAULTS)");
+        jdbc.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE timestamp >= " + from + " AND timestamp < " + to + " RETURNING *) "
+                + "INSERT INTO " + name + " SELECT * FROM moved");
+        jdbc.execute("ALTER TABLE notifications ATTACH PARTITION " + name
+                + " FOR VALUES FROM (" + from + ") TO (" + to + ")");
+        log.info("Created notification partition {}", name);
+        return true;
+    }
+
+    /**
+     * @return the first day of the current month
+     */
+    private static LocalDate currentMonth() {
+        return LocalDate.now().withDayOfMonth(1);
+    }
+
+    /**
+     * @param day a date computed by this class
+     * @return the date as a timestamp literal for DDL, which cannot take bind parameters
+     */
+    private static String literal(LocalDate day) {
+        return "'" + day + " 00:00:00'";
+    }
+}
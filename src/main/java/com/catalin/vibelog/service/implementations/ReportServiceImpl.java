@@ -2,64 +2,90 @@ package com.catalin.vibelog.service.implementations;
 
 import com.catalin.vibelog.dto.request.ReportRequestDTO;
 import com.catalin.vibelog.dto.request.ReportStatusUpdateDTO;
+import com.catalin.vibelog.dto.response.ModerationQueueItemDTO;
 import com.catalin.vibelog.dto.response.ReportResponseDTO;
+import com.catalin.vibelog.dto.response.TargetResolutionDTO;
 import com.catalin.vibelog.events.ReportResolvedEvent;
+import com.catalin.vibelog.events.ReportsResolvedEvent;
 import com.catalin.vibelog.exception.CommentNotFoundException;
 import com.catalin.vibelog.exception.PostNotFoundException;
 import com.catalin.vibelog.exception.ReportNotFoundException;
 import com.catalin.vibelog.exception.UserNotFoundException;
 import com.catalin.vibelog.model.Comment;
+import com.catalin.vibelog.model.ModerationQueueEntry;
 import com.catalin.vibelog.model.Post;
 import com.catalin.vibelog.model.Report;
-import com.catalin.vibelog.model.User;
 import com.catalin.vibelog.model.enums.ReportStatus;
+import com.catalin.vibelog.model.enums.ReportTarget;
 import com.catalin.vibelog.repository.CommentRepository;
+import com.catalin.vibelog.repository.ModerationQueueRepository;
 import com.catalin.vibelog.repository.PostRepository;
 import com.catalin.vibelog.repository.ReportRepository;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.EventBus;
 import com.catalin.vibelog.service.ReportService;
-import com.catalin.vibelog.service.UserService;
+import com.catalin.vibelog.service.UserLookupService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 /**
  * Default implementation of {@link ReportService}, handling creation, retrieval,
  * and status updates for reports against posts or comments.
  * Publishes a {@link ReportResolvedEvent} when a report is resolved.
+ * <p>
+ * Pending reports are also aggregated per target in the moderation queue, which
+ * is kept in step with every report that enters or leaves the PENDING status.
+ * Resolving a queue entry updates all of its reports in one statement and
+ * publishes a single {@link ReportsResolvedEvent} for the batched notification path.
+ * </p>
  */
 @Service
+@Transactional
 public class ReportServiceImpl implements ReportService {
 
-    private final ApplicationEventPublisher publisher;
+    private final EventBus publisher;
     private final ReportRepository reportRepo;
-    private final UserService userService;
+    private final UserLookupService userLookup;
+    private final UserRepository userRepo;
     private final PostRepository postRepo;
     private final CommentRepository commentRepo;
+    private final ModerationQueueRepository queueRepo;
 
     /**
      * Constructs the service with required dependencies.
      *
-     * @param publisher    event publisher for firing domain events
+     * @param publisher    event bus publishing domain events to every instance
      * @param reportRepo   repository for report persistence
-     * @param userService  service for validating and retrieving users
+     * @param userLookup   cached resolver for validating reporters
+     * @param userRepo     repository providing reporter references
      * @param postRepo     repository for post lookups
      * @param commentRepo  repository for comment lookups
+     * @param queueRepo    repository maintaining the aggregated moderation queue
      */
     @Autowired
     public ReportServiceImpl(
-            ApplicationEventPublisher publisher,
+            EventBus publisher,
             ReportRepository reportRepo,
-            UserService userService,
+            UserLookupService userLookup,
+            UserRepository userRepo,
             PostRepository postRepo,
-            CommentRepository commentRepo
+            CommentRepository commentRepo,
+            ModerationQueueRepository queueRepo
     ) {
         this.publisher = publisher;
         this.reportRepo = reportRepo;
-        this.userService = userService;
+        this.userLookup = userLookup;
+        this.userRepo = userRepo;
         this.postRepo = postRepo;
         this.commentRepo = commentRepo;
+        this.queueRepo = queueRepo;
     }
 
     /**
@@ -77,7 +103,7 @@ public class ReportServiceImpl implements ReportService {
     @Override
     public ReportResponseDTO submitReport(String reporterUsername, ReportRequestDTO req) {
         // lookup reporter
-        User reporter = userService.findByUsername(reporterUsername);
+        UserIdentity reporter = userLookup.getByUsername(reporterUsername);
 
         // must reference exactly one target
         boolean hasPost = req.postId() != null;
@@ -89,7 +115,7 @@ public class ReportServiceImpl implements ReportService {
         }
 
         Report.Builder b = Report.builder()
-                .reporter(reporter)
+                .reporter(userRepo.getReferenceById(reporter.id()))
                 .reason(req.reason());
 
         if (hasPost) {
@@ -103,7 +129,11 @@ public class ReportServiceImpl implements ReportService {
         }
 
         Report saved = reportRepo.save(b.build());
-        return toDto(saved);
+        queueRepo.recordReport(
+                (hasPost ? ReportTarget.POST : ReportTarget.COMMENT).name(),
+                hasPost ? req.postId() : req.commentId(),
+                saved.getReportedAt());
+        return toDto(saved, reporter.username());
     }
 
     /**
@@ -114,9 +144,9 @@ public class ReportServiceImpl implements ReportService {
      * @return a {@link Page} of {@link ReportResponseDTO} matching the status
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<ReportResponseDTO> listReportsByStatus(ReportStatus status, Pageable page) {
-        return reportRepo.findByStatus(status, page)
-                .map(this::toDto);
+        return reportRepo.findResponsesByStatus(status, page);
     }
 
     /**
@@ -128,11 +158,11 @@ public class ReportServiceImpl implements ReportService {
      * @throws UserNotFoundException if the reporting user does not exist
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<ReportResponseDTO> listReportsByReporter(String reporterUsername, Pageable page) {
         // validate reporter exists
-        userService.findByUsername(reporterUsername);
-        return reportRepo.findByReporterUsername(reporterUsername, page)
-                .map(this::toDto);
+        userLookup.getByUsername(reporterUsername);
+        return reportRepo.findResponsesByReporterUsername(reporterUsername, page);
     }
 
     /**
@@ -145,13 +175,15 @@ public class ReportServiceImpl implements ReportService {
      */
     @Override
     public ReportResponseDTO updateReportStatus(Long reportId, ReportStatusUpdateDTO upd) {
-        Report rep = reportRepo.findById(reportId)
+        Report rep = reportRepo.findForModerationById(reportId)
                 .orElseThrow(() -> new ReportNotFoundException(reportId));
 
+        ReportStatus previous = rep.getStatus();
         rep.setStatus(upd.status());
         Report saved = reportRepo.save(rep);
+        syncQueue(saved, previous);
         if (saved.getStatus().equals(ReportStatus.RESOLVED)) {
-            publisher.publishEvent(new ReportResolvedEvent(
+            publisher.publish(new ReportResolvedEvent(
                     this,
                     saved.getId(),
                     saved.getReporter().getUsername(),
@@ -163,6 +195,84 @@ public class ReportServiceImpl implements ReportService {
         return toDto(saved);
     }
 
+    /**
+     * List the moderation queue: one entry per reported post or comment with
+     * pending reports, highest priority first.
+     *
+     * @param page pagination information; any requested sort is dropped, as the order is fixed to priority
+     * @return a {@link Page} of {@link ModerationQueueItemDTO}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ModerationQueueItemDTO> listModerationQueue(Pageable page) {
+        return queueRepo.findQueuePage(PageRequest.of(page.getPageNumber(), page.getPageSize()));
+    }
+
+    /**
+     * Move every pending report against a target to the given status.
+     * <p>
+     * The queue entry is row-locked first, so reports filed concurrently wait for
+     * this transaction and then open a new entry instead of being lost. As for a
+     * single report, reporters are only notified when the reports are RESOLVED,
+     * once per target through a {@link ReportsResolvedEvent}.
+     * </p>
+     *
+     * @param targetType kind of the reported content
+     * @param targetId   ID of the reported post or comment
+     * @param status     the new status; must not be PENDING
+     * @return a {@link TargetResolutionDTO} with the number of reports updated
+     * @throws IllegalArgumentException if {@code status} is PENDING
+     * @throws ReportNotFoundException  if the target has no pending reports
+     */
+    @Override
+    public TargetResolutionDTO resolveTarget(ReportTarget targetType, Long targetId, ReportStatus status) {
+        if (status == ReportStatus.PENDING) {
+            throw new IllegalArgumentException("Cannot resolve reports to PENDING");
+        }
+        ModerationQueueEntry entry = queueRepo.lockByTarget(targetType, targetId)
+                .orElseThrow(() -> new ReportNotFoundException(targetType, targetId));
+
+        boolean isPost = targetType == ReportTarget.POST;
+        List<Long> reportIds = isPost
+                ? reportRepo.findIdsByPostIdAndStatus(targetId, ReportStatus.PENDING)
+                : reportRepo.findIdsByCommentIdAndStatus(targetId, ReportStatus.PENDING);
+        int updated = reportIds.isEmpty() ? 0 : reportRepo.updateStatusByIdIn(reportIds, status);
+        queueRepo.delete(entry);
+
+        if (updated > 0 && status == ReportStatus.RESOLVED) {
+            publisher.publish(new ReportsResolvedEvent(
+                    this,
+                    isPost ? targetId : null,
+                    isPost ? null : targetId,
+                    reportIds,
+                    status
+            ));
+        }
+        return new TargetResolutionDTO(targetType, targetId, status, updated);
+    }
+
+    /**
+     * Keep the report's queue entry in step when it enters or leaves the PENDING status.
+     *
+     * @param r        the updated report
+     * @param previous the report's status before the update
+     */
+    private void syncQueue(Report r, ReportStatus previous) {
+        boolean wasPending = previous == ReportStatus.PENDING;
+        boolean isPending = r.getStatus() == ReportStatus.PENDING;
+        if (wasPending == isPending) {
+            return;
+        }
+        ReportTarget targetType = r.getPost() != null ? ReportTarget.POST : ReportTarget.COMMENT;
+        Long targetId = r.getPost() != null ? r.getPost().getId() : r.getComment().getId();
+        if (isPending) {
+            queueRepo.recordReport(targetType.name(), targetId, r.getReportedAt());
+        } else {
+            queueRepo.decrementReportCount(targetType.name(), targetId);
+            queueRepo.deleteIfEmpty(targetType, targetId);
+        }
+    }
+
     /**
      * Map a {@link Report} entity to a {@link ReportResponseDTO}.
      *
@@ -170,9 +280,21 @@ public class ReportServiceImpl implements ReportService {
      * @return the corresponding response DTO
      */
     private ReportResponseDTO toDto(Report r) {
+        return toDto(r, r.getReporter().getUsername());
+    }
+
+    /**
+     * Map a {@link Report} entity to a {@link ReportResponseDTO} using an already known
+     * reporter username, so the reporter association does not need to be loaded.
+     *
+     * @param r                the report entity
+     * @param reporterUsername the username of the reporting user
+     * @return the corresponding response DTO
+     */
+    private ReportResponseDTO toDto(Report r, String reporterUsername) {
         return new ReportResponseDTO(
                 r.getId(),
-                r.getReporter().getUsername(),
+                reporterUsername,
                 r.getPost()    != null ? r.getPost().getId()    : null,
                 r.getComment() != null ? r.getComment().getId() : null,
                 r.getReason(),
@@ -0,0 +1,214 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.events.ClusterEvent;
+import com.catalin.vibelog.events.LikeEvent;
+import com.catalin.vibelog.events.PostMediaChangedEvent;
+import com.catalin.vibelog.events.UnlikeEvent;
+import com.catalin.vibelog.repository.LikeRepository;
+import com.catalin.vibelog.service.LikeIndex;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * {@link LikeIndex} keeping one compressed Roaring bitmap of liker IDs per hot post.
+ * <p>
+ * A post is loaded from the likes table the first time it is liked with at least
+ * the configured number of likes, and then kept current by like/unlike updates
+ * applied after commit. Bitmaps are weighed by their size in bytes and the least
+ * valuable ones are evicted once the memory budget is exceeded; cold posts also
+ * expire after a period without access.
+ * </p>
+ * <p>
+ * Likes removed in bulk do not go through the index. The bitmaps of deleted posts are
+ * dropped on every instance through the {@link PostMediaChangedEvent} published by each
+ * post delete and purge. An account purge leaves the account's ID in the bitmaps of hot
+ * posts it liked; that entry is stale, but only ever looked up for the purged account.
+ * </p>
+ * <p>
+ * Loading and updates of the same post go through Caffeine's per-key compute,
+ * so an update that commits while a post is being loaded is applied after the load.
+ * The index is local to this instance; likes and unlikes committed on other instances
+ * reach it through the relayed {@link LikeEvent} and {@link UnlikeEvent}. Applying an
+ * event twice, or one that was already recorded locally, changes nothing.
+ * </p>
+ */
+@Service
+public class RoaringLikeIndex implements LikeIndex {
+
+    private final LikeRepository likeRepo;
+    private final int minLikes;
+    private final Cache<Long, Roaring64Bitmap> bitmaps;
+
+    /**
+     * Constructs the index.
+     *
+     * @param likeRepo          repository used to load the likers of a post
+     * @param meterRegistry     registry receiving the index's hit/miss/eviction metrics
+     * @param minLikes          like count from which a post gets indexed
+     * @param maxBytes          memory budget for all bitmaps, in bytes
+     * @param expireAfterAccess time after which an unused bitmap is dropped
+     */
+    public RoaringLikeIndex(LikeRepository likeRepo,
+                            MeterRegistry meterRegistry,
+                            @Value("${vibelog.likes.index.min-likes:1000}") int minLikes,
+                            @Value("${vibelog.likes.index.max-bytes:67108864}") long maxBytes,
+                            @Value("${vibelog.likes.index.expire-after-access:PT1H}") Duration expireAfterAccess) {
+        this.likeRepo = likeRepo;
+        this.minLikes = minLikes;
+        this.bitmaps = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long postId, Roaring64Bitmap bitmap) ->
+                        (int) Math.min(Integer.MAX_VALUE, bitmap.getLongSizeInBytes()))
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bitmaps, "likeIndex");
+    }
+
+    /**
+     * Answer from the post's bitmap, if the post is indexed.
+     *
+     * @param postId the ID of the post
+     * @param userId the ID of the user
+     * @return whether the user liked the post, or empty if the post is not indexed
+     */
+    @Override
+    public Optional<Boolean> isLiked(Long postId, Long userId) {
+        Roaring64Bitmap bitmap = bitmaps.getIfPresent(postId);
+        if (bitmap == null) {
+            return Optional.empty();
+        }
+        synchronized (bitmap) {
+            return Optional.of(bitmap.contains(userId));
+        }
+    }
+
+    /**
+     * Add the liker to the post's bitmap after commit, loading the bitmap first
+     * if the post just became hot.
+     *
+     * @param postId     the ID of the liked post
+     * @param userId     the ID of the liker
+     * @param totalLikes the post's like count after this like
+     */
+    @Override
+    public void recordLike(Long postId, Long userId, int totalLikes) {
+        afterCommit(() -> {
+            if (totalLikes >= minLikes) {
+                // loads a consistent snapshot (which already includes this like) when absent
+                bitmaps.get(postId, this::load);
+            }
+            update(postId, userId, true);
+        });
+    }
+
+    /**
+     * Remove the user from the post's bitmap after commit, if the post is indexed.
+     *
+     * @param postId the ID of the unliked post
+     * @param userId the ID of the user
+     */
+    @Override
+    public void recordUnlike(Long postId, Long userId) {
+        afterCommit(() -> update(postId, userId, false));
+    }
+
+    /**
+     * Apply a like committed on any instance to the post's bitmap, if the post is indexed.
+     * Events that do not carry the liker's ID drop the bitmap so it is reloaded.
+     *
+     * @param ev the relayed like
+     */
+    @EventListener
+    public void onLike(ClusterEvent<LikeEvent> ev) {
+        Long userId = ev.event.likerId;
+        if (userId == null) {
+            bitmaps.invalidate(ev.event.postId);
+            return;
+        }
+        update(ev.event.postId, userId, true);
+    }
+
+    /**
+     * Apply an unlike committed on any instance to the post's bitmap, if the post is indexed.
+     *
+     * @param ev the relayed unlike
+     */
+    @EventListener
+    public void onUnlike(ClusterEvent<UnlikeEvent> ev) {
+        update(ev.event.postId, ev.event.userId, false);
+    }
+
+    /**
+     * Drop the bitmaps of posts deleted, or whose media changed, on any instance.
+     *
+     * @param ev the relayed event carrying the post IDs
+     */
+    @EventListener
+    public void onPostsChanged(ClusterEvent<PostMediaChangedEvent> ev) {
+        bitmaps.invalidateAll(ev.event.postIds);
+    }
+
+    /**
+     * Add the user to or remove them from the post's bitmap, if the post is indexed.
+     *
+     * @param postId the ID of the post
+     * @param userId the ID of the user
+     * @param liked  whether the user now likes the post
+     */
+    private void update(Long postId, Long userId, boolean liked) {
+        bitmaps.asMap().computeIfPresent(postId, (id, bitmap) -> {
+            synchronized (bitmap) {
+                if (liked) {
+                    bitmap.addLong(userId);
+                } else {
+                    bitmap.removeLong(userId);
+                }
+            }
+            return bitmap;
+        });
+    }
+
+    /**
+     * Build the bitmap of all likers of a post from the database.
+     *
+     * @param postId the ID of the post
+     * @return a compressed bitmap of liker IDs
+     */
+    private Roaring64Bitmap load(Long postId) {
+        Roaring64Bitmap bitmap = new Roaring64Bitmap();
+        likeRepo.findUserIdsByPostId(postId).forEach(bitmap::addLong);
+        bitmap.runOptimize();
+        return bitmap;
+    }
+
+    /**
+     * Run the given update after the current transaction commits, or immediately
+     * when no transaction is active. Rolled-back likes never reach the index.
+     *
+     * @param update the index update to apply
+     */
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
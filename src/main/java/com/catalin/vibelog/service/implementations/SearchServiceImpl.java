@@ -4,20 +4,20 @@ import com.catalin.vibelog.dto.response.MediaResponseDTO;
 import com.catalin.vibelog.dto.response.UserResponseDTO;
 import com.catalin.vibelog.dto.response.PostResponse;
 import com.catalin.vibelog.model.Post;
-import com.catalin.vibelog.model.User;
 import com.catalin.vibelog.model.enums.PostStatus;
 import com.catalin.vibelog.repository.PostRepository;
 import com.catalin.vibelog.repository.UserRepository;
-import com.catalin.vibelog.repository.LikeRepository;
-import com.catalin.vibelog.repository.CommentRepository;
+import com.catalin.vibelog.service.LikeCounter;
 import com.catalin.vibelog.service.MediaService;
 import com.catalin.vibelog.service.SearchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Default implementation of {@link SearchService}, providing search capabilities
  * for users and posts using repository queries and mapping to DTOs.
@@ -27,8 +27,7 @@ public class SearchServiceImpl implements SearchService {
 
     private final UserRepository userRepo;
     private final PostRepository postRepo;
-    private final LikeRepository likeRepo;
-    private final CommentRepository commentRepo;
+    private final LikeCounter likeCounter;
     private final MediaService mediaService;
 
     /**
@@ -36,21 +35,18 @@ public class SearchServiceImpl implements SearchService {
      *
      * @param userRepo      repository for user lookups
      * @param postRepo      repository for post lookups
-     * @param likeRepo      repository for like counts
-     * @param commentRepo   repository for comment retrieval
+     * @param likeCounter   source of buffered like count deltas
      * @param mediaServiceImpl service for retrieving media attachments
      */
     @Autowired
     public SearchServiceImpl(
             UserRepository userRepo,
             PostRepository postRepo,
-            LikeRepository likeRepo,
-            CommentRepository commentRepo,
+            LikeCounter likeCounter,
             MediaService mediaServiceImpl) {
         this.userRepo = userRepo;
         this.postRepo = postRepo;
-        this.likeRepo = likeRepo;
-        this.commentRepo = commentRepo;
+        this.likeCounter = likeCounter;
         this.mediaService = mediaServiceImpl;
     }
 
@@ -63,9 +59,7 @@ public class SearchServiceImpl implements SearchService {
      */
     @Override
     public Page<UserResponseDTO> searchUsers(String q, Pageable pageable) {
-        return userRepo
-                .findByUsernameContainingIgnoreCase(q, pageable)
-                .map(this::toUserDto);
+        return userRepo.searchUserSummaries(q, pageable);
     }
 
     /**
@@ -78,42 +72,27 @@ public class SearchServiceImpl implements SearchService {
      */
     @Override
     public Page<PostResponse> searchPosts(String q, Pageable pageable) {
-        return postRepo
+        Page<Post> posts = postRepo
                 .findByStatusAndTitleContainingIgnoreCaseOrStatusAndBodyContainingIgnoreCase(
                         PostStatus.PUBLISHED, q,
                         PostStatus.PUBLISHED, q,
                         pageable
-                )
-                .map(this::toPostDto);
-    }
-
-    /**
-     * Map a {@link User} entity to a {@link UserResponseDTO}.
-     *
-     * @param u the user entity to convert
-     * @return the corresponding {@link UserResponseDTO}
-     */
-    private UserResponseDTO toUserDto(User u) {
-        return new UserResponseDTO(
-                u.getId(),
-                u.getUsername(),
-                u.getBio(),
-                u.getProfilePicture()
-        );
+                );
+        Map<Long, List<MediaResponseDTO>> media = mediaService.listForPosts(
+                posts.map(Post::getId).getContent());
+        return posts.map(p -> toPostDto(p, media.getOrDefault(p.getId(), List.of())));
     }
 
     /**
      * Map a {@link Post} entity to a {@link PostResponse}, including
      * counts for likes and comments, original post details, and media attachments.
      *
-     * @param post the post entity to convert
+     * @param post  the post entity to convert
+     * @param media the post's media attachments, prefetched for the whole page
      * @return the corresponding {@link PostResponse}
      */
-    private PostResponse toPostDto(Post post) {
-        int likeCount = likeRepo.countByIdPostId(post.getId());
-        int commentCount = commentRepo
-                .findAllByPostId(post.getId(), Sort.unsorted())
-                .size();
+    private PostResponse toPostDto(Post post, List<MediaResponseDTO> media) {
+        int likeCount = (int) Math.max(0, post.getLikeCount() + likeCounter.pending(post.getId()));
 
         Long originalId = post.getOriginalPost() == null
                 ? null
@@ -130,12 +109,10 @@ public class SearchServiceImpl implements SearchService {
                 post.getCreatedAt(),
                 post.getAuthor().getUsername(),
                 likeCount,
-                commentCount,
+                post.getCommentCount(),
                 originalId,
                 originalAuthor,
-                mediaService.listForPost(post.getId()).stream()
-                        .map(m -> new MediaResponseDTO(m.getId(), m.getUrl(), m.getType().name()))
-                        .toList()
+                media
         );
     }
 }
@@ -0,0 +1,161 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.model.enums.NotificationType;
+import com.catalin.vibelog.model.enums.ReportTarget;
+import com.catalin.vibelog.repository.CommentRepository;
+import com.catalin.vibelog.repository.LikeRepository;
+import com.catalin.vibelog.repository.MediaRepository;
+import com.catalin.vibelog.repository.ModerationQueueRepository;
+import com.catalin.vibelog.repository.NotificationRepository;
+import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.repository.ReportRepository;
+import com.catalin.vibelog.service.ContentPurger;
+import com.catalin.vibelog.service.MediaService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link ContentPurger} issuing one {@code DELETE ... WHERE id IN (...)} per dependent table.
+ * <p>
+ * Expanded selections (reblog trees, reply threads) are processed in slices so no
+ * statement binds more than the configured number of IDs; reblogs are deleted before
+ * the posts they reblog so no slice breaks a reference. Cached media lists of deleted
+ * posts are evicted once the deleting transaction commits.
+ * </p>
+ */
+@Service
+@Transactional
+public class SetBasedContentPurger implements ContentPurger {
+
+    /** Notification types whose target is a post. */
+    private static final Set<NotificationType> POST_NOTIFICATIONS =
+            EnumSet.of(NotificationType.LIKE, NotificationType.COMMENT, NotificationType.REBLOG);
+
+    private final PostRepository postRepo;
+    private final CommentRepository commentRepo;
+    private final ReportRepository reportRepo;
+    private final LikeRepository likeRepo;
+    private final MediaRepository mediaRepo;
+    private final ModerationQueueRepository queueRepo;
+    private final NotificationRepository notificationRepo;
+    private final MediaService mediaService;
+    private final int sliceSize;
+
+    /**
+     * Constructs the purger.
+     *
+     * @param postRepo         repository for posts, their tags and comment counters
+     * @param commentRepo      repository for comments and reply counters
+     * @param reportRepo       repository for reports against deleted content
+     * @param likeRepo         repository for likes on deleted posts
+     * @param mediaRepo        repository for media records of deleted posts
+     * @param queueRepo        repository for moderation queue entries of deleted content
+     * @param notificationRepo repository for notifications about deleted posts
+     * @param mediaService     media service whose cached media lists are evicted
+     * @param sliceSize        maximum number of IDs bound to one statement
+     */
+    public SetBasedContentPurger(PostRepository postRepo,
+                                 CommentRepository commentRepo,
+                                 ReportRepository reportRepo,
+                                 LikeRepository likeRepo,
+                                 MediaRepository mediaRepo,
+                                 ModerationQueueRepository queueRepo,
+                                 NotificationRepository notificationRepo,
+                                 MediaService mediaService,
+                                 @Value("${vibelog.moderation.bulk.chunk-size:500}") int sliceSize) {
+        this.postRepo = postRepo;
+        this.commentRepo = commentRepo;
+        this.reportRepo = reportRepo;
+        this.likeRepo = likeRepo;
+        this.mediaRepo = mediaRepo;
+        this.queueRepo = queueRepo;
+        this.notificationRepo = notificationRepo;
+        this.mediaService = mediaService;
+        this.sliceSize = Math.max(1, sliceSize);
+    }
+
+    /**
+     * Expand the posts with their reblogs and delete the dependents of each slice before the slice.
+     *
+     * @param postIds IDs of the posts to delete
+     * @return what was deleted
+     */
+    @Override
+    public Deleted deletePosts(List<Long> postIds) {
+        int posts = 0;
+        int comments = 0;
+        List<String> mediaUrls = new ArrayList<>();
+        for (List<Long> slice : partition(postRepo.findIdsWithReblogs(postIds))) {
+            queueRepo.deleteByTargets(ReportTarget.POST, slice);
+            queueRepo.deleteCommentEntriesForPosts(slice);
+            reportRepo.deleteByCommentPostIdIn(slice);
+            reportRepo.deleteByPostIdIn(slice);
+            likeRepo.deleteByPostIdIn(slice);
+            notificationRepo.deleteByTargets(POST_NOTIFICATIONS, slice);
+            comments += commentRepo.deleteByPostIdIn(slice);
+            mediaUrls.addAll(mediaRepo.findUrlsByPostIdIn(slice));
+            mediaRepo.deleteByPostIdIn(slice);
+            postRepo.deleteTagsByPostIdIn(slice);
+            posts += postRepo.deleteByIdIn(slice);
+            mediaService.evictCached(slice);
+        }
+        return new Deleted(posts, comments, mediaUrls);
+    }
+
+    /**
+     * Expand the comments with their replies, lower the counters they contribute to,
+     * then delete each slice with its reports.
+     *
+     * @param commentIds IDs of the comments to delete
+     * @return what was deleted
+     */
+    @Override
+    public Deleted deleteComments(List<Long> commentIds) {
+        int comments = 0;
+        for (List<Long> slice : partition(commentRepo.findIdsWithReplies(commentIds))) {
+            queueRepo.deleteByTargets(ReportTarget.COMMENT, slice);
+            reportRepo.deleteByCommentIdIn(slice);
+            postRepo.decrementCommentCounts(slice);
+            commentRepo.decrementReplyCounts(slice);
+            comments += commentRepo.deleteByIdIn(slice);
+        }
+        return new Deleted(0, comments, List.of());
+    }
+
+    /**
+     * Take the pending reports out of the queue, delete the reports and drop emptied entries.
+     *
+     * @param reportIds IDs of the reports to delete
+     * @return number of reports deleted
+     */
+    @Override
+    public int deleteReports(List<Long> reportIds) {
+        int reports = 0;
+        for (List<Long> slice : partition(reportIds)) {
+            queueRepo.decrementForReports(slice);
+            reports += reportRepo.deleteByIdIn(slice);
+        }
+        queueRepo.deleteEmptyEntries();
+        return reports;
+    }
+
+    /**
+     * Split IDs into consecutive slices of at most the slice size, keeping their order.
+     *
+     * @param ids the IDs to split
+     * @return the slices
+     */
+    private List<List<Long>> partition(List<Long> ids) {
+        List<List<Long>> slices = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += sliceSize) {
+            slices.add(ids.subList(from, Math.min(from + sliceSize, ids.size())));
+        }
+        return slices;
+    }
+}
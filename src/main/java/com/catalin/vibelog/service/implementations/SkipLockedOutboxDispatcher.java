@@ -0,0 +1,151 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.events.DistributedEvent;
+import com.catalin.vibelog.events.ReliableEvent;
+import com.catalin.vibelog.repository.EventOutboxRepository;
+import com.catalin.vibelog.repository.projection.OutboxRow;
+import com.catalin.vibelog.service.OutboxDispatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link OutboxDispatcher} claiming pending rows with {@code SELECT ... FOR UPDATE SKIP LOCKED}.
+ * <p>
+ * The claiming transaction keeps its row locks until the batch is done, so any number
+ * of workers on any number of instances can drain the outbox side by side without
+ * waiting on or repeating each other's rows. Each event's listeners run in a transaction
+ * of their own, so a failing event only affects itself: it is retried with a backoff
+ * doubling per attempt and given up on, with its last error kept, after the maximum
+ * number of attempts. Batches are claimed oldest first, but events of one aggregate
+ * may be handled by different workers concurrently.
+ * </p>
+ * <p>
+ * The listeners' transaction also records the event's delivery. If the claiming
+ * transaction fails after that commit, the event is claimed again but recognised as
+ * delivered and only marked processed, so listeners whose side effects are all
+ * transactional see each event once.
+ * </p>
+ */
+@Service
+public class SkipLockedOutboxDispatcher implements OutboxDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(SkipLockedOutboxDispatcher.class);
+
+    /** Longest error message stored on a failed event. */
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final String CLAIM_PENDING = """
+      SELECT id, event_type, CAST(payload AS text) AS payload
+      FROM event_outbox
+      WHERE processed_at IS NULL
+        AND (next_attempt_at IS NULL OR next_attempt_at <= ?)
+      ORDER BY id
+      LIMIT ?
+      FOR UPDATE SKIP LOCKED
+      """;
+
+    private final JdbcTemplate jdbc;
+    private final EventOutboxRepository outboxRepo;
+    private final OutboxEventCodec codec;
+    private final ApplicationEventPublisher publisher;
+    private final TransactionTemplate perEvent;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    /**
+     * Constructs the dispatcher.
+     *
+     * @param jdbc               template claiming rows in the current transaction
+     * @param outboxRepo         repository recording the outcome of each event
+     * @param codec              deserializer of the events
+     * @param publisher          publisher handing the events to this instance's listeners
+     * @param transactionManager manager of the per-event transactions
+     * @param batchSize          maximum number of events claimed per batch
+     * @param maxAttempts        number of failed attempts after which an event is given up on
+     * @param retryBackoff       delay before the first retry of a failed event
+     */
+    public SkipLockedOutboxDispatcher(
+            JdbcTemplate jdbc,
+            EventOutboxRepository outboxRepo,
+            OutboxEventCodec codec,
+            ApplicationEventPublisher publisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${vibelog.events.dispatch.batch-size:100}") int batchSize,
+            @Value("${vibelog.events.dispatch.max-attempts:5}") int maxAttempts,
+            @Value("${vibelog.events.dispatch.retry-backoff:PT10S}") Duration retryBackoff) {
+        this.jdbc = jdbc;
+        this.outboxRepo = outboxRepo;
+        this.codec = codec;
+        this.publisher = publisher;
+        this.perEvent = new TransactionTemplate(transactionManager);
+        this.perEvent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoff = retryBackoff;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Events that cannot be rebuilt are marked processed right away, since retrying
+     * cannot fix them.
+     * </p>
+     */
+    @Override
+    @Transactional
+    public int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxRow> rows = jdbc.query(CLAIM_PENDING,
+                (rs, i) -> new OutboxRow(rs.getLong("id"), rs.getString("event_type"), rs.getString("payload")),
+                now, batchSize);
+        List<Long> processed = new ArrayList<>();
+        for (OutboxRow row : rows) {
+            DistributedEvent event;
+            try {
+                event = codec.decode(row, this);
+            } catch (IllegalArgumentException e) {
+                log.warn("Dropping outbox event {}: {}", row.id(), e.getMessage());
+                processed.add(row.id());
+                continue;
+            }
+            try {
+                perEvent.executeWithoutResult(status -> {
+                    if (outboxRepo.recordDelivery(row.id(), LocalDateTime.now()) == 1) {
+                        publisher.publishEvent(new ReliableEvent<>(this, row.id(), event));
+                    }
+                });
+                processed.add(row.id());
+            } catch (RuntimeException e) {
+                log.warn("Outbox event {} failed: {}", row.id(), e.getMessage(), e);
+                outboxRepo.recordFailure(row.id(), truncate(Objects.toString(e.getMessage(), e.toString())),
+                        now, retryBackoff.toMillis() / 1000.0, maxAttempts);
+            }
+        }
+        if (!processed.isEmpty()) {
+            outboxRepo.markProcessed(processed, LocalDateTime.now());
+        }
+        return rows.size();
+    }
+
+    /**
+     * @param message an error message
+     * @return the message cut to the length of the error column
+     */
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,192 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.config.CacheConfig;
+import com.catalin.vibelog.dto.response.SuggestedUserDTO;
+import com.catalin.vibelog.events.ClusterEvent;
+import com.catalin.vibelog.events.FollowEvent;
+import com.catalin.vibelog.events.UnfollowEvent;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.FollowGraph;
+import com.catalin.vibelog.service.SuggestionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Default implementation of {@link SuggestionService}, counting friends-of-friends
+ * on the in-memory {@link FollowGraph}.
+ * <p>
+ * The second hop is expanded in parallel into a primitive array of candidate IDs,
+ * which is sorted so that equal IDs form runs whose lengths are the mutual counts.
+ * The expansion is bounded by the number of followees walked and the number of
+ * edges taken from each of them. Ranked results are cached per user and dropped
+ * on every instance as soon as that user follows or unfollows someone.
+ * </p>
+ */
+@Service
+public class SuggestionServiceImpl implements SuggestionService {
+
+    /** Below this many followees the second hop is expanded sequentially. */
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    private static final Comparator<Candidate> RANKING = Comparator
+            .comparingInt(Candidate::mutualCount).reversed()
+            .thenComparingLong(Candidate::userId);
+
+    private final FollowGraph followGraph;
+    private final UserRepository userRepo;
+    private final Cache suggestionCache;
+    private final int maxFollowees;
+    private final int maxFanout;
+    private final int maxResults;
+
+    /**
+     * Constructs the suggestion service.
+     *
+     * @param followGraph  graph walked to find candidates
+     * @param userRepo     repository resolving candidate IDs to usernames and avatars
+     * @param cacheManager provides the per-user suggestion cache
+     * @param maxFollowees maximum number of the user's followees walked
+     * @param maxFanout    maximum number of edges taken from each followee
+     * @param maxResults   number of ranked suggestions computed and cached per user
+     */
+    public SuggestionServiceImpl(FollowGraph followGraph,
+                                 UserRepository userRepo,
+                                 CacheManager cacheManager,
+                                 @Value("${vibelog.suggestions.max-followees:2000}") int maxFollowees,
+                                 @Value("${vibelog.suggestions.max-fanout:1000}") int maxFanout,
+                                 @Value("${vibelog.suggestions.max-results:50}") int maxResults) {
+        this.followGraph = followGraph;
+        this.userRepo = userRepo;
+        this.suggestionCache = cacheManager.getCache(CacheConfig.SUGGESTIONS);
+        this.maxFollowees = maxFollowees;
+        this.maxFanout = maxFanout;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Return the cached ranking for the user, computing it on a miss.
+     *
+     * @param userId the ID of the user asking for suggestions
+     * @param limit  maximum number of suggestions to return
+     * @return the suggestions, best first
+     */
+    @Override
+    public List<SuggestedUserDTO> suggestFor(Long userId, int limit) {
+        List<SuggestedUserDTO> ranked = suggestionCache.get(userId, () -> rank(userId));
+        return ranked.subList(0, Math.max(0, Math.min(limit, ranked.size())));
+    }
+
+    /**
+     * Drop the follower's cached suggestions once a follow commits on any instance.
+     *
+     * @param ev the relayed follow event
+     */
+    @EventListener
+    public void onFollow(ClusterEvent<FollowEvent> ev) {
+        suggestionCache.evictIfPresent(ev.event.followerId);
+    }
+
+    /**
+     * Drop the follower's cached suggestions once an unfollow commits on any instance.
+     *
+     * @param ev the relayed unfollow event
+     */
+    @EventListener
+    public void onUnfollow(ClusterEvent<UnfollowEvent> ev) {
+        suggestionCache.evictIfPresent(ev.event.followerId);
+    }
+
+    /**
+     * Count two-hop paths from the user to every account it does not follow yet
+     * and return the best ones with their identities.
+     *
+     * @param userId the ID of the user
+     * @return up to {@code maxResults} suggestions, best first
+     */
+    private List<SuggestedUserDTO> rank(Long userId) {
+        long[] followees = followGraph.following(userId);
+        if (followees.length == 0) {
+            return List.of();
+        }
+        Arrays.sort(followees);
+        long self = userId;
+
+        LongStream walked = Arrays.stream(followees, 0, Math.min(followees.length, maxFollowees));
+        if (followees.length >= PARALLEL_THRESHOLD) {
+            walked = walked.parallel();
+        }
+        long[] candidates = walked
+                .flatMap(f -> {
+                    long[] next = followGraph.following(f);
+                    return Arrays.stream(next, 0, Math.min(next.length, maxFanout));
+                })
+                .filter(c -> c != self && Arrays.binarySearch(followees, c) < 0)
+                .toArray();
+        Arrays.parallelSort(candidates);
+
+        List<Candidate> top = topCandidates(candidates);
+        if (top.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, UserIdentity> identities = userRepo.findIdentitiesByIdIn(
+                        top.stream().map(Candidate::userId).toList()).stream()
+                .collect(Collectors.toMap(UserIdentity::id, Function.identity()));
+        List<SuggestedUserDTO> result = new ArrayList<>(top.size());
+        for (Candidate c : top) {
+            UserIdentity identity = identities.get(c.userId());
+            if (identity != null) {
+                result.add(new SuggestedUserDTO(
+                        identity.id(), identity.username(), identity.profilePicture(), c.mutualCount()));
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * Turn runs of equal IDs in a sorted array into counts and keep the best
+     * {@code maxResults} with a bounded heap.
+     *
+     * @param sorted candidate IDs in ascending order, one entry per two-hop path
+     * @return the best candidates, best first
+     */
+    private List<Candidate> topCandidates(long[] sorted) {
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(RANKING.reversed());
+        int i = 0;
+        while (i < sorted.length) {
+            int j = i;
+            while (j < sorted.length && sorted[j] == sorted[i]) {
+                j++;
+            }
+            heap.add(new Candidate(sorted[i], j - i));
+            if (heap.size() > maxResults) {
+                heap.poll();
+            }
+            i = j;
+        }
+        List<Candidate> top = new ArrayList<>(heap);
+        top.sort(RANKING);
+        return top;
+    }
+
+    /**
+     * A suggested account and the number of followees that follow it.
+     *
+     * @param userId      the candidate's ID
+     * @param mutualCount number of two-hop paths reaching it
+     */
+    private record Candidate(long userId, int mutualCount) {}
+}
@@ -0,0 +1,99 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.config.CacheConfig;
+import com.catalin.vibelog.events.ClusterEvent;
+import com.catalin.vibelog.events.UserIdentityChangedEvent;
+import com.catalin.vibelog.exception.UserNotFoundException;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.EventBus;
+import com.catalin.vibelog.service.UserLookupService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Default implementation of {@link UserLookupService}, reading through the
+ * {@value CacheConfig#USER_IDENTITY} cache.
+ * <p>
+ * Only existing users are cached; unknown usernames always hit the database so a
+ * freshly registered account is visible immediately. Evictions issued inside a
+ * transaction are applied after it commits, and reach the other instances through a
+ * {@link UserIdentityChangedEvent}.
+ * </p>
+ */
+@Service
+public class UserLookupServiceImpl implements UserLookupService {
+
+    private final UserRepository userRepo;
+    private final Cache identityCache;
+    private final EventBus publisher;
+
+    /**
+     * Constructs the lookup service.
+     *
+     * @param userRepo     repository used on cache misses
+     * @param cacheManager provides the user identity cache
+     * @param publisher    event bus telling every instance to evict changed identities
+     */
+    public UserLookupServiceImpl(UserRepository userRepo, CacheManager cacheManager, EventBus publisher) {
+        this.userRepo = userRepo;
+        this.identityCache = cacheManager.getCache(CacheConfig.USER_IDENTITY);
+        this.publisher = publisher;
+    }
+
+    /**
+     * Find the identity for the given username, consulting the cache first.
+     *
+     * @param username the username to resolve
+     * @return the identity, or an empty Optional if no such user exists
+     */
+    @Override
+    public Optional<UserIdentity> findByUsername(String username) {
+        UserIdentity cached = identityCache.get(username, UserIdentity.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<UserIdentity> loaded = userRepo.findIdentityByUsername(username);
+        loaded.ifPresent(identity -> identityCache.put(username, identity));
+        return loaded;
+    }
+
+    /**
+     * Resolve the identity for the given username, failing if it does not exist.
+     *
+     * @param username the username to resolve
+     * @return the user's identity
+     * @throws UserNotFoundException if no user exists with the given username
+     */
+    @Override
+    public UserIdentity getByUsername(String username) {
+        return findByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException(username));
+    }
+
+    /**
+     * Remove the cached identity for the given username here and, through a
+     * {@link UserIdentityChangedEvent}, on every other instance.
+     *
+     * @param username the username whose cache entry to remove
+     */
+    @Override
+    public void evict(String username) {
+        identityCache.evict(username);
+        publisher.publish(new UserIdentityChangedEvent(this, username));
+    }
+
+    /**
+     * Evict an identity changed on any instance from this instance's cache.
+     *
+     * @param ev the relayed event carrying the username
+     */
+    @EventListener
+    public void onIdentityChanged(ClusterEvent<UserIdentityChangedEvent> ev) {
+        identityCache.evict(ev.event.username);
+    }
+}
@@ -9,9 +9,13 @@ import com.catalin.vibelog.exception.ResourceNotFoundException;
 import com.catalin.vibelog.exception.UsernameAlreadyExistsException;
 import com.catalin.vibelog.model.RegularUser;
 import com.catalin.vibelog.model.User;
+import com.catalin.vibelog.model.enums.AccountPurgeStage;
 import com.catalin.vibelog.model.enums.Role;
 import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.ProfileRow;
 import com.catalin.vibelog.security.JwtUtil;
+import com.catalin.vibelog.service.DisabledAccountRegistry;
+import com.catalin.vibelog.service.UserLookupService;
 import com.catalin.vibelog.service.UserService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.data.domain.Page;
@@ -20,6 +24,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -34,6 +39,8 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepo;
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
+    private final UserLookupService userLookup;
+    private final DisabledAccountRegistry disabledAccounts;
 
     /**
      * Constructs the service with required dependencies.
@@ -41,11 +48,19 @@ public class UserServiceImpl implements UserService {
      * @param userRepo        repository for user persistence
      * @param jwtUtil         utility for JWT generation
      * @param passwordEncoder encoder for hashing user passwords
+     * @param userLookup       cached username lookup, invalidated on renames and deletes
+     * @param disabledAccounts registry rejecting the tokens of deleted accounts
      */
-    public UserServiceImpl(UserRepository userRepo, JwtUtil jwtUtil, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepo,
+                           JwtUtil jwtUtil,
+                           PasswordEncoder passwordEncoder,
+                           UserLookupService userLookup,
+                           DisabledAccountRegistry disabledAccounts) {
         this.userRepo = userRepo;
         this.jwtUtil = jwtUtil;
         this.passwordEncoder = passwordEncoder;
+        this.userLookup = userLookup;
+        this.disabledAccounts = disabledAccounts;
     }
 
     /**
@@ -58,9 +73,9 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public ProfileResponse getProfile(Long userId) {
-        User u = userRepo.findById(userId)
+        return userRepo.findProfileById(userId)
+                .map(this::toDto)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: id=" + userId));
-        return toDto(u);
     }
 
     /**
@@ -93,9 +108,9 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public ProfileResponse getProfileByUsername(String username) {
-        User u = userRepo.findByUsername(username)
+        return userRepo.findProfileByUsername(username)
+                .map(this::toDto)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
-        return toDto(u);
     }
 
     /**
@@ -171,10 +186,10 @@ public class UserServiceImpl implements UserService {
     public Page<ProfileResponse> listUsers(String usernameFragment, Pageable page) {
         if (usernameFragment != null && !usernameFragment.isBlank()) {
             return userRepo
-                    .findByUsernameContainingIgnoreCase(usernameFragment, page)
+                    .findProfilesByUsernameContaining(usernameFragment, page)
                     .map(this::toDto);
         }
-        return userRepo.findAll(page).map(this::toDto);
+        return userRepo.findAllProfiles(page).map(this::toDto);
     }
 
     /**
@@ -187,9 +202,9 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public ProfileResponse getUserById(Long userId) {
-        User u = userRepo.findById(userId)
+        return userRepo.findProfileById(userId)
+                .map(this::toDto)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: id=" + userId));
-        return toDto(u);
     }
 
     /**
@@ -212,7 +227,8 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Delete a user by ID along with associated data.
+     * Disable a user for deletion and reject their tokens from now on. The first
+     * purge stage is recorded as checkpoint; repeated calls are no-ops.
      *
      * @param userId the ID of the user to delete
      * @throws ResourceNotFoundException if no user exists with the given ID
@@ -220,10 +236,12 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public void deleteUserById(Long userId) {
-        if (!userRepo.existsById(userId)) {
-            throw new ResourceNotFoundException("User not found: id=" + userId);
+        String username = userRepo.findUsernameById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: id=" + userId));
+        if (userRepo.markForDeletion(userId, LocalDateTime.now(), AccountPurgeStage.values()[0]) == 1) {
+            disabledAccounts.disable(userId);
+            userLookup.evict(username);
         }
-        userRepo.deleteById(userId);
     }
 
     /**
@@ -257,7 +275,8 @@ public class UserServiceImpl implements UserService {
 
     /**
      * Apply non-null updates from the request to the given user entity,
-     * enforcing uniqueness for email and username.
+     * enforcing uniqueness for email and username. The cached identity under the
+     * user's previous username is evicted, since renames and avatar changes alter it.
      *
      * @param u   the user entity to modify
      * @param req contains new values to apply
@@ -265,6 +284,7 @@ public class UserServiceImpl implements UserService {
      * @throws UsernameAlreadyExistsException if the new username is already in use
      */
     private void applyUpdates(User u, ProfileUpdateRequest req) {
+        userLookup.evict(u.getUsername());
         if (req.email() != null && !req.email().equals(u.getEmail())) {
             if (userRepo.existsByEmail(req.email())) {
                 throw new EmailAlreadyExistsException("Email already in use: " + req.email());
@@ -302,4 +322,22 @@ public class UserServiceImpl implements UserService {
                 List.of(u.getRole().name())
         );
     }
+
+    /**
+     * Map a {@link ProfileRow} projection to a {@link ProfileResponse} DTO.
+     *
+     * @param r the projected profile columns
+     * @return the corresponding {@link ProfileResponse}
+     */
+    private ProfileResponse toDto(ProfileRow r) {
+        return new ProfileResponse(
+                r.id(),
+                r.email(),
+                r.username(),
+                r.bio(),
+                r.profilePicture(),
+                r.createdAt(),
+                List.of(r.role().name())
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.catalin.vibelog.service.implementations;
+
+import com.catalin.vibelog.dto.response.ViewerStateDTO;
+import com.catalin.vibelog.repository.FollowRepository;
+import com.catalin.vibelog.repository.LikeRepository;
+import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.service.LikeIndex;
+import com.catalin.vibelog.service.ViewerStateService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Default implementation of {@link ViewerStateService}.
+ * <p>
+ * Each flag is computed with one set-based {@code IN} query over the whole page,
+ * so a page costs at most three queries regardless of its size. Likes on posts held
+ * by the {@link LikeIndex} are answered from memory and excluded from the like query.
+ * </p>
+ */
+@Service
+public class ViewerStateServiceImpl implements ViewerStateService {
+
+    private final LikeRepository likeRepo;
+    private final PostRepository postRepo;
+    private final FollowRepository followRepo;
+    private final LikeIndex likeIndex;
+
+    /**
+     * Constructs the service with the repositories it queries.
+     *
+     * @param likeRepo   repository used to resolve liked posts
+     * @param postRepo   repository used to resolve reblogged posts
+     * @param followRepo repository used to resolve followed authors
+     * @param likeIndex  in-memory like membership index for hot posts
+     */
+    public ViewerStateServiceImpl(LikeRepository likeRepo,
+                                  PostRepository postRepo,
+                                  FollowRepository followRepo,
+                                  LikeIndex likeIndex) {
+        this.likeRepo = likeRepo;
+        this.postRepo = postRepo;
+        this.followRepo = followRepo;
+        this.likeIndex = likeIndex;
+    }
+
+    /**
+     * Compute the viewer's flags for the given posts and authors.
+     * Empty inputs short-circuit without touching the database.
+     *
+     * @param viewerId        the ID of the current user
+     * @param postIds         IDs of the posts to check
+     * @param authorUsernames usernames of the authors to check; may be {@code null} or empty
+     * @return the subsets of posts liked and reblogged and authors followed by the viewer
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ViewerStateDTO getViewerState(Long viewerId,
+                                         Collection<Long> postIds,
+                                         Collection<String> authorUsernames) {
+        Set<Long> liked = new HashSet<>();
+        Set<Long> reblogged = new HashSet<>();
+        Set<String> followed = new HashSet<>();
+        if (postIds != null && !postIds.isEmpty()) {
+            Set<Long> ids = new HashSet<>(postIds);
+            Set<Long> unindexed = new HashSet<>();
+            for (Long postId : ids) {
+                likeIndex.isLiked(postId, viewerId).ifPresentOrElse(
+                        isLiked -> { if (isLiked) liked.add(postId); },
+                        () -> unindexed.add(postId));
+            }
+            if (!unindexed.isEmpty()) {
+                liked.addAll(likeRepo.findLikedPostIds(viewerId, unindexed));
+            }
+            reblogged.addAll(postRepo.findRebloggedOriginalPostIds(viewerId, ids));
+        }
+        if (authorUsernames != null && !authorUsernames.isEmpty()) {
+            followed.addAll(followRepo.findFollowedUsernames(viewerId, new HashSet<>(authorUsernames)));
+        }
+        return new ViewerStateDTO(liked, reblogged, followed);
+    }
+}
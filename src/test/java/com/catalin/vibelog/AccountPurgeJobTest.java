@@ -0,0 +1,130 @@
+package com.catalin.vibelog;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+
+import com.catalin.vibelog.jobs.AccountPurgeJob;
+import com.catalin.vibelog.model.enums.AccountPurgeStage;
+import com.catalin.vibelog.repository.CommentRepository;
+import com.catalin.vibelog.repository.FollowRepository;
+import com.catalin.vibelog.repository.LikeRepository;
+import com.catalin.vibelog.repository.NotificationRepository;
+import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.repository.ReportRepository;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.PendingDeletion;
+import com.catalin.vibelog.service.ContentPurger;
+import com.catalin.vibelog.service.ContentPurger.Deleted;
+import com.catalin.vibelog.service.DisabledAccountRegistry;
+import com.catalin.vibelog.service.StorageService;
+import com.catalin.vibelog.service.UserLookupService;
+
+@ExtendWith(MockitoExtension.class)
+class AccountPurgeJobTest {
+
+    @Mock private UserRepository userRepo;
+    @Mock private PostRepository postRepo;
+    @Mock private CommentRepository commentRepo;
+    @Mock private LikeRepository likeRepo;
+    @Mock private FollowRepository followRepo;
+    @Mock private NotificationRepository notificationRepo;
+    @Mock private ReportRepository reportRepo;
+    @Mock private ContentPurger purger;
+    @Mock private StorageService storageService;
+    @Mock private UserLookupService userLookup;
+    @Mock private DisabledAccountRegistry disabledAccounts;
+
+    private AccountPurgeJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = newJob(10);
+    }
+
+    private AccountPurgeJob newJob(int maxBatchesPerRun) {
+        return new AccountPurgeJob(userRepo, postRepo, commentRepo, likeRepo, followRepo, notificationRepo,
+                reportRepo, purger, storageService, userLookup, disabledAccounts, 2, maxBatchesPerRun, Duration.ZERO);
+    }
+
+    @Test
+    void purgePending_RunsEveryStageThenDeletesAccountAndBlobs() {
+        when(userRepo.findPendingDeletions()).thenReturn(List.of(
+                new PendingDeletion(7L, "gone", "http://x/uploads/avatar.png", AccountPurgeStage.POSTS)));
+        when(postRepo.findIdsByAuthorIdAfter(eq(7L), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L), List.of());
+        when(purger.deletePosts(List.of(1L, 2L))).thenReturn(new Deleted(2, 0, List.of("http://x/uploads/a.jpg")));
+        when(commentRepo.findIdsByAuthorIdAfter(eq(7L), eq(0L), any(Pageable.class))).thenReturn(List.of(5L));
+        when(likeRepo.purgeByUser(7L, 2)).thenReturn(1);
+        when(reportRepo.findIdsByReporterId(eq(7L), any(Pageable.class))).thenReturn(List.of());
+
+        assertEquals(1, job.purgePending());
+
+        InOrder order = inOrder(purger, likeRepo, followRepo, notificationRepo, userRepo, storageService);
+        order.verify(purger).deletePosts(List.of(1L, 2L));
+        order.verify(storageService).delete("http://x/uploads/a.jpg");
+        order.verify(userRepo).updatePurgeStage(7L, AccountPurgeStage.COMMENTS);
+        order.verify(purger).deleteComments(List.of(5L));
+        order.verify(likeRepo).purgeByUser(7L, 2);
+        order.verify(followRepo).purgeFollowing(7L, 2);
+        order.verify(followRepo).purgeFollowers(7L, 2);
+        order.verify(notificationRepo).deleteBatchByRecipientId(7L, 2);
+        order.verify(userRepo).updatePurgeStage(7L, AccountPurgeStage.ACCOUNT);
+        order.verify(userRepo).deleteAccountById(7L);
+        order.verify(storageService).delete("http://x/uploads/avatar.png");
+        verify(userLookup).evict("gone");
+        verify(purger, never()).deleteReports(any());
+    }
+
+    @Test
+    void purgePending_ResumesFromCheckpoint() {
+        when(userRepo.findPendingDeletions()).thenReturn(List.of(
+                new PendingDeletion(7L, "gone", null, AccountPurgeStage.NOTIFICATIONS)));
+        when(reportRepo.findIdsByReporterId(eq(7L), any(Pageable.class))).thenReturn(List.of(3L));
+
+        assertEquals(1, job.purgePending());
+
+        verify(purger).deleteReports(List.of(3L));
+        verifyNoInteractions(postRepo, commentRepo, likeRepo, followRepo, storageService);
+    }
+
+    @Test
+    void purgePending_StopsWhenBatchBudgetIsSpent() {
+        job = newJob(2);
+        when(userRepo.findPendingDeletions()).thenReturn(List.of(
+                new PendingDeletion(7L, "gone", null, AccountPurgeStage.LIKES),
+                new PendingDeletion(8L, "next", null, AccountPurgeStage.LIKES)));
+        when(likeRepo.purgeByUser(7L, 2)).thenReturn(2);
+
+        assertEquals(0, job.purgePending());
+
+        verify(likeRepo, times(2)).purgeByUser(7L, 2);
+        verify(userRepo, never()).updatePurgeStage(any(), any());
+        verify(likeRepo, never()).purgeByUser(eq(8L), anyInt());
+    }
+
+    @Test
+    void purgePending_WhenAccountGainedRows_StartsOver() {
+        when(userRepo.findPendingDeletions()).thenReturn(List.of(
+                new PendingDeletion(7L, "gone", null, AccountPurgeStage.ACCOUNT)));
+        when(userRepo.deleteAccountById(7L)).thenThrow(new DataIntegrityViolationException("fk"));
+
+        assertEquals(0, job.purgePending());
+
+        verify(userRepo).updatePurgeStage(7L, AccountPurgeStage.POSTS);
+        verifyNoInteractions(userLookup);
+    }
+}
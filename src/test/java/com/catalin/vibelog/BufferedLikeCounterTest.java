@@ -0,0 +1,54 @@
+package com.catalin.vibelog;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.service.implementations.BufferedLikeCounter;
+
+@ExtendWith(MockitoExtension.class)
+class BufferedLikeCounterTest {
+
+    @Mock private PostRepository postRepo;
+
+    @Test
+    void add_WhenUnbuffered_UpdatesImmediately() {
+        var counter = new BufferedLikeCounter(postRepo, false);
+        counter.add(1L, 1);
+        verify(postRepo).incrementLikeCount(1L, 1);
+        assertEquals(0L, counter.pending(1L));
+    }
+
+    @Test
+    void add_WhenBuffered_CoalescesUntilFlush() {
+        var counter = new BufferedLikeCounter(postRepo, true);
+        counter.add(1L, 1);
+        counter.add(1L, 1);
+        counter.add(1L, 1);
+        counter.add(2L, 1);
+        counter.add(2L, -1);
+        verifyNoInteractions(postRepo);
+        assertEquals(3L, counter.pending(1L));
+        assertEquals(0L, counter.pending(2L));
+
+        assertEquals(1, counter.flush());
+        verify(postRepo).incrementLikeCount(1L, 3);
+        verify(postRepo, never()).incrementLikeCount(eq(2L), anyInt());
+        assertEquals(0L, counter.pending(1L));
+    }
+
+    @Test
+    void flush_WhenUpdateFails_KeepsDeltaForRetry() {
+        var counter = new BufferedLikeCounter(postRepo, true);
+        counter.add(5L, 1);
+        when(postRepo.incrementLikeCount(5L, 1)).thenThrow(new IllegalStateException("db down"));
+
+        assertEquals(0, counter.flush());
+        assertEquals(1L, counter.pending(5L));
+    }
+}
@@ -0,0 +1,97 @@
+package com.catalin.vibelog;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.catalin.vibelog.dto.response.ImportResultDTO;
+import com.catalin.vibelog.exception.InvalidImportException;
+import com.catalin.vibelog.service.FollowGraph;
+import com.catalin.vibelog.service.implementations.BulkImportServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class BulkImportServiceImplTest {
+
+    @Mock private JdbcTemplate jdbc;
+    @Mock private DataSource dataSource;
+    @Mock private Connection connection;
+    @Mock private PGConnection pgConnection;
+    @Mock private CopyManager copyManager;
+    @Mock private FollowGraph followGraph;
+
+    private BulkImportServiceImpl service;
+    private final InputStream document = new ByteArrayInputStream(
+            "{\"type\":\"follow\",\"follower\":\"a\",\"followed\":\"b\"}\n".getBytes(StandardCharsets.UTF_8));
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        service = new BulkImportServiceImpl(jdbc, dataSource, followGraph);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+    }
+
+    @Test
+    void importNdjson_CopiesThenMergesAndReportsCounts() throws Exception {
+        when(jdbc.queryForObject(startsWith("SELECT count(*) FROM import_lines"), eq(Long.class))).thenReturn(12L);
+        when(jdbc.update(anyString())).thenReturn(2, 5, 3, 2, 1);
+        when(jdbc.queryForObject(startsWith("WITH inserted AS (\n  INSERT INTO likes"), eq(Long.class))).thenReturn(3L);
+        when(jdbc.queryForObject(startsWith("WITH inserted AS (\n  INSERT INTO follows"), eq(Long.class))).thenReturn(2L);
+
+        ImportResultDTO result = service.importNdjson(document);
+
+        assertEquals(12, result.lines());
+        assertEquals(2, result.posts());
+        assertEquals(3, result.comments());
+        assertEquals(3, result.likes());
+        assertEquals(2, result.follows());
+        assertEquals(2, result.skipped());
+        InOrder order = inOrder(jdbc, copyManager, followGraph);
+        order.verify(jdbc).execute(startsWith("CREATE TEMP TABLE import_lines"));
+        order.verify(copyManager).copyIn(startsWith("COPY import_lines"), eq(document));
+        order.verify(jdbc).update(startsWith("INSERT INTO posts"));
+        order.verify(jdbc).update(startsWith("INSERT INTO comments"));
+        order.verify(followGraph).rebuild();
+    }
+
+    @Test
+    void importNdjson_MalformedLine_IsRejected() throws Exception {
+        when(copyManager.copyIn(anyString(), any(InputStream.class)))
+                .thenThrow(new SQLException("invalid input syntax for type json", "22P02"));
+
+        assertThrows(InvalidImportException.class, () -> service.importNdjson(document));
+        verify(jdbc, never()).update(anyString());
+        verify(connection).close();
+    }
+
+    @Test
+    void importNdjson_UnparseableValue_IsRejected() throws Exception {
+        when(jdbc.queryForObject(anyString(), eq(Long.class))).thenReturn(1L);
+        when(jdbc.update(anyString())).thenThrow(new DataIntegrityViolationException("bad timestamp"));
+
+        assertThrows(InvalidImportException.class, () -> service.importNdjson(document));
+        verifyNoInteractions(followGraph);
+    }
+}
@@ -0,0 +1,139 @@
+package com.catalin.vibelog;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Pageable;
+
+import com.catalin.vibelog.dto.response.BulkJobDTO;
+import com.catalin.vibelog.exception.CapacityExceededException;
+import com.catalin.vibelog.exception.ResourceNotFoundException;
+import com.catalin.vibelog.exception.UserNotFoundException;
+import com.catalin.vibelog.model.enums.BulkJobStatus;
+import com.catalin.vibelog.model.enums.Role;
+import com.catalin.vibelog.repository.CommentRepository;
+import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.ContentPurger;
+import com.catalin.vibelog.service.ContentPurger.Deleted;
+import com.catalin.vibelog.service.implementations.BulkModerationServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class BulkModerationServiceImplTest {
+
+    @Mock private PostRepository postRepo;
+    @Mock private CommentRepository commentRepo;
+    @Mock private UserRepository userRepo;
+    @Mock private ContentPurger purger;
+
+    private BulkModerationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BulkModerationServiceImpl(postRepo, commentRepo, userRepo, purger,
+                Runnable::run, 2, Duration.ZERO, Duration.ofHours(1));
+    }
+
+    @Test
+    void startPostDeletion_DeletesSortedDistinctIdsInChunks() {
+        when(purger.deletePosts(List.of(1L, 2L))).thenReturn(new Deleted(3, 4, List.of()));
+        when(purger.deletePosts(List.of(3L))).thenReturn(new Deleted(1, 0, List.of()));
+
+        BulkJobDTO job = service.startPostDeletion(List.of(3L, 1L, 2L, 1L));
+
+        assertEquals(BulkJobStatus.COMPLETED, job.status());
+        assertEquals(3, job.total());
+        assertEquals(3, job.processed());
+        assertEquals(4, job.deletedPosts());
+        assertEquals(4, job.deletedComments());
+        assertEquals(job.id(), service.getJob(job.id()).id());
+    }
+
+    @Test
+    void startCommentPurge_WalksKeysetUntilSelectionIsEmpty() {
+        when(commentRepo.countByContentContainingIgnoreCase("spam")).thenReturn(3L);
+        when(commentRepo.findIdsByContentContainingAfter(eq("spam"), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L));
+        when(commentRepo.findIdsByContentContainingAfter(eq("spam"), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(7L));
+        when(commentRepo.findIdsByContentContainingAfter(eq("spam"), eq(7L), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(purger.deleteComments(List.of(1L, 2L))).thenReturn(new Deleted(0, 2, List.of()));
+        when(purger.deleteComments(List.of(7L))).thenReturn(new Deleted(0, 2, List.of()));
+
+        BulkJobDTO job = service.startCommentPurge("spam");
+
+        assertEquals(BulkJobStatus.COMPLETED, job.status());
+        assertEquals(3, job.processed());
+        assertEquals(4, job.deletedComments());
+    }
+
+    @Test
+    void startUserPurge_DeletesPostsBeforeComments() {
+        when(userRepo.findIdentityByUsername("spammer"))
+                .thenReturn(Optional.of(new UserIdentity(9L, "spammer", Role.USER, null)));
+        when(postRepo.countByAuthorId(9L)).thenReturn(1L);
+        when(commentRepo.countByAuthorId(9L)).thenReturn(1L);
+        when(postRepo.findIdsByAuthorIdAfter(eq(9L), eq(0L), any(Pageable.class))).thenReturn(List.of(4L));
+        when(postRepo.findIdsByAuthorIdAfter(eq(9L), eq(4L), any(Pageable.class))).thenReturn(List.of());
+        when(purger.deletePosts(List.of(4L))).thenReturn(new Deleted(1, 0, List.of()));
+        when(commentRepo.findIdsByAuthorIdAfter(eq(9L), eq(0L), any(Pageable.class))).thenReturn(List.of(6L));
+        when(commentRepo.findIdsByAuthorIdAfter(eq(9L), eq(6L), any(Pageable.class))).thenReturn(List.of());
+        when(purger.deleteComments(List.of(6L))).thenReturn(new Deleted(0, 1, List.of()));
+
+        BulkJobDTO job = service.startUserPurge("spammer");
+
+        assertEquals(BulkJobStatus.COMPLETED, job.status());
+        assertEquals(2, job.total());
+        assertEquals(1, job.deletedPosts());
+        assertEquals(1, job.deletedComments());
+        var order = inOrder(purger);
+        order.verify(purger).deletePosts(List.of(4L));
+        order.verify(purger).deleteComments(List.of(6L));
+    }
+
+    @Test
+    void startUserPurge_UnknownUser_Throws() {
+        assertThrows(UserNotFoundException.class, () -> service.startUserPurge("ghost"));
+        verifyNoInteractions(postRepo, commentRepo, purger);
+    }
+
+    @Test
+    void failingChunk_MarksJobFailed() {
+        when(purger.deletePosts(List.of(1L))).thenThrow(new IllegalStateException("boom"));
+
+        BulkJobDTO job = service.startPostDeletion(List.of(1L));
+
+        assertEquals(BulkJobStatus.FAILED, job.status());
+        assertEquals("boom", job.error());
+        assertEquals(0, job.processed());
+        assertNotNull(job.finishedAt());
+    }
+
+    @Test
+    void getJob_Unknown_Throws() {
+        assertThrows(ResourceNotFoundException.class, () -> service.getJob("nope"));
+    }
+
+    @Test
+    void startPostDeletion_WhenExecutorIsFull_Refuses() {
+        service = new BulkModerationServiceImpl(postRepo, commentRepo, userRepo, purger,
+                task -> { throw new TaskRejectedException("full"); }, 2, Duration.ZERO, Duration.ofHours(1));
+
+        assertThrows(CapacityExceededException.class, () -> service.startPostDeletion(List.of(1L)));
+        verifyNoInteractions(purger);
+    }
+}
@@ -13,10 +13,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.PageRequest;
 
 import com.catalin.vibelog.dto.request.CommentRequest;
 import com.catalin.vibelog.dto.response.CommentResponse;
+import com.catalin.vibelog.dto.response.CursorPageDTO;
 import com.catalin.vibelog.events.CommentEvent;
 import com.catalin.vibelog.exception.CommentNotFoundException;
 import com.catalin.vibelog.exception.PostNotFoundException;
@@ -25,27 +26,36 @@ import com.catalin.vibelog.model.Comment;
 import com.catalin.vibelog.model.Post;
 import com.catalin.vibelog.model.RegularUser;
 import com.catalin.vibelog.model.User;
+import com.catalin.vibelog.model.enums.ReportTarget;
+import com.catalin.vibelog.model.enums.Role;
 import com.catalin.vibelog.repository.CommentRepository;
+import com.catalin.vibelog.repository.ModerationQueueRepository;
 import com.catalin.vibelog.repository.PostRepository;
 import com.catalin.vibelog.repository.ReportRepository;
 import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.EventBus;
+import com.catalin.vibelog.service.KeysetCursor;
+import com.catalin.vibelog.service.UserLookupService;
 import com.catalin.vibelog.service.implementations.CommentServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
 class CommentServiceImplTest {
 
     @Mock private ReportRepository reportRepo;
-    @Mock private org.springframework.context.ApplicationEventPublisher publisher;
+    @Mock private ModerationQueueRepository queueRepo;
+    @Mock private EventBus publisher;
     @Mock private CommentRepository commentRepo;
     @Mock private PostRepository postRepo;
     @Mock private UserRepository userRepo;
+    @Mock private UserLookupService userLookup;
 
     @InjectMocks
     private CommentServiceImpl commentService;
 
     @Test
     void addComment_WhenPostNotFound_Throws() {
-        when(postRepo.findById(1L)).thenReturn(Optional.empty());
+        when(postRepo.findAuthorUsernameById(1L)).thenReturn(Optional.empty());
         var req = new CommentRequest("Hi");
         assertThrows(PostNotFoundException.class,
                 () -> commentService.addComment(1L, req, "alice"));
@@ -53,43 +63,112 @@ class CommentServiceImplTest {
 
     @Test
     void addComment_WhenUserNotFound_Throws() {
-        var post = new Post(); post.setId(2L);
-        when(postRepo.findById(2L)).thenReturn(Optional.of(post));
-        when(userRepo.findByUsername("bob")).thenReturn(Optional.empty());
+        when(postRepo.findAuthorUsernameById(2L)).thenReturn(Optional.of("carol"));
+        when(userLookup.findByUsername("bob")).thenReturn(Optional.empty());
         var req = new CommentRequest("Hello");
         assertThrows(IllegalStateException.class,
                 () -> commentService.addComment(2L, req, "bob"));
     }
 
     @Test
-    void listComments_WhenPostNotExists_Throws() {
+    void addComment_UsesReferencesAndPublishesEvent() {
+        var postRef = new Post(); postRef.setId(2L);
+        var authorRef = new RegularUser(); authorRef.setId(4L);
+        when(postRepo.findAuthorUsernameById(2L)).thenReturn(Optional.of("carol"));
+        when(userLookup.findByUsername("dan"))
+                .thenReturn(Optional.of(new UserIdentity(4L, "dan", Role.USER, null)));
+        when(postRepo.getReferenceById(2L)).thenReturn(postRef);
+        when(userRepo.getReferenceById(4L)).thenReturn(authorRef);
+        when(commentRepo.save(any(Comment.class))).thenAnswer(inv -> {
+            Comment c = inv.getArgument(0);
+            c.setId(21L);
+            return c;
+        });
+
+        var res = commentService.addComment(2L, new CommentRequest("Nice"), "dan");
+
+        assertEquals(21L, res.id());
+        assertEquals("dan", res.authorUsername());
+        assertNull(res.parentId());
+        verify(postRepo, never()).findById(any());
+        verify(commentRepo, never()).incrementReplyCount(any(), anyInt());
+        ArgumentCaptor<CommentEvent> event = ArgumentCaptor.forClass(CommentEvent.class);
+        verify(publisher).publish(event.capture());
+        assertEquals(21L, event.getValue().commentId);
+        assertEquals("carol", event.getValue().postAuthorUsername);
+    }
+
+    @Test
+    void addComment_WhenReplyToReply_AttachesToTopLevelAndBumpsCounters() {
+        when(postRepo.findAuthorUsernameById(3L)).thenReturn(Optional.of("carol"));
+        when(userLookup.findByUsername("dan"))
+                .thenReturn(Optional.of(new UserIdentity(4L, "dan", Role.USER, null)));
+        when(commentRepo.findThreadRootId(31L, 3L)).thenReturn(Optional.of(30L));
+        when(commentRepo.save(any(Comment.class))).thenAnswer(inv -> {
+            Comment c = inv.getArgument(0);
+            c.setId(32L);
+            return c;
+        });
+
+        var res = commentService.addComment(3L, new CommentRequest("Me too", 31L), "dan");
+
+        assertEquals(30L, res.parentId());
+        verify(postRepo).incrementCommentCount(3L, 1);
+        verify(commentRepo).incrementReplyCount(30L, 1);
+    }
+
+    @Test
+    void addComment_WhenParentNotOnPost_Throws() {
+        when(postRepo.findAuthorUsernameById(3L)).thenReturn(Optional.of("carol"));
+        when(userLookup.findByUsername("dan"))
+                .thenReturn(Optional.of(new UserIdentity(4L, "dan", Role.USER, null)));
+        when(commentRepo.findThreadRootId(30L, 3L)).thenReturn(Optional.empty());
+
+        assertThrows(CommentNotFoundException.class,
+                () -> commentService.addComment(3L, new CommentRequest("Hi", 30L), "dan"));
+        verify(commentRepo, never()).save(any());
+    }
+
+    @Test
+    void listComments_WhenEmptyAndPostNotExists_Throws() {
+        when(commentRepo.findTopLevelPage(4L, KeysetCursor.EARLIEST.timestamp(), 0L, PageRequest.of(0, 21)))
+                .thenReturn(List.of());
         when(postRepo.existsById(4L)).thenReturn(false);
         assertThrows(PostNotFoundException.class,
-                () -> commentService.listComments(4L));
+                () -> commentService.listComments(4L, null, 20));
     }
 
     @Test
-    void listComments_WhenExists_ReturnsDtos() {
+    void listComments_WhenMoreRows_ReturnsPageAndCursor() {
         long postId = 5L;
-        when(postRepo.existsById(postId)).thenReturn(true);
-        var c1 = new Comment(); c1.setId(20L); c1.setContent("C1");
-        var u1 = new RegularUser(); u1.setUsername("eve"); c1.setAuthor(u1);
-        c1.setCreatedAt(LocalDateTime.of(2022,2,2,2,2));
-        when(commentRepo.findAllByPostId(postId, Sort.by("createdAt").ascending()))
-                .thenReturn(List.of(c1));
+        var t = LocalDateTime.of(2022, 2, 2, 2, 2);
+        var c1 = new CommentResponse(20L, "C1", "eve", t, null, 3);
+        var c2 = new CommentResponse(21L, "C2", "fay", t.plusMinutes(1), null, 0);
+        when(commentRepo.findTopLevelPage(postId, KeysetCursor.EARLIEST.timestamp(), 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(c1, c2));
+
+        CursorPageDTO<CommentResponse> page = commentService.listComments(postId, null, 1);
+
+        assertEquals(List.of(c1), page.items());
+        assertEquals(new KeysetCursor(t, 20L), KeysetCursor.decode(page.nextCursor()));
+        verify(postRepo, never()).existsById(any());
+    }
 
-        var list = commentService.listComments(postId);
-        assertEquals(1, list.size());
-        var dto = list.get(0);
-        assertEquals(20L, dto.id());
-        assertEquals("C1", dto.content());
-        assertEquals("eve", dto.authorUsername());
-        assertEquals(c1.getCreatedAt(), dto.createdAt());
+    @Test
+    void listReplies_ContinuesAfterCursor() {
+        var t = LocalDateTime.of(2022, 2, 2, 2, 2);
+        var r = new CommentResponse(41L, "R", "gus", t.plusMinutes(5), 40L, 0);
+        when(commentRepo.findRepliesPage(40L, t, 39L, PageRequest.of(0, 21))).thenReturn(List.of(r));
+
+        var page = commentService.listReplies(40L, new KeysetCursor(t, 39L).encode(), 20);
+
+        assertEquals(List.of(r), page.items());
+        assertNull(page.nextCursor());
     }
 
     @Test
     void updateComment_WhenNotFound_Throws() {
-        when(commentRepo.findById(6L)).thenReturn(Optional.empty());
+        when(commentRepo.findWithAuthorById(6L)).thenReturn(Optional.empty());
         var req = new CommentRequest("X");
         assertThrows(CommentNotFoundException.class,
                 () -> commentService.updateComment(6L, req, "frank"));
@@ -99,7 +178,7 @@ class CommentServiceImplTest {
     void updateComment_WhenNotAuthor_Throws() {
         var c = new Comment(); c.setId(7L);
         var auth = new RegularUser(); auth.setUsername("gina"); c.setAuthor(auth);
-        when(commentRepo.findById(7L)).thenReturn(Optional.of(c));
+        when(commentRepo.findWithAuthorById(7L)).thenReturn(Optional.of(c));
         var req = new CommentRequest("Updated");
         assertThrows(UnauthorizedActionException.class,
                 () -> commentService.updateComment(7L, req, "harry"));
@@ -110,7 +189,7 @@ class CommentServiceImplTest {
         var c = new Comment(); c.setId(8L);
         var auth = new RegularUser(); auth.setUsername("ivan"); c.setAuthor(auth);
         c.setContent("Old"); c.setCreatedAt(LocalDateTime.now());
-        when(commentRepo.findById(8L)).thenReturn(Optional.of(c));
+        when(commentRepo.findWithAuthorById(8L)).thenReturn(Optional.of(c));
         var req = new CommentRequest("NewContent");
         when(commentRepo.save(c)).thenAnswer(inv -> c);
 
@@ -121,7 +200,7 @@ class CommentServiceImplTest {
 
     @Test
     void deleteComment_WhenNotFound_Throws() {
-        when(commentRepo.findById(9L)).thenReturn(Optional.empty());
+        when(commentRepo.findWithAuthorById(9L)).thenReturn(Optional.empty());
         assertThrows(CommentNotFoundException.class,
                 () -> commentService.deleteComment(9L, "jane"));
     }
@@ -130,19 +209,39 @@ class CommentServiceImplTest {
     void deleteComment_WhenNotAuthor_Throws() {
         var c = new Comment(); c.setId(10L);
         var auth = new RegularUser(); auth.setUsername("kate"); c.setAuthor(auth);
-        when(commentRepo.findById(10L)).thenReturn(Optional.of(c));
+        when(commentRepo.findWithAuthorById(10L)).thenReturn(Optional.of(c));
         assertThrows(UnauthorizedActionException.class,
                 () -> commentService.deleteComment(10L, "leo"));
     }
 
     @Test
-    void deleteComment_WhenAuthorized_Deletes() {
-        var c = new Comment(); c.setId(11L);
+    void deleteComment_WhenAuthorized_DeletesWithRepliesAndDecrements() {
+        var post = new Post(); post.setId(2L);
+        var c = new Comment(); c.setId(11L); c.setPost(post);
         var auth = new RegularUser(); auth.setUsername("mia"); c.setAuthor(auth);
-        when(commentRepo.findById(11L)).thenReturn(Optional.of(c));
+        when(commentRepo.findWithAuthorById(11L)).thenReturn(Optional.of(c));
+        when(commentRepo.findIdsWithReplies(List.of(11L))).thenReturn(List.of(11L, 14L, 15L));
+        when(commentRepo.deleteAllByParentId(11L)).thenReturn(2);
 
         commentService.deleteComment(11L, "mia");
+        verify(queueRepo).deleteByTargets(ReportTarget.COMMENT, List.of(11L, 14L, 15L));
+        verify(reportRepo).deleteAllByCommentParentId(11L);
         verify(commentRepo).delete(c);
+        verify(postRepo).incrementCommentCount(2L, -3);
+    }
+
+    @Test
+    void deleteComment_WhenReply_DecrementsParent() {
+        var post = new Post(); post.setId(2L);
+        var c = new Comment(); c.setId(12L); c.setPost(post); c.setParentId(11L);
+        var auth = new RegularUser(); auth.setUsername("mia"); c.setAuthor(auth);
+        when(commentRepo.findWithAuthorById(12L)).thenReturn(Optional.of(c));
+
+        commentService.deleteComment(12L, "mia");
+        verify(commentRepo, never()).deleteAllByParentId(any());
+        verify(commentRepo).incrementReplyCount(11L, -1);
+        verify(queueRepo).deleteByTarget(ReportTarget.COMMENT, 12L);
+        verify(postRepo).incrementCommentCount(2L, -1);
     }
 
     @Test
@@ -154,7 +253,8 @@ class CommentServiceImplTest {
 
     @Test
     void deleteCommentAsModerator_WhenFound_DeletesReportsAndComment() {
-        var c = new Comment(); c.setId(13L);
+        var post = new Post(); post.setId(2L);
+        var c = new Comment(); c.setId(13L); c.setPost(post);
         when(commentRepo.findById(13L)).thenReturn(Optional.of(c));
 
         commentService.deleteCommentAsModerator(13L);
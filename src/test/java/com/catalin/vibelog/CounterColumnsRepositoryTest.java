@@ -0,0 +1,116 @@
+package com.catalin.vibelog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.catalin.vibelog.model.Comment;
+import com.catalin.vibelog.model.Post;
+import com.catalin.vibelog.model.RegularUser;
+import com.catalin.vibelog.model.User;
+import com.catalin.vibelog.model.enums.AccountPurgeStage;
+import com.catalin.vibelog.model.enums.PostStatus;
+import com.catalin.vibelog.model.enums.Role;
+import com.catalin.vibelog.repository.CommentRepository;
+import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.repository.UserRepository;
+
+/**
+ * Edits an entity loaded before a single-statement update of one of its counters or
+ * deletion columns, as a concurrent request would, and checks that saving the edit
+ * does not write the stale value back.
+ */
+@DataJpaTest
+class CounterColumnsRepositoryTest {
+
+    @Autowired private TestEntityManager em;
+    @Autowired private PostRepository postRepo;
+    @Autowired private CommentRepository commentRepo;
+    @Autowired private UserRepository userRepo;
+
+    private User alice;
+    private User bob;
+    private Post post;
+    private Comment comment;
+
+    @BeforeEach
+    void setUp() {
+        alice = persistUser("alice");
+        bob = persistUser("bob");
+        post = em.persist(Post.builder().title("t").body("b").status(PostStatus.PUBLISHED).author(alice).build());
+        comment = em.persist(Comment.builder().content("c").author(bob).post(post).build());
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void postEdit_KeepsCountersIncrementedSinceLoad() {
+        Post loaded = postRepo.findById(post.getId()).orElseThrow();
+        postRepo.incrementLikeCount(post.getId(), 3);
+        postRepo.incrementCommentCount(post.getId(), 2);
+
+        loaded.setTitle("edited");
+        postRepo.saveAndFlush(loaded);
+        em.clear();
+
+        Post reread = postRepo.findById(post.getId()).orElseThrow();
+        assertEquals("edited", reread.getTitle());
+        assertEquals(3, reread.getLikeCount());
+        assertEquals(2, reread.getCommentCount());
+    }
+
+    @Test
+    void commentEdit_KeepsReplyCountIncrementedSinceLoad() {
+        Comment loaded = commentRepo.findById(comment.getId()).orElseThrow();
+        commentRepo.incrementReplyCount(comment.getId(), 1);
+
+        loaded.setContent("edited");
+        commentRepo.saveAndFlush(loaded);
+        em.clear();
+
+        assertEquals(1, commentRepo.findById(comment.getId()).orElseThrow().getReplyCount());
+    }
+
+    @Test
+    void profileEdit_KeepsFollowCountsAdjustedSinceLoad() {
+        User loaded = userRepo.findById(bob.getId()).orElseThrow();
+        userRepo.adjustFollowCounts(alice.getId(), bob.getId(), 1);
+
+        loaded.setBio("edited");
+        userRepo.saveAndFlush(loaded);
+        em.clear();
+
+        User reread = userRepo.findById(bob.getId()).orElseThrow();
+        assertEquals("edited", reread.getBio());
+        assertEquals(1, reread.getFollowerCount());
+    }
+
+    @Test
+    void profileEdit_KeepsDeletionRequestedSinceLoad() {
+        User loaded = userRepo.findById(bob.getId()).orElseThrow();
+        userRepo.markForDeletion(bob.getId(), LocalDateTime.now(), AccountPurgeStage.values()[0]);
+
+        loaded.setBio("edited");
+        userRepo.saveAndFlush(loaded);
+        em.clear();
+
+        User reread = userRepo.findById(bob.getId()).orElseThrow();
+        assertNotNull(reread.getDeletionRequestedAt());
+        assertEquals(AccountPurgeStage.values()[0], reread.getPurgeStage());
+    }
+
+    private User persistUser(String username) {
+        RegularUser u = new RegularUser();
+        u.setUsername(username);
+        u.setEmail(username + "@example.com");
+        u.setPasswordHash("x");
+        u.setRole(Role.USER);
+        return em.persist(u);
+    }
+}
@@ -0,0 +1,67 @@
+package com.catalin.vibelog;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.catalin.vibelog.jobs.CounterReconciler;
+import com.catalin.vibelog.repository.CommentRepository;
+import com.catalin.vibelog.repository.ModerationQueueRepository;
+import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.LikeCountDrift;
+import com.catalin.vibelog.service.LikeCounter;
+
+@ExtendWith(MockitoExtension.class)
+class CounterReconcilerTest {
+
+    @Mock private PostRepository postRepo;
+    @Mock private UserRepository userRepo;
+    @Mock private CommentRepository commentRepo;
+    @Mock private LikeCounter likeCounter;
+    @Mock private ModerationQueueRepository queueRepo;
+
+    private CounterReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new CounterReconciler(postRepo, userRepo, commentRepo, likeCounter, queueRepo, Duration.ZERO);
+    }
+
+    @Test
+    void reconcile_AddsOnlyStableDriftWithoutPendingDelta() {
+        when(postRepo.findLikeCountDrift()).thenReturn(
+                List.of(new LikeCountDrift(1L, 3L), new LikeCountDrift(2L, 1L), new LikeCountDrift(3L, -1L)),
+                List.of(new LikeCountDrift(1L, 3L), new LikeCountDrift(2L, 2L), new LikeCountDrift(3L, -1L),
+                        new LikeCountDrift(4L, 1L)));
+        when(likeCounter.pending(1L)).thenReturn(0L);
+        when(likeCounter.pending(3L)).thenReturn(-1L);
+        when(postRepo.incrementLikeCount(1L, 3)).thenReturn(1);
+
+        assertEquals(1, reconciler.reconcile().posts());
+
+        verify(likeCounter, times(2)).flush();
+        verify(postRepo).incrementLikeCount(1L, 3);
+        verify(postRepo, times(1)).incrementLikeCount(anyLong(), anyInt());
+    }
+
+    @Test
+    void reconcile_WithoutDrift_ObservesOnce() {
+        when(postRepo.findLikeCountDrift()).thenReturn(List.of());
+
+        reconciler.reconcile();
+
+        verify(postRepo, times(1)).findLikeCountDrift();
+        verify(postRepo, never()).incrementLikeCount(anyLong(), anyInt());
+    }
+}
@@ -0,0 +1,75 @@
+package com.catalin.vibelog;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.catalin.vibelog.events.ClusterEvent;
+import com.catalin.vibelog.events.FollowEvent;
+import com.catalin.vibelog.events.UnfollowEvent;
+import com.catalin.vibelog.model.FollowId;
+import com.catalin.vibelog.repository.FollowRepository;
+import com.catalin.vibelog.service.implementations.CsrFollowGraph;
+import com.catalin.vibelog.service.implementations.FollowGraphSnapshot;
+
+@ExtendWith(MockitoExtension.class)
+class CsrFollowGraphTest {
+
+    @Mock private FollowRepository followRepo;
+
+    private CsrFollowGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new CsrFollowGraph(followRepo);
+    }
+
+    @Test
+    void snapshot_MapsSparseIdsToSortedRows() {
+        var snapshot = FollowGraphSnapshot.of(
+                new long[]{900L, 7L, 900L, 42L},
+                new long[]{42L, 900L, 7L, 7L}, 4);
+
+        assertArrayEquals(new long[]{7L, 42L}, snapshot.following(900L));
+        assertArrayEquals(new long[]{900L}, snapshot.following(7L));
+        assertArrayEquals(new long[0], snapshot.following(5L));
+        assertTrue(snapshot.contains(42L, 7L));
+        assertFalse(snapshot.contains(7L, 42L));
+        assertEquals(3, snapshot.userCount());
+        assertEquals(4, snapshot.edgeCount());
+    }
+
+    @Test
+    void following_AppliesOverlayOnTopOfSnapshot() {
+        when(followRepo.streamAllIds()).thenReturn(Stream.of(new FollowId(1L, 2L), new FollowId(1L, 3L)));
+        graph.rebuild();
+
+        graph.onFollow(new ClusterEvent<>(this, 1L, new FollowEvent(this, 1L, "a", 4L, "d")));
+        graph.onUnfollow(new ClusterEvent<>(this, 1L, new UnfollowEvent(this, 1L, 2L)));
+
+        assertArrayEquals(new long[]{3L, 4L}, graph.following(1L));
+    }
+
+    @Test
+    void rebuild_KeepsEditsCommittedWhileLoading() {
+        graph.onFollow(new ClusterEvent<>(this, 1L, new FollowEvent(this, 1L, "a", 2L, "b")));
+        when(followRepo.streamAllIds()).thenReturn(Stream.of(new FollowId(1L, 2L))
+                .peek(id -> graph.onFollow(new ClusterEvent<>(this, 1L, new FollowEvent(this, 1L, "a", 3L, "c")))));
+
+        graph.rebuild();
+
+        assertArrayEquals(new long[]{2L, 3L}, graph.following(1L));
+
+        when(followRepo.streamAllIds()).thenReturn(Stream.of(new FollowId(1L, 2L)));
+        graph.rebuild();
+
+        assertArrayEquals(new long[]{2L}, graph.following(1L));
+    }
+}
@@ -0,0 +1,145 @@
+package com.catalin.vibelog;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+
+import com.catalin.vibelog.exception.CapacityExceededException;
+import com.catalin.vibelog.exception.ResourceNotFoundException;
+import com.catalin.vibelog.model.enums.ExportFormat;
+import com.catalin.vibelog.model.enums.MediaType;
+import com.catalin.vibelog.model.enums.PostStatus;
+import com.catalin.vibelog.model.enums.Role;
+import com.catalin.vibelog.repository.CommentRepository;
+import com.catalin.vibelog.repository.LikeRepository;
+import com.catalin.vibelog.repository.MediaRepository;
+import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.CommentExportRow;
+import com.catalin.vibelog.repository.projection.LikeExportRow;
+import com.catalin.vibelog.repository.projection.MediaExportRow;
+import com.catalin.vibelog.repository.projection.PostExportRow;
+import com.catalin.vibelog.repository.projection.ProfileRow;
+import com.catalin.vibelog.repository.projection.TagExportRow;
+import com.catalin.vibelog.service.DataExportService;
+import com.catalin.vibelog.service.StorageService;
+import com.catalin.vibelog.service.implementations.DataExportServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+@ExtendWith(MockitoExtension.class)
+class DataExportServiceImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Mock private UserRepository userRepo;
+    @Mock private PostRepository postRepo;
+    @Mock private CommentRepository commentRepo;
+    @Mock private LikeRepository likeRepo;
+    @Mock private MediaRepository mediaRepo;
+    @Mock private StorageService storageService;
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private DataExportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DataExportServiceImpl(userRepo, postRepo, commentRepo, likeRepo, mediaRepo,
+                storageService, mapper, 1);
+        when(userRepo.findProfileById(7L)).thenReturn(Optional.of(
+                new ProfileRow(7L, "a@b.c", "alice", null, null, NOW, Role.USER)));
+        when(postRepo.streamExportRowsByAuthorId(7L)).thenReturn(Stream.of(
+                new PostExportRow(1L, "t", "b", PostStatus.PUBLISHED, NOW, NOW, null, 2, 1)));
+        when(postRepo.streamExportTagsByAuthorId(7L)).thenReturn(Stream.of(new TagExportRow(1L, "cats")));
+        when(commentRepo.streamExportRowsByAuthorId(7L)).thenReturn(Stream.of(
+                new CommentExportRow(3L, 1L, null, "hi", NOW, null)));
+        when(likeRepo.streamExportRowsByUserId(7L)).thenReturn(Stream.of(new LikeExportRow(9L, NOW)));
+    }
+
+    @Test
+    void export_Ndjson_WritesOneTypedLinePerRow() throws Exception {
+        when(mediaRepo.streamExportRowsByAuthorId(7L)).thenReturn(Stream.of(
+                new MediaExportRow(4L, 1L, MediaType.IMG, "png", 10, "http://x/uploads/a.png")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(7L, ExportFormat.NDJSON, out);
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(mapper.readTree(line));
+        }
+        assertEquals(List.of("profile", "post", "tag", "comment", "like", "media"),
+                lines.stream().map(l -> l.get("type").asText()).toList());
+        assertEquals("alice", lines.get(0).get("data").get("username").asText());
+        assertEquals("cats", lines.get(2).get("data").get("tag").asText());
+        assertEquals("2024-05-01T12:00:00", lines.get(4).get("data").get("likedAt").asText());
+        verifyNoInteractions(storageService);
+    }
+
+    @Test
+    void export_Zip_AddsDocumentAndAvailableMediaFiles() throws Exception {
+        when(mediaRepo.streamExportRowsByAuthorId(7L)).thenAnswer(inv -> Stream.of(
+                new MediaExportRow(4L, 1L, MediaType.IMG, "png", 3, "http://x/uploads/a.png"),
+                new MediaExportRow(5L, 1L, MediaType.IMG, "png", 3, "http://x/uploads/gone.png")));
+        when(storageService.loadAsResource("http://x/uploads/a.png"))
+                .thenReturn(new ByteArrayResource(new byte[] {1, 2, 3}));
+        when(storageService.loadAsResource("http://x/uploads/gone.png"))
+                .thenThrow(new ResourceNotFoundException("gone"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(7L, ExportFormat.ZIP, out);
+
+        List<String> names = new ArrayList<>();
+        byte[] media = null;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+                byte[] content = zip.readAllBytes();
+                if (entry.getName().startsWith("media/")) {
+                    media = content;
+                }
+            }
+        }
+        assertEquals(List.of("data.ndjson", "media/4.png"), names);
+        assertArrayEquals(new byte[] {1, 2, 3}, media);
+    }
+
+    @Test
+    void reserve_WhenSlotsTaken_RefusesUntilReleased() throws Exception {
+        when(mediaRepo.streamExportRowsByAuthorId(7L)).thenReturn(Stream.of());
+        DataExportService.Slot slot = service.reserve();
+
+        assertThrows(CapacityExceededException.class, service::reserve);
+        slot.close();
+        slot.close();
+
+        try (DataExportService.Slot again = service.reserve()) {
+            service.export(7L, ExportFormat.NDJSON, new ByteArrayOutputStream());
+        }
+        assertThrows(CapacityExceededException.class, () -> {
+            service.reserve();
+            service.reserve();
+        });
+    }
+}
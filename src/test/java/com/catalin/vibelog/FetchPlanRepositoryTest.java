@@ -0,0 +1,137 @@
+package com.catalin.vibelog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.catalin.vibelog.model.Comment;
+import com.catalin.vibelog.model.Post;
+import com.catalin.vibelog.model.RegularUser;
+import com.catalin.vibelog.model.Report;
+import com.catalin.vibelog.model.User;
+import com.catalin.vibelog.model.enums.PostStatus;
+import com.catalin.vibelog.model.enums.Role;
+import com.catalin.vibelog.repository.CommentRepository;
+import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.repository.ReportRepository;
+
+/**
+ * Counts the SQL statements issued by each fetch plan against an in-memory database,
+ * so an association regressing to eager loading, or a fetch plan losing one of its
+ * nodes, fails the build.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class FetchPlanRepositoryTest {
+
+    @Autowired private TestEntityManager em;
+    @Autowired private PostRepository postRepo;
+    @Autowired private CommentRepository commentRepo;
+    @Autowired private ReportRepository reportRepo;
+
+    private Statistics stats;
+    private Post original;
+    private Post reblog;
+    private Comment comment;
+    private Report report;
+
+    @BeforeEach
+    void setUp() {
+        User alice = persistUser("alice");
+        User bob = persistUser("bob");
+
+        original = em.persist(Post.builder()
+                .title("t").body("b").status(PostStatus.PUBLISHED).author(alice).build());
+        reblog = em.persist(Post.builder()
+                .title("t").body("b").status(PostStatus.PUBLISHED).author(bob).originalPost(original).build());
+        comment = em.persist(Comment.builder().content("c").author(bob).post(original).build());
+        report = em.persist(Report.builder().reporter(bob).post(original).reason("spam").build());
+        em.flush();
+        em.clear();
+
+        stats = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+    }
+
+    @Test
+    void feedPage_LoadsAuthorsAndOriginalsInOneStatement() {
+        Page<Post> page = postRepo.findAllByStatus(PostStatus.PUBLISHED, PageRequest.of(0, 10));
+
+        for (Post p : page) {
+            assertNotNull(p.getAuthor().getUsername());
+            if (p.getOriginalPost() != null) {
+                assertEquals("alice", p.getOriginalPost().getAuthor().getUsername());
+            }
+        }
+        assertEquals(2, page.getNumberOfElements());
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void feedCardById_LoadsReblogWithOriginalAuthorInOneStatement() {
+        Post p = postRepo.findFeedCardById(reblog.getId()).orElseThrow();
+
+        assertEquals("bob", p.getAuthor().getUsername());
+        assertEquals("alice", p.getOriginalPost().getAuthor().getUsername());
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void findById_DoesNotCascadeIntoAssociations() {
+        Comment c = commentRepo.findById(comment.getId()).orElseThrow();
+
+        assertFalse(Hibernate.isInitialized(c.getAuthor()));
+        assertFalse(Hibernate.isInitialized(c.getPost()));
+        assertEquals(original.getId(), c.getPost().getId());
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void commentWithAuthor_LoadsOnlyTheAuthor() {
+        Comment c = commentRepo.findWithAuthorById(comment.getId()).orElseThrow();
+
+        assertEquals("bob", c.getAuthor().getUsername());
+        assertFalse(Hibernate.isInitialized(c.getPost()));
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void reportForModeration_LoadsReporterButNotTargets() {
+        Report r = reportRepo.findForModerationById(report.getId()).orElseThrow();
+
+        assertEquals("bob", r.getReporter().getUsername());
+        assertEquals(original.getId(), r.getPost().getId());
+        assertFalse(Hibernate.isInitialized(r.getPost()));
+        assertNull(r.getComment());
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void reportResponses_AreSelectedWithoutLoadingEntities() {
+        List<?> rows = reportRepo.findResponsesByStatus(report.getStatus(), PageRequest.of(0, 10)).getContent();
+
+        assertEquals(1, rows.size());
+        assertEquals(0, stats.getEntityLoadCount());
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    private User persistUser(String username) {
+        RegularUser u = new RegularUser();
+        u.setUsername(username);
+        u.setEmail(username + "@example.com");
+        u.setPasswordHash("x");
+        u.setRole(Role.USER);
+        return em.persist(u);
+    }
+}
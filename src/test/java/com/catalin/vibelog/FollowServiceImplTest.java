@@ -3,6 +3,8 @@ package com.catalin.vibelog;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -12,15 +14,21 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.context.ApplicationEventPublisher;
-
+import org.springframework.data.domain.PageRequest;
+
+import com.catalin.vibelog.dto.response.CursorPageDTO;
+import com.catalin.vibelog.dto.response.FollowCountDTO;
+import com.catalin.vibelog.dto.response.FollowUserDTO;
+import com.catalin.vibelog.exception.InvalidCursorException;
+import com.catalin.vibelog.service.EventBus;
+import com.catalin.vibelog.service.KeysetCursor;
 import com.catalin.vibelog.events.FollowEvent;
-import com.catalin.vibelog.model.Follow;
+import com.catalin.vibelog.events.UnfollowEvent;
 import com.catalin.vibelog.model.FollowId;
-import com.catalin.vibelog.model.RegularUser;
-import com.catalin.vibelog.model.User;
+import com.catalin.vibelog.model.enums.Role;
 import com.catalin.vibelog.repository.FollowRepository;
 import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.UserIdentity;
 import com.catalin.vibelog.service.implementations.FollowServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,39 +36,18 @@ class FollowServiceImplTest {
 
     @Mock private FollowRepository followRepo;
     @Mock private UserRepository userRepo;
-    @Mock private ApplicationEventPublisher publisher;
+    @Mock private EventBus publisher;
 
     @InjectMocks
     private FollowServiceImpl followService;
 
-    @Test
-    void isFollowing_WhenFollowerNotFound_Throws() {
-        when(userRepo.findById(1L)).thenReturn(Optional.empty());
-        assertThrows(EntityNotFoundException.class,
-                () -> followService.isFollowing(1L, 2L));
-    }
-
-    @Test
-    void isFollowing_WhenFolloweeNotFound_Throws() {
-        var follower = new RegularUser(); follower.setId(1L);
-        when(userRepo.findById(1L)).thenReturn(Optional.of(follower));
-        when(userRepo.findById(2L)).thenReturn(Optional.empty());
-        assertThrows(EntityNotFoundException.class,
-                () -> followService.isFollowing(1L, 2L));
-    }
-
     @Test
     void isFollowing_ReturnsTrueOrFalse() {
-        var follower = new RegularUser(); follower.setId(1L);
-        var followee = new RegularUser(); followee.setId(2L);
-        when(userRepo.findById(1L)).thenReturn(Optional.of(follower));
-        when(userRepo.findById(2L)).thenReturn(Optional.of(followee));
-        when(followRepo.findByFollowerAndFollowed(follower, followee))
-                .thenReturn(Optional.of(new Follow()));
+        when(followRepo.existsById(new FollowId(1L, 2L))).thenReturn(true);
         assertTrue(followService.isFollowing(1L, 2L));
-        when(followRepo.findByFollowerAndFollowed(follower, followee))
-                .thenReturn(Optional.empty());
+        when(followRepo.existsById(new FollowId(1L, 2L))).thenReturn(false);
         assertFalse(followService.isFollowing(1L, 2L));
+        verifyNoInteractions(userRepo, publisher);
     }
 
     @Test
@@ -72,78 +59,122 @@ class FollowServiceImplTest {
 
     @Test
     void follow_WhenFollowerNotFound_Throws() {
-        when(userRepo.findById(1L)).thenReturn(Optional.empty());
+        when(userRepo.findIdentitiesByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(new UserIdentity(2L, "bob", Role.USER, null)));
         assertThrows(EntityNotFoundException.class,
                 () -> followService.follow(1L, 2L));
+        verifyNoInteractions(followRepo);
     }
 
     @Test
     void follow_WhenFolloweeNotFound_Throws() {
-        var follower = new RegularUser(); follower.setId(1L);
-        when(userRepo.findById(1L)).thenReturn(Optional.of(follower));
-        when(userRepo.findById(2L)).thenReturn(Optional.empty());
+        when(userRepo.findIdentitiesByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(new UserIdentity(1L, "alice", Role.USER, null)));
         assertThrows(EntityNotFoundException.class,
                 () -> followService.follow(1L, 2L));
+        verifyNoInteractions(followRepo);
     }
 
     @Test
     void follow_WhenAlreadyFollowing_DoesNothing() {
-        var follower = new RegularUser(); follower.setId(1L);
-        var followee = new RegularUser(); followee.setId(2L);
-        when(userRepo.findById(1L)).thenReturn(Optional.of(follower));
-        when(userRepo.findById(2L)).thenReturn(Optional.of(followee));
-        when(followRepo.findByFollowerAndFollowed(follower, followee))
-                .thenReturn(Optional.of(new Follow()));
+        stubIdentities();
+        when(followRepo.insertIfAbsent(1L, 2L)).thenReturn(0);
         followService.follow(1L, 2L);
-        verify(followRepo, never()).save(any());
-        verify(publisher, never()).publishEvent(any());
+        verify(userRepo, never()).adjustFollowCounts(any(), any(), anyInt());
+        verify(publisher, never()).publish(any());
     }
 
     @Test
-    void unfollow_WhenFollowerNotFound_Throws() {
-        when(userRepo.findById(1L)).thenReturn(Optional.empty());
-        assertThrows(EntityNotFoundException.class,
-                () -> followService.unfollow(1L, 2L));
+    void follow_WhenNew_InsertsAdjustsCountersAndPublishes() {
+        stubIdentities();
+        when(followRepo.insertIfAbsent(1L, 2L)).thenReturn(1);
+
+        followService.follow(1L, 2L);
+
+        verify(userRepo).adjustFollowCounts(1L, 2L, 1);
+        verify(userRepo, never()).findById(any());
+        ArgumentCaptor<FollowEvent> event = ArgumentCaptor.forClass(FollowEvent.class);
+        verify(publisher).publish(event.capture());
+        assertEquals(1L, event.getValue().followerId);
+        assertEquals("alice", event.getValue().followerUsername);
+        assertEquals("bob", event.getValue().followedUsername);
     }
 
     @Test
-    void unfollow_WhenFolloweeNotFound_Throws() {
-        var follower = new RegularUser(); follower.setId(1L);
-        when(userRepo.findById(1L)).thenReturn(Optional.of(follower));
-        when(userRepo.findById(2L)).thenReturn(Optional.empty());
-        assertThrows(EntityNotFoundException.class,
-                () -> followService.unfollow(1L, 2L));
+    void unfollow_WhenExists_DeletesAndDecrements() {
+        when(followRepo.deleteByIds(1L, 2L)).thenReturn(1);
+        followService.unfollow(1L, 2L);
+        verify(userRepo).adjustFollowCounts(1L, 2L, -1);
+        ArgumentCaptor<UnfollowEvent> event = ArgumentCaptor.forClass(UnfollowEvent.class);
+        verify(publisher).publish(event.capture());
+        assertEquals(1L, event.getValue().followerId);
+        assertEquals(2L, event.getValue().followedId);
     }
 
     @Test
-    void unfollow_WhenExists_Deletes() {
-        var follower = new RegularUser(); follower.setId(1L);
-        var followee = new RegularUser(); followee.setId(2L);
-        when(userRepo.findById(1L)).thenReturn(Optional.of(follower));
-        when(userRepo.findById(2L)).thenReturn(Optional.of(followee));
+    void unfollow_WhenNotFollowing_IsNoOp() {
+        when(followRepo.deleteByIds(1L, 2L)).thenReturn(0);
         followService.unfollow(1L, 2L);
-        verify(followRepo).deleteByFollowerAndFollowed(follower, followee);
+        verifyNoInteractions(userRepo);
     }
 
     @Test
-    void countFollowers_DelegatesOrThrows() {
-        var user = new RegularUser(); user.setId(3L);
-        when(userRepo.findById(3L)).thenReturn(Optional.of(user));
-        when(followRepo.countByFollowed(user)).thenReturn(5L);
+    void countFollowers_ReadsCounter() {
+        when(userRepo.findFollowCountsById(3L)).thenReturn(Optional.of(new FollowCountDTO(5L, 1L)));
         assertEquals(5L, followService.countFollowers(3L));
-        when(userRepo.findById(4L)).thenReturn(Optional.empty());
-        assertThrows(EntityNotFoundException.class,
-                () -> followService.countFollowers(4L));
     }
 
     @Test
-    void countFollowing_DelegatesOrThrows() {
-        var user = new RegularUser(); user.setId(6L);
-        when(userRepo.findById(6L)).thenReturn(Optional.of(user));
-        when(followRepo.countByFollower(user)).thenReturn(7L);
+    void countFollowing_ReadsCounter() {
+        when(userRepo.findFollowCountsById(6L)).thenReturn(Optional.of(new FollowCountDTO(2L, 7L)));
         assertEquals(7L, followService.countFollowing(6L));
-        when(userRepo.findById(8L)).thenReturn(Optional.empty());
-        assertThrows(EntityNotFoundException.class,
-                () -> followService.countFollowing(8L));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getFollowCounts_WhenUserMissing_ReturnsZeros() {
+        when(userRepo.findFollowCountsById(8L)).thenReturn(Optional.empty());
+        assertEquals(new FollowCountDTO(0, 0), followService.getFollowCounts(8L));
+    }
+
+    @Test
+    void listFollowers_WhenMoreRows_ReturnsPageAndCursorOfLastRow() {
+        LocalDateTime t = LocalDateTime.of(2024, 5, 1, 12, 0);
+        var a = new FollowUserDTO(11L, "a", null, t.plusMinutes(2));
+        var b = new FollowUserDTO(10L, "b", null, t.plusMinutes(1));
+        var c = new FollowUserDTO(9L, "c", null, t);
+        when(followRepo.findFollowersPage(3L, KeysetCursor.START.timestamp(), Long.MAX_VALUE, PageRequest.of(0, 3)))
+                .thenReturn(List.of(a, b, c));
+
+        CursorPageDTO<FollowUserDTO> page = followService.listFollowers(3L, null, 2);
+
+        assertEquals(List.of(a, b), page.items());
+        KeysetCursor next = KeysetCursor.decode(page.nextCursor());
+        assertEquals(b.followedAt(), next.timestamp());
+        assertEquals(10L, next.id());
+    }
+
+    @Test
+    void listFollowing_WhenLastPage_HasNoCursor() {
+        LocalDateTime t = LocalDateTime.of(2024, 5, 1, 12, 0);
+        String cursor = new KeysetCursor(t, 50L).encode();
+        var a = new FollowUserDTO(40L, "a", null, t.minusDays(1));
+        when(followRepo.findFollowingPage(3L, t, 50L, PageRequest.of(0, 21))).thenReturn(List.of(a));
+
+        CursorPageDTO<FollowUserDTO> page = followService.listFollowing(3L, cursor, 20);
+
+        assertEquals(List.of(a), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void listFollowers_WhenCursorMalformed_Throws() {
+        assertThrows(InvalidCursorException.class,
+                () -> followService.listFollowers(3L, "not-a-cursor", 20));
+    }
+
+    private void stubIdentities() {
+        when(userRepo.findIdentitiesByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                new UserIdentity(1L, "alice", Role.USER, null),
+                new UserIdentity(2L, "bob", Role.USER, null)));
+    }
+}
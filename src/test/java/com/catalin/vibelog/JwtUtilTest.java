@@ -0,0 +1,46 @@
+package com.catalin.vibelog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.catalin.vibelog.model.RegularUser;
+import com.catalin.vibelog.model.enums.Role;
+import com.catalin.vibelog.security.AuthenticatedUser;
+import com.catalin.vibelog.security.JwtUtil;
+
+class JwtUtilTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+
+    @Test
+    void parseAuthenticatedUser_RoundTripsIdUsernameAndRole() {
+        var user = new RegularUser();
+        user.setId(42L);
+        user.setUsername("alice");
+        user.setRole(Role.USER);
+
+        AuthenticatedUser principal = jwtUtil.parseAuthenticatedUser(jwtUtil.generateToken(user))
+                .orElseThrow();
+
+        assertEquals(42L, principal.id());
+        assertEquals("alice", principal.username());
+        assertEquals("alice", principal.getName());
+        assertEquals(Role.USER, principal.role());
+    }
+
+    @Test
+    void parseAuthenticatedUser_WhenTokenInvalid_ReturnsEmpty() {
+        assertTrue(jwtUtil.parseAuthenticatedUser("not-a-jwt").isEmpty());
+        assertTrue(new JwtUtil().parseAuthenticatedUser(
+                jwtUtil.generateToken(userWithId())).isEmpty());
+    }
+
+    private static RegularUser userWithId() {
+        var user = new RegularUser();
+        user.setId(1L);
+        user.setUsername("bob");
+        user.setRole(Role.USER);
+        return user;
+    }
+}
@@ -10,17 +10,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.context.ApplicationEventPublisher;
 
 import com.catalin.vibelog.dto.response.LikeResponse;
+import com.catalin.vibelog.events.LikeEvent;
+import com.catalin.vibelog.events.UnlikeEvent;
 import com.catalin.vibelog.exception.PostNotFoundException;
-import com.catalin.vibelog.model.Like;
 import com.catalin.vibelog.model.LikeId;
-import com.catalin.vibelog.model.Post;
-import com.catalin.vibelog.model.RegularUser;
+import com.catalin.vibelog.model.enums.Role;
 import com.catalin.vibelog.repository.LikeRepository;
 import com.catalin.vibelog.repository.PostRepository;
-import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.EventBus;
+import com.catalin.vibelog.service.LikeCounter;
+import com.catalin.vibelog.service.LikeIndex;
+import com.catalin.vibelog.service.UserLookupService;
 import com.catalin.vibelog.service.implementations.LikeServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,65 +31,175 @@ class LikeServiceImplTest {
 
     @Mock private LikeRepository likeRepo;
     @Mock private PostRepository postRepo;
-    @Mock private UserRepository userRepo;
-    @Mock private ApplicationEventPublisher publisher;
+    @Mock private UserLookupService userLookup;
+    @Mock private LikeCounter likeCounter;
+    @Mock private LikeIndex likeIndex;
+    @Mock private EventBus publisher;
 
     @InjectMocks
     private LikeServiceImpl likeService;
 
     @Test
     void toggleLike_WhenPostNotFound_Throws() {
-        when(postRepo.findById(1L)).thenReturn(Optional.empty());
+        when(userLookup.findByUsername("alice"))
+                .thenReturn(Optional.of(new UserIdentity(3L, "alice", Role.USER, null)));
+        when(postRepo.findAuthorUsernameById(1L)).thenReturn(Optional.empty());
         assertThrows(PostNotFoundException.class, () -> likeService.toggleLike(1L, "alice"));
+        verify(likeRepo, never()).insertIfAbsent(any(), any());
     }
 
     @Test
     void toggleLike_WhenUserNotFound_Throws() {
-        var post = new Post(); post.setId(2L);
-        when(postRepo.findById(2L)).thenReturn(Optional.of(post));
-        when(userRepo.findByUsername("bob")).thenReturn(Optional.empty());
-
+        when(userLookup.findByUsername("bob")).thenReturn(Optional.empty());
         assertThrows(IllegalStateException.class, () -> likeService.toggleLike(2L, "bob"));
+        verifyNoInteractions(likeRepo, likeCounter);
     }
 
     @Test
-    void toggleLike_WhenUserIsAuthor_DoesNotPublishEvent() {
-        var post = new Post(); post.setId(11L);
-        var author = new RegularUser(); author.setId(12L); author.setUsername("xander");
-        post.setAuthor(author);
-        when(postRepo.findById(11L)).thenReturn(Optional.of(post));
-        when(userRepo.findByUsername("xander")).thenReturn(Optional.of(author));
-        LikeId id = new LikeId(12L, 11L);
-        when(likeRepo.existsById(id)).thenReturn(false);
-        when(likeRepo.countByIdPostId(11L)).thenReturn(1);
-        when(likeRepo.save(any(Like.class))).thenAnswer(inv -> inv.getArgument(0));
+    void toggleLike_WhenUserIsAuthor_StillPublishesForOtherInstances() {
+        when(userLookup.findByUsername("xander"))
+                .thenReturn(Optional.of(new UserIdentity(12L, "xander", Role.USER, null)));
+        when(likeRepo.deleteByIds(12L, 11L)).thenReturn(0);
+        when(postRepo.findAuthorUsernameById(11L)).thenReturn(Optional.of("xander"));
+        when(likeRepo.insertIfAbsent(12L, 11L)).thenReturn(1);
+        when(postRepo.findLikeCountById(11L)).thenReturn(Optional.of(1));
 
         LikeResponse resp = likeService.toggleLike(11L, "xander");
 
         assertTrue(resp.liked());
-        verify(publisher, never()).publishEvent(any());
+        assertEquals(1, resp.totalLikes());
+        verify(likeCounter).add(11L, 1);
+        verify(publisher).publish(any(LikeEvent.class));
+    }
+
+    @Test
+    void toggleLike_WhenAlreadyLiked_RemovesAndDecrements() {
+        when(likeRepo.deleteByIds(20L, 19L)).thenReturn(1);
+        when(postRepo.findLikeCountById(19L)).thenReturn(Optional.of(4));
+        when(likeCounter.pending(19L)).thenReturn(-1L);
+
+        LikeResponse resp = likeService.toggleLike(19L, 20L, "rita");
+
+        assertFalse(resp.liked());
+        assertEquals(3, resp.totalLikes());
+        verify(likeCounter).add(19L, -1);
+        verify(likeRepo, never()).insertIfAbsent(any(), any());
+        verify(publisher).publish(any(UnlikeEvent.class));
+    }
+
+    @Test
+    void toggleLike_WhenIndexMissedLike_RemovesIt() {
+        when(likeIndex.isLiked(19L, 20L)).thenReturn(Optional.of(false));
+        when(postRepo.findAuthorUsernameById(19L)).thenReturn(Optional.of("quinn"));
+        when(likeRepo.insertIfAbsent(20L, 19L)).thenReturn(0);
+        when(likeRepo.deleteByIds(20L, 19L)).thenReturn(1);
+        when(postRepo.findLikeCountById(19L)).thenReturn(Optional.of(4));
+
+        LikeResponse resp = likeService.toggleLike(19L, 20L, "rita");
+
+        assertFalse(resp.liked());
+        verify(likeCounter).add(19L, -1);
+        verify(likeIndex).recordUnlike(19L, 20L);
+        verify(publisher).publish(any(UnlikeEvent.class));
+    }
+
+    @Test
+    void like_WhenNew_IncrementsAndPublishes() {
+        when(postRepo.findAuthorUsernameById(21L)).thenReturn(Optional.of("quinn"));
+        when(likeRepo.insertIfAbsent(22L, 21L)).thenReturn(1);
+        when(postRepo.findLikeCountById(21L)).thenReturn(Optional.of(7));
+
+        LikeResponse resp = likeService.like(21L, 22L, "rita");
+
+        assertTrue(resp.liked());
+        assertEquals(7, resp.totalLikes());
+        verify(likeCounter).add(21L, 1);
+        verify(likeIndex).recordLike(21L, 22L, 7);
+        verify(publisher).publish(any(LikeEvent.class));
+    }
+
+    @Test
+    void like_WhenAlreadyLiked_IsIdempotent() {
+        when(postRepo.findAuthorUsernameById(21L)).thenReturn(Optional.of("quinn"));
+        when(likeRepo.insertIfAbsent(22L, 21L)).thenReturn(0);
+        when(postRepo.findLikeCountById(21L)).thenReturn(Optional.of(7));
+
+        LikeResponse resp = likeService.like(21L, 22L, "rita");
+
+        assertTrue(resp.liked());
+        verify(likeCounter, never()).add(any(), anyInt());
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    void unlike_WhenNotLiked_IsIdempotent() {
+        when(likeRepo.deleteByIds(22L, 21L)).thenReturn(0);
+        when(postRepo.findLikeCountById(21L)).thenReturn(Optional.of(7));
+
+        LikeResponse resp = likeService.unlike(21L, 22L);
+
+        assertFalse(resp.liked());
+        assertEquals(7, resp.totalLikes());
+        verify(likeCounter, never()).add(any(), anyInt());
+    }
+
+    @Test
+    void unlike_WhenPostNotFound_Throws() {
+        when(likeRepo.deleteByIds(22L, 23L)).thenReturn(0);
+        when(postRepo.findLikeCountById(23L)).thenReturn(Optional.empty());
+        assertThrows(PostNotFoundException.class, () -> likeService.unlike(23L, 22L));
     }
 
     @Test
-    void countLikes_DelegatesToRepository() {
-        when(likeRepo.countByIdPostId(13L)).thenReturn(8);
-        assertEquals(8, likeService.countLikes(13L));
-        verify(likeRepo).countByIdPostId(13L);
+    void countLikes_ReadsCounterPlusPendingDelta() {
+        when(postRepo.findLikeCountById(13L)).thenReturn(Optional.of(8));
+        when(likeCounter.pending(13L)).thenReturn(2L);
+        assertEquals(10, likeService.countLikes(13L));
+        verify(likeRepo, never()).countByIdPostId(any());
     }
 
     @Test
     void isLiked_WhenUserNotFound_Throws() {
-        when(userRepo.findByUsername("nope")).thenReturn(Optional.empty());
+        when(userLookup.findByUsername("nope")).thenReturn(Optional.empty());
         assertThrows(IllegalStateException.class, () -> likeService.isLiked(14L, "nope"));
     }
 
     @Test
     void isLiked_ReturnsExists() {
-        var user = new RegularUser(); user.setId(15L);
-        when(userRepo.findByUsername("pat")).thenReturn(Optional.of(user));
+        when(userLookup.findByUsername("pat"))
+                .thenReturn(Optional.of(new UserIdentity(15L, "pat", Role.USER, null)));
         LikeId id = new LikeId(15L, 16L);
         when(likeRepo.existsById(id)).thenReturn(true);
         assertTrue(likeService.isLiked(16L, "pat"));
         verify(likeRepo).existsById(id);
     }
+
+    @Test
+    void isLikedById_ChecksCompositeKeyWithoutUserLookup() {
+        LikeId id = new LikeId(17L, 18L);
+        when(likeRepo.existsById(id)).thenReturn(true);
+        assertTrue(likeService.isLiked(18L, 17L));
+        verifyNoInteractions(userLookup);
+    }
+
+    @Test
+    void isLikedById_WhenIndexed_AnswersWithoutSql() {
+        when(likeIndex.isLiked(18L, 17L)).thenReturn(Optional.of(false));
+        assertFalse(likeService.isLiked(18L, 17L));
+        verifyNoInteractions(likeRepo);
+    }
+
+    @Test
+    void toggleLike_WhenIndexKnowsNotLiked_SkipsDelete() {
+        when(likeIndex.isLiked(24L, 25L)).thenReturn(Optional.of(false));
+        when(postRepo.findAuthorUsernameById(24L)).thenReturn(Optional.of("quinn"));
+        when(likeRepo.insertIfAbsent(25L, 24L)).thenReturn(1);
+        when(postRepo.findLikeCountById(24L)).thenReturn(Optional.of(1500));
+
+        LikeResponse resp = likeService.toggleLike(24L, 25L, "rita");
+
+        assertTrue(resp.liked());
+        verify(likeRepo, never()).deleteByIds(any(), any());
+        verify(likeIndex).recordLike(24L, 25L, 1500);
+    }
 }
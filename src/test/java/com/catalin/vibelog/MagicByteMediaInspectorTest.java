@@ -0,0 +1,193 @@
+package com.catalin.vibelog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.catalin.vibelog.exception.UnsupportedMediaException;
+import com.catalin.vibelog.model.enums.MediaType;
+import com.catalin.vibelog.service.MediaInspector.MediaInfo;
+import com.catalin.vibelog.service.implementations.MagicByteMediaInspector;
+
+class MagicByteMediaInspectorTest {
+
+    private final MagicByteMediaInspector inspector = new MagicByteMediaInspector();
+
+    @Test
+    void inspect_Png_ReadsIhdrDimensions() throws IOException {
+        Bytes b = new Bytes();
+        b.raw(0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A);
+        b.out.writeInt(13);
+        b.ascii("IHDR");
+        b.out.writeInt(640);
+        b.out.writeInt(480);
+        b.raw(8, 6, 0, 0, 0);
+
+        MediaInfo info = inspect("photo.jpg", b);
+
+        assertEquals(MediaType.IMG, info.type());
+        assertEquals("png", info.format());
+        assertEquals(640, info.width());
+        assertEquals(480, info.height());
+        assertNull(info.durationMs());
+    }
+
+    @Test
+    void inspect_Gif_ReadsLogicalScreenSize() throws IOException {
+        Bytes b = new Bytes();
+        b.ascii("GIF89a");
+        b.raw(10, 0, 20, 0, 0, 0, 0);
+
+        MediaInfo info = inspect("anim.gif", b);
+
+        assertEquals("gif", info.format());
+        assertEquals(10, info.width());
+        assertEquals(20, info.height());
+    }
+
+    @Test
+    void inspect_TruncatedGif_HasNoDimensions() throws IOException {
+        Bytes b = new Bytes();
+        b.ascii("GIF89a");
+        b.raw(10, 0);
+
+        MediaInfo info = inspect("anim.gif", b);
+
+        assertEquals("gif", info.format());
+        assertNull(info.width());
+        assertNull(info.height());
+    }
+
+    @Test
+    void inspect_WebMWithOversizedElement_Throws() throws IOException {
+        Bytes b = new Bytes();
+        b.raw(0x1A, 0x45, 0xDF, 0xA3, 0x8A, 0x42, 0x82);
+        b.raw(0x01, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFE);
+        b.ascii("webm");
+
+        MockMultipartFile file = new MockMultipartFile("file", "video.webm", null, b.buffer.toByteArray());
+        assertThrows(UnsupportedMediaException.class, () -> inspector.inspect(file));
+    }
+
+    @Test
+    void inspect_Jpeg_SkipsAppSegmentsToFrameHeader() throws IOException {
+        Bytes b = new Bytes();
+        b.raw(0xFF, 0xD8);
+        b.raw(0xFF, 0xE1);
+        b.out.writeShort(2 + 200);
+        b.out.write(new byte[200]);
+        b.raw(0xFF, 0xC0);
+        b.out.writeShort(17);
+        b.raw(8);
+        b.out.writeShort(300);
+        b.out.writeShort(400);
+        b.out.write(new byte[10]);
+
+        MediaInfo info = inspect("image.png", b);
+
+        assertEquals(MediaType.IMG, info.type());
+        assertEquals("jpeg", info.format());
+        assertEquals(400, info.width());
+        assertEquals(300, info.height());
+    }
+
+    @Test
+    void inspect_Mp4WithTrailingMoov_ReadsDurationAndDimensions() throws IOException {
+        Bytes b = new Bytes();
+        b.out.writeInt(16);
+        b.ascii("ftyp");
+        b.ascii("isom");
+        b.out.writeInt(0);
+        b.out.writeInt(8 + 1000);
+        b.ascii("mdat");
+        b.out.write(new byte[1000]);
+
+        int mvhdSize = 8 + 100;
+        int tkhdSize = 8 + 84;
+        int trakSize = 8 + tkhdSize;
+        b.out.writeInt(8 + mvhdSize + trakSize);
+        b.ascii("moov");
+        b.out.writeInt(mvhdSize);
+        b.ascii("mvhd");
+        b.out.writeInt(0);          // version + flags
+        b.out.writeInt(0);          // creation time
+        b.out.writeInt(0);          // modification time
+        b.out.writeInt(1000);       // timescale
+        b.out.writeInt(5000);       // duration
+        b.out.write(new byte[100 - 20]);
+        b.out.writeInt(trakSize);
+        b.ascii("trak");
+        b.out.writeInt(tkhdSize);
+        b.ascii("tkhd");
+        b.out.writeInt(0);          // version + flags
+        b.out.write(new byte[20 + 52]);
+        b.out.writeInt(1920 << 16);
+        b.out.writeInt(1080 << 16);
+
+        MediaInfo info = inspect("clip.bin", b);
+
+        assertEquals(MediaType.VIDEO, info.type());
+        assertEquals("mp4", info.format());
+        assertEquals(1920, info.width());
+        assertEquals(1080, info.height());
+        assertEquals(5000L, info.durationMs());
+    }
+
+    @Test
+    void inspect_WebM_ReadsInfoAndVideoTrack() throws IOException {
+        Bytes b = new Bytes();
+        b.raw(0x1A, 0x45, 0xDF, 0xA3, 0x87, 0x42, 0x82, 0x84);
+        b.ascii("webm");
+        b.raw(0x18, 0x53, 0x80, 0x67, 0x01, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF);
+        b.raw(0x15, 0x49, 0xA9, 0x66, 0x92);
+        b.raw(0x2A, 0xD7, 0xB1, 0x83, 0x0F, 0x42, 0x40);
+        b.raw(0x44, 0x89, 0x88);
+        b.out.writeDouble(2500.0);
+        b.raw(0x16, 0x54, 0xAE, 0x6B, 0x8C);
+        b.raw(0xAE, 0x8A);
+        b.raw(0xE0, 0x88);
+        b.raw(0xB0, 0x82, 0x05, 0x00);
+        b.raw(0xBA, 0x82, 0x02, 0xD0);
+        b.raw(0x1F, 0x43, 0xB6, 0x75, 0x80);
+
+        MediaInfo info = inspect("video.mp4", b);
+
+        assertEquals(MediaType.VIDEO, info.type());
+        assertEquals("webm", info.format());
+        assertEquals(1280, info.width());
+        assertEquals(720, info.height());
+        assertEquals(2500L, info.durationMs());
+    }
+
+    @Test
+    void inspect_UnknownSignature_Throws() {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "notes.png", "image/png", "hello world".getBytes(StandardCharsets.US_ASCII));
+        assertThrows(UnsupportedMediaException.class, () -> inspector.inspect(file));
+    }
+
+    private MediaInfo inspect(String name, Bytes bytes) {
+        return inspector.inspect(new MockMultipartFile("file", name, null, bytes.buffer.toByteArray()));
+    }
+
+    private static class Bytes {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(buffer);
+
+        void raw(int... values) throws IOException {
+            for (int v : values) {
+                out.write(v);
+            }
+        }
+
+        void ascii(String s) throws IOException {
+            out.write(s.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.catalin.vibelog;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.catalin.vibelog.config.CacheConfig;
+import com.catalin.vibelog.dto.response.MediaResponseDTO;
+import com.catalin.vibelog.events.ClusterEvent;
+import com.catalin.vibelog.events.PostMediaChangedEvent;
+import com.catalin.vibelog.model.Media;
+import com.catalin.vibelog.model.Post;
+import com.catalin.vibelog.model.enums.MediaType;
+import com.catalin.vibelog.repository.MediaRepository;
+import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.service.EventBus;
+import com.catalin.vibelog.service.MediaInspector;
+import com.catalin.vibelog.service.StorageService;
+import com.catalin.vibelog.service.implementations.MediaServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class MediaServiceImplTest {
+
+    @Mock private MediaRepository mediaRepo;
+    @Mock private PostRepository postRepo;
+    @Mock private StorageService storageService;
+    @Mock private MediaInspector mediaInspector;
+    @Mock private EventBus publisher;
+
+    private MediaServiceImpl mediaService;
+
+    @BeforeEach
+    void setUp() {
+        mediaService = new MediaServiceImpl(mediaRepo, postRepo, storageService, mediaInspector,
+                new ConcurrentMapCacheManager(CacheConfig.POST_MEDIA), publisher);
+    }
+
+    @Test
+    void listForPost_SecondCall_ServedFromCache() {
+        when(mediaRepo.findByPostId(1L)).thenReturn(List.of(media(10L, 1L)));
+
+        List<MediaResponseDTO> first = mediaService.listForPost(1L);
+        List<MediaResponseDTO> second = mediaService.listForPost(1L);
+
+        assertEquals(1, first.size());
+        assertEquals(first, second);
+        verify(mediaRepo, times(1)).findByPostId(1L);
+    }
+
+    @Test
+    void listForPosts_LoadsOnlyMissesInOneQuery() {
+        when(mediaRepo.findByPostId(1L)).thenReturn(List.of(media(10L, 1L)));
+        mediaService.listForPost(1L);
+        when(mediaRepo.findByPostIdIn(List.of(2L, 3L))).thenReturn(List.of(media(20L, 2L)));
+
+        Map<Long, List<MediaResponseDTO>> result = mediaService.listForPosts(List.of(1L, 2L, 3L));
+
+        assertEquals(10L, result.get(1L).get(0).id());
+        assertEquals(20L, result.get(2L).get(0).id());
+        assertTrue(result.get(3L).isEmpty());
+        mediaService.listForPosts(List.of(2L, 3L));
+        verify(mediaRepo, times(1)).findByPostIdIn(any());
+    }
+
+    @Test
+    void deleteAllForPost_EvictsCachedList() {
+        when(mediaRepo.findByPostId(4L)).thenReturn(List.of(media(40L, 4L)), List.of());
+        mediaService.listForPost(4L);
+
+        mediaService.deleteAllForPost(4L);
+
+        assertTrue(mediaService.listForPost(4L).isEmpty());
+        verify(mediaRepo).deleteByPostId(4L);
+        verify(mediaRepo, times(2)).findByPostId(4L);
+        ArgumentCaptor<PostMediaChangedEvent> published = ArgumentCaptor.forClass(PostMediaChangedEvent.class);
+        verify(publisher).publish(published.capture());
+        assertEquals(List.of(4L), published.getValue().postIds);
+    }
+
+    @Test
+    void onPostMediaChanged_EvictsListChangedElsewhere() {
+        when(mediaRepo.findByPostId(6L)).thenReturn(List.of(media(60L, 6L)), List.of());
+        mediaService.listForPost(6L);
+
+        mediaService.onPostMediaChanged(new ClusterEvent<>(this, 1L, new PostMediaChangedEvent(this, List.of(6L))));
+
+        assertTrue(mediaService.listForPost(6L).isEmpty());
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    void deleteMedia_EvictsOwningPost() {
+        Media m = media(50L, 5L);
+        when(mediaRepo.findByPostId(5L)).thenReturn(List.of(m), List.of());
+        when(mediaRepo.findById(50L)).thenReturn(Optional.of(m));
+        mediaService.listForPost(5L);
+
+        mediaService.deleteMedia(50L);
+
+        assertTrue(mediaService.listForPost(5L).isEmpty());
+        verify(mediaRepo).delete(m);
+    }
+
+    private Media media(Long id, Long postId) {
+        Post post = new Post();
+        post.setId(postId);
+        Media m = new Media();
+        m.setId(id);
+        m.setUrl("http://host/uploads/" + id + ".png");
+        m.setType(MediaType.IMG);
+        m.setPost(post);
+        return m;
+    }
+}
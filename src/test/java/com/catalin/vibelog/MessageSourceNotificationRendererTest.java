@@ -0,0 +1,104 @@
+package com.catalin.vibelog;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import com.catalin.vibelog.dto.response.NotificationResponseDTO;
+import com.catalin.vibelog.model.enums.NotificationType;
+import com.catalin.vibelog.model.enums.ReportStatus;
+import com.catalin.vibelog.model.enums.ReportTarget;
+import com.catalin.vibelog.model.enums.Role;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.NotificationRow;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.implementations.MessageSourceNotificationRenderer;
+
+@ExtendWith(MockitoExtension.class)
+class MessageSourceNotificationRendererTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Mock private UserRepository userRepo;
+
+    private MessageSourceNotificationRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        ResourceBundleMessageSource messages = new ResourceBundleMessageSource();
+        messages.setBasename("notifications");
+        messages.setDefaultEncoding("UTF-8");
+        renderer = new MessageSourceNotificationRenderer(messages, userRepo);
+    }
+
+    private static NotificationRow row(NotificationType type, Long targetId, int actorCount, Long... actorIds) {
+        return new NotificationRow(1L, type, null, false, NOW, targetId, null, null, actorCount, actorIds);
+    }
+
+    private static UserIdentity user(long id, String username) {
+        return new UserIdentity(id, username, Role.USER, null);
+    }
+
+    @Test
+    void render_ResolvesRecentActorsOfThePageInOneQuery() {
+        when(userRepo.findIdentitiesByIdIn(Set.of(21L, 22L, 23L)))
+                .thenReturn(List.of(user(21L, "amy"), user(22L, "cal"), user(23L, "dan")));
+
+        List<NotificationResponseDTO> out = renderer.render(List.of(
+                row(NotificationType.LIKE, 12345L, 5, 21L, 22L, 23L, 24L, 25L),
+                row(NotificationType.FOLLOW, null, 2, 22L, 21L),
+                row(NotificationType.COMMENT, 7L, 1, 23L)));
+
+        assertEquals("💖 @amy, @cal and 3 others liked your post #12345", out.get(0).content());
+        assertEquals(List.of("amy", "cal", "dan"), out.get(0).actors());
+        assertEquals("➕ @cal and @amy are now following you", out.get(1).content());
+        assertEquals("💬 @dan commented on your post #7", out.get(2).content());
+        verify(userRepo).findIdentitiesByIdIn(any());
+    }
+
+    @Test
+    void render_LeavesOutActorsThatAreGone() {
+        when(userRepo.findIdentitiesByIdIn(Set.of(21L, 22L))).thenReturn(List.of(user(22L, "cal")));
+
+        List<NotificationResponseDTO> out = renderer.render(List.of(
+                row(NotificationType.REBLOG, 4L, 2, 21L, 22L),
+                row(NotificationType.FOLLOW, null, 1, 21L)));
+
+        assertEquals("🔁 @cal and 1 other reblogged your post #4", out.get(0).content());
+        assertEquals("➕ Someone is now following you", out.get(1).content());
+        assertEquals(List.of(), out.get(1).actors());
+    }
+
+    @Test
+    void render_KeepsFixedContent() {
+        var report = new NotificationRow(2L, NotificationType.REPORT, "Your report was reviewed", true, NOW,
+                null, null, null, 1, null);
+
+        List<NotificationResponseDTO> out = renderer.render(List.of(report));
+
+        assertEquals("Your report was reviewed", out.get(0).content());
+        verifyNoInteractions(userRepo);
+    }
+
+    @Test
+    void render_ReportOutcomeFromTemplate() {
+        var report = new NotificationRow(3L, NotificationType.REPORT, null, false, NOW,
+                12L, ReportTarget.COMMENT, ReportStatus.RESOLVED, 1, null);
+
+        List<NotificationResponseDTO> out = renderer.render(List.of(report));
+
+        assertEquals("🚩 Your report on comment #12 was resolved", out.get(0).content());
+        verifyNoInteractions(userRepo);
+    }
+}
@@ -1,16 +1,19 @@
 package com.catalin.vibelog;
 
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -23,9 +26,18 @@ import com.catalin.vibelog.dto.response.NotificationResponseDTO;
 import com.catalin.vibelog.exception.NotificationNotFoundException;
 import com.catalin.vibelog.model.Notification;
 import com.catalin.vibelog.model.RegularUser;
+import com.catalin.vibelog.exception.UserNotFoundException;
 import com.catalin.vibelog.model.enums.NotificationType;
+import com.catalin.vibelog.model.enums.ReportStatus;
+import com.catalin.vibelog.model.enums.ReportTarget;
+import com.catalin.vibelog.model.enums.Role;
 import com.catalin.vibelog.repository.NotificationRepository;
-import com.catalin.vibelog.service.UserService;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.NotificationRow;
+import com.catalin.vibelog.repository.projection.OpenAggregate;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.NotificationRenderer;
+import com.catalin.vibelog.service.UserLookupService;
 import com.catalin.vibelog.service.implementations.NotificationServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,17 +46,26 @@ class NotificationServiceImplTest {
     @Mock
     private NotificationRepository notificationRepo;
     @Mock
-    private UserService userService;
+    private UserLookupService userLookup;
+    @Mock
+    private UserRepository userRepo;
+    @Mock
+    private NotificationRenderer renderer;
 
-    @InjectMocks
     private NotificationServiceImpl notificationService;
 
+    @BeforeEach
+    void setUp() {
+        notificationService = new NotificationServiceImpl(notificationRepo, userLookup, userRepo, renderer, Duration.ofHours(24), 500);
+    }
+
     @Test
     void sendNotification_Success() {
         // Prepare
         var req = new NotificationRequestDTO(NotificationType.LIKE, "bob", "You have a new like");
-        var recipient = new RegularUser(); recipient.setUsername("bob");
-        when(userService.findByUsername("bob")).thenReturn(recipient);
+        var recipient = new RegularUser(); recipient.setId(7L); recipient.setUsername("bob");
+        when(userLookup.getByUsername("bob")).thenReturn(new UserIdentity(7L, "bob", Role.USER, null));
+        when(userRepo.getReferenceById(7L)).thenReturn(recipient);
 
         // Capture saved notification
         ArgumentCaptor<Notification> captor = ArgumentCaptor.forClass(Notification.class);
@@ -54,7 +75,7 @@ class NotificationServiceImplTest {
         notificationService.sendNotification(req);
 
         // Verify
-        verify(userService).findByUsername("bob");
+        verify(userLookup).getByUsername("bob");
         verify(notificationRepo).save(captor.capture());
         Notification saved = captor.getValue();
         assertEquals(NotificationType.LIKE, saved.getType());
@@ -67,37 +88,29 @@ class NotificationServiceImplTest {
     @Test
     void sendNotification_WhenUserNotFound_Throws() {
         var req = new NotificationRequestDTO(NotificationType.COMMENT, "alice", "New comment");
-        when(userService.findByUsername("alice")).thenThrow(new RuntimeException("Not found"));
-        assertThrows(RuntimeException.class,
+        when(userLookup.getByUsername("alice")).thenThrow(new UserNotFoundException("alice"));
+        assertThrows(UserNotFoundException.class,
                 () -> notificationService.sendNotification(req));
         verify(notificationRepo, never()).save(any());
     }
 
     @Test
-    void listNotifications_ReturnsMappedPage() {
+    void listNotifications_RendersPageOfRows() {
         var now = LocalDateTime.of(2023,1,1,12,0);
-        Notification n = Notification.builder()
-                .type(NotificationType.FOLLOW)
-                .content("X followed you")
-                .recipient(new RegularUser())
-                .build();
-        n.setId(5L);
-        n.setSeen(true);
-        n.setTimestamp(now);
         Pageable page = PageRequest.of(0,10);
-        when(notificationRepo.findByRecipientUsernameOrderByTimestampDesc("bob", page))
-                .thenReturn(new PageImpl<>(List.of(n)));
+        var row = new NotificationRow(5L, NotificationType.FOLLOW, null, true, now, null, null, null, 1,
+                new Long[]{9L});
+        var dto = new NotificationResponseDTO(5L, NotificationType.FOLLOW, "➕ @x is now following you",
+                true, now, null, 1, List.of("x"));
+        when(notificationRepo.findRowsByRecipientUsername("bob", page))
+                .thenReturn(new PageImpl<>(List.of(row), page, 11));
+        when(renderer.render(List.of(row))).thenReturn(List.of(dto));
 
         Page<NotificationResponseDTO> result = notificationService.listNotifications("bob", page);
 
-        assertEquals(1, result.getTotalElements());
-        NotificationResponseDTO dto = result.getContent().get(0);
-        assertEquals(5L, dto.id());
-        assertEquals(NotificationType.FOLLOW, dto.type());
-        assertEquals("X followed you", dto.content());
-        assertTrue(dto.seen());
-        assertEquals(now, dto.timestamp());
-        verify(notificationRepo).findByRecipientUsernameOrderByTimestampDesc("bob", page);
+        assertEquals(11, result.getTotalElements());
+        assertEquals(List.of(dto), result.getContent());
+        assertEquals(page, result.getPageable());
     }
 
     @Test
@@ -127,4 +140,63 @@ class NotificationServiceImplTest {
         assertThrows(NotificationNotFoundException.class,
                 () -> notificationService.markRead("frank", 8L));
     }
+
+    @Test
+    void notifyReporters_InsertsInChunks() {
+        List<Long> ids = LongStream.rangeClosed(1, 2500).boxed().toList();
+        when(notificationRepo.insertForReporters(eq("POST"), eq(4L), eq("RESOLVED"), any(), anyCollection()))
+                .thenReturn(1000, 1000, 400);
+
+        int sent = notificationService.notifyReporters(ids, ReportTarget.POST, 4L, ReportStatus.RESOLVED);
+
+        assertEquals(2400, sent);
+        verify(notificationRepo, times(3))
+                .insertForReporters(eq("POST"), eq(4L), eq("RESOLVED"), any(), anyCollection());
+    }
+
+    @Test
+    void sendNotification_FromActor_WithoutOpenAggregate_InsertsStructuredRow() {
+        when(userLookup.getByUsername("bob")).thenReturn(new UserIdentity(7L, "bob", Role.USER, null));
+        when(userLookup.getByUsername("amy")).thenReturn(new UserIdentity(21L, "amy", Role.USER, null));
+        when(userRepo.getReferenceById(7L)).thenReturn(new RegularUser());
+        when(notificationRepo.findOpenAggregates(eq(7L), eq(NotificationType.LIKE), eq(12L), any(), eq(500), any()))
+                .thenReturn(List.of());
+
+        notificationService.sendNotification(NotificationRequestDTO.fromActor(NotificationType.LIKE, "bob", "amy", 12L));
+
+        ArgumentCaptor<Notification> captor = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepo).lockAggregate("7:LIKE:12");
+        verify(notificationRepo).save(captor.capture());
+        Notification saved = captor.getValue();
+        assertNull(saved.getContent());
+        assertEquals(12L, saved.getTargetId());
+        assertEquals(1, saved.getActorCount());
+        assertArrayEquals(new Long[]{21L}, saved.getActorIds());
+    }
+
+    @Test
+    void sendNotification_FromActor_FoldsIntoOpenAggregate() {
+        when(userLookup.getByUsername("bob")).thenReturn(new UserIdentity(7L, "bob", Role.USER, null));
+        when(userLookup.getByUsername("amy")).thenReturn(new UserIdentity(21L, "amy", Role.USER, null));
+        when(notificationRepo.findOpenAggregates(eq(7L), eq(NotificationType.LIKE), eq(12L), any(), eq(500), any()))
+                .thenReturn(List.of(new OpenAggregate(3L, 3, new Long[]{22L, 23L, 24L})));
+
+        notificationService.sendNotification(NotificationRequestDTO.fromActor(NotificationType.LIKE, "bob", "amy", 12L));
+
+        verify(notificationRepo).updateAggregate(eq(3L), eq(4), aryEq(new Long[]{21L, 22L, 23L, 24L}), any());
+        verify(notificationRepo, never()).save(any());
+    }
+
+    @Test
+    void sendNotification_FromActor_RepeatedActor_WritesNothing() {
+        when(userLookup.getByUsername("bob")).thenReturn(new UserIdentity(7L, "bob", Role.USER, null));
+        when(userLookup.getByUsername("cal")).thenReturn(new UserIdentity(22L, "cal", Role.USER, null));
+        when(notificationRepo.findOpenAggregates(eq(7L), eq(NotificationType.FOLLOW), eq(0L), any(), eq(500), any()))
+                .thenReturn(List.of(new OpenAggregate(3L, 4, new Long[]{21L, 23L, 24L, 22L})));
+
+        notificationService.sendNotification(NotificationRequestDTO.fromActor(NotificationType.FOLLOW, "bob", "cal", null));
+
+        verify(notificationRepo, never()).updateAggregate(any(), anyInt(), any(), any());
+        verify(notificationRepo, never()).save(any());
+    }
 }
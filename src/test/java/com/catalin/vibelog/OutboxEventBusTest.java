@@ -0,0 +1,59 @@
+package com.catalin.vibelog;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.catalin.vibelog.events.LikeEvent;
+import com.catalin.vibelog.model.OutboxEvent;
+import com.catalin.vibelog.repository.EventOutboxRepository;
+import com.catalin.vibelog.service.implementations.OutboxEventBus;
+import com.catalin.vibelog.service.implementations.OutboxEventCodec;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxEventBusTest {
+
+    @Mock private EventOutboxRepository outboxRepo;
+
+    private OutboxEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new OutboxEventBus(outboxRepo, new OutboxEventCodec(Jackson2ObjectMapperBuilder.json().build()));
+    }
+
+    @Test
+    void publish_WritesOutboxRowUnderAggregateLock() {
+        LikeEvent event = new LikeEvent(this, 12L, 7L, "amy", "bob");
+
+        bus.publish(event);
+
+        ArgumentCaptor<OutboxEvent> row = ArgumentCaptor.forClass(OutboxEvent.class);
+        InOrder order = inOrder(outboxRepo);
+        order.verify(outboxRepo).lockAggregate("post:12");
+        order.verify(outboxRepo).save(row.capture());
+        order.verify(outboxRepo).notifyChannel(OutboxEventBus.CHANNEL);
+        assertEquals("post:12", row.getValue().getAggregateKey());
+        assertEquals(LikeEvent.class.getName(), row.getValue().getEventType());
+        assertEquals("{\"postId\":12,\"likerId\":7,\"likerUsername\":\"amy\",\"postAuthorUsername\":\"bob\"}",
+                row.getValue().getPayload());
+        assertNotNull(row.getValue().getCreatedAt());
+    }
+
+    @Test
+    void publish_WhenOutboxWriteFails_Propagates() {
+        when(outboxRepo.save(any())).thenThrow(new IllegalStateException("db down"));
+
+        assertThrows(IllegalStateException.class, () -> bus.publish(new LikeEvent(this, 12L, 7L, "amy", "bob")));
+        verify(outboxRepo, never()).notifyChannel(any());
+    }
+}
@@ -4,6 +4,7 @@ import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,7 +14,6 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -30,25 +30,37 @@ import com.catalin.vibelog.exception.UserNotFoundException;
 import com.catalin.vibelog.model.Post;
 import com.catalin.vibelog.model.RegularUser;
 import com.catalin.vibelog.model.User;
+import com.catalin.vibelog.model.enums.NotificationType;
 import com.catalin.vibelog.model.enums.PostStatus;
-import com.catalin.vibelog.repository.CommentRepository;
-import com.catalin.vibelog.repository.LikeRepository;
+import com.catalin.vibelog.model.enums.ReportTarget;
+import com.catalin.vibelog.model.enums.Role;
+import com.catalin.vibelog.service.EventBus;
+import com.catalin.vibelog.service.LikeCounter;
+import com.catalin.vibelog.repository.ModerationQueueRepository;
+import com.catalin.vibelog.repository.NotificationRepository;
 import com.catalin.vibelog.repository.PostRepository;
 import com.catalin.vibelog.repository.ReportRepository;
 import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.UserLookupService;
 import com.catalin.vibelog.service.MediaService;
 import com.catalin.vibelog.service.implementations.PostServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
 class PostServiceImplTest {
 
+    private static final EnumSet<NotificationType> POST_NOTIFICATIONS =
+            EnumSet.of(NotificationType.LIKE, NotificationType.COMMENT, NotificationType.REBLOG);
+
     @Mock private ReportRepository reportRepo;
+    @Mock private ModerationQueueRepository queueRepo;
+    @Mock private NotificationRepository notificationRepo;
     @Mock private PostRepository postRepo;
     @Mock private UserRepository userRepo;
-    @Mock private CommentRepository commentRepo;
-    @Mock private LikeRepository likeRepo;
-    @Mock private ApplicationEventPublisher publisher;
+    @Mock private LikeCounter likeCounter;
+    @Mock private EventBus publisher;
     @Mock private MediaService mediaService;
+    @Mock private UserLookupService userLookup;
 
     @InjectMocks
     private PostServiceImpl postService;
@@ -56,8 +68,10 @@ class PostServiceImplTest {
     @Test
     void createPost_WhenNoOriginal_CreatesAndReturnsDto() {
         var req = new PostRequest("T", "B", "PUBLISHED", null);
-        var author = new RegularUser(); author.setUsername("alice");
-        when(userRepo.findByUsername("alice")).thenReturn(Optional.of(author));
+        var author = new RegularUser(); author.setId(1L); author.setUsername("alice");
+        when(userLookup.findByUsername("alice"))
+                .thenReturn(Optional.of(new UserIdentity(1L, "alice", Role.USER, null)));
+        when(userRepo.getReferenceById(1L)).thenReturn(author);
 
         // saved entity stub
         Post saved = new Post();
@@ -81,14 +95,15 @@ class PostServiceImplTest {
         assertNull(dto.originalAuthorUsername());
         assertTrue(dto.media().isEmpty());
 
-        verify(userRepo).findByUsername("alice");
+        verify(userLookup).findByUsername("alice");
         verify(postRepo).save(any(Post.class));
-        verify(publisher, never()).publishEvent(any());
+        verifyNoInteractions(likeCounter, mediaService);
+        verify(publisher, never()).publish(any());
     }
 
     @Test
     void getPostById_WhenNotFound_Throws() {
-        when(postRepo.findById(1L)).thenReturn(Optional.empty());
+        when(postRepo.findFeedCardById(1L)).thenReturn(Optional.empty());
         assertThrows(PostNotFoundException.class, () -> postService.getPostById(1L));
     }
 
@@ -100,7 +115,7 @@ class PostServiceImplTest {
         p.setCreatedAt(LocalDateTime.of(2020,1,1,0,0));
         var author = new RegularUser(); author.setUsername("u");
         p.setAuthor(author);
-        when(postRepo.findById(2L)).thenReturn(Optional.of(p));
+        when(postRepo.findFeedCardById(2L)).thenReturn(Optional.of(p));
 
         PostResponse dto = postService.getPostById(2L);
         assertEquals(2L, dto.id());
@@ -115,7 +130,7 @@ class PostServiceImplTest {
         Post p = new Post(); p.setId(3L);
         var author = new RegularUser(); author.setUsername("a");
         p.setAuthor(author);
-        when(postRepo.findById(3L)).thenReturn(Optional.of(p));
+        when(postRepo.findFeedCardById(3L)).thenReturn(Optional.of(p));
 
         var req = new PostRequest("T","B","DRAFT",null);
         assertThrows(UnauthorizedActionException.class,
@@ -127,7 +142,7 @@ class PostServiceImplTest {
         Post p = new Post(); p.setId(4L);
         var author = new RegularUser(); author.setUsername("me");
         p.setAuthor(author);
-        when(postRepo.findById(4L)).thenReturn(Optional.of(p));
+        when(postRepo.findFeedCardById(4L)).thenReturn(Optional.of(p));
 
         var req = new PostRequest("New","Body","PUBLISHED",null);
         p.setTitle("New"); p.setBody("Body");
@@ -149,7 +164,11 @@ class PostServiceImplTest {
         when(postRepo.findById(5L)).thenReturn(Optional.of(p));
 
         postService.deletePost(5L, "me");
+        verify(queueRepo).deleteByTargets(ReportTarget.POST, List.of(5L));
+        verify(queueRepo).deleteCommentEntriesForPosts(List.of(5L));
         verify(postRepo).delete(p);
+        verify(notificationRepo).deleteByTargets(POST_NOTIFICATIONS, List.of(5L));
+        verify(mediaService).evictCached(List.of(5L));
     }
 
     @Test
@@ -197,10 +216,16 @@ class PostServiceImplTest {
     @Test
     void deletePostAsModerator_CleansReportsAndDeletes() {
         var p = new Post(); p.setId(11L);
+        var reblog = new Post(); reblog.setId(12L);
+        p.getRebloggedPosts().add(reblog);
         when(postRepo.findById(11L)).thenReturn(Optional.of(p));
 
         postService.deletePostAsModerator(11L);
         verify(reportRepo).deleteAllByPostId(11L);
+        verify(queueRepo).deleteByTargets(ReportTarget.POST, List.of(11L, 12L));
+        verify(queueRepo).deleteCommentEntriesForPosts(List.of(11L, 12L));
         verify(postRepo).delete(p);
+        verify(notificationRepo).deleteByTargets(POST_NOTIFICATIONS, List.of(11L, 12L));
+        verify(mediaService).evictCached(List.of(11L, 12L));
     }
 }
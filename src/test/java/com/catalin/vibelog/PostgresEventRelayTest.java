@@ -0,0 +1,122 @@
+package com.catalin.vibelog;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.catalin.vibelog.events.ClusterEvent;
+import com.catalin.vibelog.events.FollowEvent;
+import com.catalin.vibelog.repository.EventOutboxRepository;
+import com.catalin.vibelog.repository.projection.OutboxRow;
+import com.catalin.vibelog.service.implementations.OutboxEventCodec;
+import com.catalin.vibelog.service.implementations.PostgresEventRelay;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresEventRelayTest {
+
+    private static final String FOLLOW = FollowEvent.class.getName();
+
+    @Mock private DataSource dataSource;
+    @Mock private EventOutboxRepository outboxRepo;
+    @Mock private ApplicationEventPublisher publisher;
+
+    private PostgresEventRelay relay(Duration gapTimeout) {
+        return new PostgresEventRelay(dataSource, outboxRepo, publisher,
+                new OutboxEventCodec(Jackson2ObjectMapperBuilder.json().build()), true, Duration.ofSeconds(5), 10, gapTimeout);
+    }
+
+    private static OutboxRow follow(long id, long followerId) {
+        return new OutboxRow(id, FOLLOW, "{\"followerId\":" + followerId
+                + ",\"followerUsername\":\"a\",\"followedId\":2,\"followedUsername\":\"b\"}");
+    }
+
+    @Test
+    void deliverPending_StartsAtEndOfOutboxAndRebuildsEvents() {
+        PostgresEventRelay relay = relay(Duration.ofMinutes(1));
+        when(outboxRepo.findMaxId()).thenReturn(40L);
+        when(outboxRepo.findAfter(eq(40L), any(Pageable.class))).thenReturn(List.of(follow(41L, 7L)));
+
+        assertEquals(1, relay.deliverPending());
+
+        ArgumentCaptor<ClusterEvent<?>> captor = ArgumentCaptor.forClass(ClusterEvent.class);
+        verify(publisher).publishEvent(captor.capture());
+        ClusterEvent<?> delivered = captor.getValue();
+        assertEquals(41L, delivered.outboxId);
+        FollowEvent event = assertInstanceOf(FollowEvent.class, delivered.event);
+        assertEquals(7L, event.followerId);
+        assertEquals(2L, event.followedId);
+        assertSame(relay, event.getSource());
+    }
+
+    @Test
+    void deliverPending_PicksUpRowsThatCommitLateInsideTheGap() {
+        PostgresEventRelay relay = relay(Duration.ofMinutes(1));
+        when(outboxRepo.findMaxId()).thenReturn(0L);
+        when(outboxRepo.findAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(follow(1L, 1L), follow(3L, 3L)));
+        when(outboxRepo.findAfter(eq(3L), any(Pageable.class))).thenReturn(List.of());
+        when(outboxRepo.findByIdIn(List.of(2L))).thenReturn(List.of(follow(2L, 2L)));
+
+        assertEquals(2, relay.deliverPending());
+        assertEquals(1, relay.deliverPending());
+        assertEquals(0, relay.deliverPending());
+
+        verify(publisher, times(3)).publishEvent(any(ClusterEvent.class));
+        verify(outboxRepo, times(1)).findByIdIn(anyCollection());
+    }
+
+    @Test
+    void deliverPending_LooksUpOnlyTheMissingIds() {
+        PostgresEventRelay relay = relay(Duration.ofMinutes(1));
+        when(outboxRepo.findMaxId()).thenReturn(0L);
+        when(outboxRepo.findAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(follow(1L, 1L), follow(3L, 3L), follow(5L, 5L)));
+        when(outboxRepo.findAfter(eq(5L), any(Pageable.class))).thenReturn(List.of());
+        when(outboxRepo.findByIdIn(List.of(2L, 4L))).thenReturn(List.of(follow(4L, 4L)));
+
+        assertEquals(3, relay.deliverPending());
+        assertEquals(1, relay.deliverPending());
+
+        verify(outboxRepo).findByIdIn(List.of(2L, 4L));
+    }
+
+    @Test
+    void deliverPending_GivesUpOnGapAfterTimeout() {
+        PostgresEventRelay relay = relay(Duration.ZERO);
+        when(outboxRepo.findMaxId()).thenReturn(0L);
+        when(outboxRepo.findAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(follow(2L, 2L)));
+        when(outboxRepo.findAfter(eq(2L), any(Pageable.class))).thenReturn(List.of());
+        when(outboxRepo.findByIdIn(List.of(1L))).thenReturn(List.of());
+
+        relay.deliverPending();
+        relay.deliverPending();
+        relay.deliverPending();
+
+        verify(outboxRepo, times(1)).findByIdIn(List.of(1L));
+    }
+
+    @Test
+    void deliverPending_SkipsRowsThatAreNotDistributedEvents() {
+        PostgresEventRelay relay = relay(Duration.ofMinutes(1));
+        when(outboxRepo.findMaxId()).thenReturn(0L);
+        when(outboxRepo.findAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(new OutboxRow(1L, String.class.getName(), "\"x\""), follow(2L, 2L)));
+
+        assertEquals(2, relay.deliverPending());
+
+        verify(publisher, times(1)).publishEvent(any(ClusterEvent.class));
+    }
+}
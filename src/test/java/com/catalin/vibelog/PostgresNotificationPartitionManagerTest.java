@@ -0,0 +1,89 @@
+package com.catalin.vibelog;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.catalin.vibelog.service.implementations.PostgresNotificationPartitionManager;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresNotificationPartitionManagerTest {
+
+    @Mock private JdbcTemplate jdbc;
+
+    private static String bound(LocalDate from, LocalDate to) {
+        return "FOR VALUES FROM ('" + from + " 00:00:00') TO ('" + to + " 00:00:00')";
+    }
+
+    @Test
+    void expireOldPartitions_DropsOnlyMonthsPastRetention() {
+        PostgresNotificationPartitionManager manager = new PostgresNotificationPartitionManager(jdbc, 2, 3, false);
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        when(jdbc.queryForList(anyString())).thenReturn(List.of(
+                Map.of("name", "notifications_legacy",
+                        "bound", "FOR VALUES FROM (MINVALUE) TO ('" + month.minusMonths(5) + " 00:00:00')"),
+                Map.of("name", "notifications_old", "bound", bound(month.minusMonths(4), month.minusMonths(3))),
+                Map.of("name", "notifications_kept", "bound", bound(month.minusMonths(3), month.minusMonths(2))),
+                Map.of("name", "notifications_default", "bound", "DEFAULT")));
+
+        assertEquals(2, manager.expireOldPartitions());
+
+        verify(jdbc).execute("ALTER TABLE notifications DETACH PARTITION notifications_legacy");
+        verify(jdbc).execute("DROP TABLE notifications_legacy");
+        verify(jdbc).execute("DROP TABLE notifications_old");
+        verify(jdbc, never()).execute("ALTER TABLE notifications DETACH PARTITION notifications_kept");
+        verify(jdbc, never()).execute("ALTER TABLE notifications DETACH PARTITION notifications_default");
+        verify(jdbc).update("DELETE FROM notifications_default WHERE timestamp < '" + month.minusMonths(3) + " 00:00:00'");
+    }
+
+    @Test
+    void expireOldPartitions_WhenArchiving_DetachesWithoutDropping() {
+        PostgresNotificationPartitionManager manager = new PostgresNotificationPartitionManager(jdbc, 2, 1, true);
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        when(jdbc.queryForList(anyString())).thenReturn(List.of(
+                Map.of("name", "notifications_old", "bound", bound(month.minusMonths(2), month.minusMonths(1)))));
+
+        assertEquals(1, manager.expireOldPartitions());
+
+        verify(jdbc).execute("ALTER TABLE notifications DETACH PARTITION notifications_old");
+        verify(jdbc, never()).execute(startsWith("DROP TABLE"));
+    }
+
+    @Test
+    void createUpcomingPartitions_CreatesOnlyMissingMonths() {
+        PostgresNotificationPartitionManager manager = new PostgresNotificationPartitionManager(jdbc, 1, 12, false);
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        String current = "notifications_p" + month.getYear() + "_" + String.format("%02d", month.getMonthValue());
+        LocalDate next = month.plusMonths(1);
+        String upcoming = "notifications_p" + next.getYear() + "_" + String.format("%02d", next.getMonthValue());
+        when(jdbc.queryForObject(eq("SELECT to_regclass('" + current + "')::text"), eq(String.class)))
+                .thenReturn(current);
+
+        assertEquals(1, manager.createUpcomingPartitions());
+
+        verify(jdbc).execute("CREATE TABLE " + upcoming + " (LIKE notifications INCLUDING DEFAULTS)");
+        verify(jdbc).execute("ALTER TABLE notifications ATTACH PARTITION " + upcoming
+                + " FOR VALUES FROM ('" + next + " 00:00:00') TO ('" + next.plusMonths(1) + " 00:00:00')");
+        verify(jdbc, never()).execute(startsWith("CREATE TABLE " + current));
+    }
+
+    @Test
+    void ensurePartitioned_WhenTableMissing_DoesNothing() {
+        PostgresNotificationPartitionManager manager = new PostgresNotificationPartitionManager(jdbc, 2, 12, false);
+
+        assertFalse(manager.ensurePartitioned());
+        verify(jdbc, never()).execute(anyString());
+    }
+}
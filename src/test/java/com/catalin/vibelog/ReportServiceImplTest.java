@@ -4,45 +4,61 @@ import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import com.catalin.vibelog.dto.request.ReportRequestDTO;
 import com.catalin.vibelog.dto.request.ReportStatusUpdateDTO;
+import com.catalin.vibelog.dto.response.TargetResolutionDTO;
+import com.catalin.vibelog.events.ReportsResolvedEvent;
 import com.catalin.vibelog.exception.CommentNotFoundException;
 import com.catalin.vibelog.exception.PostNotFoundException;
 import com.catalin.vibelog.exception.ReportNotFoundException;
 import com.catalin.vibelog.exception.UserNotFoundException;
+import com.catalin.vibelog.model.ModerationQueueEntry;
 import com.catalin.vibelog.model.Post;
 import com.catalin.vibelog.model.Report;
 import com.catalin.vibelog.model.RegularUser;
 import com.catalin.vibelog.model.enums.ReportStatus;
+import com.catalin.vibelog.model.enums.ReportTarget;
+import com.catalin.vibelog.model.enums.Role;
 import com.catalin.vibelog.repository.CommentRepository;
+import com.catalin.vibelog.repository.ModerationQueueRepository;
 import com.catalin.vibelog.repository.PostRepository;
 import com.catalin.vibelog.repository.ReportRepository;
-import com.catalin.vibelog.service.UserService;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.EventBus;
+import com.catalin.vibelog.service.UserLookupService;
 import com.catalin.vibelog.service.implementations.ReportServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
 class ReportServiceImplTest {
 
     @Mock
-    private ApplicationEventPublisher publisher;
+    private EventBus publisher;
     @Mock
     private ReportRepository reportRepo;
     @Mock
-    private UserService userService;
+    private UserLookupService userLookup;
+    @Mock
+    private UserRepository userRepo;
     @Mock
     private PostRepository postRepo;
     @Mock
     private CommentRepository commentRepo;
+    @Mock
+    private ModerationQueueRepository queueRepo;
 
     @InjectMocks
     private ReportServiceImpl reportService;
@@ -63,17 +79,16 @@ class ReportServiceImplTest {
 
     @Test
     void submitReport_WhenReporterNotFound_ThrowsUserNotFoundException() {
-        when(userService.findByUsername("user1")).thenThrow(new UserNotFoundException("user1"));
+        when(userLookup.getByUsername("user1")).thenThrow(new UserNotFoundException("user1"));
         var req = new ReportRequestDTO(1L, null, "reason");
         assertThrows(UserNotFoundException.class,
                 () -> reportService.submitReport("user1", req));
-        verify(userService).findByUsername("user1");
+        verify(userLookup).getByUsername("user1");
     }
 
     @Test
     void submitReport_WhenPostNotFound_ThrowsPostNotFoundException() {
-        var reporter = new RegularUser(); reporter.setUsername("user1");
-        when(userService.findByUsername("user1")).thenReturn(reporter);
+        when(userLookup.getByUsername("user1")).thenReturn(new UserIdentity(3L, "user1", Role.USER, null));
         when(postRepo.findById(1L)).thenReturn(Optional.empty());
 
         var req = new ReportRequestDTO(1L, null, "reason");
@@ -84,8 +99,7 @@ class ReportServiceImplTest {
 
     @Test
     void submitReport_WhenCommentNotFound_ThrowsCommentNotFoundException() {
-        var reporter = new RegularUser(); reporter.setUsername("user1");
-        when(userService.findByUsername("user1")).thenReturn(reporter);
+        when(userLookup.getByUsername("user1")).thenReturn(new UserIdentity(3L, "user1", Role.USER, null));
         when(commentRepo.findById(2L)).thenReturn(Optional.empty());
 
         var req = new ReportRequestDTO(null, 2L, "reason");
@@ -96,8 +110,9 @@ class ReportServiceImplTest {
 
     @Test
     void submitReport_WhenValidPost_ReturnsReportResponse() {
-        var reporter = new RegularUser(); reporter.setUsername("user1");
-        when(userService.findByUsername("user1")).thenReturn(reporter);
+        var reporter = new RegularUser(); reporter.setId(3L); reporter.setUsername("user1");
+        when(userLookup.getByUsername("user1")).thenReturn(new UserIdentity(3L, "user1", Role.USER, null));
+        when(userRepo.getReferenceById(3L)).thenReturn(reporter);
         var post = new Post(); post.setId(1L);
         when(postRepo.findById(1L)).thenReturn(Optional.of(post));
 
@@ -122,21 +137,94 @@ class ReportServiceImplTest {
         assertEquals(ReportStatus.PENDING, res.status());
         assertEquals(LocalDateTime.of(1970,1,1,0,0), res.reportedAt());
         verify(reportRepo).save(any(Report.class));
+        verify(queueRepo).recordReport("POST", 1L, LocalDateTime.of(1970,1,1,0,0));
     }
 
     @Test
     void listReportsByReporter_WhenUserNotFound_ThrowsUserNotFoundException() {
-        when(userService.findByUsername("user1")).thenThrow(new UserNotFoundException("user1"));
+        when(userLookup.getByUsername("user1")).thenThrow(new UserNotFoundException("user1"));
         assertThrows(UserNotFoundException.class,
                 () -> reportService.listReportsByReporter("user1", PageRequest.of(0, 1)));
     }
 
     @Test
     void updateReportStatus_WhenNotFound_ThrowsReportNotFoundException() {
-        when(reportRepo.findById(10L)).thenReturn(Optional.empty());
+        when(reportRepo.findForModerationById(10L)).thenReturn(Optional.empty());
         var upd = new ReportStatusUpdateDTO(ReportStatus.RESOLVED);
         assertThrows(ReportNotFoundException.class,
                 () -> reportService.updateReportStatus(10L, upd));
     }
 
-}
\ No newline at end of file
+    @Test
+    void updateReportStatus_WhenLeavingPending_ShrinksQueueEntry() {
+        var reporter = new RegularUser(); reporter.setUsername("user1");
+        var post = new Post(); post.setId(4L);
+        var report = Report.builder().reporter(reporter).post(post).reason("r").build();
+        report.setId(10L);
+        when(reportRepo.findForModerationById(10L)).thenReturn(Optional.of(report));
+        when(reportRepo.save(report)).thenReturn(report);
+
+        reportService.updateReportStatus(10L, new ReportStatusUpdateDTO(ReportStatus.REVIEWED));
+
+        verify(queueRepo).decrementReportCount("POST", 4L);
+        verify(queueRepo).deleteIfEmpty(ReportTarget.POST, 4L);
+        verify(publisher, never()).publish(any());
+    }
+
+    @Test
+    void resolveTarget_WhenNoQueueEntry_ThrowsReportNotFoundException() {
+        when(queueRepo.lockByTarget(ReportTarget.COMMENT, 2L)).thenReturn(Optional.empty());
+        assertThrows(ReportNotFoundException.class,
+                () -> reportService.resolveTarget(ReportTarget.COMMENT, 2L, ReportStatus.RESOLVED));
+        verifyNoInteractions(reportRepo);
+    }
+
+    @Test
+    void resolveTarget_ToPending_ThrowsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class,
+                () -> reportService.resolveTarget(ReportTarget.POST, 1L, ReportStatus.PENDING));
+        verifyNoInteractions(queueRepo);
+    }
+
+    @Test
+    void resolveTarget_UpdatesAllPendingReportsAndPublishesOneEvent() {
+        var entry = new ModerationQueueEntry();
+        when(queueRepo.lockByTarget(ReportTarget.POST, 1L)).thenReturn(Optional.of(entry));
+        when(reportRepo.findIdsByPostIdAndStatus(1L, ReportStatus.PENDING)).thenReturn(List.of(7L, 8L, 9L));
+        when(reportRepo.updateStatusByIdIn(List.of(7L, 8L, 9L), ReportStatus.RESOLVED)).thenReturn(3);
+
+        TargetResolutionDTO res = reportService.resolveTarget(ReportTarget.POST, 1L, ReportStatus.RESOLVED);
+
+        assertEquals(3, res.reportsResolved());
+        verify(queueRepo).delete(entry);
+        ArgumentCaptor<ReportsResolvedEvent> captor = ArgumentCaptor.forClass(ReportsResolvedEvent.class);
+        verify(publisher).publish(captor.capture());
+        assertEquals(1L, captor.getValue().postId);
+        assertNull(captor.getValue().commentId);
+        assertEquals(List.of(7L, 8L, 9L), captor.getValue().reportIds);
+        assertEquals(ReportStatus.RESOLVED, captor.getValue().result);
+    }
+
+    @Test
+    void resolveTarget_ToReviewed_DoesNotNotify() {
+        var entry = new ModerationQueueEntry();
+        when(queueRepo.lockByTarget(ReportTarget.COMMENT, 4L)).thenReturn(Optional.of(entry));
+        when(reportRepo.findIdsByCommentIdAndStatus(4L, ReportStatus.PENDING)).thenReturn(List.of(5L));
+        when(reportRepo.updateStatusByIdIn(List.of(5L), ReportStatus.REVIEWED)).thenReturn(1);
+
+        TargetResolutionDTO res = reportService.resolveTarget(ReportTarget.COMMENT, 4L, ReportStatus.REVIEWED);
+
+        assertEquals(1, res.reportsResolved());
+        verify(queueRepo).delete(entry);
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    void listModerationQueue_DropsRequestedSort() {
+        when(queueRepo.findQueuePage(PageRequest.of(2, 20))).thenReturn(Page.empty());
+
+        reportService.listModerationQueue(PageRequest.of(2, 20, Sort.by("reportCount")));
+
+        verify(queueRepo).findQueuePage(PageRequest.of(2, 20));
+    }
+}
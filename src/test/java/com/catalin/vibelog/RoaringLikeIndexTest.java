@@ -0,0 +1,96 @@
+package com.catalin.vibelog;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.catalin.vibelog.events.ClusterEvent;
+import com.catalin.vibelog.events.LikeEvent;
+import com.catalin.vibelog.events.PostMediaChangedEvent;
+import com.catalin.vibelog.events.UnlikeEvent;
+import com.catalin.vibelog.repository.LikeRepository;
+import com.catalin.vibelog.service.implementations.RoaringLikeIndex;
+
+@ExtendWith(MockitoExtension.class)
+class RoaringLikeIndexTest {
+
+    @Mock private LikeRepository likeRepo;
+
+    private RoaringLikeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RoaringLikeIndex(likeRepo, new SimpleMeterRegistry(), 3, 1_000_000, Duration.ofHours(1));
+    }
+
+    @Test
+    void isLiked_WhenPostNotIndexed_ReturnsEmpty() {
+        assertEquals(Optional.empty(), index.isLiked(1L, 2L));
+    }
+
+    @Test
+    void recordLike_BelowThreshold_DoesNotIndex() {
+        index.recordLike(1L, 2L, 2);
+        assertEquals(Optional.empty(), index.isLiked(1L, 2L));
+        verifyNoInteractions(likeRepo);
+    }
+
+    @Test
+    void recordLike_AtThreshold_LoadsPostAndTracksUpdates() {
+        when(likeRepo.findUserIdsByPostId(1L)).thenReturn(List.of(10L, 11L, 12L));
+
+        index.recordLike(1L, 12L, 3);
+
+        assertEquals(Optional.of(true), index.isLiked(1L, 10L));
+        assertEquals(Optional.of(false), index.isLiked(1L, 99L));
+
+        index.recordLike(1L, 99L, 4);
+        index.recordUnlike(1L, 10L);
+
+        assertEquals(Optional.of(true), index.isLiked(1L, 99L));
+        assertEquals(Optional.of(false), index.isLiked(1L, 10L));
+        verify(likeRepo, times(1)).findUserIdsByPostId(1L);
+    }
+
+    @Test
+    void onLikeAndUnlike_ApplyEventsFromOtherInstances() {
+        when(likeRepo.findUserIdsByPostId(1L)).thenReturn(List.of(10L, 11L, 12L));
+        index.recordLike(1L, 12L, 3);
+
+        index.onLike(new ClusterEvent<>(this, 1L, new LikeEvent(this, 1L, 20L, "amy", "bob")));
+        index.onUnlike(new ClusterEvent<>(this, 2L, new UnlikeEvent(this, 1L, 11L)));
+
+        assertEquals(Optional.of(true), index.isLiked(1L, 20L));
+        assertEquals(Optional.of(false), index.isLiked(1L, 11L));
+    }
+
+    @Test
+    void onLike_WithoutLikerId_DropsBitmap() {
+        when(likeRepo.findUserIdsByPostId(1L)).thenReturn(List.of(10L, 11L, 12L));
+        index.recordLike(1L, 12L, 3);
+
+        index.onLike(new ClusterEvent<>(this, 1L, new LikeEvent(this, 1L, null, "amy", "bob")));
+
+        assertEquals(Optional.empty(), index.isLiked(1L, 10L));
+    }
+
+    @Test
+    void onPostsChanged_DropsBitmapsOfDeletedPosts() {
+        when(likeRepo.findUserIdsByPostId(1L)).thenReturn(List.of(10L, 11L, 12L));
+        index.recordLike(1L, 12L, 3);
+
+        index.onPostsChanged(new ClusterEvent<>(this, 1L, new PostMediaChangedEvent(this, List.of(1L, 2L))));
+
+        assertEquals(Optional.empty(), index.isLiked(1L, 10L));
+    }
+}
@@ -9,7 +9,6 @@ import java.util.List;
 import java.util.Optional;
 
 import com.catalin.vibelog.model.Comment;
-import com.catalin.vibelog.model.RegularUser;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -25,10 +24,8 @@ import com.catalin.vibelog.dto.response.MediaResponseDTO;
 import com.catalin.vibelog.dto.response.PostResponse;
 import com.catalin.vibelog.dto.response.UserResponseDTO;
 import com.catalin.vibelog.model.Post;
-import com.catalin.vibelog.model.User;
 import com.catalin.vibelog.model.enums.PostStatus;
-import com.catalin.vibelog.repository.CommentRepository;
-import com.catalin.vibelog.repository.LikeRepository;
+import com.catalin.vibelog.service.LikeCounter;
 import com.catalin.vibelog.repository.PostRepository;
 import com.catalin.vibelog.repository.UserRepository;
 import com.catalin.vibelog.service.MediaService;
@@ -42,9 +39,7 @@ class SearchServiceImplTest {
     @Mock
     private PostRepository postRepo;
     @Mock
-    private LikeRepository likeRepo;
-    @Mock
-    private CommentRepository commentRepo;
+    private LikeCounter likeCounter;
     @Mock
     private MediaService mediaService;
 
@@ -56,14 +51,9 @@ class SearchServiceImplTest {
         String query = "alice";
         Pageable pageable = PageRequest.of(0, 5);
 
-        User u1 = new RegularUser();
-        u1.setId(10L);
-        u1.setUsername("alice99");
-        u1.setBio("Bio1");
-        u1.setProfilePicture("pic1");
-
-        Page<User> userPage = new PageImpl<>(List.of(u1));
-        when(userRepo.findByUsernameContainingIgnoreCase(query, pageable)).thenReturn(userPage);
+        Page<UserResponseDTO> userPage = new PageImpl<>(
+                List.of(new UserResponseDTO(10L, "alice99", "Bio1", "pic1")));
+        when(userRepo.searchUserSummaries(query, pageable)).thenReturn(userPage);
 
         Page<UserResponseDTO> result = searchService.searchUsers(query, pageable);
 
@@ -73,7 +63,7 @@ class SearchServiceImplTest {
         assertEquals("alice99", dto.username());
         assertEquals("Bio1",   dto.bio());
         assertEquals("pic1",   dto.profilePicture());
-        verify(userRepo).findByUsernameContainingIgnoreCase(query, pageable);
+        verify(userRepo).searchUserSummaries(query, pageable);
     }
 
 }
@@ -0,0 +1,106 @@
+package com.catalin.vibelog;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.catalin.vibelog.model.enums.NotificationType;
+import com.catalin.vibelog.model.enums.ReportTarget;
+import com.catalin.vibelog.repository.CommentRepository;
+import com.catalin.vibelog.repository.LikeRepository;
+import com.catalin.vibelog.repository.MediaRepository;
+import com.catalin.vibelog.repository.ModerationQueueRepository;
+import com.catalin.vibelog.repository.NotificationRepository;
+import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.repository.ReportRepository;
+import com.catalin.vibelog.service.ContentPurger.Deleted;
+import com.catalin.vibelog.service.MediaService;
+import com.catalin.vibelog.service.implementations.SetBasedContentPurger;
+
+@ExtendWith(MockitoExtension.class)
+class SetBasedContentPurgerTest {
+
+    @Mock private PostRepository postRepo;
+    @Mock private CommentRepository commentRepo;
+    @Mock private ReportRepository reportRepo;
+    @Mock private LikeRepository likeRepo;
+    @Mock private MediaRepository mediaRepo;
+    @Mock private ModerationQueueRepository queueRepo;
+    @Mock private NotificationRepository notificationRepo;
+    @Mock private MediaService mediaService;
+
+    private SetBasedContentPurger purger;
+
+    @BeforeEach
+    void setUp() {
+        purger = new SetBasedContentPurger(postRepo, commentRepo, reportRepo, likeRepo, mediaRepo, queueRepo, notificationRepo, mediaService, 2);
+    }
+
+    @Test
+    void deletePosts_DeletesReblogsFirstInSlicesWithDependents() {
+        when(postRepo.findIdsWithReblogs(List.of(1L, 2L))).thenReturn(List.of(5L, 1L, 2L));
+        when(commentRepo.deleteByPostIdIn(any())).thenReturn(4);
+        when(mediaRepo.findUrlsByPostIdIn(List.of(5L, 1L))).thenReturn(List.of("u1"));
+        when(mediaRepo.findUrlsByPostIdIn(List.of(2L))).thenReturn(List.of("u2"));
+        when(postRepo.deleteByIdIn(List.of(5L, 1L))).thenReturn(2);
+        when(postRepo.deleteByIdIn(List.of(2L))).thenReturn(1);
+
+        Deleted deleted = purger.deletePosts(List.of(1L, 2L));
+
+        assertEquals(new Deleted(3, 8, List.of("u1", "u2")), deleted);
+        InOrder order = inOrder(queueRepo, reportRepo, likeRepo, notificationRepo, commentRepo, mediaRepo, postRepo);
+        order.verify(queueRepo).deleteByTargets(ReportTarget.POST, List.of(5L, 1L));
+        order.verify(reportRepo).deleteByPostIdIn(List.of(5L, 1L));
+        order.verify(likeRepo).deleteByPostIdIn(List.of(5L, 1L));
+        order.verify(notificationRepo).deleteByTargets(
+                EnumSet.of(NotificationType.LIKE, NotificationType.COMMENT, NotificationType.REBLOG), List.of(5L, 1L));
+        order.verify(commentRepo).deleteByPostIdIn(List.of(5L, 1L));
+        order.verify(mediaRepo).deleteByPostIdIn(List.of(5L, 1L));
+        order.verify(postRepo).deleteTagsByPostIdIn(List.of(5L, 1L));
+        order.verify(postRepo).deleteByIdIn(List.of(5L, 1L));
+        order.verify(postRepo).deleteByIdIn(List.of(2L));
+        verify(mediaService).evictCached(List.of(5L, 1L));
+        verify(mediaService).evictCached(List.of(2L));
+    }
+
+    @Test
+    void deleteComments_LowersCountersBeforeDeletingReplies() {
+        when(commentRepo.findIdsWithReplies(List.of(7L))).thenReturn(List.of(7L, 8L));
+        when(commentRepo.deleteByIdIn(List.of(7L, 8L))).thenReturn(2);
+
+        Deleted deleted = purger.deleteComments(List.of(7L));
+
+        assertEquals(2, deleted.comments());
+        InOrder order = inOrder(queueRepo, reportRepo, postRepo, commentRepo);
+        order.verify(queueRepo).deleteByTargets(ReportTarget.COMMENT, List.of(7L, 8L));
+        order.verify(reportRepo).deleteByCommentIdIn(List.of(7L, 8L));
+        order.verify(postRepo).decrementCommentCounts(List.of(7L, 8L));
+        order.verify(commentRepo).decrementReplyCounts(List.of(7L, 8L));
+        order.verify(commentRepo).deleteByIdIn(List.of(7L, 8L));
+    }
+
+    @Test
+    void deleteReports_DequeuesPendingReportsThenDropsEmptyEntries() {
+        when(reportRepo.deleteByIdIn(List.of(1L, 2L))).thenReturn(2);
+        when(reportRepo.deleteByIdIn(List.of(3L))).thenReturn(1);
+
+        assertEquals(3, purger.deleteReports(List.of(1L, 2L, 3L)));
+
+        InOrder order = inOrder(queueRepo, reportRepo);
+        order.verify(queueRepo).decrementForReports(List.of(1L, 2L));
+        order.verify(reportRepo).deleteByIdIn(List.of(1L, 2L));
+        order.verify(queueRepo).decrementForReports(List.of(3L));
+        order.verify(reportRepo).deleteByIdIn(List.of(3L));
+        order.verify(queueRepo).deleteEmptyEntries();
+    }
+}
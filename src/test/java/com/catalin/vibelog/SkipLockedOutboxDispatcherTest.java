@@ -0,0 +1,126 @@
+package com.catalin.vibelog;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.catalin.vibelog.events.LikeEvent;
+import com.catalin.vibelog.events.ReliableEvent;
+import com.catalin.vibelog.repository.EventOutboxRepository;
+import com.catalin.vibelog.repository.projection.OutboxRow;
+import com.catalin.vibelog.service.implementations.OutboxEventCodec;
+import com.catalin.vibelog.service.implementations.SkipLockedOutboxDispatcher;
+
+@ExtendWith(MockitoExtension.class)
+class SkipLockedOutboxDispatcherTest {
+
+    @Mock private JdbcTemplate jdbc;
+    @Mock private EventOutboxRepository outboxRepo;
+    @Mock private ApplicationEventPublisher publisher;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private SkipLockedOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new SkipLockedOutboxDispatcher(jdbc, outboxRepo,
+                new OutboxEventCodec(Jackson2ObjectMapperBuilder.json().build()), publisher, transactionManager,
+                10, 5, Duration.ofSeconds(10));
+    }
+
+    private static OutboxRow like(long id) {
+        return new OutboxRow(id, LikeEvent.class.getName(),
+                "{\"postId\":12,\"likerUsername\":\"amy\",\"postAuthorUsername\":\"bob\"}");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void claim(List<OutboxRow> rows) {
+        when(jdbc.query(contains("FOR UPDATE SKIP LOCKED"), any(RowMapper.class), any(), eq(10))).thenReturn(rows);
+    }
+
+    @Test
+    void dispatchBatch_HandsEachEventToListenersInItsOwnTransaction() {
+        claim(List.of(like(1L), like(2L)));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(outboxRepo.recordDelivery(anyLong(), any())).thenReturn(1);
+
+        assertEquals(2, dispatcher.dispatchBatch());
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(2)).getTransaction(definition.capture());
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+        ArgumentCaptor<ReliableEvent<?>> delivered = ArgumentCaptor.forClass(ReliableEvent.class);
+        verify(publisher, times(2)).publishEvent(delivered.capture());
+        LikeEvent event = assertInstanceOf(LikeEvent.class, delivered.getValue().event);
+        assertEquals(12L, event.postId);
+        verify(outboxRepo).markProcessed(eq(List.of(1L, 2L)), any());
+    }
+
+    @Test
+    void dispatchBatch_WhenListenerFails_SchedulesRetryAndProcessesTheRest() {
+        claim(List.of(like(1L), like(2L)));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(outboxRepo.recordDelivery(anyLong(), any())).thenReturn(1);
+        doThrow(new IllegalStateException("boom")).doNothing().when(publisher).publishEvent(any(ReliableEvent.class));
+
+        assertEquals(2, dispatcher.dispatchBatch());
+
+        verify(outboxRepo).recordFailure(eq(1L), eq("boom"), any(), eq(10.0), eq(5));
+        verify(outboxRepo).markProcessed(eq(List.of(2L)), any());
+    }
+
+    @Test
+    void dispatchBatch_WhenAlreadyDelivered_OnlyMarksProcessed() {
+        claim(List.of(like(1L), like(2L)));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(outboxRepo.recordDelivery(eq(1L), any())).thenReturn(0);
+        when(outboxRepo.recordDelivery(eq(2L), any())).thenReturn(1);
+
+        assertEquals(2, dispatcher.dispatchBatch());
+
+        ArgumentCaptor<ReliableEvent<?>> delivered = ArgumentCaptor.forClass(ReliableEvent.class);
+        verify(publisher).publishEvent(delivered.capture());
+        assertEquals(2L, delivered.getValue().outboxId);
+        verify(outboxRepo).markProcessed(eq(List.of(1L, 2L)), any());
+    }
+
+    @Test
+    void dispatchBatch_DropsRowsThatCannotBeRebuilt() {
+        claim(List.of(new OutboxRow(3L, "com.catalin.vibelog.events.Gone", "{}")));
+
+        assertEquals(1, dispatcher.dispatchBatch());
+
+        verifyNoInteractions(publisher, transactionManager);
+        verify(outboxRepo).markProcessed(eq(List.of(3L)), any());
+        verify(outboxRepo, never()).recordFailure(any(), anyString(), any(), anyDouble(), anyInt());
+    }
+
+    @Test
+    void dispatchBatch_WhenNothingIsPending_WritesNothing() {
+        claim(List.of());
+
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        verifyNoInteractions(outboxRepo, publisher);
+    }
+}
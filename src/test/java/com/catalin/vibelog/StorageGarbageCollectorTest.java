@@ -0,0 +1,84 @@
+package com.catalin.vibelog;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.catalin.vibelog.jobs.StorageGarbageCollector;
+import com.catalin.vibelog.repository.MediaRepository;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.service.StorageService;
+import com.catalin.vibelog.service.StorageService.StoredObject;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class StorageGarbageCollectorTest {
+
+    @Mock private StorageService storageService;
+    @Mock private MediaRepository mediaRepo;
+    @Mock private UserRepository userRepo;
+
+    private SimpleMeterRegistry registry;
+    private StorageGarbageCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        collector = new StorageGarbageCollector(
+                storageService, mediaRepo, userRepo, registry,
+                Duration.ofHours(1), 1, Duration.ZERO);
+    }
+
+    @Test
+    void collect_DeletesOnlyOldUnreferencedBlobs() {
+        Instant old = Instant.now().minus(Duration.ofDays(1));
+        when(mediaRepo.findAllUrls()).thenReturn(List.of("http://host/uploads/kept.png"));
+        when(userRepo.findAllProfilePictures()).thenReturn(List.of("http://host/uploads/avatar.jpg"));
+        when(storageService.resolveKey("http://host/uploads/kept.png")).thenReturn("kept.png");
+        when(storageService.resolveKey("http://host/uploads/avatar.jpg")).thenReturn("avatar.jpg");
+        when(storageService.listStored()).thenReturn(Stream.of(
+                new StoredObject("kept.png", 10, old),
+                new StoredObject("avatar.jpg", 20, old),
+                new StoredObject("fresh.png", 30, Instant.now()),
+                new StoredObject("orphan.png", 40, old)
+        ));
+        when(storageService.deleteKey("orphan.png")).thenReturn(true);
+
+        StorageGarbageCollector.SweepResult result = collector.collect();
+
+        assertEquals(1, result.deletedFiles());
+        assertEquals(40L, result.reclaimedBytes());
+        verify(storageService).deleteKey("orphan.png");
+        verify(storageService, never()).deleteKey("kept.png");
+        verify(storageService, never()).deleteKey("avatar.jpg");
+        verify(storageService, never()).deleteKey("fresh.png");
+        assertEquals(40.0, registry.get("vibelog.storage.gc.reclaimed").counter().count());
+        assertEquals(1.0, registry.get("vibelog.storage.gc.deleted").counter().count());
+    }
+
+    @Test
+    void collect_WhenDeleteFails_DoesNotCountBlob() {
+        Instant old = Instant.now().minus(Duration.ofDays(1));
+        when(mediaRepo.findAllUrls()).thenReturn(List.of());
+        when(userRepo.findAllProfilePictures()).thenReturn(List.of());
+        when(storageService.listStored()).thenReturn(Stream.of(new StoredObject("locked.png", 50, old)));
+        when(storageService.deleteKey("locked.png")).thenReturn(false);
+
+        StorageGarbageCollector.SweepResult result = collector.collect();
+
+        assertEquals(0, result.deletedFiles());
+        assertEquals(0L, result.reclaimedBytes());
+        assertEquals(0.0, registry.get("vibelog.storage.gc.deleted").counter().count());
+    }
+}
@@ -0,0 +1,82 @@
+package com.catalin.vibelog;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import com.catalin.vibelog.config.CacheConfig;
+import com.catalin.vibelog.dto.response.SuggestedUserDTO;
+import com.catalin.vibelog.events.ClusterEvent;
+import com.catalin.vibelog.events.FollowEvent;
+import com.catalin.vibelog.model.enums.Role;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.FollowGraph;
+import com.catalin.vibelog.service.implementations.SuggestionServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class SuggestionServiceImplTest {
+
+    @Mock private FollowGraph followGraph;
+    @Mock private UserRepository userRepo;
+    @Mock private CacheManager cacheManager;
+
+    private SuggestionServiceImpl suggestionService;
+
+    @BeforeEach
+    void setUp() {
+        when(cacheManager.getCache(CacheConfig.SUGGESTIONS)).thenReturn(new ConcurrentMapCache("suggestions", false));
+        suggestionService = new SuggestionServiceImpl(followGraph, userRepo, cacheManager, 2000, 1000, 50);
+    }
+
+    @Test
+    void suggestFor_RanksFriendsOfFriendsByMutualCount() {
+        stubGraph();
+
+        var result = suggestionService.suggestFor(1L, 10);
+
+        assertEquals(List.of(
+                new SuggestedUserDTO(4L, "dave", null, 2),
+                new SuggestedUserDTO(5L, "erin", null, 1)), result);
+    }
+
+    @Test
+    void suggestFor_WhenFollowingNobody_ReturnsEmptyWithoutLookup() {
+        when(followGraph.following(1L)).thenReturn(new long[0]);
+
+        assertTrue(suggestionService.suggestFor(1L, 10).isEmpty());
+        verifyNoInteractions(userRepo);
+    }
+
+    @Test
+    void suggestFor_CachesUntilUserFollowsSomeone() {
+        stubGraph();
+
+        assertEquals(1, suggestionService.suggestFor(1L, 1).size());
+        assertEquals(2, suggestionService.suggestFor(1L, 10).size());
+        verify(followGraph, times(1)).following(1L);
+
+        suggestionService.onFollow(new ClusterEvent<>(this, 1L, new FollowEvent(this, 1L, "alice", 4L, "dave")));
+        suggestionService.suggestFor(1L, 10);
+        verify(followGraph, times(2)).following(1L);
+    }
+
+    private void stubGraph() {
+        // 1 -> {2, 3}; 2 -> {1, 4, 5}; 3 -> {2, 4}
+        when(followGraph.following(1L)).thenReturn(new long[]{3L, 2L});
+        when(followGraph.following(2L)).thenReturn(new long[]{1L, 4L, 5L});
+        when(followGraph.following(3L)).thenReturn(new long[]{2L, 4L});
+        when(userRepo.findIdentitiesByIdIn(List.of(4L, 5L))).thenReturn(List.of(
+                new UserIdentity(5L, "erin", Role.USER, null),
+                new UserIdentity(4L, "dave", Role.USER, null)));
+    }
+}
@@ -0,0 +1,81 @@
+package com.catalin.vibelog;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.catalin.vibelog.config.CacheConfig;
+import com.catalin.vibelog.events.ClusterEvent;
+import com.catalin.vibelog.events.UserIdentityChangedEvent;
+import com.catalin.vibelog.exception.UserNotFoundException;
+import com.catalin.vibelog.model.enums.Role;
+import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.UserIdentity;
+import com.catalin.vibelog.service.EventBus;
+import com.catalin.vibelog.service.implementations.UserLookupServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class UserLookupServiceImplTest {
+
+    @Mock private UserRepository userRepo;
+    @Mock private EventBus publisher;
+
+    private UserLookupServiceImpl userLookup;
+
+    @BeforeEach
+    void setUp() {
+        userLookup = new UserLookupServiceImpl(userRepo,
+                new ConcurrentMapCacheManager(CacheConfig.USER_IDENTITY), publisher);
+    }
+
+    @Test
+    void findByUsername_SecondCall_ServedFromCache() {
+        var identity = new UserIdentity(1L, "ana", Role.USER, null);
+        when(userRepo.findIdentityByUsername("ana")).thenReturn(Optional.of(identity));
+
+        assertEquals(Optional.of(identity), userLookup.findByUsername("ana"));
+        assertEquals(Optional.of(identity), userLookup.findByUsername("ana"));
+        verify(userRepo, times(1)).findIdentityByUsername("ana");
+    }
+
+    @Test
+    void findByUsername_WhenMissing_IsNotCached() {
+        when(userRepo.findIdentityByUsername("new")).thenReturn(Optional.empty());
+
+        assertTrue(userLookup.findByUsername("new").isEmpty());
+        assertTrue(userLookup.findByUsername("new").isEmpty());
+        verify(userRepo, times(2)).findIdentityByUsername("new");
+    }
+
+    @Test
+    void evict_ForcesReload() {
+        when(userRepo.findIdentityByUsername("ana"))
+                .thenReturn(Optional.of(new UserIdentity(1L, "ana", Role.USER, null)), Optional.empty());
+        userLookup.findByUsername("ana");
+
+        userLookup.evict("ana");
+
+        assertThrows(UserNotFoundException.class, () -> userLookup.getByUsername("ana"));
+        verify(publisher).publish(any(UserIdentityChangedEvent.class));
+    }
+
+    @Test
+    void onIdentityChanged_EvictsIdentityChangedElsewhere() {
+        when(userRepo.findIdentityByUsername("ana"))
+                .thenReturn(Optional.of(new UserIdentity(1L, "ana", Role.USER, null)), Optional.empty());
+        userLookup.findByUsername("ana");
+
+        userLookup.onIdentityChanged(new ClusterEvent<>(this, 1L, new UserIdentityChangedEvent(this, "ana")));
+
+        assertTrue(userLookup.findByUsername("ana").isEmpty());
+        verifyNoInteractions(publisher);
+    }
+}
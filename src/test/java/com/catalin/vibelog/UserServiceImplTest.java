@@ -3,6 +3,7 @@ package com.catalin.vibelog;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,9 +26,13 @@ import com.catalin.vibelog.exception.EmailAlreadyExistsException;
 import com.catalin.vibelog.exception.ResourceNotFoundException;
 import com.catalin.vibelog.model.RegularUser;
 import com.catalin.vibelog.model.User;
+import com.catalin.vibelog.model.enums.AccountPurgeStage;
 import com.catalin.vibelog.model.enums.Role;
 import com.catalin.vibelog.repository.UserRepository;
+import com.catalin.vibelog.repository.projection.ProfileRow;
 import com.catalin.vibelog.security.JwtUtil;
+import com.catalin.vibelog.service.DisabledAccountRegistry;
+import com.catalin.vibelog.service.UserLookupService;
 import com.catalin.vibelog.service.implementations.UserServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +44,10 @@ class UserServiceImplTest {
     private JwtUtil jwtUtil;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserLookupService userLookup;
+    @Mock
+    private DisabledAccountRegistry disabledAccounts;
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -46,14 +55,9 @@ class UserServiceImplTest {
     @Test
     void getProfile_WhenUserExists_ReturnsProfileResponse() {
         Long userId = 1L;
-        User user = new RegularUser();
-        user.setId(userId);
-        user.setEmail("email@example.com");
-        user.setUsername("testuser");
-        user.setBio("Test bio");
-        user.setProfilePicture("pic-url");
-        user.setRole(Role.USER);
-        when(userRepo.findById(userId)).thenReturn(Optional.of(user));
+        ProfileRow row = new ProfileRow(userId, "email@example.com", "testuser",
+                "Test bio", "pic-url", LocalDateTime.now(), Role.USER);
+        when(userRepo.findProfileById(userId)).thenReturn(Optional.of(row));
 
         ProfileResponse response = userService.getProfile(userId);
 
@@ -64,12 +68,12 @@ class UserServiceImplTest {
         assertEquals("Test bio",          response.bio());
         assertEquals("pic-url",           response.profilePicture());
         assertTrue(       response.roles().contains("USER"));
-        verify(userRepo).findById(userId);
+        verify(userRepo).findProfileById(userId);
     }
 
     @Test
     void getProfile_WhenUserNotFound_ThrowsException() {
-        when(userRepo.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepo.findProfileById(anyLong())).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> userService.getProfile(1L));
     }
 
@@ -132,33 +136,59 @@ class UserServiceImplTest {
         // ProfileResponse is a record too
         assertEquals("newName",              result.profile().username());
         verify(userRepo).findByUsername(username);
+        verify(userLookup).evict(username);
         verify(userRepo).save(existing);
         verify(jwtUtil).generateToken(saved);
     }
 
 
     @Test
-    void deleteUserById_WhenExists_Deletes() {
-        when(userRepo.existsById(5L)).thenReturn(true);
+    void deleteUserById_WhenExists_DisablesAccountForPurge() {
+        when(userRepo.findUsernameById(5L)).thenReturn(Optional.of("gone"));
+        when(userRepo.markForDeletion(eq(5L), any(LocalDateTime.class), eq(AccountPurgeStage.POSTS))).thenReturn(1);
+        userService.deleteUserById(5L);
+        verify(disabledAccounts).disable(5L);
+        verify(userLookup).evict("gone");
+        verify(userRepo, never()).deleteById(any());
+    }
+
+    @Test
+    void deleteUserById_WhenAlreadyDisabled_DoesNothing() {
+        when(userRepo.findUsernameById(5L)).thenReturn(Optional.of("gone"));
+        when(userRepo.markForDeletion(eq(5L), any(LocalDateTime.class), eq(AccountPurgeStage.POSTS))).thenReturn(0);
         userService.deleteUserById(5L);
-        verify(userRepo).deleteById(5L);
+        verifyNoInteractions(disabledAccounts, userLookup);
     }
 
     @Test
     void deleteUserById_WhenNotExists_ThrowsException() {
-        when(userRepo.existsById(5L)).thenReturn(false);
+        when(userRepo.findUsernameById(5L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> userService.deleteUserById(5L));
     }
 
     @Test
-    void listUsers_WithoutFragment_CallsFindAll() {
+    void listUsers_WithoutFragment_CallsFindAllProfiles() {
         Pageable pageable = PageRequest.of(0, 5);
-        Page<User> page = new PageImpl<>(List.of());
-        when(userRepo.findAll(pageable)).thenReturn(page);
+        Page<ProfileRow> page = new PageImpl<>(List.of());
+        when(userRepo.findAllProfiles(pageable)).thenReturn(page);
 
         Page<ProfileResponse> result = userService.listUsers(null, pageable);
 
         assertEquals(0, result.getTotalElements());
-        verify(userRepo).findAll(pageable);
+        verify(userRepo).findAllProfiles(pageable);
+    }
+
+    @Test
+    void listUsers_WithFragment_SelectsMatchingProfiles() {
+        Pageable pageable = PageRequest.of(0, 5);
+        ProfileRow row = new ProfileRow(3L, "a@x.io", "alice", null, null,
+                LocalDateTime.now(), Role.ADMIN);
+        when(userRepo.findProfilesByUsernameContaining("ali", pageable))
+                .thenReturn(new PageImpl<>(List.of(row)));
+
+        Page<ProfileResponse> result = userService.listUsers("ali", pageable);
+
+        assertEquals(List.of("ADMIN"), result.getContent().get(0).roles());
+        verify(userRepo, never()).findAllProfiles(any());
     }
 }
@@ -0,0 +1,70 @@
+package com.catalin.vibelog;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.catalin.vibelog.dto.response.ViewerStateDTO;
+import com.catalin.vibelog.repository.FollowRepository;
+import com.catalin.vibelog.repository.LikeRepository;
+import com.catalin.vibelog.repository.PostRepository;
+import com.catalin.vibelog.service.LikeIndex;
+import com.catalin.vibelog.service.implementations.ViewerStateServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class ViewerStateServiceImplTest {
+
+    @Mock private LikeRepository likeRepo;
+    @Mock private PostRepository postRepo;
+    @Mock private FollowRepository followRepo;
+    @Mock private LikeIndex likeIndex;
+
+    @InjectMocks
+    private ViewerStateServiceImpl viewerStateService;
+
+    @Test
+    void getViewerState_ResolvesWholePageWithSetQueries() {
+        Set<Long> ids = Set.of(1L, 2L, 3L);
+        when(likeRepo.findLikedPostIds(7L, ids)).thenReturn(List.of(1L, 3L));
+        when(postRepo.findRebloggedOriginalPostIds(7L, ids)).thenReturn(List.of(2L));
+        when(followRepo.findFollowedUsernames(7L, Set.of("alice", "bob"))).thenReturn(List.of("bob"));
+
+        ViewerStateDTO state = viewerStateService.getViewerState(
+                7L, List.of(1L, 2L, 3L, 1L), List.of("alice", "bob", "alice"));
+
+        assertEquals(Set.of(1L, 3L), state.likedPostIds());
+        assertEquals(Set.of(2L), state.rebloggedPostIds());
+        assertEquals(Set.of("bob"), state.followedUsernames());
+    }
+
+    @Test
+    void getViewerState_WhenNothingRequested_SkipsQueries() {
+        ViewerStateDTO state = viewerStateService.getViewerState(7L, List.of(), null);
+
+        assertTrue(state.likedPostIds().isEmpty());
+        assertTrue(state.rebloggedPostIds().isEmpty());
+        assertTrue(state.followedUsernames().isEmpty());
+        verifyNoInteractions(likeRepo, postRepo, followRepo);
+    }
+
+    @Test
+    void getViewerState_AnswersIndexedPostsFromMemory() {
+        when(likeIndex.isLiked(1L, 7L)).thenReturn(Optional.of(true));
+        when(likeIndex.isLiked(2L, 7L)).thenReturn(Optional.of(false));
+        when(likeRepo.findLikedPostIds(7L, Set.of(3L))).thenReturn(List.of(3L));
+
+        ViewerStateDTO state = viewerStateService.getViewerState(7L, List.of(1L, 2L, 3L), List.of());
+
+        assertEquals(Set.of(1L, 3L), state.likedPostIds());
+        verify(likeRepo).findLikedPostIds(7L, Set.of(3L));
+    }
+}